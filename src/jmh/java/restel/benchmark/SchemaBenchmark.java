@@ -0,0 +1,73 @@
+package restel.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.techconative.restel.core.model.comparator.JsonSchemaCache;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Validates a ~1 MB array response against a schema from the {@link JsonSchemaCache} and against
+ * a schema compiled on every validation, as the schema matcher used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmark {
+
+  private static final String SCHEMA =
+      "{\"$schema\": \"https://json-schema.org/draft/2019-09/schema\","
+          + " \"type\": \"array\","
+          + " \"items\": {"
+          + "   \"type\": \"object\","
+          + "   \"required\": [\"id\", \"name\", \"status\", \"tags\"],"
+          + "   \"properties\": {"
+          + "     \"id\": {\"type\": \"integer\", \"minimum\": 0},"
+          + "     \"name\": {\"type\": \"string\", \"maxLength\": 64},"
+          + "     \"status\": {\"enum\": [\"available\", \"pending\", \"sold\"]},"
+          + "     \"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}}"
+          + "   }"
+          + " }"
+          + "}";
+
+  private JsonNode schema;
+
+  private JsonNode response;
+
+  private JsonSchemaCache cache;
+
+  @Setup
+  public void setup() throws Exception {
+    schema = ObjectMapperUtils.getMapper().readTree(SCHEMA);
+    ArrayNode items = ObjectMapperUtils.getMapper().createArrayNode();
+    // ~100 bytes per item
+    for (int i = 0; i < 10_000; i++) {
+      ObjectNode item = items.addObject();
+      item.put("id", i);
+      item.put("name", "pet-" + i);
+      item.put("status", "available");
+      item.putArray("tags").add("dog").add("brown");
+    }
+    response = items;
+    cache = new JsonSchemaCache(SpecVersion.VersionFlag.V201909, 16);
+  }
+
+  @Benchmark
+  public Object cachedSchema() {
+    return cache.getSchema(schema).validate(response);
+  }
+
+  @Benchmark
+  public Object recompiledSchema() {
+    return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V201909)
+        .getSchema(schema)
+        .validate(response);
+  }
+}
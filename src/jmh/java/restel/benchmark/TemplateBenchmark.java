@@ -0,0 +1,77 @@
+package restel.benchmark;
+
+import com.techconative.restel.core.model.TestContext;
+import com.techconative.restel.core.utils.ContextUtils;
+import com.techconative.restel.utils.Constants;
+import com.techconative.restel.utils.Utils;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the compiled template resolution of {@link ContextUtils} against the regex based
+ * resolution it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+  private TestContext context;
+
+  private Map<String, Object> body;
+
+  @Setup
+  public void setup() {
+    context = new TestContext("benchmark");
+    context.addValue("userId", "42");
+    context.addValue("token", "abcdef");
+    context.addValue("name", "restel");
+
+    body = new HashMap<>();
+    body.put("id", "${userId}");
+    body.put("name", "${name}");
+    body.put("status", "available");
+    body.put("category", "pets");
+  }
+
+  @Benchmark
+  public Object compiledUrl() {
+    return ContextUtils.replaceContextVariables(context, "/v2/user/${userId}");
+  }
+
+  @Benchmark
+  public Object regexUrl() {
+    return regexResolve("/v2/user/${userId}");
+  }
+
+  @Benchmark
+  public Object compiledBody() {
+    return ContextUtils.replaceContextVariables(context, body);
+  }
+
+  @Benchmark
+  public Object regexBody() {
+    Map<String, Object> resolved = new HashMap<>();
+    body.forEach((key, value) -> resolved.put(regexResolve(key), regexResolve(value)));
+    return resolved;
+  }
+
+  /** The resolution as done before the template compiler, for single variable expressions. */
+  private Object regexResolve(Object value) {
+    return Utils.findAndApplyOnObject(
+        Utils.stringOrNull(value),
+        Constants.VARIABLE_PATTERN,
+        expr -> {
+          String varName = Utils.removeBraces(expr);
+          if (varName.matches(".*" + Constants.VARIABLE_PATTERN + ".*")) {
+            return regexResolve(varName);
+          }
+          return context.resolveValue(varName);
+        });
+  }
+}
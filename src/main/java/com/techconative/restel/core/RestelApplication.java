@@ -2,9 +2,22 @@ package com.techconative.restel.core;
 
 import static java.lang.System.*;
 
+import com.techconative.restel.core.daemon.RestelDaemon;
+import com.techconative.restel.core.http.RESTClientRegistry;
+import com.techconative.restel.core.middleware.request.Oauth2TokenCache;
 import com.techconative.restel.core.parser.util.FunctionUtils;
+import com.techconative.restel.core.shard.Shard;
+import com.techconative.restel.core.shard.ShardReport;
+import com.techconative.restel.core.watch.WorkbookWatcher;
 import com.techconative.restel.exception.RestelException;
 import com.techconative.restel.utils.Constants;
+import com.techconative.restel.utils.Reporter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.util.StringUtils;
@@ -12,22 +25,114 @@ import org.springframework.util.StringUtils;
 /**
  * Main class, entry point for the test execution application.
  *
+ * <p>Usage:
+ *
+ * <ul>
+ *   <li><code>[file] [--shard index/count] [--changed-or-failed] [--watch]</code> - Executes the
+ *       tests of the file, or only the given shard of its suites. The <code>--changed-or-failed
+ *       </code> option executes only the scenarios which changed or did not pass in their last
+ *       run. With <code>--watch</code> the scenarios affected by a change of the file are executed
+ *       again, by the {@link WorkbookWatcher}, until the application is stopped.
+ *   <li><code>daemon [file]</code> - Keeps the tests of the file loaded and executes them on
+ *       request, as served by the {@link RestelDaemon}.
+ *   <li><code>merge [directory]</code> - Merges the results written by all the shards into a
+ *       single report, exiting with a non zero status when any of the scenarios did not pass.
+ * </ul>
+ *
  * @author kannanr
  */
+@Slf4j
 public class RestelApplication {
 
+  public static final String MERGE_COMMAND = "merge";
+
+  public static final String DAEMON_COMMAND = "daemon";
+
+  public static final String SHARD_OPTION = "--shard";
+
+  public static final String CHANGED_OR_FAILED_OPTION = "--changed-or-failed";
+
+  public static final String WATCH_OPTION = "--watch";
+
+  private static final String WATCH_PROPERTY = "restel.watch";
+
   public static void main(String[] args) {
-    ensureIfFilePathSet(args);
+    if (args.length > 0 && MERGE_COMMAND.equals(args[0])) {
+      Path directory = Paths.get(args.length > 1 ? args[1] : RestelRunner.DEFAULT_SHARD_DIR);
+      System.exit(mergeShards(directory) ? 0 : 1);
+    }
+    if (args.length > 0 && DAEMON_COMMAND.equals(args[0])) {
+      String[] arguments = parseOptions(Arrays.copyOfRange(args, 1, args.length));
+      ensureIfFilePathSet(arguments);
+      new RestelApplication().runDaemon();
+      return;
+    }
+    String[] arguments = parseOptions(args);
+    ensureIfFilePathSet(arguments);
 
     RestelApplication app = new RestelApplication();
     app.executeTests();
   }
 
+  /**
+   * Merges the results of the shards in the given directory, into {@link
+   * ShardReport#MERGED_REPORT_FILE_NAME} of the directory.
+   *
+   * @param directory The directory the shards wrote their results to.
+   * @return true when all the scenarios of all the shards passed.
+   */
+  public static boolean mergeShards(Path directory) {
+    ShardReport merged = ShardReport.merge(directory);
+    merged.write(directory.resolve(ShardReport.MERGED_REPORT_FILE_NAME));
+    log.info(
+        "Merged the results of "
+            + merged.getCount()
+            + " shards: "
+            + merged.getSummary()
+            + (merged.isPassed() ? ", passed" : ", failed"));
+    return merged.isPassed();
+  }
+
+  /*
+  Sets the system properties for the options, returning the other arguments.
+   */
+  private static String[] parseOptions(String[] args) {
+    List<String> arguments = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      String shard = null;
+      if (SHARD_OPTION.equals(args[i])) {
+        shard = i + 1 < args.length ? args[++i] : "";
+      } else if (args[i].startsWith(SHARD_OPTION + "=")) {
+        shard = args[i].substring(SHARD_OPTION.length() + 1);
+      } else if (CHANGED_OR_FAILED_OPTION.equals(args[i])) {
+        System.setProperty("restel.scheduler.changedOrFailed", "true");
+      } else if (WATCH_OPTION.equals(args[i])) {
+        System.setProperty(WATCH_PROPERTY, "true");
+      } else {
+        arguments.add(args[i]);
+      }
+      if (shard != null) {
+        // Validated up front, rather than once the workbook is parsed
+        System.setProperty("restel.shard", Shard.parse(shard).toString());
+      }
+    }
+    return arguments.toArray(new String[0]);
+  }
+
   public boolean executeTests() {
     AbstractApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class);
 
-    RestelRunner bean = ctx.getBean(RestelRunner.class);
-    boolean isSuccess = bean.run();
+    boolean isSuccess;
+    if (Boolean.getBoolean(WATCH_PROPERTY)) {
+      ctx.getBean(WorkbookWatcher.class).watch();
+      isSuccess = true;
+    } else {
+      RestelRunner bean = ctx.getBean(RestelRunner.class);
+      isSuccess = bean.run();
+    }
+    Reporter.close();
+    RESTClientRegistry.getInstance().logPoolStats();
+    Oauth2TokenCache.getInstance().logStats();
 
     ctx.close();
     ctx.stop();
@@ -35,6 +140,25 @@ public class RestelApplication {
     return isSuccess;
   }
 
+  /** Serves the run requests until a shutdown is requested. */
+  public void runDaemon() {
+    AbstractApplicationContext ctx = new AnnotationConfigApplicationContext(AppConfig.class);
+
+    RestelDaemon daemon = ctx.getBean(RestelDaemon.class);
+    try {
+      daemon.start();
+      daemon.awaitShutdown();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      daemon.stop();
+      Reporter.close();
+      RESTClientRegistry.getInstance().logPoolStats();
+      Oauth2TokenCache.getInstance().logStats();
+      ctx.close();
+    }
+  }
+
   private static void ensureIfFilePathSet(String[] args) {
     String filePath =
         FunctionUtils.getFirstNotNull(
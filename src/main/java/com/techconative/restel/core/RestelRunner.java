@@ -1,22 +1,61 @@
 package com.techconative.restel.core;
 
+import com.techconative.restel.core.load.LoadProfile;
+import com.techconative.restel.core.load.LoadReport;
+import com.techconative.restel.core.load.LoadRunner;
+import com.techconative.restel.core.managers.DependencyCache;
 import com.techconative.restel.core.managers.RestelTestManager;
 import com.techconative.restel.core.model.RestelSuite;
 import com.techconative.restel.core.model.RestelTestApiDefinition;
 import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.scheduler.DurationHistory;
+import com.techconative.restel.core.scheduler.OutcomeHistory;
+import com.techconative.restel.core.scheduler.ScenarioFingerprints;
+import com.techconative.restel.core.scheduler.ScenarioGraph;
+import com.techconative.restel.core.scheduler.ScenarioResult;
+import com.techconative.restel.core.scheduler.ScenarioScheduler;
+import com.techconative.restel.core.shard.Shard;
+import com.techconative.restel.core.shard.ShardPlanner;
+import com.techconative.restel.core.shard.ShardReport;
 import com.techconative.restel.testng.TestCase;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.testng.xml.XmlClass;
 import org.testng.xml.XmlSuite;
 import org.testng.xml.XmlTest;
 
 /**
- * Responsible for programmatically initiate the TestNG execution.
+ * Responsible for initiating the test execution. By default the scenarios are executed by the
+ * {@link ScenarioScheduler}, setting <code>restel.scheduler=testng</code> runs them through TestNG
+ * instead.
+ *
+ * <p>Setting <code>restel.load.scenario</code> load tests the scenario with the {@link LoadRunner}
+ * instead, at <code>restel.load.rate</code> iterations per second for <code>
+ * restel.load.durationSeconds</code> or <code>restel.load.iterations</code>, then awaiting the
+ * iterations in flight for <code>restel.load.drainTimeoutSeconds</code>.
+ *
+ * <p>Setting <code>restel.shard</code> to <code>index/count</code> executes only that shard of the
+ * root suites, as split by the {@link ShardPlanner}, so that a run can be split across processes.
+ * The suites are split by their number of APIs, or by the durations in <code>
+ * restel.shard.durationsFile</code>, which has to be the same file for every shard, as the shards
+ * only split alike from the same inputs. The scheduled shards write their results to <code>
+ * restel.shard.dir</code>, to be merged with <code>merge</code> command of the {@link
+ * RestelApplication}.
+ *
+ * <p>The scheduled runs record the fingerprint and the status of the executed scenarios in <code>
+ * restel.scheduler.outcomesFile</code>. Setting <code>restel.scheduler.changedOrFailed</code>
+ * executes only the scenarios which changed or did not pass in their last run, along with the
+ * scenarios they depend on.
  *
  * @author kannanr
  */
@@ -24,24 +63,235 @@ import org.testng.xml.XmlTest;
 @Component
 public class RestelRunner {
 
+  public static final String NATIVE_SCHEDULER = "native";
+
+  public static final String DEFAULT_SHARD_DIR = "build/reports/restel-shards";
+
+  public static final String DEFAULT_OUTCOMES_FILE = ".restel/scenario-outcomes.json";
+
   @Autowired private RestelTestManager testManager;
 
   @Autowired private SuiteExecutor suiteExecutor;
 
+  @Autowired private ScenarioScheduler scenarioScheduler;
+
+  @Value("${restel.scheduler:" + NATIVE_SCHEDULER + "}")
+  private String scheduler;
+
+  @Value("${restel.testng.threadCount:2}")
+  private int threadCount;
+
+  @Autowired private LoadRunner loadRunner;
+
+  @Value("${restel.load.scenario:}")
+  private String loadScenario;
+
+  @Value("${restel.load.rate:1}")
+  private double loadRate;
+
+  @Value("${restel.load.durationSeconds:0}")
+  private long loadDurationSeconds;
+
+  @Value("${restel.load.iterations:0}")
+  private long loadIterations;
+
+  @Value("${restel.load.maxInFlight:1000}")
+  private int loadMaxInFlight;
+
+  @Value("${restel.load.drainTimeoutSeconds:60}")
+  private long loadDrainTimeoutSeconds;
+
+  @Value("${restel.shard:}")
+  private String shard;
+
+  @Value("${restel.shard.dir:" + DEFAULT_SHARD_DIR + "}")
+  private String shardDir;
+
+  @Value("${restel.shard.durationsFile:}")
+  private String shardDurationsFile;
+
+  @Value("${restel.scheduler.changedOrFailed:false}")
+  private boolean changedOrFailed;
+
+  @Value("${restel.scheduler.outcomesFile:" + DEFAULT_OUTCOMES_FILE + "}")
+  private String outcomesFile;
+
   /**
    * Runs the tests supplied by the test manager.
    *
    * @return true if all tests succeeded. false otherwise.
    */
   public boolean run() {
+    if (StringUtils.isNotEmpty(loadScenario)) {
+      return runLoad();
+    }
+    if (NATIVE_SCHEDULER.equalsIgnoreCase(scheduler)) {
+      return runScheduled();
+    }
+    if (changedOrFailed) {
+      log.warn("Executing all the scenarios, as only the native scheduler tracks their outcomes");
+    }
     return suiteExecutor.executeTest(
-        testManager.getTestSuites().values().stream()
+        getSuites().stream()
             .filter(
                 suite -> CollectionUtils.isEmpty(suite.getParentSuites()) && suite.isSuiteEnable())
             .map(this::createSuite)
             .collect(Collectors.toList()));
   }
 
+  private boolean runScheduled() {
+    return runScheduled(null, result -> {});
+  }
+
+  /**
+   * Executes the scenarios with the {@link ScenarioScheduler}, whatever the configured scheduler.
+   *
+   * @param selected Selects the scenarios to be executed, along with the scenarios they depend on.
+   *     null to execute the root scenarios of the suites.
+   * @param listener Notified of the result of each scenario as soon as it completed.
+   * @return true if all the executed scenarios passed. false otherwise.
+   */
+  public boolean runScheduled(
+      Predicate<RestelTestScenario> selected, Consumer<ScenarioResult> listener) {
+    // The run_once dependencies are executed again by each run of the daemon or the watch
+    DependencyCache.getInstance().clear();
+    Collection<RestelSuite> suites = getSuites();
+    ScenarioGraph graph = ScenarioGraph.build(suites, testManager.getScenarios(), selected);
+    ScenarioFingerprints fingerprints =
+        new ScenarioFingerprints(
+            testManager.getBaseConfig(), testManager::getTestMethod, testManager::getTestSuite);
+    OutcomeHistory outcomes =
+        OutcomeHistory.load(StringUtils.isEmpty(outcomesFile) ? null : Paths.get(outcomesFile));
+    if (changedOrFailed) {
+      graph = selectChangedOrFailed(suites, graph, fingerprints, outcomes);
+    }
+    Map<String, ScenarioResult> results = scenarioScheduler.execute(graph, listener);
+
+    for (ScenarioResult result : results.values()) {
+      ScenarioGraph.Node node = graph.getNode(result.getScenarioName());
+      if (node != null && node.isScenario()) {
+        outcomes.record(
+            result.getScenarioName(),
+            fingerprints.getFingerprint(node.getScenario()),
+            result.getStatus());
+      }
+    }
+    outcomes.save();
+
+    Map<ScenarioResult.Status, Long> summary =
+        results.values().stream()
+            .collect(Collectors.groupingBy(ScenarioResult::getStatus, Collectors.counting()));
+    log.info("Scenario results: " + summary);
+    if (StringUtils.isNotEmpty(shard)) {
+      Shard current = Shard.parse(shard);
+      Path report = Paths.get(shardDir, current.getReportFileName());
+      ShardReport.of(current, planShards(current), results.values()).write(report);
+      log.info("Results of the shard " + current + " written to " + report);
+    }
+    return results.values().stream().allMatch(ScenarioResult::isPassed);
+  }
+
+  /*
+  Rebuilds the graph with the scenarios which changed or did not pass in their last run, along
+  with the scenarios of the suites their suites depend on, transitively, as they set up the state
+  the selected scenarios run against. The scenario dependencies are pulled in by the graph,
+  whatever their own outcome.
+   */
+  private ScenarioGraph selectChangedOrFailed(
+      Collection<RestelSuite> suites,
+      ScenarioGraph graph,
+      ScenarioFingerprints fingerprints,
+      OutcomeHistory outcomes) {
+    Set<String> selected = new HashSet<>();
+    List<RestelTestScenario> scenarios = graph.getScenarios();
+    for (RestelTestScenario scenario : scenarios) {
+      if (outcomes.isChangedOrFailed(
+          scenario.getScenarioName(), fingerprints.getFingerprint(scenario))) {
+        selected.add(scenario.getScenarioName());
+      }
+    }
+    Set<String> setupSuites = new HashSet<>();
+    for (RestelTestScenario scenario : scenarios) {
+      RestelSuite suite = testManager.getTestSuite(scenario.getTestSuiteName());
+      if (selected.contains(scenario.getScenarioName()) && suite != null) {
+        collectDependencies(suite, setupSuites);
+      }
+    }
+    for (RestelTestScenario scenario : scenarios) {
+      if (setupSuites.contains(scenario.getTestSuiteName())) {
+        selected.add(scenario.getScenarioName());
+      }
+    }
+    ScenarioGraph changed =
+        ScenarioGraph.build(
+            suites,
+            testManager.getScenarios(),
+            scenario -> selected.contains(scenario.getScenarioName()));
+    log.info(
+        "Executing "
+            + changed.getScenarios().size()
+            + " of "
+            + scenarios.size()
+            + " scenarios, changed or failed: "
+            + selected);
+    return changed;
+  }
+
+  private static void collectDependencies(RestelSuite suite, Set<String> dependencies) {
+    if (CollectionUtils.isEmpty(suite.getDependsOn())) {
+      return;
+    }
+    for (RestelSuite dependency : suite.getDependsOn()) {
+      if (dependency.isSuiteEnable() && dependencies.add(dependency.getSuiteName())) {
+        collectDependencies(dependency, dependencies);
+      }
+    }
+  }
+
+  /* All the suites, or the root suites of the shard to be executed. */
+  private Collection<RestelSuite> getSuites() {
+    if (StringUtils.isEmpty(shard)) {
+      return testManager.getTestSuites().values();
+    }
+    Shard current = Shard.parse(shard);
+    List<RestelSuite> suites = planShards(current).get(current.getIndex() - 1);
+    log.info(
+        "Executing the shard "
+            + current
+            + " with the suites "
+            + suites.stream().map(RestelSuite::getSuiteName).collect(Collectors.toList()));
+    return suites;
+  }
+
+  /*
+  Plans from the workbook and the pinned durations only, rather than the local history of the
+  scheduler, so that every shard computes the same plan.
+   */
+  private List<List<RestelSuite>> planShards(Shard current) {
+    DurationHistory durations =
+        DurationHistory.load(
+            StringUtils.isEmpty(shardDurationsFile) ? null : Paths.get(shardDurationsFile));
+    return ShardPlanner.plan(
+        testManager.getTestSuites().values(),
+        testManager.getScenarios(),
+        current.getCount(),
+        scenario -> ScenarioScheduler.estimate(durations, scenario));
+  }
+
+  private boolean runLoad() {
+    LoadReport report =
+        loadRunner.run(
+            LoadProfile.builder()
+                .scenarioName(loadScenario)
+                .ratePerSecond(loadRate)
+                .durationSeconds(loadDurationSeconds)
+                .iterations(loadIterations)
+                .maxInFlight(loadMaxInFlight)
+                .drainTimeoutSeconds(loadDrainTimeoutSeconds)
+                .build());
+    return report.getFailed() == 0;
+  }
+
   private XmlSuite createSuite(RestelSuite suite) {
     XmlSuite parentSuite = getSuite(suite.getSuiteName());
     // Add dependent suites
@@ -59,10 +309,10 @@ public class RestelRunner {
     }
 
     parentSuite.setParallel(XmlSuite.ParallelMode.INSTANCES);
-    parentSuite.setThreadCount(2);
+    parentSuite.setThreadCount(Math.max(1, threadCount));
 
     // Since we are creating a test for each method this helps
-    Set<XmlTest> tests = new HashSet<>();
+    Map<String, XmlTest> tests = new LinkedHashMap<>();
     parentSuite.setTests(
         // Added executions of enabledTest with no parent executions and of the current TestSuite
         new ArrayList<>(
@@ -98,25 +348,27 @@ public class RestelRunner {
    * @param parentSuite The suite instance to which the created {@link XmlTest} instances will fall
    *     under.
    * @param restelExec The {@link RestelTestApiDefinition}s that will be translated.
+   * @param tests The {@link XmlTest}s translated so far, keyed by the scenario name. Each scenario
+   *     is translated only once, however often it is depended on.
    * @return List of {@link XmlTest} that has been translated.
    */
-  private static Set<XmlTest> getTestList(
-      XmlSuite parentSuite, List<RestelTestScenario> restelExec, Set<XmlTest> tests) {
+  private static Collection<XmlTest> getTestList(
+      XmlSuite parentSuite, List<RestelTestScenario> restelExec, Map<String, XmlTest> tests) {
     for (RestelTestScenario exec : restelExec) {
-      if (exec.isScenarioEnabled()) {
+      if (exec.isScenarioEnabled() && !tests.containsKey(exec.getScenarioName())) {
         XmlTest test = getTest(parentSuite, exec);
+        tests.put(exec.getScenarioName(), test);
         if (!CollectionUtils.isEmpty(exec.getDependsOn())) {
-          Set<XmlTest> dependentTest = new HashSet<>();
-          exec.getDependsOn()
-              .forEach(
-                  dep ->
-                      dependentTest.addAll(getTestList(parentSuite, exec.getDependsOn(), tests)));
-          test.setDependentXmlTest(new ArrayList<>(dependentTest));
+          getTestList(parentSuite, exec.getDependsOn(), tests);
+          test.setDependentXmlTest(
+              exec.getDependsOn().stream()
+                  .map(dep -> tests.get(dep.getScenarioName()))
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toList()));
         }
-        tests.add(test);
       }
     }
-    return tests;
+    return tests.values();
   }
 
   private static XmlTest getTest(XmlSuite parentSuite, RestelTestScenario exec) {
@@ -0,0 +1,409 @@
+package com.techconative.restel.core.daemon;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.techconative.restel.core.RestelRunner;
+import com.techconative.restel.core.managers.RestelTestManager;
+import com.techconative.restel.core.model.GlobalContext;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.scheduler.ScenarioResult;
+import com.techconative.restel.core.shard.ShardReport;
+import com.techconative.restel.exception.RestelException;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import com.techconative.restel.utils.Reporter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Long-lived local server, keeping the spring context, the parsed model, the compiled definitions
+ * and the pooled clients resident between the runs, so that a run only pays for the execution of
+ * its scenarios.
+ *
+ * <p>Listens on the loopback interface only, on <code>restel.daemon.port</code>:
+ *
+ * <ul>
+ *   <li><code>POST /run?suite=a,b&amp;scenario=c</code> - Executes the scenarios of the given
+ *       suites and the given scenarios, or all the root scenarios when none is given, along with
+ *       the scenarios they depend on. The result of each scenario is streamed back as a json line
+ *       as soon as it completed, followed by a summary line.
+ *   <li><code>POST /shutdown</code> - Stops the daemon.
+ * </ul>
+ *
+ * <p>Every request has to carry the token written to <code>restel.daemon.tokenFile</code> in the
+ * <code>X-Restel-Token</code> header. The token is random for each start and the file readable by
+ * its owner only, so that other local users can not trigger runs. Requests with an origin, or for a
+ * host other than the loopback, are rejected, so that web pages can not reach the daemon through
+ * the browser, even by rebinding their DNS name to the loopback.
+ *
+ * <p>The workbook is reloaded before a run when its modification time or size changed since it was
+ * loaded, from its snapshot when enabled. The runs are executed one at a time, as they share the
+ * global context and the report.
+ */
+@Slf4j
+@Component
+public class RestelDaemon {
+
+  public static final String RUN_PATH = "/run";
+
+  public static final String SHUTDOWN_PATH = "/shutdown";
+
+  public static final String SUITE_PARAM = "suite";
+
+  public static final String SCENARIO_PARAM = "scenario";
+
+  public static final String TOKEN_HEADER = "X-Restel-Token";
+
+  @Autowired private RestelRunner runner;
+
+  @Autowired private RestelTestManager testManager;
+
+  @Value("${restel.daemon.port:7357}")
+  private int port = 7357;
+
+  @Value("${app.excelFile}")
+  private String excelFile;
+
+  @Value("${restel.daemon.tokenFile:${user.home}/.restel/daemon.token}")
+  private String tokenFile;
+
+  private byte[] token;
+
+  private final Object runLock = new Object();
+
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  private HttpServer server;
+
+  private ExecutorService executor;
+
+  /* Modification time and size of the workbook the model was loaded from. */
+  private String loaded;
+
+  /**
+   * Starts listening for the run requests.
+   *
+   * @return The address the daemon listens on.
+   * @throws RestelException When the port can not be bound.
+   */
+  public synchronized InetSocketAddress start() {
+    loaded = stamp();
+    try {
+      token = writeToken(Paths.get(tokenFile));
+    } catch (IOException e) {
+      throw new RestelException(e, "DAEMON_ERROR", port);
+    }
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    } catch (IOException e) {
+      throw new RestelException(e, "DAEMON_ERROR", port);
+    }
+    // Runs wait for each other, but a shutdown must not wait for the run in progress
+    executor = Executors.newCachedThreadPool();
+    server.setExecutor(executor);
+    server.createContext(RUN_PATH, this::handleRun);
+    server.createContext(SHUTDOWN_PATH, this::handleShutdown);
+    server.start();
+    log.info("Restel daemon listening on " + server.getAddress());
+    return server.getAddress();
+  }
+
+  /**
+   * Waits until a shutdown is requested, then stops the daemon.
+   *
+   * @throws InterruptedException When interrupted while waiting.
+   */
+  public void awaitShutdown() throws InterruptedException {
+    stopped.await();
+    stop();
+  }
+
+  /** Stops listening, without waiting for the run in progress. */
+  public synchronized void stop() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdownNow();
+      server = null;
+      try {
+        Files.deleteIfExists(Paths.get(tokenFile));
+      } catch (IOException e) {
+        log.warn("Failed to delete the daemon token " + tokenFile, e);
+      }
+      log.info("Restel daemon stopped");
+    }
+    stopped.countDown();
+  }
+
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  public void setExcelFile(String excelFile) {
+    this.excelFile = excelFile;
+  }
+
+  public void setTokenFile(String tokenFile) {
+    this.tokenFile = tokenFile;
+  }
+
+  private void handleRun(HttpExchange exchange) throws IOException {
+    try {
+      if (!accept(exchange)) {
+        return;
+      }
+      Map<String, Set<String>> params = parseQuery(exchange.getRequestURI().getRawQuery());
+      synchronized (runLock) {
+        try {
+          reloadIfChanged();
+        } catch (RestelException e) {
+          log.error("Failed to reload the file: " + excelFile, e);
+          respond(exchange, 500, e.getMessage());
+          return;
+        }
+        Predicate<RestelTestScenario> selected;
+        try {
+          selected =
+              select(
+                  params.getOrDefault(SUITE_PARAM, Collections.emptySet()),
+                  params.getOrDefault(SCENARIO_PARAM, Collections.emptySet()));
+        } catch (RestelException e) {
+          log.error("Rejected the run request " + exchange.getRequestURI(), e);
+          respond(exchange, 400, e.getMessage());
+          return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        run(selected, exchange.getResponseBody());
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void handleShutdown(HttpExchange exchange) throws IOException {
+    try {
+      if (!accept(exchange)) {
+        return;
+      }
+      respond(exchange, 200, "Stopping");
+    } finally {
+      exchange.close();
+    }
+    stopped.countDown();
+  }
+
+  /* Responds with the error and returns false, unless the request is a POST from a local client. */
+  private boolean accept(HttpExchange exchange) throws IOException {
+    if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+      respond(exchange, 405, "Only POST is supported");
+      return false;
+    }
+    String origin = exchange.getRequestHeaders().getFirst("Origin");
+    String host = exchange.getRequestHeaders().getFirst("Host");
+    if (origin != null || !isLoopback(host)) {
+      log.warn("Rejected the request from the origin " + origin + " to the host " + host);
+      respond(exchange, 403, "Only local clients are accepted");
+      return false;
+    }
+    String presented = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+    if (presented == null
+        || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+      respond(exchange, 401, "Missing or invalid " + TOKEN_HEADER + " header");
+      return false;
+    }
+    return true;
+  }
+
+  /* Only literal addresses are resolved, so that a DNS name never passes for the loopback. */
+  private static boolean isLoopback(String host) {
+    if (StringUtils.isEmpty(host)) {
+      return false;
+    }
+    String name;
+    if (host.startsWith("[")) {
+      name = StringUtils.substringBetween(host, "[", "]");
+    } else {
+      name = StringUtils.substringBefore(host, ":");
+    }
+    if ("localhost".equalsIgnoreCase(name)) {
+      return true;
+    }
+    if (name == null || !name.matches("[0-9.]+|[0-9a-fA-F:.]*:[0-9a-fA-F:.]*")) {
+      return false;
+    }
+    try {
+      return InetAddress.getByName(name).isLoopbackAddress();
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /*
+  Writes a new random token, through a temporary file created readable by its owner only, in a
+  directory only its owner can list.
+   */
+  private static byte[] writeToken(Path file) throws IOException {
+    byte[] random = new byte[32];
+    new SecureRandom().nextBytes(random);
+    String value = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+    Path directory = file.toAbsolutePath().getParent();
+    if (!Files.isDirectory(directory)) {
+      if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+        Files.createDirectories(
+            directory,
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+      } else {
+        Files.createDirectories(directory);
+      }
+    }
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      Files.writeString(temp, value);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /*
+  Streams the results as they complete. A client going away does not stop the run, its results
+  are still reported.
+   */
+  private void run(Predicate<RestelTestScenario> selected, OutputStream body) {
+    Map<ScenarioResult.Status, Integer> summary = new EnumMap<>(ScenarioResult.Status.class);
+    Map<String, Object> last = new LinkedHashMap<>();
+    try {
+      GlobalContext.getInstance().reset();
+      boolean passed =
+          runner.runScheduled(
+              selected,
+              result -> {
+                synchronized (summary) {
+                  summary.merge(result.getStatus(), 1, Integer::sum);
+                }
+                writeLine(body, ShardReport.Result.of(result));
+              });
+      last.put("passed", passed);
+    } catch (RuntimeException e) {
+      log.error("The run failed", e);
+      last.put("passed", false);
+      last.put("error", String.valueOf(e.getMessage()));
+    } finally {
+      Reporter.flushAll();
+    }
+    synchronized (summary) {
+      last.put("summary", summary);
+    }
+    try {
+      writeLine(body, last);
+    } catch (UncheckedIOException e) {
+      log.warn("Failed to send the summary of the run", e);
+    }
+  }
+
+  /*
+  Selects the scenarios of the given suites and the given scenarios, null for all the root
+  scenarios.
+   */
+  private Predicate<RestelTestScenario> select(Set<String> suites, Set<String> scenarios) {
+    rejectUnknown(SUITE_PARAM, suites, name -> testManager.getTestSuite(name) != null);
+    rejectUnknown(SCENARIO_PARAM, scenarios, name -> testManager.getScenario(name) != null);
+    if (suites.isEmpty() && scenarios.isEmpty()) {
+      return null;
+    }
+    return scenario ->
+        suites.contains(scenario.getTestSuiteName())
+            || scenarios.contains(scenario.getScenarioName());
+  }
+
+  private static void rejectUnknown(String param, Set<String> names, Predicate<String> known) {
+    List<String> unknown = new ArrayList<>();
+    names.stream().filter(known.negate()).forEach(unknown::add);
+    if (!unknown.isEmpty()) {
+      throw new RestelException("UNKNOWN_RUN_FILTER", param, unknown);
+    }
+  }
+
+  /*
+  The stamp is taken before reloading, so that a change made while reloading is picked up by the
+  next run. A failed reload is retried by the next run, rather than running a stale model.
+   */
+  private void reloadIfChanged() {
+    String current = stamp();
+    if (!current.equals(loaded)) {
+      log.info("Reloading the changed file: " + excelFile);
+      loaded = null;
+      testManager.reload();
+      loaded = current;
+    }
+  }
+
+  private String stamp() {
+    File file = new File(excelFile);
+    return file.lastModified() + ":" + file.length();
+  }
+
+  private static void writeLine(OutputStream body, Object value) {
+    try {
+      byte[] line = ObjectMapperUtils.getMapper().writeValueAsBytes(value);
+      synchronized (body) {
+        body.write(line);
+        body.write('\n');
+        body.flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String message)
+      throws IOException {
+    byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, body.length);
+    exchange.getResponseBody().write(body);
+  }
+
+  /* Repeated and comma separated values are both accepted, as in suite=a&suite=b or suite=a,b. */
+  private static Map<String, Set<String>> parseQuery(String query) {
+    Map<String, Set<String>> params = new HashMap<>();
+    if (StringUtils.isEmpty(query)) {
+      return params;
+    }
+    for (String pair : query.split("&")) {
+      String[] keyValue = pair.split("=", 2);
+      String key = URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8);
+      String value =
+          keyValue.length > 1 ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "";
+      Set<String> values = params.computeIfAbsent(key, k -> new LinkedHashSet<>());
+      Arrays.stream(value.split(","))
+          .map(String::trim)
+          .filter(StringUtils::isNotEmpty)
+          .forEach(values::add);
+    }
+    return params;
+  }
+}
@@ -0,0 +1,154 @@
+package com.techconative.restel.core.data;
+
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.testng.TestCaseExecutor;
+import com.techconative.restel.utils.Reporter;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Executes a scenario once per row of its scenario data, each row in its own context with the row
+ * values as scenario params.
+ *
+ * <p>The rows are read as they are executed, at most <code>restel.data.maxConcurrency</code> of
+ * them in flight, so that a file of millions of rows is never held in memory. The scenario is set
+ * up once for all its rows, reusing its compiled definitions.
+ *
+ * <p>The rows are reported as a whole, by the number of rows passed and failed and the failures of
+ * the first <code>restel.data.maxReportedFailures</code> failing rows, rather than the steps of
+ * each row.
+ */
+@Slf4j
+@Service
+public class DataDrivenRunner {
+
+  /** A single row of the scenario. */
+  @FunctionalInterface
+  public interface Row {
+    /**
+     * Executes the scenario with the row.
+     *
+     * @param rowNum The 1 based number of the row.
+     * @param params The params of the row, keyed by their name.
+     * @return true when the row passed.
+     * @throws Exception when the row failed.
+     */
+    boolean execute(long rowNum, Map<String, Object> params) throws Exception;
+  }
+
+  @Value("${restel.data.maxConcurrency:16}")
+  private int maxConcurrency = 16;
+
+  @Value("${restel.data.maxReportedFailures:20}")
+  private int maxReportedFailures = 20;
+
+  /**
+   * Executes the scenario of the executor once per row of its scenario data, reporting the
+   * outcome to its test case.
+   *
+   * @param executor The {@link TestCaseExecutor} of the scenario.
+   * @return The {@link DataRunReport} of the rows.
+   */
+  public DataRunReport run(TestCaseExecutor executor) {
+    RestelTestScenario scenario = executor.getExecutionGroup();
+    DataRunReport report;
+    try (DataRows rows = DataRows.open(Paths.get(scenario.getScenarioData()))) {
+      report = run(scenario.getScenarioName(), rows, executor::executeRow);
+    }
+    Reporter.conveyStep(report.toString());
+    report
+        .getFailures()
+        .forEach((rowNum, error) -> Reporter.conveyStep("Row " + rowNum + " failed: " + error));
+    return report;
+  }
+
+  /**
+   * Executes the given row for each of the rows.
+   *
+   * @param scenarioName The name of the scenario, to be reported.
+   * @param rows The rows, read only as they are executed.
+   * @param row The {@link Row} executing the scenario.
+   * @return The {@link DataRunReport} of the rows.
+   */
+  public DataRunReport run(String scenarioName, Iterator<Map<String, Object>> rows, Row row) {
+    log.info(
+        "Executing the rows of " + scenarioName + ", at most " + maxConcurrency + " at a time");
+    DataRunReport report = new DataRunReport(scenarioName, maxReportedFailures);
+    Semaphore inFlight = new Semaphore(maxConcurrency);
+    AtomicInteger threads = new AtomicInteger();
+    ExecutorService workers =
+        Executors.newFixedThreadPool(
+            maxConcurrency,
+            runnable -> {
+              Thread thread = new Thread(runnable, "restel-data-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    long start = System.nanoTime();
+    boolean complete = false;
+    try {
+      for (long rowNum = 1; ; rowNum++) {
+        // A row is read only once a slot is free, so that the reading keeps pace with the rows
+        inFlight.acquire();
+        Map<String, Object> params;
+        try {
+          if (!rows.hasNext()) {
+            inFlight.release();
+            complete = true;
+            break;
+          }
+          params = rows.next();
+        } catch (RuntimeException e) {
+          // The rows after the unreadable one are not executed, thus the run is incomplete
+          log.error("Failed to read the row " + rowNum + " of " + scenarioName, e);
+          report.recordRow(rowNum, false, e);
+          inFlight.release();
+          break;
+        }
+        long current = rowNum;
+        workers.execute(
+            () -> {
+              boolean passed = false;
+              Throwable error = null;
+              try {
+                passed = row.execute(current, params);
+              } catch (Exception | AssertionError e) {
+                log.debug("Row " + current + " of " + scenarioName + " failed", e);
+                error = e;
+              } finally {
+                report.recordRow(current, passed, error);
+                inFlight.release();
+              }
+            });
+      }
+      // Waits for the rows in flight, even when the rows could not all be read
+      inFlight.acquire(maxConcurrency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      complete = false;
+      workers.shutdownNow();
+    } finally {
+      workers.shutdown();
+      report.finish(System.nanoTime() - start, complete);
+    }
+    log.info(report.toString());
+    return report;
+  }
+
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public void setMaxReportedFailures(int maxReportedFailures) {
+    this.maxReportedFailures = maxReportedFailures;
+  }
+}
@@ -0,0 +1,221 @@
+package com.techconative.restel.core.data;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.techconative.restel.exception.RestelException;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Rows of params read from a scenario data file, one at a time, so that the memory used is bounded
+ * by the rows in flight rather than the size of the file.
+ *
+ * <ul>
+ *   <li><code>.csv</code> - The first line names the params, each of the following lines is a row.
+ *       The values are read as strings, and may be quoted to hold commas, quotes as <code>""
+ *       </code> or line breaks. An empty value leaves the param to the scenario params.
+ *   <li><code>.jsonl</code>, <code>.ndjson</code> - Each line is a json object, keeping the types
+ *       of its values.
+ * </ul>
+ *
+ * <p>The blank lines are skipped.
+ */
+@Slf4j
+public class DataRows implements Iterator<Map<String, Object>>, Closeable {
+
+  private enum Format {
+    CSV,
+    JSONL
+  }
+
+  private static final TypeReference<LinkedHashMap<String, Object>> ROW_TYPE =
+      new TypeReference<LinkedHashMap<String, Object>>() {};
+
+  private final Path file;
+
+  private final Format format;
+
+  private final BufferedReader reader;
+
+  private List<String> header;
+
+  private Map<String, Object> next;
+
+  private boolean exhausted;
+
+  private long lineNum;
+
+  private DataRows(Path file, Format format, BufferedReader reader) {
+    this.file = file;
+    this.format = format;
+    this.reader = reader;
+  }
+
+  /**
+   * Opens the data file, the format being given by its extension.
+   *
+   * @param file The csv or jsonl file.
+   * @return The {@link DataRows}, to be closed once read.
+   * @throws RestelException When the file is not supported or can not be read.
+   */
+  public static DataRows open(Path file) {
+    String name = String.valueOf(file.getFileName()).toLowerCase();
+    Format format;
+    if (name.endsWith(".csv")) {
+      format = Format.CSV;
+    } else if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+      format = Format.JSONL;
+    } else {
+      throw new RestelException("INVALID_DATA_SOURCE", file);
+    }
+    try {
+      return new DataRows(file, format, Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new RestelException(e, "DATA_SOURCE_ERROR", file);
+    }
+  }
+
+  /**
+   * @return true when another row is available.
+   * @throws RestelException When the next row can not be read or is invalid.
+   */
+  @Override
+  public boolean hasNext() {
+    if (next == null && !exhausted) {
+      try {
+        next = format == Format.CSV ? readCsvRow() : readJsonRow();
+      } catch (IOException e) {
+        throw new RestelException(e, "DATA_SOURCE_ERROR", file);
+      }
+      exhausted = next == null;
+    }
+    return next != null;
+  }
+
+  /**
+   * @return The params of the next row, keyed by their name.
+   * @throws RestelException When the next row can not be read or is invalid.
+   */
+  @Override
+  public Map<String, Object> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Map<String, Object> row = next;
+    next = null;
+    return row;
+  }
+
+  @Override
+  public void close() {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      log.warn("Failed to close the scenario data " + file, e);
+    }
+  }
+
+  private Map<String, Object> readJsonRow() throws IOException {
+    String line = readNonBlankLine();
+    if (line == null) {
+      return null;
+    }
+    Map<String, Object> row;
+    try {
+      row = ObjectMapperUtils.getMapper().readValue(line, ROW_TYPE);
+    } catch (IOException e) {
+      throw new RestelException(e, "INVALID_DATA_ROW", file, lineNum, "expected a json object");
+    }
+    if (row == null) {
+      throw new RestelException("INVALID_DATA_ROW", file, lineNum, "expected a json object");
+    }
+    return row;
+  }
+
+  private Map<String, Object> readCsvRow() throws IOException {
+    if (header == null) {
+      header = readCsvRecord();
+      if (header == null) {
+        return null;
+      }
+      header.replaceAll(String::trim);
+    }
+    List<String> values = readCsvRecord();
+    if (values == null) {
+      return null;
+    }
+    if (values.size() > header.size()) {
+      throw new RestelException(
+          "INVALID_DATA_ROW", file, lineNum, "more values than the " + header.size() + " params");
+    }
+    Map<String, Object> row = new LinkedHashMap<>();
+    for (int i = 0; i < values.size(); i++) {
+      if (!values.get(i).isEmpty()) {
+        row.put(header.get(i), values.get(i));
+      }
+    }
+    return row;
+  }
+
+  /*
+  Reads the values of a csv record, which continues on the next lines while a quote is open.
+   */
+  private List<String> readCsvRecord() throws IOException {
+    String line = readNonBlankLine();
+    if (line == null) {
+      return null;
+    }
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (quoted) {
+          if (c != '"') {
+            value.append(c);
+          } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+            value.append('"');
+            i++;
+          } else {
+            quoted = false;
+          }
+        } else if (c == '"') {
+          quoted = true;
+        } else if (c == ',') {
+          values.add(value.toString());
+          value.setLength(0);
+        } else {
+          value.append(c);
+        }
+      }
+      if (!quoted) {
+        break;
+      }
+      line = reader.readLine();
+      lineNum++;
+      if (line == null) {
+        throw new RestelException("INVALID_DATA_ROW", file, lineNum, "unterminated quote");
+      }
+      value.append('\n');
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private String readNonBlankLine() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      lineNum++;
+    } while (line != null && StringUtils.isBlank(line));
+    return line;
+  }
+}
@@ -0,0 +1,109 @@
+package com.techconative.restel.core.data;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of the rows of a data driven scenario executed by the {@link DataDrivenRunner}. Only the
+ * failures of the first rows are kept, so that the report of a scenario with many failing rows
+ * stays compact.
+ */
+public class DataRunReport {
+
+  private final String scenarioName;
+
+  private final int maxFailures;
+
+  private final LongAdder passed = new LongAdder();
+
+  private final LongAdder failed = new LongAdder();
+
+  /* The failures of the first rows, keyed by the row number. */
+  private final TreeMap<Long, String> failures = new TreeMap<>();
+
+  private volatile long elapsedNanos;
+
+  private volatile boolean complete;
+
+  DataRunReport(String scenarioName, int maxFailures) {
+    this.scenarioName = scenarioName;
+    this.maxFailures = maxFailures;
+  }
+
+  void recordRow(long rowNum, boolean isPassed, Throwable error) {
+    if (isPassed) {
+      passed.increment();
+      return;
+    }
+    failed.increment();
+    String failure = error == null ? "Failed to pass the assertions" : String.valueOf(error);
+    synchronized (failures) {
+      failures.put(rowNum, failure);
+      if (failures.size() > maxFailures) {
+        failures.pollLastEntry();
+      }
+    }
+  }
+
+  void finish(long elapsedNanos, boolean isComplete) {
+    this.elapsedNanos = elapsedNanos;
+    this.complete = isComplete;
+  }
+
+  public String getScenarioName() {
+    return scenarioName;
+  }
+
+  /** @return Number of rows that passed. */
+  public long getPassed() {
+    return passed.sum();
+  }
+
+  /** @return Number of rows that failed. */
+  public long getFailed() {
+    return failed.sum();
+  }
+
+  /** @return true when all the rows were executed, and none of them failed. */
+  public boolean isPassed() {
+    return complete && getFailed() == 0;
+  }
+
+  /**
+   * @return false when the run was interrupted, or a row could not be read, before executing all
+   *     the rows.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /** @return The failures of the first failing rows, keyed by the 1 based row number. */
+  public Map<Long, String> getFailures() {
+    synchronized (failures) {
+      return new TreeMap<>(failures);
+    }
+  }
+
+  /** @return Rows completed per second. */
+  public double getThroughput() {
+    if (elapsedNanos == 0) {
+      return 0;
+    }
+    return (getPassed() + getFailed()) * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "Data report of "
+        + scenarioName
+        + ": rows="
+        + (getPassed() + getFailed())
+        + ", passed="
+        + getPassed()
+        + ", failed="
+        + getFailed()
+        + String.format(", throughput=%.2f/s", getThroughput())
+        + (complete ? "" : ", incomplete");
+  }
+}
@@ -0,0 +1,80 @@
+package com.techconative.restel.core.http;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a pooled {@link java.net.http.HttpClient} managed by the {@link
+ * RESTClientRegistry}.
+ */
+public class ClientPoolStats {
+
+  private final LongAdder requests = new LongAdder();
+
+  private final LongAdder failures = new LongAdder();
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final AtomicInteger peakInFlight = new AtomicInteger();
+
+  private final Set<String> baseUrls = ConcurrentHashMap.newKeySet();
+
+  void addBaseUrl(String baseUrl) {
+    baseUrls.add(baseUrl);
+  }
+
+  void requestStarted() {
+    requests.increment();
+    int current = inFlight.incrementAndGet();
+    peakInFlight.accumulateAndGet(current, Math::max);
+  }
+
+  void requestCompleted(boolean failed) {
+    inFlight.decrementAndGet();
+    if (failed) {
+      failures.increment();
+    }
+  }
+
+  /** @return Total number of requests sent through the pool. */
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  /** @return Number of requests that failed with an I/O error. */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  /** @return Number of requests currently in flight. */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /** @return Highest number of requests seen in flight at once. */
+  public int getPeakInFlight() {
+    return peakInFlight.get();
+  }
+
+  /** @return Number of distinct base urls served by the pool. */
+  public int getBaseUrlCount() {
+    return baseUrls.size();
+  }
+
+  @Override
+  public String toString() {
+    return "ClientPoolStats{requests="
+        + getRequests()
+        + ", failures="
+        + getFailures()
+        + ", inFlight="
+        + getInFlight()
+        + ", peakInFlight="
+        + getPeakInFlight()
+        + ", baseUrls="
+        + getBaseUrlCount()
+        + "}";
+  }
+}
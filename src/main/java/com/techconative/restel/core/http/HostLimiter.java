@@ -0,0 +1,307 @@
+package com.techconative.restel.core.http;
+
+import com.techconative.restel.exception.RestelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the requests in flight to a host, so that raising the parallelism of the scenarios does
+ * not bring down a fragile server. The requests beyond the limit wait for a request to complete, up
+ * to {@link LimiterSettings#getMaxQueue()} of them for at most {@link
+ * LimiterSettings#getQueueTimeoutMillis()}, and are rejected beyond.
+ *
+ * <p>The limit is either static, or adapted to the latencies and overloads observed, so as to find
+ * the highest concurrency the host takes without its latency blowing up:
+ *
+ * <ul>
+ *   <li>{@link Mode#AIMD} - Increases the limit by one for each request completed while the limit
+ *       is in use, and multiplies it by {@link LimiterSettings#getBackoffRatio()} for each request
+ *       the host failed or rejected as overloaded.
+ *   <li>{@link Mode#GRADIENT} - Compares the latency of the requests to their long term average,
+ *       lowering the limit as the latency grows beyond {@link LimiterSettings#getTolerance()} times
+ *       the average, and otherwise growing it by its square root, smoothed over the requests.
+ * </ul>
+ *
+ * <p>The latency is measured from the time the request got its permit, excluding the time spent
+ * waiting for it.
+ */
+public class HostLimiter {
+
+  /** How the limit is set. */
+  public enum Mode {
+    /** No limit. */
+    NONE,
+    /** The limit is {@link LimiterSettings#getMaxLimit()}. */
+    STATIC,
+    /** Additive increase, multiplicative decrease on the overloads. */
+    AIMD,
+    /** Follows the gradient of the latency. */
+    GRADIENT
+  }
+
+  /* Weight of a request in the long term average latency, of about the last 600 requests. */
+  private static final double LONG_RTT_WEIGHT = 2.0 / 601;
+
+  /* Weight of a new limit of the gradient mode in the limit. */
+  private static final double SMOOTHING = 0.2;
+
+  private final String host;
+
+  private final LimiterSettings settings;
+
+  private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+
+  private final LongAdder rejections = new LongAdder();
+
+  private double limit;
+
+  private int inFlight;
+
+  private double longRttNanos;
+
+  /**
+   * @param host The host, as scheme://host:port.
+   * @param settings The {@link LimiterSettings}.
+   */
+  public HostLimiter(String host, LimiterSettings settings) {
+    this.host = host;
+    this.settings = settings;
+    this.limit =
+        settings.getMode() == Mode.STATIC
+            ? settings.getMaxLimit()
+            : Math.max(
+                settings.getMinLimit(),
+                Math.min(settings.getMaxLimit(), settings.getInitialLimit()));
+  }
+
+  /**
+   * Waits for a permit to send a request to the host.
+   *
+   * @return The {@link Permit}, to be released once the response is received.
+   * @throws RestelException When the request is rejected, as too many requests are waiting or it
+   *     waited too long.
+   * @throws InterruptedException When interrupted while waiting.
+   */
+  public Permit acquire() throws InterruptedException {
+    CompletableFuture<Permit> permit = enqueue();
+    try {
+      return permit.get();
+    } catch (InterruptedException e) {
+      if (permit.cancel(false)) {
+        abandon(permit, null);
+      } else {
+        // Gives the permit back if it was granted meanwhile
+        permit.thenAccept(Permit::discard);
+      }
+      throw e;
+    } catch (ExecutionException e) {
+      abandon(permit, e.getCause());
+      throw reject(e.getCause());
+    }
+  }
+
+  /**
+   * Gets a permit to send a request to the host, without blocking the calling thread.
+   *
+   * @return {@link CompletableFuture} completed with the {@link Permit} once granted, to be
+   *     released once the response is received, or exceptionally with {@link RestelException} when
+   *     the request is rejected.
+   */
+  public CompletableFuture<Permit> acquireAsync() {
+    CompletableFuture<Permit> result = new CompletableFuture<>();
+    CompletableFuture<Permit> waiter = enqueue();
+    waiter.whenComplete(
+        (permit, error) -> {
+          if (error != null) {
+            abandon(waiter, error);
+            result.completeExceptionally(reject(error));
+          } else if (!result.complete(permit)) {
+            permit.discard();
+          }
+        });
+    return result;
+  }
+
+  private CompletableFuture<Permit> enqueue() {
+    CompletableFuture<Permit> waiter;
+    synchronized (this) {
+      if (inFlight < getLimit()) {
+        inFlight++;
+        return CompletableFuture.completedFuture(new Permit());
+      }
+      if (waiters.size() >= settings.getMaxQueue()) {
+        rejections.increment();
+        return CompletableFuture.failedFuture(
+            new RestelException("HOST_LIMIT_REJECTED", host, waiters.size() + " requests waiting"));
+      }
+      waiter = new CompletableFuture<>();
+      waiters.add(waiter);
+    }
+    if (settings.getQueueTimeoutMillis() > 0) {
+      waiter.orTimeout(settings.getQueueTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+    return waiter;
+  }
+
+  /* Forgets a waiter that timed out or was cancelled, before its failure is reported. */
+  private void abandon(CompletableFuture<Permit> waiter, Throwable error) {
+    synchronized (this) {
+      waiters.remove(waiter);
+    }
+    if (error instanceof TimeoutException) {
+      rejections.increment();
+    }
+  }
+
+  private RestelException reject(Throwable error) {
+    if (error instanceof RestelException) {
+      return (RestelException) error;
+    }
+    if (error instanceof CancellationException) {
+      return new RestelException(error, "HOST_LIMIT_REJECTED", host, "cancelled");
+    }
+    return new RestelException(
+        error,
+        "HOST_LIMIT_REJECTED",
+        host,
+        "waited more than " + settings.getQueueTimeoutMillis() + " ms");
+  }
+
+  /*
+  Updates the limit with a completed request, then grants the freed permits. The waiters are
+  completed outside the lock, as their completion may send their request right away.
+   */
+  private void release(long rttNanos, boolean overloaded, boolean sampled) {
+    List<CompletableFuture<Permit>> granted = new ArrayList<>();
+    synchronized (this) {
+      int used = inFlight;
+      inFlight--;
+      if (sampled) {
+        adapt(rttNanos, overloaded, used);
+      }
+      while (inFlight < getLimit() && !waiters.isEmpty()) {
+        CompletableFuture<Permit> waiter = waiters.poll();
+        if (!waiter.isDone()) {
+          inFlight++;
+          granted.add(waiter);
+        }
+      }
+    }
+    for (CompletableFuture<Permit> waiter : granted) {
+      Permit permit = new Permit();
+      if (!waiter.complete(permit)) {
+        // Timed out or cancelled meanwhile
+        permit.discard();
+      }
+    }
+  }
+
+  private void adapt(long rttNanos, boolean overloaded, int used) {
+    switch (settings.getMode()) {
+      case AIMD:
+        if (overloaded) {
+          limit *= settings.getBackoffRatio();
+        } else if (used * 2 >= limit) {
+          // Growing the limit only while it is in use, else nothing tells that the host takes it
+          limit += 1;
+        }
+        break;
+      case GRADIENT:
+        adaptGradient(rttNanos, overloaded, used);
+        break;
+      default:
+        return;
+    }
+    limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), limit));
+  }
+
+  private void adaptGradient(long rttNanos, boolean overloaded, int used) {
+    if (longRttNanos == 0) {
+      longRttNanos = rttNanos;
+    } else {
+      longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_WEIGHT;
+      // The latency fell well below the average, follow it rather than growing the limit for long
+      if (longRttNanos > 2.0 * rttNanos) {
+        longRttNanos *= 0.95;
+      }
+    }
+    if (!overloaded && used * 2 < limit) {
+      return;
+    }
+    double gradient =
+        overloaded
+            ? 0.5
+            : Math.max(0.5, Math.min(1.0, settings.getTolerance() * longRttNanos / rttNanos));
+    double newLimit = limit * gradient + Math.sqrt(limit);
+    limit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  /** @return The current limit of the requests in flight. */
+  public synchronized int getLimit() {
+    return settings.getMode() == Mode.NONE ? Integer.MAX_VALUE : (int) limit;
+  }
+
+  /** @return Number of requests in flight. */
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /** @return Number of requests waiting for a permit. */
+  public synchronized int getQueueDepth() {
+    return waiters.size();
+  }
+
+  /** @return Number of requests rejected, as too many were waiting or they waited too long. */
+  public long getRejections() {
+    return rejections.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "HostLimiter{mode="
+        + settings.getMode()
+        + ", limit="
+        + getLimit()
+        + ", inFlight="
+        + getInFlight()
+        + ", queueDepth="
+        + getQueueDepth()
+        + ", rejections="
+        + getRejections()
+        + "}";
+  }
+
+  /** Permit to send a request to the host, to be released exactly once. */
+  public class Permit {
+
+    private final long start = System.nanoTime();
+
+    private Permit() {}
+
+    /**
+     * Releases the permit once the response is received, adapting the limit to its latency.
+     *
+     * @param overloaded true when the request failed, or the host rejected it as overloaded.
+     */
+    public void release(boolean overloaded) {
+      HostLimiter.this.release(System.nanoTime() - start, overloaded, true);
+    }
+
+    /* Releases the permit of a request never sent, without adapting the limit. */
+    private void discard() {
+      HostLimiter.this.release(0, false, false);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.techconative.restel.core.http;
+
+import static java.lang.System.getProperty;
+
+import com.techconative.restel.utils.Constants;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Settings of a pooled {@link HttpClient}. Clients sharing the same settings share the same
+ * underlying {@link HttpClient} and thus its connection pool.
+ */
+@Value
+@Builder
+public class HttpClientSettings {
+
+  /** Connect timeout in milliseconds. Zero or negative means the JDK default (no timeout). */
+  long connectTimeoutMillis;
+
+  HttpClient.Version version;
+
+  HttpClient.Redirect redirect;
+
+  /**
+   * Gets the default settings, as configured through the system properties.
+   *
+   * @return The default {@link HttpClientSettings}.
+   */
+  public static HttpClientSettings defaults() {
+    return HttpClientSettings.builder()
+        .connectTimeoutMillis(
+            Long.parseLong(getProperty(Constants.HTTP_CONNECT_TIMEOUT_PROPERTY, "0")))
+        .version(
+            HttpClient.Version.valueOf(
+                getProperty(Constants.HTTP_VERSION_PROPERTY, HttpClient.Version.HTTP_2.name())))
+        .redirect(
+            HttpClient.Redirect.valueOf(
+                getProperty(Constants.HTTP_REDIRECT_PROPERTY, HttpClient.Redirect.NEVER.name())))
+        .build();
+  }
+
+  /**
+   * Gets the connect timeout as {@link Duration}.
+   *
+   * @return The connect timeout, null when not configured.
+   */
+  public Duration getConnectTimeout() {
+    return connectTimeoutMillis > 0 ? Duration.ofMillis(connectTimeoutMillis) : null;
+  }
+}
@@ -0,0 +1,61 @@
+package com.techconative.restel.core.http;
+
+import static java.lang.System.getProperty;
+
+import com.techconative.restel.utils.Constants;
+import lombok.Builder;
+import lombok.Value;
+
+/** Settings of the {@link HostLimiter}s, shared by all the hosts. */
+@Value
+@Builder(toBuilder = true)
+public class LimiterSettings {
+
+  HostLimiter.Mode mode;
+
+  /** The limit the adaptive modes start from. */
+  int initialLimit;
+
+  /** The lowest limit of the adaptive modes. */
+  int minLimit;
+
+  /** The limit of the static mode, and the highest limit of the adaptive modes. */
+  int maxLimit;
+
+  /** The requests waiting beyond this many are rejected. */
+  int maxQueue;
+
+  /** The requests waiting longer than this are rejected. Zero or negative to wait indefinitely. */
+  long queueTimeoutMillis;
+
+  /** Ratio the limit is multiplied with when the host is overloaded, in the AIMD mode. */
+  double backoffRatio;
+
+  /**
+   * How many times the usual latency is tolerated before reducing the limit, in the gradient
+   * mode.
+   */
+  double tolerance;
+
+  /**
+   * Gets the default settings, as configured through the system properties.
+   *
+   * @return The default {@link LimiterSettings}.
+   */
+  public static LimiterSettings defaults() {
+    return LimiterSettings.builder()
+        .mode(
+            HostLimiter.Mode.valueOf(
+                getProperty(Constants.HTTP_LIMIT_MODE_PROPERTY, HostLimiter.Mode.NONE.name())
+                    .toUpperCase()))
+        .initialLimit(Integer.parseInt(getProperty(Constants.HTTP_LIMIT_INITIAL_PROPERTY, "20")))
+        .minLimit(Integer.parseInt(getProperty(Constants.HTTP_LIMIT_MIN_PROPERTY, "1")))
+        .maxLimit(Integer.parseInt(getProperty(Constants.HTTP_LIMIT_MAX_PROPERTY, "200")))
+        .maxQueue(Integer.parseInt(getProperty(Constants.HTTP_LIMIT_MAX_QUEUE_PROPERTY, "1000")))
+        .queueTimeoutMillis(
+            Long.parseLong(getProperty(Constants.HTTP_LIMIT_QUEUE_TIMEOUT_PROPERTY, "60000")))
+        .backoffRatio(0.9)
+        .tolerance(1.5)
+        .build();
+  }
+}
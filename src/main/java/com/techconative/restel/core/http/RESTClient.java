@@ -24,8 +24,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -41,15 +44,87 @@ public class RESTClient {
 
   private final String baseServerUrl;
 
-  private HttpClient client;
+  private final HttpClient client;
+
+  private final ClientPoolStats stats;
+
+  private final HostLimiter limiter;
 
   private List<String> noBodyRequests = Arrays.asList("GET", "DELETE", "TRACE", "OPTIONS", "HEAD");
 
+  /**
+   * Creates a client for the given base url on the shared {@link HttpClient} of the {@link
+   * RESTClientRegistry}. Prefer {@link RESTClientRegistry#getClient(String)} to reuse the client
+   * itself.
+   *
+   * @param baseUrl The base url of the server.
+   */
   public RESTClient(String baseUrl) {
-    this.baseServerUrl = baseUrl.replaceAll("/+$", ""); // Remove trailing /
-    // if any
+    this(baseUrl, RESTClientRegistry.getInstance().getDefaultSettings());
+  }
+
+  private RESTClient(String baseUrl, HttpClientSettings settings) {
+    this(
+        baseUrl,
+        RESTClientRegistry.getInstance().getHttpClient(settings),
+        RESTClientRegistry.getInstance().getStats(settings));
+  }
+
+  RESTClient(String baseUrl, HttpClient client, ClientPoolStats stats) {
+    this.baseServerUrl = normalizeBaseUrl(baseUrl);
     log.info("Instantiating rest client with base url" + baseUrl);
-    client = HttpClient.newBuilder().build();
+    this.client = client;
+    this.stats = stats;
+    this.limiter = RESTClientRegistry.getInstance().getLimiter(getHost(baseServerUrl));
+  }
+
+  /**
+   * Removes the trailing "/" from the base url, if any.
+   *
+   * @param baseUrl The base url.
+   * @return The base url without trailing "/".
+   */
+  static String normalizeBaseUrl(String baseUrl) {
+    return baseUrl.replaceAll("/+$", "");
+  }
+
+  /**
+   * Gets the host the requests of the base url are sent to.
+   *
+   * @param baseUrl The base url.
+   * @return The scheme, host and port of the base url, the base url itself when it has no host.
+   */
+  static String getHost(String baseUrl) {
+    try {
+      URI uri = new URI(baseUrl);
+      if (uri.getHost() == null) {
+        return baseUrl;
+      }
+      return uri.getScheme()
+          + "://"
+          + uri.getHost().toLowerCase()
+          + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+    } catch (URISyntaxException e) {
+      return baseUrl;
+    }
+  }
+
+  /**
+   * Makes the given rest call. The pre-serialized body of the request, if any, is sent as is for
+   * JSON requests.
+   *
+   * @param request The {@link RESTRequest} to be made.
+   * @return Response from the server after making the http call.
+   * @throws RestelException When there is an error making the API call
+   */
+  public RESTResponse makeCall(RESTRequest request) {
+    return makeCall(
+        request.getMethod(),
+        request.getEndpoint(),
+        request.getHeaders(),
+        request.getRequestParams(),
+        request.getRequestBody(),
+        request.getSerializedBody());
   }
 
   /**
@@ -70,18 +145,25 @@ public class RESTClient {
       Map<String, Object> headers,
       Map<String, Object> requestParams,
       Object requestBody) {
+    return makeCall(method, endpoint, headers, requestParams, requestBody, null);
+  }
+
+  private RESTResponse makeCall(
+      String method,
+      String endpoint,
+      Map<String, Object> headers,
+      Map<String, Object> requestParams,
+      Object requestBody,
+      byte[] serializedBody) {
     try {
-      HttpRequest httpReq = asHttpRequest(method, endpoint, headers, requestParams, requestBody);
+      HttpRequest httpReq =
+          asHttpRequest(method, endpoint, headers, requestParams, requestBody, serializedBody);
 
-      HttpResponse<String> response = client.send(httpReq, BodyHandlers.ofString());
+      HttpResponse<String> response = send(httpReq);
 
       Reporter.conveyCall(httpReq, response, requestBody);
 
-      RESTResponse resp = new RESTResponse();
-      resp.setHeaders(flattenValues(response.headers()));
-      resp.setResponse(ResponseBody.builder().body(response.body()).build());
-      resp.setStatus(response.statusCode());
-      return resp;
+      return asRestResponse(response);
 
     } catch (JsonProcessingException | URISyntaxException e) {
       log.error(MessageUtils.getString("REQUEST_ERROR"), e);
@@ -96,6 +178,131 @@ public class RESTClient {
     }
   }
 
+  /**
+   * Makes the given rest call without blocking the calling thread. The pre-serialized body of the
+   * request, if any, is sent as is for JSON requests.
+   *
+   * @param request The {@link RESTRequest} to be made.
+   * @return {@link CompletableFuture} completed with the response from the server, or
+   *     exceptionally with {@link RestelException} when there is an error making the API call.
+   */
+  public CompletableFuture<RESTResponse> makeCallAsync(RESTRequest request) {
+    return makeCallAsync(
+        request.getMethod(),
+        request.getEndpoint(),
+        request.getHeaders(),
+        request.getRequestParams(),
+        request.getRequestBody(),
+        request.getSerializedBody());
+  }
+
+  /**
+   * Makes the given rest call without blocking the calling thread.
+   *
+   * @param method The HTTP method.
+   * @param endpoint The endpoint to be called. This is expected with leading "/" character that
+   *     comes after the configured {@link RESTClient#baseServerUrl}
+   * @param headers The headers map.
+   * @param requestParams the request parameters
+   * @param requestBody The request body
+   * @return {@link CompletableFuture} completed with the response from the server, or
+   *     exceptionally with {@link RestelException} when there is an error making the API call.
+   */
+  public CompletableFuture<RESTResponse> makeCallAsync(
+      String method,
+      String endpoint,
+      Map<String, Object> headers,
+      Map<String, Object> requestParams,
+      Object requestBody) {
+    return makeCallAsync(method, endpoint, headers, requestParams, requestBody, null);
+  }
+
+  private CompletableFuture<RESTResponse> makeCallAsync(
+      String method,
+      String endpoint,
+      Map<String, Object> headers,
+      Map<String, Object> requestParams,
+      Object requestBody,
+      byte[] serializedBody) {
+    HttpRequest httpReq;
+    try {
+      httpReq =
+          asHttpRequest(method, endpoint, headers, requestParams, requestBody, serializedBody);
+    } catch (JsonProcessingException | URISyntaxException e) {
+      log.error(MessageUtils.getString("REQUEST_ERROR"), e);
+      return CompletableFuture.failedFuture(new RestelException(e, "REQUEST_ERROR"));
+    } catch (IOException e) {
+      log.error(MessageUtils.getString("CALL_ERROR"), e);
+      return CompletableFuture.failedFuture(new RestelException(e, "CALL_ERROR"));
+    }
+
+    // The response is handled on the client's executor, reported where the call was made
+    Reporter.Context reportContext = Reporter.currentContext();
+    CompletableFuture<HostLimiter.Permit> permit =
+        limiter == null ? CompletableFuture.completedFuture(null) : limiter.acquireAsync();
+    return permit.thenCompose(
+        granted -> {
+          stats.requestStarted();
+          CompletableFuture<HttpResponse<String>> sent;
+          try {
+            sent = client.sendAsync(httpReq, BodyHandlers.ofString());
+          } catch (RuntimeException e) {
+            // Rejected before being sent, the handler below never runs
+            stats.requestCompleted(true);
+            release(granted, null, true);
+            log.error(MessageUtils.getString("CALL_ERROR"), e);
+            throw new RestelException(e, "CALL_ERROR");
+          }
+          return sent.handle(
+              (response, error) -> {
+                stats.requestCompleted(error != null);
+                release(granted, response, error != null);
+                if (error != null) {
+                  Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                  log.error(MessageUtils.getString("CALL_ERROR"), cause);
+                  throw new RestelException(cause, "CALL_ERROR");
+                }
+                reportContext.run(() -> Reporter.conveyCall(httpReq, response, requestBody));
+                return asRestResponse(response);
+              });
+        });
+  }
+
+  private RESTResponse asRestResponse(HttpResponse<String> response) {
+    RESTResponse resp = new RESTResponse();
+    resp.setHeaders(flattenValues(response.headers()));
+    resp.setResponse(ResponseBody.builder().body(response.body()).build());
+    resp.setStatus(response.statusCode());
+    return resp;
+  }
+
+  private HttpResponse<String> send(HttpRequest httpReq) throws IOException, InterruptedException {
+    HostLimiter.Permit permit = limiter == null ? null : limiter.acquire();
+    HttpResponse<String> response = null;
+    stats.requestStarted();
+    try {
+      response = client.send(httpReq, BodyHandlers.ofString());
+      return response;
+    } finally {
+      stats.requestCompleted(response == null);
+      release(permit, response, response == null);
+    }
+  }
+
+  /*
+  Releases the permit of the limiter, the failed requests and the responses telling the server is
+  overloaded or unavailable lowering the limit.
+   */
+  private static void release(
+      HostLimiter.Permit permit, HttpResponse<String> response, boolean failed) {
+    if (permit != null) {
+      permit.release(
+          failed
+              || response.statusCode() == Status.TOO_MANY_REQUESTS.getStatusCode()
+              || response.statusCode() == Status.SERVICE_UNAVAILABLE.getStatusCode());
+    }
+  }
+
   /**
    * Convert the {@link HttpHeaders} to Map.
    *
@@ -128,7 +335,8 @@ public class RESTClient {
       String endpoint,
       Map<String, Object> headers,
       Map<String, Object> requestParams,
-      Object requestBody)
+      Object requestBody,
+      byte[] serializedBody)
       throws URISyntaxException, IOException {
     BodyPublisher bodyPublisher;
     if (StringUtils.containsIgnoreCase(getContentType(headers), MediaType.MULTIPART_FORM_DATA)
@@ -138,6 +346,11 @@ public class RESTClient {
       headers.put(
           javax.ws.rs.core.HttpHeaders.CONTENT_TYPE,
           MediaType.MULTIPART_FORM_DATA.concat(";boundary=" + boundary));
+    } else if (serializedBody != null && isJsonBody(headers)) {
+      bodyPublisher =
+          noBodyRequests.contains(method)
+              ? BodyPublishers.noBody()
+              : BodyPublishers.ofByteArray(serializedBody);
     } else {
       bodyPublisher = getBodyPublisher(method, stringifyBody(requestBody, headers));
       if (requestBody instanceof String) {
@@ -203,6 +416,18 @@ public class RESTClient {
     return ObjectMapperUtils.getMapper().writeValueAsString(requestBody);
   }
 
+  /**
+   * Checks if the body would be serialized as JSON for the given headers.
+   *
+   * @param headers The request headers.
+   * @return true when the content type is neither form url encoded nor plain text.
+   */
+  private static boolean isJsonBody(Map<String, Object> headers) {
+    String contentType = getContentType(headers);
+    return !StringUtils.containsIgnoreCase(contentType, MediaType.APPLICATION_FORM_URLENCODED)
+        && !StringUtils.containsIgnoreCase(contentType, MediaType.TEXT_PLAIN);
+  }
+
   private static String getContentType(Map<String, Object> headers) {
     if (MapUtils.isEmpty(headers)) {
       return null;
@@ -0,0 +1,204 @@
+package com.techconative.restel.core.http;
+
+import static java.lang.System.getProperty;
+
+import com.techconative.restel.utils.Constants;
+import java.net.http.HttpClient;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Process wide registry of {@link RESTClient}s. Clients are keyed by their base url and {@link
+ * HttpClientSettings}, and all the clients with the same settings share one {@link HttpClient},
+ * so that connections, TLS sessions and HTTP/2 streams are reused across the scenarios. All the
+ * {@link HttpClient}s share one executor.
+ *
+ * <p>The pool is configured through the system properties {@link
+ * Constants#HTTP_POOL_SIZE_PROPERTY}, {@link Constants#HTTP_POOL_KEEP_ALIVE_PROPERTY} and {@link
+ * Constants#HTTP_EXECUTOR_THREADS_PROPERTY}, which have to be set before the first client is
+ * requested.
+ *
+ * <p>The requests in flight to each host are limited by a {@link HostLimiter} when {@link
+ * Constants#HTTP_LIMIT_MODE_PROPERTY} is set, as per the {@link LimiterSettings}.
+ */
+@Slf4j
+public class RESTClientRegistry {
+
+  private final Map<ClientKey, RESTClient> restClients = new ConcurrentHashMap<>();
+
+  private final Map<HttpClientSettings, HttpClient> httpClients = new ConcurrentHashMap<>();
+
+  private final Map<HttpClientSettings, ClientPoolStats> poolStats = new ConcurrentHashMap<>();
+
+  private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+  private final ExecutorService executor;
+
+  private final HttpClientSettings defaultSettings;
+
+  private final LimiterSettings limiterSettings;
+
+  private RESTClientRegistry() {
+    configurePool();
+    executor = createExecutor();
+    defaultSettings = HttpClientSettings.defaults();
+    limiterSettings = LimiterSettings.defaults();
+  }
+
+  /**
+   * Gets the registry instance.
+   *
+   * @return The process wide {@link RESTClientRegistry}.
+   */
+  public static RESTClientRegistry getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Gets the client for the given base url with the default settings.
+   *
+   * @param baseUrl The base url of the server.
+   * @return The shared {@link RESTClient} for the base url.
+   */
+  public RESTClient getClient(String baseUrl) {
+    return getClient(baseUrl, defaultSettings);
+  }
+
+  /**
+   * Gets the client for the given base url and settings, creating it on the first request.
+   *
+   * @param baseUrl The base url of the server.
+   * @param settings The {@link HttpClientSettings} of the underlying {@link HttpClient}.
+   * @return The shared {@link RESTClient} for the base url and settings.
+   */
+  public RESTClient getClient(String baseUrl, HttpClientSettings settings) {
+    return restClients.computeIfAbsent(
+        new ClientKey(RESTClient.normalizeBaseUrl(baseUrl), settings),
+        key -> {
+          ClientPoolStats stats = getStats(settings);
+          stats.addBaseUrl(key.getBaseUrl());
+          return new RESTClient(key.getBaseUrl(), getHttpClient(settings), stats);
+        });
+  }
+
+  /**
+   * Gets the shared {@link HttpClient} for the given settings.
+   *
+   * @param settings The {@link HttpClientSettings} of the client.
+   * @return The shared {@link HttpClient}.
+   */
+  public HttpClient getHttpClient(HttpClientSettings settings) {
+    return httpClients.computeIfAbsent(settings, this::createHttpClient);
+  }
+
+  /** @return The default {@link HttpClientSettings} used by the registry. */
+  public HttpClientSettings getDefaultSettings() {
+    return defaultSettings;
+  }
+
+  /**
+   * Gets the statistics of the pool with the given settings.
+   *
+   * @param settings The {@link HttpClientSettings} of the pool.
+   * @return The {@link ClientPoolStats} of the pool.
+   */
+  public ClientPoolStats getStats(HttpClientSettings settings) {
+    return poolStats.computeIfAbsent(settings, s -> new ClientPoolStats());
+  }
+
+  /** @return The statistics of all the pools, keyed by their settings. */
+  public Map<HttpClientSettings, ClientPoolStats> getPoolStats() {
+    return Collections.unmodifiableMap(poolStats);
+  }
+
+  /**
+   * Gets the limiter of the requests in flight to the given host, shared by all the clients of the
+   * host whatever their settings.
+   *
+   * @param host The host, as scheme://host:port.
+   * @return The {@link HostLimiter} of the host, null when the requests are not limited.
+   */
+  public HostLimiter getLimiter(String host) {
+    if (limiterSettings.getMode() == HostLimiter.Mode.NONE) {
+      return null;
+    }
+    return limiters.computeIfAbsent(host, h -> new HostLimiter(h, limiterSettings));
+  }
+
+  /** @return The limiters of the requests in flight, keyed by their host. */
+  public Map<String, HostLimiter> getLimiters() {
+    return Collections.unmodifiableMap(limiters);
+  }
+
+  /** Logs the statistics of all the pools and of the limiters of the hosts. */
+  public void logPoolStats() {
+    poolStats.forEach((settings, stats) -> log.info("HTTP pool " + settings + ": " + stats));
+    limiters.forEach((host, limiter) -> log.info("HTTP limit of " + host + ": " + limiter));
+  }
+
+  private HttpClient createHttpClient(HttpClientSettings settings) {
+    log.info("Creating shared http client with " + settings);
+    HttpClient.Builder builder =
+        HttpClient.newBuilder()
+            .executor(executor)
+            .version(settings.getVersion())
+            .followRedirects(settings.getRedirect());
+    if (settings.getConnectTimeout() != null) {
+      builder.connectTimeout(settings.getConnectTimeout());
+    }
+    return builder.build();
+  }
+
+  /**
+   * The JDK reads its connection pool configuration once, when the first {@link HttpClient} is
+   * created. Hence propagate the Restel properties before that.
+   */
+  private static void configurePool() {
+    copyProperty(Constants.HTTP_POOL_SIZE_PROPERTY, Constants.JDK_HTTP_POOL_SIZE_PROPERTY);
+    copyProperty(Constants.HTTP_POOL_KEEP_ALIVE_PROPERTY, Constants.JDK_HTTP_KEEP_ALIVE_PROPERTY);
+  }
+
+  private static void copyProperty(String from, String to) {
+    String value = getProperty(from);
+    if (StringUtils.isNotEmpty(value) && StringUtils.isEmpty(getProperty(to))) {
+      System.setProperty(to, value);
+    }
+  }
+
+  private static ExecutorService createExecutor() {
+    int threads = Integer.parseInt(getProperty(Constants.HTTP_EXECUTOR_THREADS_PROPERTY, "0"));
+    ThreadFactory threadFactory = new DaemonThreadFactory();
+    return threads > 0
+        ? Executors.newFixedThreadPool(threads, threadFactory)
+        : Executors.newCachedThreadPool(threadFactory);
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "restel-http-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  @Value
+  private static class ClientKey {
+    String baseUrl;
+    HttpClientSettings settings;
+  }
+
+  private static class Holder {
+    private static final RESTClientRegistry INSTANCE = new RESTClientRegistry();
+  }
+}
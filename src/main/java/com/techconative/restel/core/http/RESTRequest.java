@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Represent a REST API request
@@ -22,6 +23,19 @@ public class RESTRequest {
   private Map<String, Object> requestParams;
   private Object requestBody;
 
+  /** The request body already serialized as JSON, sent instead of serializing the body. */
+  @ToString.Exclude private byte[] serializedBody;
+
+  /**
+   * Sets the request body, dropping the pre-serialized body that no longer matches it.
+   *
+   * @param requestBody The request body.
+   */
+  public void setRequestBody(Object requestBody) {
+    this.requestBody = requestBody;
+    this.serializedBody = null;
+  }
+
   public void addHeader(String key, Object value) {
     this.headers.put(key, value);
   }
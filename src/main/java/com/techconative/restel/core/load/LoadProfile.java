@@ -0,0 +1,60 @@
+package com.techconative.restel.core.load;
+
+import com.techconative.restel.exception.RestelException;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * How a scenario is driven by the {@link LoadRunner}. The iterations are started at a fixed rate,
+ * until the duration elapses or the number of iterations are started, whichever comes first.
+ */
+@Value
+@Builder
+public class LoadProfile {
+
+  String scenarioName;
+
+  /** Iterations started per second. */
+  double ratePerSecond;
+
+  /** How long the iterations are started, 0 for no limit. */
+  long durationSeconds;
+
+  /** Number of iterations to be started, 0 for no limit. */
+  long iterations;
+
+  /**
+   * Maximum number of iterations in flight. An iteration due when as many are in flight is not
+   * started, and counted as missed.
+   */
+  @Builder.Default int maxInFlight = 1000;
+
+  /** How long the iterations in flight are awaited once the last one is started. */
+  @Builder.Default long drainTimeoutSeconds = 60;
+
+  /**
+   * Validates the profile.
+   *
+   * @throws RestelException when the profile does not limit the run or has an invalid rate.
+   */
+  public void validate() {
+    if (ratePerSecond <= 0) {
+      throw new RestelException(
+          "INVALID_LOAD_PROFILE", scenarioName, "rate should be positive: " + ratePerSecond);
+    }
+    if (durationSeconds <= 0 && iterations <= 0) {
+      throw new RestelException(
+          "INVALID_LOAD_PROFILE", scenarioName, "either duration or iterations should be set");
+    }
+    if (maxInFlight <= 0) {
+      throw new RestelException(
+          "INVALID_LOAD_PROFILE", scenarioName, "max in flight should be positive: " + maxInFlight);
+    }
+    if (drainTimeoutSeconds < 0) {
+      throw new RestelException(
+          "INVALID_LOAD_PROFILE",
+          scenarioName,
+          "drain timeout should not be negative: " + drainTimeoutSeconds);
+    }
+  }
+}
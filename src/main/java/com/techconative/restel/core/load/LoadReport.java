@@ -0,0 +1,142 @@
+package com.techconative.restel.core.load;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and counts of a run of the {@link LoadRunner}. The latencies are recorded in
+ * microseconds, in HDR histograms with 3 significant digits.
+ *
+ * <p>The latency of an iteration is measured from the time it was due to start rather than the
+ * time it started, so the time spent waiting behind a slow system is part of the latency. An
+ * iteration missed, as too many were in flight, is recorded with the latency until the next
+ * iteration completes, the earliest it could have started, so that the percentiles do not ignore
+ * the iterations a saturated system could not take.
+ */
+public class LoadReport {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private final String scenarioName;
+
+  private final Histogram iterations = new ConcurrentHistogram(3);
+
+  private final Map<String, Histogram> apis = new ConcurrentHashMap<>();
+
+  private final LongAdder passed = new LongAdder();
+
+  private final LongAdder failed = new LongAdder();
+
+  private final LongAdder missed = new LongAdder();
+
+  /* Due times of the missed iterations, until their latency is known. */
+  private final Queue<Long> pendingMisses = new ConcurrentLinkedQueue<>();
+
+  private volatile long elapsedNanos;
+
+  LoadReport(String scenarioName) {
+    this.scenarioName = scenarioName;
+  }
+
+  void recordCall(String apiName, long latencyNanos) {
+    apis.computeIfAbsent(apiName, name -> new ConcurrentHistogram(3))
+        .recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+  }
+
+  void recordIteration(long latencyNanos, boolean isPassed) {
+    iterations.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    if (isPassed) {
+      passed.increment();
+    } else {
+      failed.increment();
+    }
+  }
+
+  void miss(long dueNanos) {
+    missed.increment();
+    pendingMisses.add(dueNanos);
+  }
+
+  /* Records the latency of the missed iterations, as a slot freed up at the given time. */
+  void recordMisses(long nowNanos) {
+    Long due;
+    while ((due = pendingMisses.poll()) != null) {
+      iterations.recordValue(TimeUnit.NANOSECONDS.toMicros(nowNanos - due));
+    }
+  }
+
+  void finish(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /** @return The latencies of the iterations, missed ones included, in microseconds. */
+  public Histogram getIterationLatencies() {
+    return iterations;
+  }
+
+  /** @return The latencies of the API calls in microseconds, keyed by the API name. */
+  public Map<String, Histogram> getApiLatencies() {
+    return new TreeMap<>(apis);
+  }
+
+  /** @return Number of iterations that passed. */
+  public long getPassed() {
+    return passed.sum();
+  }
+
+  /** @return Number of iterations that failed. */
+  public long getFailed() {
+    return failed.sum();
+  }
+
+  /** @return Number of iterations not started, as too many were in flight. */
+  public long getMissed() {
+    return missed.sum();
+  }
+
+  /** @return Iterations completed per second. */
+  public double getThroughput() {
+    if (elapsedNanos == 0) {
+      return 0;
+    }
+    return (getPassed() + getFailed()) * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder report = new StringBuilder();
+    report
+        .append("Load report of ")
+        .append(scenarioName)
+        .append(": passed=")
+        .append(getPassed())
+        .append(", failed=")
+        .append(getFailed())
+        .append(", missed=")
+        .append(getMissed())
+        .append(String.format(", throughput=%.2f/s", getThroughput()));
+    append(report, "iteration", iterations);
+    getApiLatencies().forEach((name, histogram) -> append(report, name, histogram));
+    return report.toString();
+  }
+
+  private static void append(StringBuilder report, String name, Histogram histogram) {
+    report.append(System.lineSeparator()).append("  ").append(name).append(" (us):");
+    for (double percentile : PERCENTILES) {
+      report
+          .append(" p")
+          .append(percentile == (long) percentile ? String.valueOf((long) percentile) : percentile)
+          .append('=')
+          .append(histogram.getValueAtPercentile(percentile));
+    }
+    report.append(" max=").append(histogram.getMaxValue());
+    report.append(" count=").append(histogram.getTotalCount());
+  }
+}
@@ -0,0 +1,146 @@
+package com.techconative.restel.core.load;
+
+import com.techconative.restel.core.managers.ApiCallListener;
+import com.techconative.restel.testng.TestCaseExecutor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drives a scenario at a fixed arrival rate, to load test the APIs with their Restel definitions.
+ *
+ * <p>The load is open-loop: the iterations are started on schedule whether or not the earlier
+ * ones completed, so a slow system does not slow down the load and hide its latency, the
+ * coordinated omission. Each iteration executes the scenario with a fresh context.
+ */
+@Slf4j
+@Service
+public class LoadRunner {
+
+  /** A single iteration of the load. */
+  @FunctionalInterface
+  public interface Iteration {
+    /**
+     * Executes the iteration.
+     *
+     * @param listener The listener of the API calls made by the iteration.
+     * @return true when the iteration passed.
+     * @throws Exception when the iteration failed.
+     */
+    boolean run(ApiCallListener listener) throws Exception;
+  }
+
+  @Autowired private BeanFactory beanFactory;
+
+  /**
+   * Drives the scenario of the profile.
+   *
+   * @param profile The {@link LoadProfile}.
+   * @return The {@link LoadReport} of the run.
+   */
+  public LoadReport run(LoadProfile profile) {
+    return run(
+        profile,
+        listener -> {
+          TestCaseExecutor executor =
+              beanFactory.getBean(TestCaseExecutor.class, profile.getScenarioName());
+          executor.setCallListener(listener);
+          return executor.executeTest();
+        });
+  }
+
+  /**
+   * Drives the given iteration as per the profile.
+   *
+   * @param profile The {@link LoadProfile}.
+   * @param iteration The {@link Iteration} to be started at the rate of the profile.
+   * @return The {@link LoadReport} of the run.
+   */
+  public LoadReport run(LoadProfile profile, Iteration iteration) {
+    profile.validate();
+    log.info(
+        "Load testing "
+            + profile.getScenarioName()
+            + " at "
+            + profile.getRatePerSecond()
+            + " iterations/s");
+    LoadReport report = new LoadReport(profile.getScenarioName());
+    Semaphore inFlight = new Semaphore(profile.getMaxInFlight());
+    AtomicInteger threads = new AtomicInteger();
+    ExecutorService workers =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "restel-load-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    double periodNanos = TimeUnit.SECONDS.toNanos(1) / profile.getRatePerSecond();
+    long start = System.nanoTime();
+    long end =
+        profile.getDurationSeconds() > 0
+            ? start + TimeUnit.SECONDS.toNanos(profile.getDurationSeconds())
+            : Long.MAX_VALUE;
+    try {
+      for (long i = 0; profile.getIterations() <= 0 || i < profile.getIterations(); i++) {
+        // Computed from the start rather than the previous iteration, so that the delays of the
+        // scheduling do not add up.
+        long due = start + (long) (i * periodNanos);
+        if (due - end >= 0) {
+          break;
+        }
+        parkUntil(due);
+        if (!inFlight.tryAcquire()) {
+          report.miss(due);
+          continue;
+        }
+        workers.execute(
+            () -> {
+              boolean passed = false;
+              try {
+                passed = iteration.run(report::recordCall);
+              } catch (Exception | AssertionError e) {
+                log.warn("Iteration of " + profile.getScenarioName() + " failed: " + e);
+                log.debug("Iteration of " + profile.getScenarioName() + " failed", e);
+              } finally {
+                long completed = System.nanoTime();
+                report.recordIteration(completed - due, passed);
+                inFlight.release();
+                report.recordMisses(completed);
+              }
+            });
+      }
+      workers.shutdown();
+      if (!workers.awaitTermination(profile.getDrainTimeoutSeconds(), TimeUnit.SECONDS)) {
+        log.warn(
+            (profile.getMaxInFlight() - inFlight.availablePermits())
+                + " iterations still in flight "
+                + profile.getDrainTimeoutSeconds()
+                + " s after the last one started, left out of the report");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      workers.shutdownNow();
+      long finished = System.nanoTime();
+      report.recordMisses(finished);
+      report.finish(finished - start);
+    }
+    log.info(report.toString());
+    return report;
+  }
+
+  private static void parkUntil(long due) {
+    long remaining;
+    while ((remaining = due - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
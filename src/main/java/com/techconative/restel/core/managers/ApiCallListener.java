@@ -0,0 +1,14 @@
+package com.techconative.restel.core.managers;
+
+/** Listens to the API calls made while executing a scenario. */
+@FunctionalInterface
+public interface ApiCallListener {
+
+  /**
+   * Invoked once the response of an API call is received.
+   *
+   * @param apiName The unique name of the API definition.
+   * @param latencyNanos The time taken by the call, including the middlewares.
+   */
+  void onCall(String apiName, long latencyNanos);
+}
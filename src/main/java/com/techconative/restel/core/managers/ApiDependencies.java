@@ -0,0 +1,122 @@
+package com.techconative.restel.core.managers;
+
+import com.techconative.restel.core.model.RestelApiDefinition;
+import com.techconative.restel.core.template.Template;
+import com.techconative.restel.core.template.TemplateCompiler;
+import com.techconative.restel.utils.Constants;
+import java.util.*;
+
+/**
+ * Dependencies between the APIs of a scenario, found from the <code>${...}</code> variables of
+ * their definitions. An API depends on an earlier API of the scenario when any of its variables
+ * refers to the context of the earlier API, like <code>${get_user.response.id}</code> or <code>
+ * ${scenario.get_user.request.name}</code>.
+ *
+ * <p>The analysis is conservative. An API having a variable whose name is built from other
+ * variables depends on all the earlier APIs, and an API listed more than once depends on its
+ * earlier occurrences, as they share the same context name. Only the earlier APIs are considered,
+ * as the later ones are not executed yet when the APIs are executed in sequence.
+ */
+public final class ApiDependencies {
+
+  private final List<Set<Integer>> dependencies;
+
+  private ApiDependencies(List<Set<Integer>> dependencies) {
+    this.dependencies = dependencies;
+  }
+
+  /**
+   * Finds the dependencies between the given APIs.
+   *
+   * @param definitions The APIs of the scenario, in their order of execution.
+   * @return The {@link ApiDependencies}.
+   */
+  public static ApiDependencies of(List<RestelApiDefinition> definitions) {
+    List<Set<Integer>> dependencies = new ArrayList<>(definitions.size());
+    for (int i = 0; i < definitions.size(); i++) {
+      RestelApiDefinition definition = definitions.get(i);
+      References references = new References();
+      references.add(definition.getRequestUrl());
+      references.add(definition.getRequestHeaders());
+      references.add(definition.getRequestQueryParams());
+      references.add(definition.getRequestBodyParams());
+      references.add(definition.getExpectedResponse());
+      references.add(definition.getExpectedHeader());
+      references.add(definition.getAcceptedStatusCodes());
+      references.add(definition.getApiParameters());
+
+      Set<Integer> apiDependencies = new TreeSet<>();
+      for (int j = 0; j < i; j++) {
+        String name = definitions.get(j).getApiUniqueName();
+        if (references.computed
+            || Objects.equals(name, definition.getApiUniqueName())
+            || references.contexts.contains(name)) {
+          apiDependencies.add(j);
+        }
+      }
+      dependencies.add(Collections.unmodifiableSet(apiDependencies));
+    }
+    return new ApiDependencies(dependencies);
+  }
+
+  /**
+   * Gets the APIs the given API depends on.
+   *
+   * @param index The index of the API in the scenario.
+   * @return The indexes of the earlier APIs it depends on.
+   */
+  public Set<Integer> getDependencies(int index) {
+    return dependencies.get(index);
+  }
+
+  /**
+   * Checks if the given API can be executed.
+   *
+   * @param index The index of the API in the scenario.
+   * @param completed The completed APIs, by their index.
+   * @return true when all the APIs it depends on are completed.
+   */
+  public boolean isReady(int index, boolean[] completed) {
+    for (int dependency : dependencies.get(index)) {
+      if (!completed[dependency]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /* The context names referred by the variables of a definition. */
+  private static class References {
+    private final Set<String> contexts = new HashSet<>();
+
+    private boolean computed;
+
+    void add(Object value) {
+      if (value instanceof Map) {
+        ((Map<?, ?>) value)
+            .forEach(
+                (k, v) -> {
+                  add(k);
+                  add(v);
+                });
+      } else if (value instanceof Collection) {
+        ((Collection<?>) value).forEach(this::add);
+      } else if (value != null && TemplateCompiler.hasVariables(value.toString())) {
+        Template template = TemplateCompiler.compile(value.toString());
+        computed |= template.hasComputedVariableNames();
+        template.getVariableNames().forEach(this::addVariable);
+      }
+    }
+
+    /*
+    The API can be referred from the scenario context, as api.response, or from the global
+    context, as scenario.api.response, so both the first and the second names are kept.
+     */
+    private void addVariable(String variable) {
+      String[] tokens = variable.split(Constants.NS_SEPARATOR_REGEX, 3);
+      for (int i = 0; i < Math.min(2, tokens.length); i++) {
+        contexts.add(tokens[i].split(Constants.ARRAY_PATTERN, 2)[0]);
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.techconative.restel.core.managers;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.Value;
+
+/**
+ * Outcomes of the dependent APIs executed during the run, so that a dependency tagged as {@link
+ * com.techconative.restel.utils.Constants#RUN_ONCE_TAG} or {@link
+ * com.techconative.restel.utils.Constants#CACHEABLE_TAG} is called once, and its context shared by
+ * every scenario depending on it.
+ *
+ * <p>The scenarios asking for an outcome being computed wait for it, rather than calling the API
+ * again. Failures are kept as well, so that a failing login fails its dependents at once instead of
+ * being retried by each of them. To be cleared at the start of each run.
+ */
+public final class DependencyCache {
+
+  private static final DependencyCache INSTANCE = new DependencyCache();
+
+  private final Map<String, CompletableFuture<Outcome>> outcomes = new ConcurrentHashMap<>();
+
+  private DependencyCache() {}
+
+  public static DependencyCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the outcome of the given key, executing it when the key has not been executed yet in
+   * this run.
+   *
+   * @param key Identifies the execution, like the API name with its resolved request.
+   * @param execution Executes the API, called at most once per key.
+   * @return The {@link Outcome}, of this execution or of the earlier one.
+   */
+  public Outcome execute(String key, Supplier<Outcome> execution) {
+    CompletableFuture<Outcome> owned = new CompletableFuture<>();
+    CompletableFuture<Outcome> existing = outcomes.putIfAbsent(key, owned);
+    if (existing != null) {
+      return existing.join();
+    }
+    Outcome outcome;
+    try {
+      outcome = execution.get();
+    } catch (RuntimeException | Error e) {
+      owned.complete(Outcome.failed(e));
+      throw e;
+    }
+    owned.complete(outcome);
+    return outcome;
+  }
+
+  /** Forgets all the outcomes, to be called at the start of a run. */
+  public void clear() {
+    outcomes.clear();
+  }
+
+  /** @return The number of outcomes kept. */
+  public int size() {
+    return outcomes.size();
+  }
+
+  /** Outcome of a dependent API. */
+  @Value
+  public static class Outcome {
+    boolean passed;
+
+    /** The context values of the API, like its request and response. */
+    Map<String, Object> values;
+
+    /** The failure of the API, null when it completed. */
+    Throwable error;
+
+    public static Outcome completed(boolean passed, Map<String, Object> values) {
+      return new Outcome(passed, Collections.unmodifiableMap(values), null);
+    }
+
+    public static Outcome failed(Throwable error) {
+      return new Outcome(false, Collections.emptyMap(), error);
+    }
+  }
+}
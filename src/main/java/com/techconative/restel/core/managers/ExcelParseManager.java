@@ -5,11 +5,13 @@ import com.techconative.restel.core.parser.Parser;
 import com.techconative.restel.core.parser.ParserEnums;
 import com.techconative.restel.core.parser.config.ParserConfig;
 import com.techconative.restel.core.parser.dto.*;
+import com.techconative.restel.core.snapshot.ModelSnapshot;
+import com.techconative.restel.core.snapshot.ModelSnapshotStore;
 import com.techconative.restel.exception.RestelException;
 import com.techconative.restel.utils.RestelUtils;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -28,6 +30,10 @@ public class ExcelParseManager {
   private List<RestelTestScenario> execGroups;
   private BaseConfiguration baseConfig;
 
+  private ModelSnapshotStore snapshotStore;
+  private String snapshotKey;
+  private boolean fromSnapshot;
+
   public ExcelParseManager(String excelfilePath) {
     this.filepath = excelfilePath;
   }
@@ -35,15 +41,38 @@ public class ExcelParseManager {
   @PostConstruct
   private void init() {
 
-    log.info("Parsing the file: {}", this.filepath);
+    File file = new File(this.filepath);
+    if (!file.isFile()) {
+      throw new RestelException(new FileNotFoundException(this.filepath), "FILE_NOT_FOUND");
+    }
+    ModelSnapshotStore store = ModelSnapshotStore.fromProperties().orElse(null);
+    String key = store == null ? null : snapshotKey(store, file);
+    Optional<ModelSnapshot> snapshot = key == null ? Optional.empty() : store.load(key);
+    ModelSnapshot model;
+    if (snapshot.isPresent()) {
+      log.info("Loaded the model of the file: {} from its snapshot", this.filepath);
+      model = snapshot.get();
+    } else {
+      log.info("Parsing the file: {}", this.filepath);
+      model = parse(file);
+    }
+    // Swapped in only once loaded, for a failed reload to keep the model in use
+    snapshotStore = store;
+    snapshotKey = key;
+    fromSnapshot = snapshot.isPresent();
+    baseConfig = model.getBaseConfig();
+    testMethods = model.getTestMethods();
+    testApiWrappers = model.getTestApiWrappers();
+    suites = model.getSuites();
+    execGroups = model.getExecGroups();
+  }
+
+  private ModelSnapshot parse(File file) {
     Map<String, Object> excelData;
     try {
       Parser parser = new Parser(ParserConfig.load());
-      FileInputStream inputStream = new FileInputStream(new File(this.filepath));
-      excelData = parser.parse(inputStream);
+      excelData = parser.parse(file);
 
-    } catch (FileNotFoundException ex) {
-      throw new RestelException(ex, "FILE_NOT_FOUND");
     } catch (Exception ex) {
       throw new RestelException(ex, "PARSER_FAILED");
     }
@@ -58,16 +87,61 @@ public class ExcelParseManager {
         (List<TestSuites>) excelData.get(ParserEnums.TEST_SUITES.toString().toLowerCase());
     List<TestScenarios> testSuiteExecutions =
         (List<TestScenarios>) excelData.get(ParserEnums.TEST_SCENARIOS.toString().toLowerCase());
-    baseConfig =
+    BaseConfiguration config =
         createBaseConfigure(
             (BaseConfig) excelData.get(ParserEnums.BASE_CONFIG.toString().toLowerCase()));
 
-    testMethods = createTestMethod(testDefs, baseConfig);
+    List<RestelTestApiDefinition> methods = createTestMethod(testDefs, config);
+    List<RestelTestApiWrapper> wrappers = null;
     if ((testWrappers != null) && !testWrappers.isEmpty()) {
-      testApiWrappers = createTestApiWrapper(testWrappers);
+      wrappers = createTestApiWrapper(testWrappers);
+    }
+    return new ModelSnapshot(
+        config, methods, wrappers, createSuites(testSuites), createExecGroups(testSuiteExecutions));
+  }
+
+  /*
+  Computes the key of the snapshot of the workbook, or null when it can not be computed.
+   */
+  private String snapshotKey(ModelSnapshotStore store, File file) {
+    try {
+      return store.key(file.toPath());
+    } catch (IOException ex) {
+      log.warn("Failed to compute the snapshot key of the file: " + this.filepath, ex);
+      return null;
+    }
+  }
+
+  /**
+   * Loads the model again, from the snapshot of the current content of the workbook when there is
+   * one, or by parsing it, to pick up the changes made to the file since it was loaded. The model
+   * in use is kept when the workbook can not be loaded.
+   */
+  public void reload() {
+    init();
+  }
+
+  /**
+   * Checks if the model has been loaded from a snapshot, which is only stored once validated.
+   *
+   * @return true when the model has been loaded from a snapshot.
+   */
+  public boolean isFromSnapshot() {
+    return fromSnapshot;
+  }
+
+  /**
+   * Stores the snapshot of the parsed model, to be loaded by the next runs of the same workbook.
+   * To be called once the model is validated. Does nothing when the snapshots are disabled or the
+   * model has been loaded from a snapshot.
+   */
+  public void storeSnapshot() {
+    if (snapshotStore == null || snapshotKey == null || fromSnapshot) {
+      return;
     }
-    suites = createSuites(testSuites);
-    execGroups = createExecGroups(testSuiteExecutions);
+    snapshotStore.store(
+        snapshotKey,
+        new ModelSnapshot(baseConfig, testMethods, testApiWrappers, suites, execGroups));
   }
 
   public List<RestelTestApiDefinition> getTestMethods() {
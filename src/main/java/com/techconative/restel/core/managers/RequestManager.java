@@ -1,6 +1,7 @@
 package com.techconative.restel.core.managers;
 
 import com.techconative.restel.core.http.RESTClient;
+import com.techconative.restel.core.http.RESTClientRegistry;
 import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.core.middleware.HttpMiddleware;
@@ -8,6 +9,7 @@ import com.techconative.restel.core.middleware.request.RequestMiddleware;
 import com.techconative.restel.core.middleware.response.ResponseMiddleware;
 import com.techconative.restel.utils.Reporter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.collections4.CollectionUtils;
 
 /**
@@ -16,10 +18,10 @@ import org.apache.commons.collections4.CollectionUtils;
  */
 public class RequestManager {
 
-  private RESTClient client;
+  private final RESTClient client;
 
   public RequestManager(String server) {
-    client = new RESTClient(server);
+    client = RESTClientRegistry.getInstance().getClient(server);
   }
 
   /**
@@ -44,19 +46,41 @@ public class RequestManager {
     Reporter.attachRequest(request);
 
     // Make the API call
-    RESTResponse response =
-        client.makeCall(
-            processedRequest.getMethod(),
-            processedRequest.getEndpoint(),
-            processedRequest.getHeaders(),
-            processedRequest.getRequestParams(),
-            processedRequest.getRequestBody());
+    RESTResponse response = client.makeCall(processedRequest);
 
     // Process the response with the list of available middlewares in the
     // given order
     return performAll(postRequestMiddlewares, response);
   }
 
+  /**
+   * Makes a API call with the given parameters, without waiting for the response. The pre and post
+   * middlewares are chained as stages before and after the API call, in the given order.
+   *
+   * <p>The request middlewares run on the calling thread, before the call is sent, and may block
+   * it: the OAuth2 middlewares fetch their token synchronously when none is cached. The call and
+   * the response middlewares never block the calling thread.
+   *
+   * @param request The {@link RESTRequest} to be made.
+   * @param preRequestMiddlewares The list of {@link RequestMiddleware} to be executed in order.
+   * @param postRequestMiddlewares The list of {@link ResponseMiddleware} to be executed in order.
+   * @return {@link CompletableFuture} completed with the {@link RESTResponse} for the given call,
+   *     or exceptionally when the call or any of the middlewares fail.
+   */
+  public CompletableFuture<RESTResponse> makeCallAsync(
+      RESTRequest request,
+      List<RequestMiddleware> preRequestMiddlewares,
+      List<ResponseMiddleware> postRequestMiddlewares) {
+    return CompletableFuture.completedFuture(request)
+        .thenApply(r -> performAll(preRequestMiddlewares, r))
+        .thenCompose(
+            processedRequest -> {
+              Reporter.attachRequest(request);
+              return client.makeCallAsync(processedRequest);
+            })
+        .thenApply(response -> performAll(postRequestMiddlewares, response));
+  }
+
   /**
    * Applies all the middleware operations in the given order on the given data that is to be
    * processed by the middleware.
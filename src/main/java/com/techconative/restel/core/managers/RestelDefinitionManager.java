@@ -1,8 +1,9 @@
 package com.techconative.restel.core.managers;
 
-import static com.techconative.restel.core.utils.ContextUtils.replaceContextVariables;
-
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.core.middleware.request.BasicAuthMiddleware;
@@ -21,22 +22,48 @@ import com.techconative.restel.exception.RestelException;
 import com.techconative.restel.testng.MatcherFactory;
 import com.techconative.restel.utils.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.ws.rs.core.HttpHeaders;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.CollectionUtils;
 import org.testng.Assert;
 
-/** */
+/**
+ * Executes the APIs of a scenario, making the calls and validating the responses as per their
+ * definitions.
+ *
+ * <p>The APIs are executed in sequence by default. With the system property {@link
+ * Constants#SCENARIO_CONCURRENT_APIS_PROPERTY} set to true, an API is called as soon as the APIs
+ * it refers to through its variables are completed, as found by {@link ApiDependencies}, so that
+ * independent APIs are in flight together. The calls are made asynchronously, while the requests
+ * are resolved and the responses validated on the thread executing the scenario, in the order of
+ * the APIs in the scenario. Scenarios relying on the side effects of an earlier API, without
+ * referring to it, should stay sequential.
+ *
+ * <p>The APIs the APIs of the scenario depend on, through their {@link
+ * RestelApiDefinition#getDependentOn()}, are executed before the scenario. The dependencies tagged
+ * as {@link Constants#RUN_ONCE_TAG} are executed once per run, and the ones tagged as {@link
+ * Constants#CACHEABLE_TAG} once per distinct resolved request, sharing their context through the
+ * {@link DependencyCache}.
+ */
 @Slf4j
 public class RestelDefinitionManager {
 
+  private static final ObjectWriter REQUEST_KEY_WRITER =
+      ObjectMapperUtils.getMapper().writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
   private RequestManager requestManager;
   private MatcherFactory matcherFactory;
   private List<RestelApiDefinition> testDefinitions;
 
   private TestContext testContext;
 
+  private ApiCallListener callListener;
+
+  private boolean concurrentApis = Boolean.getBoolean(Constants.SCENARIO_CONCURRENT_APIS_PROPERTY);
+
   public RestelDefinitionManager(
       List<RestelApiDefinition> testDefinitions,
       RequestManager requestManager,
@@ -48,6 +75,24 @@ public class RestelDefinitionManager {
     this.testContext = testContext;
   }
 
+  /**
+   * Sets the listener to be notified of the API calls made.
+   *
+   * @param callListener The {@link ApiCallListener}, null for none.
+   */
+  public void setCallListener(ApiCallListener callListener) {
+    this.callListener = callListener;
+  }
+
+  /**
+   * Sets whether the independent APIs of the scenario are executed concurrently.
+   *
+   * @param concurrentApis true to call the independent APIs concurrently.
+   */
+  public void setConcurrentApis(boolean concurrentApis) {
+    this.concurrentApis = concurrentApis;
+  }
+
   /**
    * Make the API call and execute the test corresponding to the given test name.
    *
@@ -55,8 +100,13 @@ public class RestelDefinitionManager {
    */
   public boolean executeTestScenario(String scenarioName, String suiteName) {
 
-    // TODO: Add support to execute dependents
-    //    executeDependents(scenarioName, suiteName);
+    if (!executeDependents(scenarioName)) {
+      return false;
+    }
+
+    if (concurrentApis && testDefinitions.size() > 1) {
+      return executeConcurrently(scenarioName, ApiDependencies.of(testDefinitions));
+    }
 
     for (RestelApiDefinition restelTestMethod : testDefinitions) {
       boolean result = executeTestMethod(scenarioName, suiteName, restelTestMethod);
@@ -70,12 +120,17 @@ public class RestelDefinitionManager {
   private boolean executeTestMethod(
       String scenarioName, String suiteName, RestelApiDefinition restelTestMethod) {
 
-    TestContext apiContext = new TestContext(restelTestMethod.getApiUniqueName(), testContext);
-    if (restelTestMethod.getApiParameters() != null) {
-      apiContext.putAll(restelTestMethod.getApiParameters());
-    }
+    TestContext apiContext = createApiContext(restelTestMethod);
     // Prepare the request object
     RESTRequest request = createRequest(restelTestMethod);
+    return executeTestMethod(scenarioName, restelTestMethod, apiContext, request);
+  }
+
+  private boolean executeTestMethod(
+      String scenarioName,
+      RestelApiDefinition restelTestMethod,
+      TestContext apiContext,
+      RESTRequest request) {
 
     // add test level context params
 
@@ -83,16 +138,220 @@ public class RestelDefinitionManager {
     // other test
     populateRequestToContext(apiContext, request);
 
-    // Make the API call and get the response
-    RESTResponse response =
-        requestManager.makeCall(
-            request,
-            getPreRequestMiddlewares(restelTestMethod),
-            getPostRequestMiddlewares(restelTestMethod));
+    RESTResponse response = null;
+    try {
+      // Make the API call and get the response
+      long start = System.nanoTime();
+      response =
+          requestManager.makeCall(
+              request,
+              getPreRequestMiddlewares(restelTestMethod),
+              getPostRequestMiddlewares(restelTestMethod));
+      if (callListener != null) {
+        callListener.onCall(restelTestMethod.getApiUniqueName(), System.nanoTime() - start);
+      }
+
+      // Attach to report
+      Reporter.attachResponse(request.getEndpoint(), response);
+
+      return validateResponse(scenarioName, apiContext, response, restelTestMethod);
+    } catch (AssertionError | RuntimeException ex) {
+      // Not attached up front with the ON_FAILURE report level
+      Reporter.attachFailure(request, response);
+      throw ex;
+    }
+  }
+
+  /*
+  Executes the APIs the APIs of the scenario depend on, through their depends_on, before the
+  scenario. The dependencies are executed first, and each dependency once per scenario however
+  often it is depended on. The APIs of the scenario are executed in their own turn instead.
+   */
+  private boolean executeDependents(String scenarioName) {
+    Set<String> executed = new HashSet<>();
+    testDefinitions.forEach(definition -> executed.add(definition.getApiUniqueName()));
+    for (RestelApiDefinition definition : testDefinitions) {
+      if (!executeDependents(scenarioName, definition, executed)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean executeDependents(
+      String scenarioName, RestelApiDefinition definition, Set<String> executed) {
+    if (CollectionUtils.isEmpty(definition.getDependentOn())) {
+      return true;
+    }
+    for (RestelApiDefinition dependency : definition.getDependentOn()) {
+      if (dependency == null || !executed.add(dependency.getApiUniqueName())) {
+        continue;
+      }
+      if (!executeDependents(scenarioName, dependency, executed)
+          || !executeDependency(scenarioName, dependency)) {
+        return false;
+      }
+    }
+    return true;
+  }
 
-    // Attach to report
-    Reporter.attachResponse(request.getEndpoint(), response);
+  /*
+  The dependencies tagged as run_once are executed once per run, the ones tagged as cacheable once
+  per distinct resolved request, and their context is copied to the scenarios reusing them. The
+  others are executed for each scenario.
+   */
+  private boolean executeDependency(String scenarioName, RestelApiDefinition dependency) {
+    Set<String> tags = dependency.getTags() == null ? Collections.emptySet() : dependency.getTags();
+    boolean runOnce = tags.contains(Constants.RUN_ONCE_TAG);
+    if (!runOnce && !tags.contains(Constants.CACHEABLE_TAG)) {
+      return executeTestMethod(scenarioName, null, dependency);
+    }
+    TestContext apiContext = createApiContext(dependency);
+    RESTRequest request = createRequest(dependency);
+    String key =
+        runOnce
+            ? dependency.getApiUniqueName()
+            : dependency.getApiUniqueName() + ":" + getRequestKey(request);
+    boolean[] owner = new boolean[1];
+    DependencyCache.Outcome outcome =
+        DependencyCache.getInstance()
+            .execute(
+                key,
+                () -> {
+                  owner[0] = true;
+                  boolean passed = executeTestMethod(scenarioName, dependency, apiContext, request);
+                  return DependencyCache.Outcome.completed(
+                      passed, new HashMap<>(apiContext.getContextValues()));
+                });
+    if (owner[0]) {
+      return outcome.isPassed();
+    }
+    log.info("Reusing the outcome of " + dependency.getApiUniqueName() + " for " + scenarioName);
+    if (outcome.getError() instanceof RuntimeException) {
+      throw (RuntimeException) outcome.getError();
+    } else if (outcome.getError() instanceof Error) {
+      throw (Error) outcome.getError();
+    }
+    apiContext.putAll(outcome.getValues());
+    return outcome.isPassed();
+  }
 
+  /* The resolved request, with its maps sorted, so that equal requests give the same key. */
+  private static String getRequestKey(RESTRequest request) {
+    Map<String, Object> content = new TreeMap<>();
+    content.put("method", request.getMethod());
+    content.put("endpoint", request.getEndpoint());
+    content.put("headers", request.getHeaders());
+    content.put("params", request.getRequestParams());
+    content.put("body", request.getRequestBody());
+    try {
+      return REQUEST_KEY_WRITER.writeValueAsString(content);
+    } catch (JsonProcessingException e) {
+      throw new RestelException(e, "DEPENDENCY_KEY_ERROR", request.getEndpoint());
+    }
+  }
+
+  /*
+  Calls each API once the APIs it depends on are completed. The calls are completed in the order of
+  the APIs, only once the earlier ones are, so that the context is written and the first failure
+  reported as when executed in sequence. No API is called after a failure, though the calls in
+  flight are awaited so that none outlives the scenario.
+   */
+  private boolean executeConcurrently(String scenarioName, ApiDependencies dependencies) {
+    int count = testDefinitions.size();
+    ApiCall[] calls = new ApiCall[count];
+    boolean[] completed = new boolean[count];
+    int cursor = 0;
+    boolean passed = true;
+    try {
+      while (cursor < count && passed) {
+        for (int i = cursor; i < count; i++) {
+          if (calls[i] == null && dependencies.isReady(i, completed)) {
+            calls[i] = startCall(testDefinitions.get(i));
+          }
+        }
+        // Started, as the APIs it depends on are all earlier ones, thus completed
+        calls[cursor].response.handle((response, error) -> null).join();
+        while (cursor < count
+            && passed
+            && calls[cursor] != null
+            && calls[cursor].response.isDone()) {
+          completed[cursor] = true;
+          passed = completeCall(scenarioName, calls[cursor]);
+          cursor++;
+        }
+      }
+    } finally {
+      awaitAll(calls);
+    }
+    return passed;
+  }
+
+  private ApiCall startCall(RestelApiDefinition restelTestMethod) {
+    TestContext apiContext = createApiContext(restelTestMethod);
+    RESTRequest request = createRequest(restelTestMethod);
+    populateRequestToContext(apiContext, request);
+    ApiCall call = new ApiCall(restelTestMethod, apiContext, request);
+    call.response =
+        requestManager
+            .makeCallAsync(
+                request,
+                getPreRequestMiddlewares(restelTestMethod),
+                getPostRequestMiddlewares(restelTestMethod))
+            .whenComplete((response, error) -> call.end = System.nanoTime());
+    return call;
+  }
+
+  private boolean completeCall(String scenarioName, ApiCall call) {
+    RESTResponse response = null;
+    try {
+      response = join(call.response);
+      if (callListener != null) {
+        callListener.onCall(call.definition.getApiUniqueName(), call.end - call.start);
+      }
+      Reporter.attachResponse(call.request.getEndpoint(), response);
+      return validateResponse(scenarioName, call.apiContext, response, call.definition);
+    } catch (AssertionError | RuntimeException ex) {
+      Reporter.attachFailure(call.request, response);
+      throw ex;
+    }
+  }
+
+  private static RESTResponse join(CompletableFuture<RESTResponse> response) {
+    try {
+      return response.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      } else if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static void awaitAll(ApiCall[] calls) {
+    CompletableFuture<?>[] started =
+        Arrays.stream(calls)
+            .filter(Objects::nonNull)
+            .map(call -> call.response)
+            .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(started).handle((result, error) -> null).join();
+  }
+
+  private TestContext createApiContext(RestelApiDefinition restelTestMethod) {
+    TestContext apiContext = new TestContext(restelTestMethod.getApiUniqueName(), testContext);
+    if (restelTestMethod.getApiParameters() != null) {
+      apiContext.putAll(restelTestMethod.getApiParameters());
+    }
+    return apiContext;
+  }
+
+  private boolean validateResponse(
+      String scenarioName,
+      TestContext apiContext,
+      RESTResponse response,
+      RestelApiDefinition restelTestMethod) {
     // Populate the response to context, so that it can be referenced in
     // other test
     populateResponseToContext(apiContext, response);
@@ -127,7 +386,7 @@ public class RestelDefinitionManager {
       TestContext apiContext, RESTResponse response, RestelApiDefinition restelTestMethod) {
     List<String> expectedStatus =
         (List<String>)
-            replaceContextVariables(apiContext, restelTestMethod.getAcceptedStatusCodes());
+            restelTestMethod.getCompiledDefinition().getAcceptedStatusCodes().resolve(apiContext);
     if (!expectedStatus.contains(String.valueOf(response.getStatus()))) {
       Assert.fail(
           "Invalid Response Status Code: "
@@ -144,23 +403,8 @@ public class RestelDefinitionManager {
    * @return The expected response object.
    */
   private Object getExpectedBody(TestContext apiContext, RestelApiDefinition restelTestMethod) {
-    // Check if expected body is Json type
-    if (Objects.isNull(restelTestMethod.getExpectedResponse())) {
-      return replaceContextVariables(apiContext, restelTestMethod.getExpectedResponse());
-    }
-    if (ObjectMapperUtils.isJSONValid(restelTestMethod.getExpectedResponse().toString())) {
-      boolean isArray = Utils.isArray(restelTestMethod.getExpectedResponse().toString());
-      if (!isArray) {
-        return replaceContextVariables(
-            apiContext,
-            ObjectMapperUtils.convertToMap(restelTestMethod.getExpectedResponse().toString()));
-      } else {
-        return ObjectMapperUtils.convertToArray(
-            replaceContextVariables(apiContext, restelTestMethod.getExpectedResponse()).toString());
-      }
-    }
-
-    return replaceContextVariables(apiContext, restelTestMethod.getExpectedResponse());
+    // The Json bodies are parsed once, when the definition is compiled
+    return restelTestMethod.getCompiledDefinition().getExpectedResponse().resolve(apiContext);
   }
 
   /**
@@ -176,6 +420,7 @@ public class RestelDefinitionManager {
         .headers(getRequestHeaders(restelTestMethod))
         .requestParams(getRequestQueryParams(restelTestMethod))
         .requestBody(getRequestBody(restelTestMethod))
+        .serializedBody(restelTestMethod.getCompiledDefinition().getSerializedRequestBody())
         .build();
   }
 
@@ -191,7 +436,8 @@ public class RestelDefinitionManager {
     if (CollectionUtils.isEmpty(restelTestMethod.getExpectedHeader())) {
       return null;
     }
-    return replaceContextVariables(apiContext, restelTestMethod.getExpectedHeader());
+    return (Map<String, Object>)
+        restelTestMethod.getCompiledDefinition().getExpectedHeader().resolve(apiContext);
   }
 
   /**
@@ -204,7 +450,8 @@ public class RestelDefinitionManager {
     if (CollectionUtils.isEmpty(restelTestMethod.getRequestQueryParams())) {
       return restelTestMethod.getRequestQueryParams();
     }
-    return replaceContextVariables(testContext, restelTestMethod.getRequestQueryParams());
+    return (Map<String, Object>)
+        restelTestMethod.getCompiledDefinition().getRequestQueryParams().resolve(testContext);
   }
 
   /**
@@ -217,7 +464,10 @@ public class RestelDefinitionManager {
     if (CollectionUtils.isEmpty(restelTestMethod.getRequestHeaders())) {
       return restelTestMethod.getRequestHeaders();
     }
-    return replaceContextVariables(testContext, restelTestMethod.getRequestHeaders());
+    // Copied, as the middlewares add headers to the request
+    return new HashMap<>(
+        (Map<String, Object>)
+            restelTestMethod.getCompiledDefinition().getRequestHeaders().resolve(testContext));
   }
 
   /**
@@ -227,18 +477,8 @@ public class RestelDefinitionManager {
    * @param restelTestMethod
    */
   private Object getRequestBody(RestelApiDefinition restelTestMethod) {
-    if (Objects.isNull(restelTestMethod.getRequestBodyParams())) {
-      return restelTestMethod.getRequestBodyParams();
-    }
-
-    // Check if request body is Json type
-    if (ObjectMapperUtils.isJSONValid(restelTestMethod.getRequestBodyParams().toString())) {
-      return replaceContextVariables(
-          testContext,
-          ObjectMapperUtils.convertToMap(restelTestMethod.getRequestBodyParams().toString()));
-    }
-
-    return replaceContextVariables(testContext, restelTestMethod.getRequestBodyParams());
+    // The Json body is parsed once, when the definition is compiled
+    return restelTestMethod.getCompiledDefinition().getRequestBody().resolve(testContext);
   }
 
   /**
@@ -248,7 +488,11 @@ public class RestelDefinitionManager {
    * @param restelTestMethod
    */
   private String getRequestURL(RestelApiDefinition restelTestMethod) {
-    return replaceContextVariables(testContext, restelTestMethod.getRequestUrl()).toString();
+    return restelTestMethod
+        .getCompiledDefinition()
+        .getRequestUrl()
+        .resolve(testContext)
+        .toString();
   }
 
   /**
@@ -399,4 +643,25 @@ public class RestelDefinitionManager {
       apiContext.addValue(Constants.REQUEST, request.getRequestBody());
     }
   }
+
+  /** An API called asynchronously, to be validated once the response is received. */
+  private static class ApiCall {
+    private final RestelApiDefinition definition;
+
+    private final TestContext apiContext;
+
+    private final RESTRequest request;
+
+    private final long start = System.nanoTime();
+
+    private volatile long end;
+
+    private CompletableFuture<RESTResponse> response;
+
+    ApiCall(RestelApiDefinition definition, TestContext apiContext, RESTRequest request) {
+      this.definition = definition;
+      this.apiContext = apiContext;
+      this.request = request;
+    }
+  }
 }
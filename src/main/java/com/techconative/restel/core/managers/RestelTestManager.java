@@ -31,41 +31,59 @@ public class RestelTestManager {
     configure();
   }
 
-  private void configure() {
-
-    baseConfig = excelParseManager.getBaseConfig();
+  /**
+   * Reloads the model from the workbook, to pick up the changes made to the file since it was
+   * loaded. The model in use is kept when the reload fails.
+   *
+   * @throws RestelException When the workbook can not be parsed or its model is invalid.
+   */
+  public synchronized void reload() {
+    excelParseManager.reload();
+    configure();
+  }
 
-    testDefinitions = new ArrayList<>();
-    testScenarios = new ArrayList<>();
-    List<RestelSuite> testSuites = new ArrayList<>();
+  private void configure() {
 
-    indexedTestDefinitions = new HashMap<>();
-    indexedTestScenarios = new HashMap<>();
-    indexedTestSuites = new HashMap<>();
+    Map<String, RestelApiDefinition> definitions = new HashMap<>();
+    Map<String, RestelTestScenario> scenarios = new HashMap<>();
+    Map<String, RestelSuite> suites = new HashMap<>();
 
     for (RestelApiDefinition testMethod : excelParseManager.getTestMethods()) {
-      indexedTestDefinitions.put(testMethod.getApiUniqueName(), testMethod);
+      definitions.put(testMethod.getApiUniqueName(), testMethod);
     }
     List<RestelTestApiWrapper> testApiWrappers = excelParseManager.getTestApiWrappers();
     if (testApiWrappers != null) {
       for (RestelApiDefinition testApiWrapper : testApiWrappers) {
-        indexedTestDefinitions.put(testApiWrapper.getApiUniqueName(), testApiWrapper);
+        definitions.put(testApiWrapper.getApiUniqueName(), testApiWrapper);
       }
     }
     for (RestelSuite suite : excelParseManager.getSuites()) {
-      indexedTestSuites.put(suite.getSuiteName(), suite);
+      suites.put(suite.getSuiteName(), suite);
     }
 
     for (RestelTestScenario execution : excelParseManager.getExecGroups()) {
-      indexedTestScenarios.put(execution.getScenarioName(), execution);
+      scenarios.put(execution.getScenarioName(), execution);
     }
 
-    testDefinitions.addAll(indexedTestDefinitions.values());
-    testSuites.addAll(indexedTestSuites.values());
-    testScenarios.addAll(indexedTestScenarios.values());
-    validateDefinition(testDefinitions);
-    validateExecution(testScenarios);
-    validateSuite(testSuites);
+    List<RestelApiDefinition> definitionList = new ArrayList<>(definitions.values());
+    List<RestelTestScenario> scenarioList = new ArrayList<>(scenarios.values());
+    // The snapshots are stored only once validated
+    if (!excelParseManager.isFromSnapshot()) {
+      validateDefinition(definitionList);
+      validateExecution(scenarioList);
+      validateSuite(new ArrayList<>(suites.values()));
+      excelParseManager.storeSnapshot();
+    }
+    // Compile the definitions once, so that the executions do not parse the payloads again
+    definitionList.forEach(RestelApiDefinition::getCompiledDefinition);
+
+    // Swapped in only once validated, for a failed reload to keep the model in use
+    baseConfig = excelParseManager.getBaseConfig();
+    testDefinitions = definitionList;
+    testScenarios = scenarioList;
+    indexedTestDefinitions = definitions;
+    indexedTestScenarios = scenarios;
+    indexedTestSuites = suites;
   }
 
   /**
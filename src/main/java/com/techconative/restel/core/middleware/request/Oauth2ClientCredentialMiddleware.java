@@ -1,6 +1,7 @@
 package com.techconative.restel.core.middleware.request;
 
 import com.techconative.restel.core.http.RESTClient;
+import com.techconative.restel.core.http.RESTClientRegistry;
 import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.core.model.oauth.ClientCredentials;
@@ -33,18 +34,29 @@ public class Oauth2ClientCredentialMiddleware implements RequestMiddleware {
   }
 
   private String fetchAccessToken() {
-    RESTClient client = new RESTClient(clientCredentials.getAuthUrl());
+    Oauth2TokenCache.TokenKey key =
+        new Oauth2TokenCache.TokenKey(
+            clientCredentials.getAuthUrl(),
+            clientCredentials.getClientId(),
+            clientCredentials.getScope(),
+            Constants.CLIENT_CREDENTIALS,
+            null,
+            Oauth2TokenCache.TokenKey.hashSecrets(clientCredentials.getClientSecret()));
+    return Constants.BEARER
+        .concat(" ")
+        .concat(Oauth2TokenCache.getInstance().getAccessToken(key, this::requestToken));
+  }
+
+  private Oauth2Token requestToken() {
+    RESTClient client =
+        RESTClientRegistry.getInstance().getClient(clientCredentials.getAuthUrl());
     Map<String, Object> headers = Maps.newHashMap();
     headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED);
     RESTResponse restResponse =
         client.makeCall(
             HttpMethod.POST, "", headers, Maps.newHashMap(), getClientCredentialsBody());
-    return Constants.BEARER
-        .concat(" ")
-        .concat(
-            (String)
-                ObjectMapperUtils.convertToMap(restResponse.getResponse().getBody().toString())
-                    .get(Constants.ACCESS_TOKEN));
+    return Oauth2Token.of(
+        ObjectMapperUtils.convertToMap(restResponse.getResponse().getBody().toString()));
   }
 
   private Map<String, Object> getClientCredentialsBody() {
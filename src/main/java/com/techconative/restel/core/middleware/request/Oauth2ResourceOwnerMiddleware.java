@@ -1,6 +1,7 @@
 package com.techconative.restel.core.middleware.request;
 
 import com.techconative.restel.core.http.RESTClient;
+import com.techconative.restel.core.http.RESTClientRegistry;
 import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.core.model.oauth.ResourceOwnerPassword;
@@ -33,17 +34,29 @@ public class Oauth2ResourceOwnerMiddleware implements RequestMiddleware {
   }
 
   private String fetchAccessToken() {
-    RESTClient client = new RESTClient(resourceOwnerPassword.getAuthUrl());
+    Oauth2TokenCache.TokenKey key =
+        new Oauth2TokenCache.TokenKey(
+            resourceOwnerPassword.getAuthUrl(),
+            resourceOwnerPassword.getClientId(),
+            resourceOwnerPassword.getScope(),
+            Constants.PASSWORD,
+            resourceOwnerPassword.getUsername(),
+            Oauth2TokenCache.TokenKey.hashSecrets(
+                resourceOwnerPassword.getClientSecret(), resourceOwnerPassword.getPassword()));
+    return Constants.BEARER
+        .concat(" ")
+        .concat(Oauth2TokenCache.getInstance().getAccessToken(key, this::requestToken));
+  }
+
+  private Oauth2Token requestToken() {
+    RESTClient client =
+        RESTClientRegistry.getInstance().getClient(resourceOwnerPassword.getAuthUrl());
     Map<String, Object> headers = Maps.newHashMap();
     headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED);
     RESTResponse restResponse =
         client.makeCall(HttpMethod.POST, "", headers, Maps.newHashMap(), getCredentialsBody());
-    return Constants.BEARER
-        .concat(" ")
-        .concat(
-            (String)
-                ObjectMapperUtils.convertToMap(restResponse.getResponse().getBody().toString())
-                    .get(Constants.ACCESS_TOKEN));
+    return Oauth2Token.of(
+        ObjectMapperUtils.convertToMap(restResponse.getResponse().getBody().toString()));
   }
 
   private Map<String, Object> getCredentialsBody() {
@@ -52,7 +65,9 @@ public class Oauth2ResourceOwnerMiddleware implements RequestMiddleware {
     body.put(Constants.CLIENT_SECRET, resourceOwnerPassword.getClientSecret());
     body.put(Constants.GRANT_TYPE, Constants.PASSWORD);
     body.put(Constants.SCOPE, resourceOwnerPassword.getScope());
-    body.put(Constants.USERNAME, resourceOwnerPassword.getUsername());
+    body.put(Constants.USERNAME, resourceOwnerPassword.getUsername(),
+            Oauth2TokenCache.TokenKey.hashSecrets(
+                resourceOwnerPassword.getClientSecret(), resourceOwnerPassword.getPassword()));
     body.put(Constants.PASSWORD, resourceOwnerPassword.getPassword());
     return body;
   }
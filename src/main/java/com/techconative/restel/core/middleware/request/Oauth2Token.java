@@ -0,0 +1,35 @@
+package com.techconative.restel.core.middleware.request;
+
+import com.techconative.restel.utils.Constants;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Value;
+
+/** Access token issued by an OAuth2 server, with its lifetime. */
+@Value
+public class Oauth2Token {
+
+  String accessToken;
+
+  /** Lifetime of the token in seconds, null when the server did not send it. */
+  Long expiresIn;
+
+  /**
+   * Creates the token from the body of the token response.
+   *
+   * @param response The token response, as a map.
+   * @return The {@link Oauth2Token}.
+   */
+  public static Oauth2Token of(Map<String, Object> response) {
+    String accessToken =
+        Objects.requireNonNull(
+            (String) response.get(Constants.ACCESS_TOKEN), "No access token in the response");
+    Object expiresIn = response.get(Constants.EXPIRES_IN);
+    if (expiresIn instanceof Number) {
+      return new Oauth2Token(accessToken, ((Number) expiresIn).longValue());
+    } else if (expiresIn instanceof String && ((String) expiresIn).matches("\\d+")) {
+      return new Oauth2Token(accessToken, Long.parseLong((String) expiresIn));
+    }
+    return new Oauth2Token(accessToken, null);
+  }
+}
@@ -0,0 +1,239 @@
+package com.techconative.restel.core.middleware.request;
+
+import com.techconative.restel.utils.Constants;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Process wide cache of the OAuth2 access tokens, keyed by the {@link TokenKey}. A token is
+ * refreshed a little before it expires, as per the <code>expires_in</code> of the token response,
+ * and only one fetch per key is in flight at any time: the callers asking for a token while it is
+ * being fetched wait for that fetch instead of making their own. When the refresh fails, the
+ * previous token is served until it expires, the next caller trying the refresh again.
+ *
+ * <p>The refresh margin and the lifetime of the tokens without <code>expires_in</code> are
+ * configured through the system properties {@link Constants#OAUTH_REFRESH_SKEW_PROPERTY} and
+ * {@link Constants#OAUTH_DEFAULT_TTL_PROPERTY}, in seconds.
+ */
+@Slf4j
+public class Oauth2TokenCache {
+
+  private final Map<TokenKey, CompletableFuture<CachedToken>> tokens = new ConcurrentHashMap<>();
+
+  private final TokenCacheStats stats = new TokenCacheStats();
+
+  private final long refreshSkewNanos;
+
+  private final long defaultTtlNanos;
+
+  private Oauth2TokenCache() {
+    refreshSkewNanos =
+        TimeUnit.SECONDS.toNanos(Long.getLong(Constants.OAUTH_REFRESH_SKEW_PROPERTY, 30));
+    defaultTtlNanos =
+        TimeUnit.SECONDS.toNanos(Long.getLong(Constants.OAUTH_DEFAULT_TTL_PROPERTY, 60));
+  }
+
+  /**
+   * Gets the cache instance.
+   *
+   * @return The process wide {@link Oauth2TokenCache}.
+   */
+  public static Oauth2TokenCache getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Gets the access token for the given key, fetching it when none is cached or the cached one is
+   * about to expire.
+   *
+   * @param key The {@link TokenKey} identifying the token.
+   * @param fetcher Fetches a new token from the OAuth2 server.
+   * @return The access token.
+   */
+  public String getAccessToken(TokenKey key, Supplier<Oauth2Token> fetcher) {
+    CompletableFuture<CachedToken> current = tokens.get(key);
+    if (isFresh(current)) {
+      stats.hit();
+      return current.join().getAccessToken();
+    }
+
+    CompletableFuture<CachedToken> fetch = new CompletableFuture<>();
+    boolean[] refreshing = new boolean[1];
+    CachedToken[] previous = new CachedToken[1];
+    CompletableFuture<CachedToken> winner =
+        tokens.compute(
+            key,
+            (k, existing) -> {
+              if (existing != null && (!existing.isDone() || isFresh(existing))) {
+                return existing;
+              }
+              refreshing[0] = existing != null;
+              if (existing != null && !existing.isCompletedExceptionally()) {
+                previous[0] = existing.join();
+              }
+              return fetch;
+            });
+
+    if (winner != fetch) {
+      if (winner.isDone()) {
+        stats.hit();
+      } else {
+        stats.deduplicate();
+      }
+      return await(winner);
+    }
+
+    if (refreshing[0]) {
+      stats.refresh();
+    } else {
+      stats.miss();
+    }
+    try {
+      fetch.complete(new CachedToken(fetcher.get()));
+    } catch (RuntimeException | Error e) {
+      stats.failure();
+      if (e instanceof RuntimeException && previous[0] != null && !previous[0].isExpired()) {
+        // Still due for a refresh, so the next caller tries again
+        log.warn("Failed to refresh the OAuth2 token, using the previous one until it expires", e);
+        fetch.complete(previous[0]);
+        return previous[0].getAccessToken();
+      }
+      // Let the next caller try again instead of failing on the cached error.
+      tokens.remove(key, fetch);
+      fetch.completeExceptionally(e);
+      throw e;
+    }
+    return fetch.join().getAccessToken();
+  }
+
+  /**
+   * Removes the token of the given key, so that it is fetched again on the next request.
+   *
+   * @param key The {@link TokenKey} of the token.
+   */
+  public void invalidate(TokenKey key) {
+    tokens.remove(key);
+  }
+
+  /** Removes all the cached tokens. */
+  public void clear() {
+    tokens.clear();
+  }
+
+  /** @return The {@link TokenCacheStats} of the cache. */
+  public TokenCacheStats getStats() {
+    return stats;
+  }
+
+  /** Logs the statistics of the cache. */
+  public void logStats() {
+    log.info("OAuth2 token cache: " + stats);
+  }
+
+  private static boolean isFresh(CompletableFuture<CachedToken> token) {
+    return token != null
+        && token.isDone()
+        && !token.isCompletedExceptionally()
+        && System.nanoTime() - token.join().getRefreshAt() < 0;
+  }
+
+  private static String await(CompletableFuture<CachedToken> token) {
+    try {
+      return token.join().getAccessToken();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Identifies a token by the server and the credentials it is issued for. The secrets are kept as
+   * a hash, so that the credentials differing only by their secrets get their own token without
+   * the secrets being held by the cache.
+   */
+  @Value
+  public static class TokenKey {
+    String authUrl;
+    String clientId;
+    String scope;
+    String grantType;
+
+    /** The resource owner, for the password grant. Null for the other grants. */
+    String username;
+
+    /** Hash of the secrets, as per {@link #hashSecrets(String...)}. */
+    String secretsHash;
+
+    /**
+     * Hashes the secrets of the credentials, such as the client secret and the password.
+     *
+     * @param secrets The secrets, null for the missing ones.
+     * @return The hex encoded SHA-256 hash of the secrets.
+     */
+    public static String hashSecrets(String... secrets) {
+      try {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String secret : secrets) {
+          // Length prefixed, so that the boundaries between the secrets are part of the hash
+          byte[] bytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+          int length = secret == null ? -1 : bytes.length;
+          digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(length).array());
+          digest.update(bytes);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+          hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private class CachedToken {
+    private final String accessToken;
+    private final long refreshAt;
+    private final long expiresAt;
+
+    CachedToken(Oauth2Token token) {
+      long ttl =
+          token.getExpiresIn() == null
+              ? defaultTtlNanos
+              : TimeUnit.SECONDS.toNanos(token.getExpiresIn());
+      // Refresh ahead of the expiry, but not so early that short lived tokens are never reused.
+      long now = System.nanoTime();
+      this.accessToken = token.getAccessToken();
+      this.refreshAt = now + ttl - Math.min(refreshSkewNanos, ttl / 2);
+      this.expiresAt = now + ttl;
+    }
+
+    String getAccessToken() {
+      return accessToken;
+    }
+
+    long getRefreshAt() {
+      return refreshAt;
+    }
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+  }
+
+  private static class Holder {
+    private static final Oauth2TokenCache INSTANCE = new Oauth2TokenCache();
+  }
+}
@@ -9,6 +9,9 @@ import com.techconative.restel.core.middleware.HttpMiddleware;
  *
  * <p>Before making a request, the {@link RESTClient} passes the request through given list of
  * middlewares, thus any changes to the request can be achieved by adding a required middleware.
+ *
+ * <p>The middlewares are applied on the thread making the call, also for the asynchronous calls,
+ * so a middleware doing I/O blocks that thread until it is done.
  */
 public interface RequestMiddleware extends HttpMiddleware<RESTRequest> {
   @Override
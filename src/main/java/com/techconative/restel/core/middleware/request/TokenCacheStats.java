@@ -0,0 +1,77 @@
+package com.techconative.restel.core.middleware.request;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Statistics of the {@link Oauth2TokenCache}. */
+public class TokenCacheStats {
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder refreshes = new LongAdder();
+
+  private final LongAdder deduplicated = new LongAdder();
+
+  private final LongAdder failures = new LongAdder();
+
+  void hit() {
+    hits.increment();
+  }
+
+  void miss() {
+    misses.increment();
+  }
+
+  void refresh() {
+    refreshes.increment();
+  }
+
+  void deduplicate() {
+    deduplicated.increment();
+  }
+
+  void failure() {
+    failures.increment();
+  }
+
+  /** @return Number of tokens served from the cache. */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** @return Number of tokens fetched as none was cached. */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /** @return Number of tokens fetched as the cached one was about to expire. */
+  public long getRefreshes() {
+    return refreshes.sum();
+  }
+
+  /** @return Number of requests that waited on a fetch already in flight. */
+  public long getDeduplicated() {
+    return deduplicated.sum();
+  }
+
+  /** @return Number of fetches that failed. */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "TokenCacheStats{hits="
+        + getHits()
+        + ", misses="
+        + getMisses()
+        + ", refreshes="
+        + getRefreshes()
+        + ", deduplicated="
+        + getDeduplicated()
+        + ", failures="
+        + getFailures()
+        + "}";
+  }
+}
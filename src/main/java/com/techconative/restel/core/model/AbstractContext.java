@@ -28,7 +28,8 @@ public abstract class AbstractContext {
 
   public AbstractContext(AbstractContext parentContext) {
     this.parentContext = parentContext;
-    contextValues = new HashMap<>();
+    // Scenarios run in parallel and register themselves to the shared parent context.
+    contextValues = Collections.synchronizedMap(new HashMap<>());
   }
 
   /**
@@ -51,6 +52,10 @@ public abstract class AbstractContext {
     contextValues.put(name, value);
   }
 
+  public void removeValue(String name) {
+    contextValues.remove(name);
+  }
+
   public void putAll(Map<String, Object> additional) {
     contextValues.putAll(additional);
   }
@@ -62,7 +67,7 @@ public abstract class AbstractContext {
    * could still resolve values from the parent context.
    */
   public void reset() {
-    contextValues = new HashMap<>();
+    contextValues = Collections.synchronizedMap(new HashMap<>());
   }
 
   public Map<String, Object> getContextValues() {
@@ -0,0 +1,247 @@
+package com.techconative.restel.core.model;
+
+import static com.techconative.restel.core.utils.ContextUtils.replaceContextVariables;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.techconative.restel.core.template.TemplateCompiler;
+import com.techconative.restel.exception.RestelException;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import com.techconative.restel.utils.Utils;
+import java.util.*;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable, compiled form of a {@link RestelApiDefinition}. The JSON request and expected bodies
+ * are parsed once, and the values without any <code>${...}</code> variable are resolved once, so
+ * that executing a definition does no JSON parsing for static payloads. The static JSON request
+ * bodies are also kept serialized, to be sent as is.
+ */
+@Slf4j
+public final class CompiledApiDefinition {
+
+  /** Context used to resolve the static values. Never looked up, as they have no variables. */
+  private static final AbstractContext COMPILE_CONTEXT =
+      new AbstractContext(null) {
+        @Override
+        protected String getContextName() {
+          return "compile-context";
+        }
+      };
+
+  private final CompiledValue requestUrl;
+  private final CompiledValue requestHeaders;
+  private final CompiledValue requestQueryParams;
+  private final CompiledValue requestBody;
+  private final byte[] serializedRequestBody;
+  private final CompiledValue expectedResponse;
+  private final CompiledValue expectedHeader;
+  private final CompiledValue acceptedStatusCodes;
+
+  private CompiledApiDefinition(RestelApiDefinition definition) {
+    requestUrl = CompiledValue.of(definition.getRequestUrl());
+    requestHeaders = CompiledValue.of(definition.getRequestHeaders());
+    requestQueryParams = CompiledValue.of(definition.getRequestQueryParams());
+    requestBody = compileRequestBody(definition.getRequestBodyParams());
+    serializedRequestBody = serialize(requestBody);
+    expectedResponse = compileExpectedResponse(definition.getExpectedResponse());
+    expectedHeader = CompiledValue.of(definition.getExpectedHeader());
+    acceptedStatusCodes = CompiledValue.of(definition.getAcceptedStatusCodes());
+  }
+
+  /**
+   * Compiles the given definition.
+   *
+   * @param definition The {@link RestelApiDefinition} to be compiled.
+   * @return The {@link CompiledApiDefinition}.
+   */
+  public static CompiledApiDefinition compile(RestelApiDefinition definition) {
+    return new CompiledApiDefinition(definition);
+  }
+
+  public CompiledValue getRequestUrl() {
+    return requestUrl;
+  }
+
+  public CompiledValue getRequestHeaders() {
+    return requestHeaders;
+  }
+
+  public CompiledValue getRequestQueryParams() {
+    return requestQueryParams;
+  }
+
+  public CompiledValue getRequestBody() {
+    return requestBody;
+  }
+
+  /**
+   * Gets the request body serialized as JSON.
+   *
+   * @return The serialized body, null when the body has variables or is not a JSON structure.
+   */
+  public byte[] getSerializedRequestBody() {
+    return serializedRequestBody == null ? null : serializedRequestBody.clone();
+  }
+
+  /** @return true when the request body has been pre-serialized. */
+  public boolean hasSerializedRequestBody() {
+    return serializedRequestBody != null;
+  }
+
+  public CompiledValue getExpectedResponse() {
+    return expectedResponse;
+  }
+
+  public CompiledValue getExpectedHeader() {
+    return expectedHeader;
+  }
+
+  public CompiledValue getAcceptedStatusCodes() {
+    return acceptedStatusCodes;
+  }
+
+  private static CompiledValue compileRequestBody(Object body) {
+    if (Objects.isNull(body)) {
+      return CompiledValue.of(null);
+    }
+    String content = body.toString();
+    // Check if request body is Json type
+    if (ObjectMapperUtils.isJSONValid(content)) {
+      Map<String, Object> parsed = parseMap(content);
+      return parsed == null
+          ? CompiledValue.dynamic(
+              ctx -> replaceContextVariables(ctx, ObjectMapperUtils.convertToMap(content)))
+          : CompiledValue.of(parsed);
+    }
+    return CompiledValue.of(body);
+  }
+
+  private static CompiledValue compileExpectedResponse(Object expected) {
+    if (Objects.isNull(expected)) {
+      return CompiledValue.of(null);
+    }
+    String content = expected.toString();
+    // Check if expected body is Json type
+    if (ObjectMapperUtils.isJSONValid(content)) {
+      if (!Utils.isArray(content)) {
+        Map<String, Object> parsed = parseMap(content);
+        return parsed == null
+            ? CompiledValue.dynamic(
+                ctx -> replaceContextVariables(ctx, ObjectMapperUtils.convertToMap(content)))
+            : CompiledValue.of(parsed);
+      }
+      return CompiledValue.of(
+          expected,
+          ctx ->
+              ObjectMapperUtils.convertToArray(replaceContextVariables(ctx, expected).toString()));
+    }
+    return CompiledValue.of(expected);
+  }
+
+  private static Map<String, Object> parseMap(String content) {
+    try {
+      return ObjectMapperUtils.convertToMap(content);
+    } catch (RestelException e) {
+      // Not a JSON object, the failure is reported when the definition is executed.
+      return null;
+    }
+  }
+
+  private static byte[] serialize(CompiledValue body) {
+    if (body.hasVariables()
+        || !(body.getStaticValue() instanceof Map || body.getStaticValue() instanceof List)) {
+      return null;
+    }
+    try {
+      return ObjectMapperUtils.getMapper().writeValueAsBytes(body.getStaticValue());
+    } catch (JsonProcessingException e) {
+      log.warn("Failed to pre-serialize the request body, it will be serialized per request");
+      return null;
+    }
+  }
+
+  /**
+   * A value of the definition, resolved once when it has no variables, or resolved against the
+   * context on every execution otherwise.
+   */
+  public static final class CompiledValue {
+    private final boolean hasVariables;
+    private final Function<AbstractContext, Object> resolver;
+    private final Object staticValue;
+
+    private CompiledValue(
+        boolean hasVariables, Function<AbstractContext, Object> resolver, Object staticValue) {
+      this.hasVariables = hasVariables;
+      this.resolver = resolver;
+      this.staticValue = staticValue;
+    }
+
+    static CompiledValue of(Object source) {
+      return of(source, ctx -> replaceContextVariables(ctx, source));
+    }
+
+    static CompiledValue of(Object source, Function<AbstractContext, Object> resolver) {
+      if (containsVariables(source)) {
+        return dynamic(resolver);
+      }
+      try {
+        return new CompiledValue(false, resolver, unmodifiable(resolver.apply(COMPILE_CONTEXT)));
+      } catch (RuntimeException e) {
+        // Keep the failure to the execution of the definition.
+        return dynamic(resolver);
+      }
+    }
+
+    static CompiledValue dynamic(Function<AbstractContext, Object> resolver) {
+      return new CompiledValue(true, resolver, null);
+    }
+
+    /** @return true when the value has to be resolved on every execution. */
+    public boolean hasVariables() {
+      return hasVariables;
+    }
+
+    /** @return The resolved value, when it has no variables. Unmodifiable. */
+    public Object getStaticValue() {
+      return staticValue;
+    }
+
+    /**
+     * Resolves the value against the given context.
+     *
+     * @param context The context in which the variables have to be resolved.
+     * @return The resolved value. Unmodifiable when the value has no variables.
+     */
+    public Object resolve(AbstractContext context) {
+      return hasVariables ? resolver.apply(context) : staticValue;
+    }
+
+    private static boolean containsVariables(Object source) {
+      if (source instanceof Map) {
+        for (Map.Entry<?, ?> e : ((Map<?, ?>) source).entrySet()) {
+          if (containsVariables(e.getKey()) || containsVariables(e.getValue())) {
+            return true;
+          }
+        }
+        return false;
+      } else if (source instanceof Collection) {
+        return ((Collection<?>) source).stream().anyMatch(CompiledValue::containsVariables);
+      }
+      return source != null && TemplateCompiler.hasVariables(source.toString());
+    }
+
+    private static Object unmodifiable(Object value) {
+      if (value instanceof Map) {
+        Map<Object, Object> copy = new LinkedHashMap<>();
+        ((Map<?, ?>) value).forEach((k, v) -> copy.put(k, unmodifiable(v)));
+        return Collections.unmodifiableMap(copy);
+      } else if (value instanceof List) {
+        List<Object> copy = new ArrayList<>();
+        ((List<?>) value).forEach(v -> copy.add(unmodifiable(v)));
+        return Collections.unmodifiableList(copy);
+      }
+      return value;
+    }
+  }
+}
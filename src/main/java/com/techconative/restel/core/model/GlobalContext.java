@@ -20,7 +20,7 @@ public class GlobalContext extends AbstractContext {
    *
    * @return Returns the {@link GlobalContext} instance.
    */
-  public static GlobalContext getInstance() {
+  public static synchronized GlobalContext getInstance() {
     if (own == null) {
       own = new GlobalContext();
     }
@@ -1,8 +1,10 @@
 package com.techconative.restel.core.model;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.techconative.restel.utils.Constants;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface RestelApiDefinition {
   String getApiUniqueName();
@@ -69,9 +71,26 @@ public interface RestelApiDefinition {
 
   void setParentTests(List<String> parentTests);
 
+  /**
+   * Gets the tags of the definition, like {@link Constants#RUN_ONCE_TAG} or {@link
+   * Constants#CACHEABLE_TAG}.
+   *
+   * @return The tags, null when none.
+   */
+  Set<String> getTags();
+
+  void setTags(Set<String> tags);
+
   Map<String, Object> getApiParameters();
 
   void setApiParameters(Map<String, Object> apiParameters);
 
   public void addParentTest(String parentTest);
+
+  /**
+   * Gets the compiled form of the definition, used for the execution.
+   *
+   * @return The {@link CompiledApiDefinition} of this definition.
+   */
+  CompiledApiDefinition getCompiledDefinition();
 }
@@ -4,10 +4,16 @@ import com.fasterxml.jackson.databind.JsonNode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 public class RestelTestApiDefinition implements RestelApiDefinition {
+
   private String apiUniqueName;
   private String apiDescription;
   private String requestUrl;
@@ -22,9 +28,15 @@ public class RestelTestApiDefinition implements RestelApiDefinition {
   private Map<String, Object> expectedHeader;
   private String expectedHeaderMatcher;
   private List<String> acceptedStatusCodes;
+  private Set<String> tags;
   @Deprecated private List<RestelApiDefinition> dependentOn;
   private List<String> parentTests = new ArrayList<>();
 
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private transient volatile CompiledApiDefinition compiledDefinition;
+
   @Override
   public Map<String, Object> getApiParameters() {
     return null;
@@ -37,4 +49,57 @@ public class RestelTestApiDefinition implements RestelApiDefinition {
   public void addParentTest(String parentTest) {
     parentTests.add(parentTest);
   }
+
+  // The setters of the compiled values drop the compiled definition, to be compiled again
+
+  public void setRequestUrl(String requestUrl) {
+    this.requestUrl = requestUrl;
+    compiledDefinition = null;
+  }
+
+  public void setRequestHeaders(Map<String, Object> requestHeaders) {
+    this.requestHeaders = requestHeaders;
+    compiledDefinition = null;
+  }
+
+  public void setRequestQueryParams(Map<String, Object> requestQueryParams) {
+    this.requestQueryParams = requestQueryParams;
+    compiledDefinition = null;
+  }
+
+  public void setRequestBodyParams(Object requestBodyParams) {
+    this.requestBodyParams = requestBodyParams;
+    compiledDefinition = null;
+  }
+
+  public void setExpectedResponse(Object expectedResponse) {
+    this.expectedResponse = expectedResponse;
+    compiledDefinition = null;
+  }
+
+  public void setExpectedHeader(Map<String, Object> expectedHeader) {
+    this.expectedHeader = expectedHeader;
+    compiledDefinition = null;
+  }
+
+  public void setAcceptedStatusCodes(List<String> acceptedStatusCodes) {
+    this.acceptedStatusCodes = acceptedStatusCodes;
+    compiledDefinition = null;
+  }
+
+  /**
+   * Gets the compiled form of the definition, compiling it on the first request, and again once a
+   * compiled value is set.
+   *
+   * @return The {@link CompiledApiDefinition} of this definition.
+   */
+  @Override
+  public CompiledApiDefinition getCompiledDefinition() {
+    CompiledApiDefinition compiled = compiledDefinition;
+    if (compiled == null) {
+      compiled = CompiledApiDefinition.compile(this);
+      compiledDefinition = compiled;
+    }
+    return compiled;
+  }
 }
@@ -3,10 +3,12 @@ package com.techconative.restel.core.model;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.Data;
 
 @Data
 public class RestelTestApiWrapper implements RestelApiDefinition {
+
   private RestelTestApiDefinition testApiDefinition;
   private String testApiWrapperName;
   private String testApiWrapperDescription;
@@ -152,6 +154,16 @@ public class RestelTestApiWrapper implements RestelApiDefinition {
     testApiDefinition.setAcceptedStatusCodes(acceptedStatusCodes);
   }
 
+  @Override
+  public Set<String> getTags() {
+    return testApiDefinition.getTags();
+  }
+
+  @Override
+  public void setTags(Set<String> tags) {
+    testApiDefinition.setTags(tags);
+  }
+
   @Override
   public List<RestelApiDefinition> getDependentOn() {
     return testApiDefinition.getDependentOn();
@@ -176,4 +188,9 @@ public class RestelTestApiWrapper implements RestelApiDefinition {
   public void addParentTest(String parentTest) {
     testApiDefinition.addParentTest(parentTest);
   }
+
+  @Override
+  public CompiledApiDefinition getCompiledDefinition() {
+    return testApiDefinition.getCompiledDefinition();
+  }
 }
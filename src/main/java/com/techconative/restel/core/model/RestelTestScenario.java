@@ -21,6 +21,7 @@ public class RestelTestScenario {
   private String testSuiteName;
   private List<RestelTestScenario> dependsOn;
   private Map<String, Object> executionParams;
+  private String scenarioData;
   private boolean scenarioEnabled;
   private List<String> parentExecutions = new ArrayList<>();
   private List<RestelAssertion> assertions;
@@ -2,15 +2,12 @@ package com.techconative.restel.core.model.comparator;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.techconative.restel.core.http.RESTResponse;
-import com.techconative.restel.extension.jsoncompare.comparator.StringJsonComparator;
 import com.techconative.restel.utils.ObjectMapperUtils;
+import com.techconative.restel.utils.Reporter;
 import com.techconative.restel.utils.Utils;
-import io.qameta.allure.Allure;
 import javax.ws.rs.core.MediaType;
 import org.springframework.stereotype.Component;
 import org.testng.Assert;
-import ro.skyah.comparator.CompareMode;
-import ro.skyah.comparator.JSONCompare;
 
 /**
  * Comparator that does the exact comparison based on the expected output.
@@ -61,26 +58,19 @@ public class ExactMatchComparator implements ResponseComparator {
     JsonNode expectedOutputnode = ObjectMapperUtils.convertToJsonNode(expectedOutput);
     JsonNode actualOutputNode = ObjectMapperUtils.convertToJsonNode(restResponse);
 
-    Allure.step(
-        "Evaluating with ExactMatcher:: Actual :- "
-            + actualOutputNode.toPrettyString()
-            + " Expected :- "
-            + expectedOutputnode.toPrettyString());
-    JSONCompare.assertEquals(
-        expectedOutputnode,
-        actualOutputNode,
-        new StringJsonComparator(),
-        CompareMode.JSON_OBJECT_NON_EXTENSIBLE,
-        CompareMode.JSON_ARRAY_STRICT_ORDER);
+    Reporter.conveyComparison(
+        "ExactMatcher",
+        actualOutputNode::toPrettyString,
+        expectedOutputnode::toPrettyString,
+        () -> JsonDiffEngine.EXACT.assertMatches(null, expectedOutputnode, actualOutputNode));
   }
 
   private void evalText(RESTResponse restResponse, Object expectedOutput) {
-    Allure.step(
-        "Evaluating with ExactMatcher, Actual : "
-            + restResponse.getResponse().getBody()
-            + " Expected : "
-            + expectedOutput);
-    Assert.assertEquals(
-        restResponse.getResponse().getBody(), expectedOutput, " Missmatch of Expected vs Actual ");
+    Object actual = restResponse.getResponse().getBody();
+    Reporter.conveyComparison(
+        "ExactMatcher",
+        () -> String.valueOf(actual),
+        () -> String.valueOf(expectedOutput),
+        () -> Assert.assertEquals(actual, expectedOutput, " Missmatch of Expected vs Actual "));
   }
 }
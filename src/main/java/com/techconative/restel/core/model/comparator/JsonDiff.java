@@ -0,0 +1,19 @@
+package com.techconative.restel.core.model.comparator;
+
+import lombok.Value;
+
+/** A difference between the expected and the actual json. */
+@Value
+public class JsonDiff {
+
+  /** The JSON pointer of the differing node, empty for the root. */
+  String path;
+
+  /** What differs at the path. */
+  String reason;
+
+  @Override
+  public String toString() {
+    return (path.isEmpty() ? "/" : path) + ": " + reason;
+  }
+}
@@ -0,0 +1,379 @@
+package com.techconative.restel.core.model.comparator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.techconative.restel.utils.Constants;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.apache.commons.lang3.StringUtils;
+import org.testng.Assert;
+
+/**
+ * Structural comparison of the expected and the actual json. Both trees are walked together and
+ * the differences are reported with the JSON pointer of the differing node.
+ *
+ * <p>The values are compared by their type and value, so <code>5</code> and <code>5.0</code>
+ * differ. An expected string is also a regular expression, as with json-compare: it matches the
+ * scalars whose text is the same or fully matches the expression, so <code>".*"</code> matches
+ * <code>5</code>, and <code>"\\Q1+1\\E"</code> only the text <code>1+1</code>. How objects and
+ * arrays are matched depends on the engine:
+ *
+ * <ul>
+ *   <li>{@link #EXACT} - The objects should have the same fields and the arrays the same elements
+ *       in the same order.
+ *   <li>{@link #PARTIAL} - The actual objects may have more fields, and the actual arrays should
+ *       contain every expected element in any order.
+ *   <li>{@link #UNORDERED} - Same as {@link #PARTIAL}, but the actual elements of an array are
+ *       indexed by the values of their scalar fields, so that an expected element is only paired
+ *       with the actual elements having the same values. Large arrays are matched in linear time
+ *       rather than quadratic.
+ * </ul>
+ */
+public class JsonDiffEngine {
+
+  public static final JsonDiffEngine EXACT = new JsonDiffEngine(false, false, true, false);
+
+  public static final JsonDiffEngine PARTIAL = new JsonDiffEngine(true, true, false, false);
+
+  public static final JsonDiffEngine UNORDERED = new JsonDiffEngine(true, true, false, true);
+
+  private static final int MAX_VALUE_LENGTH = 100;
+
+  private static final int MAX_PATTERNS = 10_000;
+
+  /* Compiled expected strings, empty for the ones which are not valid regular expressions. */
+  private static final Map<String, Optional<Pattern>> PATTERNS = new ConcurrentHashMap<>();
+
+  /** How far the trees are walked. */
+  public enum Mode {
+    /** Stops at the first difference. */
+    FAST,
+    /** Collects up to {@link Constants#DIFF_MAX_REPORTED_PROPERTY} differences, 20 by default. */
+    REPORT
+  }
+
+  private final boolean extensibleObjects;
+
+  private final boolean extensibleArrays;
+
+  private final boolean strictArrayOrder;
+
+  private final boolean indexedArrays;
+
+  private final int maxReported;
+
+  private JsonDiffEngine(
+      boolean extensibleObjects,
+      boolean extensibleArrays,
+      boolean strictArrayOrder,
+      boolean indexedArrays) {
+    this.extensibleObjects = extensibleObjects;
+    this.extensibleArrays = extensibleArrays;
+    this.strictArrayOrder = strictArrayOrder;
+    this.indexedArrays = indexedArrays;
+    this.maxReported = Math.max(1, Integer.getInteger(Constants.DIFF_MAX_REPORTED_PROPERTY, 20));
+  }
+
+  /**
+   * Compares the expected and the actual json.
+   *
+   * @param expected The expected json.
+   * @param actual The actual json.
+   * @param mode The {@link Mode} of the comparison.
+   * @return The differences, empty when the actual json matches the expected.
+   */
+  public List<JsonDiff> diff(JsonNode expected, JsonNode actual, Mode mode) {
+    // Equal trees match in any engine, and the equality check exits on the first difference
+    // without tracking the paths.
+    if (expected.equals(actual)) {
+      return Collections.emptyList();
+    }
+    Diffs diffs = new Diffs(mode == Mode.FAST ? 1 : maxReported);
+    walk(expected, actual, "", diffs);
+    return diffs.list;
+  }
+
+  /**
+   * Checks if the actual json matches the expected.
+   *
+   * @param expected The expected json.
+   * @param actual The actual json.
+   * @return true when there is no difference.
+   */
+  public boolean matches(JsonNode expected, JsonNode actual) {
+    return diff(expected, actual, Mode.FAST).isEmpty();
+  }
+
+  /**
+   * Asserts that the actual json matches the expected.
+   *
+   * @param message The message of the assertion, can be null.
+   * @param expected The expected json.
+   * @param actual The actual json.
+   * @throws AssertionError with the differences, when the actual json does not match.
+   */
+  public void assertMatches(String message, JsonNode expected, JsonNode actual) {
+    List<JsonDiff> diffs = diff(expected, actual, Mode.REPORT);
+    if (diffs.isEmpty()) {
+      return;
+    }
+    StringBuilder failure = new StringBuilder(StringUtils.defaultString(message, "Json mismatch"));
+    if (diffs.size() == maxReported) {
+      failure.append(" (first ").append(maxReported).append(" differences)");
+    }
+    diffs.forEach(diff -> failure.append(System.lineSeparator()).append(diff));
+    Assert.fail(failure.toString());
+  }
+
+  private void walk(JsonNode expected, JsonNode actual, String path, Diffs diffs) {
+    if (expected.isTextual() && actual.isValueNode()) {
+      if (!matchesText(expected.textValue(), actual)) {
+        diffs.add(path, "expected " + abbreviate(expected) + " but was " + abbreviate(actual));
+      }
+      return;
+    }
+    if (expected.getNodeType() != actual.getNodeType()) {
+      diffs.add(path, "expected " + abbreviate(expected) + " but was " + abbreviate(actual));
+      return;
+    }
+    if (expected.isObject()) {
+      walkObject(expected, actual, path, diffs);
+    } else if (expected.isArray()) {
+      if (strictArrayOrder) {
+        walkOrderedArray(expected, actual, path, diffs);
+      } else {
+        walkUnorderedArray(expected, actual, path, diffs);
+      }
+    } else if (!expected.equals(actual)) {
+      diffs.add(path, "expected " + abbreviate(expected) + " but was " + abbreviate(actual));
+    }
+  }
+
+  private void walkObject(JsonNode expected, JsonNode actual, String path, Diffs diffs) {
+    Iterator<Map.Entry<String, JsonNode>> fields = expected.fields();
+    while (fields.hasNext() && !diffs.isFull()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      JsonNode actualValue = actual.get(field.getKey());
+      String fieldPath = path + "/" + escape(field.getKey());
+      if (actualValue == null) {
+        diffs.add(fieldPath, "missing field, expected " + abbreviate(field.getValue()));
+      } else {
+        walk(field.getValue(), actualValue, fieldPath, diffs);
+      }
+    }
+    if (extensibleObjects) {
+      return;
+    }
+    Iterator<String> actualFields = actual.fieldNames();
+    while (actualFields.hasNext() && !diffs.isFull()) {
+      String name = actualFields.next();
+      if (!expected.has(name)) {
+        diffs.add(path + "/" + escape(name), "unexpected field " + abbreviate(actual.get(name)));
+      }
+    }
+  }
+
+  private void walkOrderedArray(JsonNode expected, JsonNode actual, String path, Diffs diffs) {
+    int common = Math.min(expected.size(), actual.size());
+    for (int i = 0; i < common && !diffs.isFull(); i++) {
+      walk(expected.get(i), actual.get(i), path + "/" + i, diffs);
+    }
+    if (actual.size() < expected.size()) {
+      diffs.add(path, "expected " + expected.size() + " elements but was " + actual.size());
+    } else if (actual.size() > expected.size() && !extensibleArrays) {
+      diffs.add(path, "expected " + expected.size() + " elements but was " + actual.size());
+    }
+  }
+
+  /*
+  Each expected element is matched with the first unmatched actual element that matches it.
+   */
+  private void walkUnorderedArray(JsonNode expected, JsonNode actual, String path, Diffs diffs) {
+    if (!extensibleArrays && expected.size() != actual.size()) {
+      diffs.add(path, "expected " + expected.size() + " elements but was " + actual.size());
+    }
+    ArrayIndex index = indexedArrays ? new ArrayIndex(actual) : null;
+    boolean[] matched = new boolean[actual.size()];
+    for (int i = 0; i < expected.size() && !diffs.isFull(); i++) {
+      JsonNode element = expected.get(i);
+      boolean found = false;
+      if (index == null) {
+        for (int j = 0; j < actual.size() && !found; j++) {
+          found = pair(element, actual, j, matched);
+        }
+      } else {
+        Iterator<Integer> candidates = index.candidates(element).iterator();
+        while (candidates.hasNext() && !found) {
+          found = pair(element, actual, candidates.next(), matched);
+        }
+      }
+      if (!found) {
+        diffs.add(path + "/" + i, "no element matches " + abbreviate(element));
+      }
+    }
+  }
+
+  private boolean pair(JsonNode element, JsonNode actual, int j, boolean[] matched) {
+    if (!matched[j] && matches(element, actual.get(j))) {
+      matched[j] = true;
+      return true;
+    }
+    return false;
+  }
+
+  /* The scalar matches when its text is the expected one, or fully matches it as an expression. */
+  private static boolean matchesText(String expected, JsonNode actual) {
+    if (actual.isNull()) {
+      return false;
+    }
+    String text = actual.asText();
+    if (expected.equals(text)) {
+      return true;
+    }
+    Optional<Pattern> pattern = PATTERNS.get(expected);
+    if (pattern == null) {
+      try {
+        pattern = Optional.of(Pattern.compile(expected, Pattern.DOTALL));
+      } catch (PatternSyntaxException e) {
+        pattern = Optional.empty();
+      }
+      // Bounded, as the expected strings of a long run are not all patterns worth keeping
+      if (PATTERNS.size() >= MAX_PATTERNS) {
+        PATTERNS.clear();
+      }
+      PATTERNS.put(expected, pattern);
+    }
+    return pattern.isPresent() && pattern.get().matcher(text).matches();
+  }
+
+  /* An expected string only matching the same text, as it has no special character. */
+  private static boolean isLiteral(JsonNode expected) {
+    return !expected.isTextual()
+        || !StringUtils.containsAny(expected.textValue(), "\\^$.|?*+()[]{}");
+  }
+
+  /* Escapes the field name as a JSON pointer reference token, RFC 6901. */
+  private static String escape(String name) {
+    return name.replace("~", "~0").replace("/", "~1");
+  }
+
+  private static String abbreviate(JsonNode node) {
+    return StringUtils.abbreviate(node.toString(), MAX_VALUE_LENGTH);
+  }
+
+  /*
+  Index of the elements of an actual array, bucketed by the text of the scalar fields of the
+  expected elements. The scalar fields of an expected object should have the same text in the
+  matching actual object, so the elements outside of the bucket can not match. The nested objects
+  and arrays, and the expected strings which are regular expressions, are not part of the key, they
+  are compared by pairing the elements of the bucket.
+   */
+  private static class ArrayIndex {
+    private final JsonNode array;
+
+    /* Buckets of the objects, by the names of the scalar fields they are keyed with. */
+    private final Map<List<String>, Map<List<String>, List<Integer>>> objectBuckets =
+        new HashMap<>();
+
+    private Map<String, List<Integer>> valueBuckets;
+
+    private List<Integer> values;
+
+    private List<Integer> arrays;
+
+    ArrayIndex(JsonNode array) {
+      this.array = array;
+    }
+
+    List<Integer> candidates(JsonNode element) {
+      if (element.isObject()) {
+        List<String> keyFields = new ArrayList<>();
+        element
+            .fields()
+            .forEachRemaining(
+                field -> {
+                  if (field.getValue().isValueNode() && isLiteral(field.getValue())) {
+                    keyFields.add(field.getKey());
+                  }
+                });
+        Collections.sort(keyFields);
+        return objectBuckets
+            .computeIfAbsent(keyFields, this::bucketObjects)
+            .getOrDefault(key(element, keyFields), Collections.emptyList());
+      }
+      if (element.isArray()) {
+        if (arrays == null) {
+          arrays = new ArrayList<>();
+          for (int j = 0; j < array.size(); j++) {
+            if (array.get(j).isArray()) {
+              arrays.add(j);
+            }
+          }
+        }
+        return arrays;
+      }
+      if (valueBuckets == null) {
+        valueBuckets = new HashMap<>();
+        values = new ArrayList<>();
+        for (int j = 0; j < array.size(); j++) {
+          if (array.get(j).isValueNode()) {
+            valueBuckets.computeIfAbsent(array.get(j).asText(), k -> new ArrayList<>()).add(j);
+            values.add(j);
+          }
+        }
+      }
+      if (!isLiteral(element)) {
+        return values;
+      }
+      return valueBuckets.getOrDefault(element.asText(), Collections.emptyList());
+    }
+
+    private Map<List<String>, List<Integer>> bucketObjects(List<String> keyFields) {
+      Map<List<String>, List<Integer>> buckets = new HashMap<>();
+      for (int j = 0; j < array.size(); j++) {
+        List<String> key = key(array.get(j), keyFields);
+        if (key != null) {
+          buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(j);
+        }
+      }
+      return buckets;
+    }
+
+    /* The text of the key fields, null when the node can not have them. */
+    private static List<String> key(JsonNode node, List<String> keyFields) {
+      if (!node.isObject()) {
+        return null;
+      }
+      List<String> key = new ArrayList<>(keyFields.size());
+      for (String field : keyFields) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.isValueNode()) {
+          return null;
+        }
+        key.add(value.asText());
+      }
+      return key;
+    }
+  }
+
+  private static class Diffs {
+    private final List<JsonDiff> list = new ArrayList<>();
+
+    private final int limit;
+
+    Diffs(int limit) {
+      this.limit = limit;
+    }
+
+    void add(String path, String reason) {
+      if (!isFull()) {
+        list.add(new JsonDiff(path, reason));
+      }
+    }
+
+    boolean isFull() {
+      return list.size() >= limit;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.techconative.restel.core.model.comparator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.techconative.restel.utils.Constants;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Bounded cache of the compiled {@link JsonSchema}s, keyed by a hash of the canonical form of the
+ * schema, so that the schema of a definition is compiled once for the whole run rather than on
+ * every comparison. The least recently used schemas are evicted once the cache is full.
+ *
+ * <p>The draft of the schemas and the size of the cache are configured through the system
+ * properties {@link Constants#SCHEMA_VERSION_PROPERTY} (one of V4, V6, V7, V201909) and {@link
+ * Constants#SCHEMA_CACHE_SIZE_PROPERTY}.
+ */
+public class JsonSchemaCache {
+
+  private final SpecVersion.VersionFlag version;
+
+  private final JsonSchemaFactory factory;
+
+  private final Map<String, JsonSchema> schemas;
+
+  /**
+   * Creates a cache of the schemas of the given draft.
+   *
+   * @param version The draft of the schemas.
+   * @param maxSize The maximum number of schemas kept.
+   */
+  public JsonSchemaCache(SpecVersion.VersionFlag version, int maxSize) {
+    this.version = version;
+    this.factory = JsonSchemaFactory.getInstance(version);
+    this.schemas =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, JsonSchema> eldest) {
+                return size() > maxSize;
+              }
+            });
+  }
+
+  /**
+   * Gets the cache instance.
+   *
+   * @return The process wide {@link JsonSchemaCache}.
+   */
+  public static JsonSchemaCache getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Gets the compiled schema, compiling it when it is not cached.
+   *
+   * @param schemaNode The schema.
+   * @return The compiled {@link JsonSchema}.
+   */
+  public JsonSchema getSchema(JsonNode schemaNode) {
+    String key = canonicalHash(schemaNode);
+    JsonSchema schema = schemas.get(key);
+    if (schema == null) {
+      // Compiled outside of the lock, a schema compiled twice by concurrent callers is harmless.
+      schema = factory.getSchema(schemaNode);
+      schemas.put(key, schema);
+    }
+    return schema;
+  }
+
+  /** @return The draft of the schemas. */
+  public SpecVersion.VersionFlag getVersion() {
+    return version;
+  }
+
+  /** @return The number of schemas cached. */
+  public int size() {
+    return schemas.size();
+  }
+
+  /**
+   * Computes the hash of the canonical form of the json, in which the fields of the objects are
+   * sorted by name, so that the same schema written in a different order has the same hash.
+   *
+   * @param node The json.
+   * @return The hex encoded SHA-256 of the canonical json.
+   */
+  public static String canonicalHash(JsonNode node) {
+    StringBuilder canonical = new StringBuilder();
+    canonicalize(node, canonical);
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    StringBuilder hash = new StringBuilder();
+    for (byte b : digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8))) {
+      hash.append(String.format("%02x", b));
+    }
+    return hash.toString();
+  }
+
+  private static void canonicalize(JsonNode node, StringBuilder out) {
+    if (node.isObject()) {
+      List<String> fieldNames = new ArrayList<>();
+      node.fieldNames().forEachRemaining(fieldNames::add);
+      Collections.sort(fieldNames);
+      out.append('{');
+      for (String fieldName : fieldNames) {
+        // Quoted and escaped by the TextNode
+        out.append(new TextNode(fieldName)).append(':');
+        canonicalize(node.get(fieldName), out);
+        out.append(',');
+      }
+      out.append('}');
+    } else if (node.isArray()) {
+      out.append('[');
+      for (JsonNode element : node) {
+        canonicalize(element, out);
+        out.append(',');
+      }
+      out.append(']');
+    } else {
+      out.append(node.toString());
+    }
+  }
+
+  private static class Holder {
+    private static final JsonSchemaCache INSTANCE =
+        new JsonSchemaCache(
+            SpecVersion.VersionFlag.valueOf(
+                System.getProperty(Constants.SCHEMA_VERSION_PROPERTY, "V201909")),
+            Integer.getInteger(Constants.SCHEMA_CACHE_SIZE_PROPERTY, 256));
+  }
+}
@@ -3,13 +3,11 @@ package com.techconative.restel.core.model.comparator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.exception.RestelException;
-import com.techconative.restel.extension.jsoncompare.comparator.StringJsonComparator;
 import com.techconative.restel.utils.ObjectMapperUtils;
+import com.techconative.restel.utils.Reporter;
 import com.techconative.restel.utils.Utils;
-import io.qameta.allure.Allure;
 import javax.ws.rs.core.MediaType;
 import org.springframework.stereotype.Component;
-import ro.skyah.comparator.JSONCompare;
 
 @Component(value = "PARTIAL_MATCHER")
 public class PartialJsonMatchComparator implements ResponseComparator {
@@ -37,12 +35,10 @@ public class PartialJsonMatchComparator implements ResponseComparator {
     JsonNode expectedOutputnode = ObjectMapperUtils.convertToJsonNode(expectedOutput);
     JsonNode actualOutputNode = ObjectMapperUtils.convertToJsonNode(restResponse);
 
-    Allure.step(
-        "Evaluating with PartialJsonMatcher:: Actual :- "
-            + actualOutputNode.toPrettyString()
-            + " Expected :- "
-            + expectedOutputnode.toPrettyString());
-    // First pass the expectedOutput(which is partial response) then actual in JsonCompare.
-    JSONCompare.assertEquals(expectedOutputnode, actualOutputNode, new StringJsonComparator());
+    Reporter.conveyComparison(
+        "PartialJsonMatcher",
+        actualOutputNode::toPrettyString,
+        expectedOutputnode::toPrettyString,
+        () -> JsonDiffEngine.PARTIAL.assertMatches(null, expectedOutputnode, actualOutputNode));
   }
 }
@@ -2,14 +2,12 @@ package com.techconative.restel.core.model.comparator;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.exception.RestelException;
 import com.techconative.restel.utils.ObjectMapperUtils;
+import com.techconative.restel.utils.Reporter;
 import com.techconative.restel.utils.Utils;
-import io.qameta.allure.Allure;
 import java.util.Set;
 import javax.ws.rs.core.MediaType;
 import org.junit.Assert;
@@ -35,22 +33,19 @@ public class SchemaMatchComparator implements ResponseComparator {
     JsonNode expectedOutputnode = ObjectMapperUtils.convertToJsonNode(expectedOutput);
     JsonNode actualOutputNode = ObjectMapperUtils.convertToJsonNode(restResponse);
 
-    JsonSchemaFactory jsonSchemaFactory =
-        JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V201909);
-    JsonSchema schema = jsonSchemaFactory.getSchema(expectedOutputnode);
+    // The schema of a definition is compiled once, on its first comparison
+    JsonSchema schema = JsonSchemaCache.getInstance().getSchema(expectedOutputnode);
 
-    Set<ValidationMessage> errors = schema.validate(actualOutputNode);
-    Allure.step(
-        "Evaluating with SchemaMatcher:: Actual Response :- "
-            + actualOutputNode.toPrettyString()
-            + " Schema :- "
-            + expectedOutputnode.toPrettyString());
-
-    if (!errors.isEmpty()) {
-      Assert.fail("Schema validation failed with errors: " + errors.toString());
-    } else {
-      Assert.assertTrue(Boolean.TRUE);
-    }
+    Reporter.conveyComparison(
+        "SchemaMatcher",
+        actualOutputNode::toPrettyString,
+        expectedOutputnode::toPrettyString,
+        () -> {
+          Set<ValidationMessage> errors = schema.validate(actualOutputNode);
+          if (!errors.isEmpty()) {
+            Assert.fail("Schema validation failed with errors: " + errors.toString());
+          }
+        });
   }
 
   @Override
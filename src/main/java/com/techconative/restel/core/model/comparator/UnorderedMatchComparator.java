@@ -0,0 +1,50 @@
+package com.techconative.restel.core.model.comparator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.techconative.restel.core.http.RESTResponse;
+import com.techconative.restel.exception.RestelException;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import com.techconative.restel.utils.Reporter;
+import com.techconative.restel.utils.Utils;
+import javax.ws.rs.core.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comparator that does the partial comparison of the expected output, like the {@link
+ * PartialJsonMatchComparator}, with the elements of the arrays matched through an index of their
+ * scalar fields. To be used for the large list responses, in which pairing every expected element
+ * with every actual element is too slow.
+ */
+@Component(value = "UNORDERED_MATCHER")
+public class UnorderedMatchComparator implements ResponseComparator {
+
+  @Override
+  public void compareResponse(RESTResponse restResponse, Object expectedOutput) {
+    String media = Utils.getMediaType(restResponse);
+    switch (media) {
+      case MediaType.APPLICATION_JSON:
+        evalJson(restResponse.getResponse().getBody(), expectedOutput);
+        break;
+      case MediaType.APPLICATION_XML:
+        break;
+      default:
+        throw new RestelException("MEDIA_NOT_APP_JSON", media);
+    }
+  }
+
+  @Override
+  public void compareHeader(Object headers, Object expectedHeaders) {
+    evalJson(headers, expectedHeaders);
+  }
+
+  private void evalJson(Object restResponse, Object expectedOutput) {
+    JsonNode expectedOutputnode = ObjectMapperUtils.convertToJsonNode(expectedOutput);
+    JsonNode actualOutputNode = ObjectMapperUtils.convertToJsonNode(restResponse);
+
+    Reporter.conveyComparison(
+        "UnorderedMatcher",
+        actualOutputNode::toPrettyString,
+        expectedOutputnode::toPrettyString,
+        () -> JsonDiffEngine.UNORDERED.assertMatches(null, expectedOutputnode, actualOutputNode));
+  }
+}
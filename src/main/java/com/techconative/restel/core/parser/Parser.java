@@ -3,19 +3,33 @@ package com.techconative.restel.core.parser;
 import com.techconative.restel.core.parser.config.ParserConfig;
 import com.techconative.restel.core.parser.util.Functions;
 import com.techconative.restel.exception.RestelException;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.function.Function;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
 /**
  * Parser type. Parses the excel file based on ParserConfig and returns map of sheet name and bean
- * objects in the sheet
+ * objects in the sheet. The sheets are streamed through the POI event model, and the rows are
+ * turned into bean objects as they are read.
  */
 @Slf4j
 public class Parser {
@@ -37,192 +51,274 @@ public class Parser {
    * File("/home/restel/Sample_Suite_definition.xlsx")); Parser parser = new
    * Parser(ParserConfig.load()); Map<String, Object> beanObjectMap = parser.parse(inputStream);
    *
+   * <p>Note: The whole package is buffered in memory, prefer {@link #parse(File)} for large files.
+   *
    * @param inputStream the input stream of excel file
    * @return the map of sheet name and corresponding bean object(s) in the sheet
    */
   public Map<String, Object> parse(InputStream inputStream) {
-    Map<String, Object> beanObjectMap = new HashMap<>();
+    OPCPackage pkg;
+    try {
+      pkg = OPCPackage.open(inputStream);
+    } catch (Exception e) {
+      throw new RestelException(e, "PARSER_FAILED");
+    }
+    return parse(pkg);
+  }
+
+  /**
+   * Parse the xlsx file and returns map of sheet name and corresponding bean object(s) in the
+   * sheet. The file is read in place, and the sheets are streamed row by row.
+   *
+   * @param file the excel file
+   * @return the map of sheet name and corresponding bean object(s) in the sheet
+   */
+  public Map<String, Object> parse(File file) {
+    OPCPackage pkg;
     try {
-      Workbook workbook = new XSSFWorkbook(inputStream);
+      pkg = OPCPackage.open(file, PackageAccess.READ);
+    } catch (Exception e) {
+      throw new RestelException(e, "PARSER_FAILED");
+    }
+    return parse(pkg);
+  }
+
+  private Map<String, Object> parse(OPCPackage pkg) {
+    Map<String, Object> beanObjectMap = new HashMap<>();
+    // Scratch cell on which the cell functions of the config are applied.
+    try (XSSFWorkbook scratchWorkbook = new XSSFWorkbook()) {
+      Cell scratchCell = scratchWorkbook.createSheet().createRow(0).createCell(0);
+      ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+      XSSFReader.SheetIterator sheets =
+          (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
       /*
-      for each sheet name in sheetMap, parse the corresponding sheet in excel and return bean object(s)
+      for each sheet in the excel with a name in sheetMap, parse the sheet and return bean object(s)
        */
-      for (Map.Entry<String, ParserConfig.SheetConfig> entry :
-          this.parserConfig.getSheetMap().entrySet()) {
-        String sheetName = entry.getKey();
-        Sheet sheet = workbook.getSheet(sheetName);
-        if (Objects.isNull(sheet)) {
-          log.info("Sheet with name " + sheetName + " does not exist");
-          continue;
-        }
-        ParserConfig.SheetConfig sheetConfig = entry.getValue();
-        /*
-        Parsing a sheet of type SheetType.ROW, returns single beanObject
-        Parsing a sheet of type SheetType.COLUMN, returns list of beanObjects
-         */
-        if (ParserConfig.SheetType.ROW.equals(sheetConfig.getSheetType())) {
-          Object beanObject = rowTypeSheetParser(sheet, sheetConfig);
-          beanObjectMap.put(sheetName, beanObject);
-        } else if (ParserConfig.SheetType.COLUMN.equals(sheetConfig.getSheetType())) {
-          List<Object> beanObjects = columnTypeParser(sheet, sheetConfig);
-          beanObjectMap.put(sheetName, beanObjects);
+      while (sheets.hasNext()) {
+        try (InputStream sheetStream = sheets.next()) {
+          String sheetName = getConfiguredName(sheets.getSheetName());
+          if (Objects.isNull(sheetName) || beanObjectMap.containsKey(sheetName)) {
+            continue;
+          }
+          ParserConfig.SheetConfig sheetConfig = this.parserConfig.getSheetMap().get(sheetName);
+          SheetParser sheetParser =
+              new SheetParser(sheets.getSheetName(), sheetConfig, scratchCell);
+          readSheet(sheetStream, new SheetRowHandler(sharedStrings, sheetParser::accept));
+          /*
+          Parsing a sheet of type SheetType.ROW, returns single beanObject
+          Parsing a sheet of type SheetType.COLUMN, returns list of beanObjects
+           */
+          beanObjectMap.put(sheetName, sheetParser.getResult());
         }
       }
     } catch (Exception e) {
       throw new RestelException(e, "PARSER_FAILED");
+    } finally {
+      // Read only, nothing to be saved.
+      pkg.revert();
     }
+    this.parserConfig.getSheetMap().keySet().stream()
+        .filter(sheetName -> !beanObjectMap.containsKey(sheetName))
+        .forEach(sheetName -> log.info("Sheet with name " + sheetName + " does not exist"));
     return beanObjectMap;
   }
 
   /*
-  Parses sheet of type SheetType.ROW
-  Returns single beanObject of second column in the sheet
-  Note: First column is considered field name in bean object
+  Returns the name of the sheet in the sheetMap, matching the excel sheet name ignoring case.
    */
-  private Object rowTypeSheetParser(Sheet sheet, ParserConfig.SheetConfig sheetConfig)
-      throws ClassNotFoundException, NoSuchMethodException, InstantiationException,
-          IllegalAccessException, InvocationTargetException {
-    // map of field name and its row number
-    Map<String, Integer> fieldRowNumMap = new HashMap<>();
-    int columnNum = 0;
-    int rowNum = 0;
-    while (true) {
-      if (!hasCellValue(sheet, rowNum, columnNum)) {
-        break;
-      }
-      fieldRowNumMap.put(sheet.getRow(rowNum).getCell(columnNum).getStringCellValue(), rowNum);
-      rowNum++;
-    }
-    // return bean constructed from second column
-    return populateBean(sheet, fieldRowNumMap, sheetConfig, null, 1);
+  private String getConfiguredName(String excelSheetName) {
+    return this.parserConfig.getSheetMap().keySet().stream()
+        .filter(excelSheetName::equalsIgnoreCase)
+        .findFirst()
+        .orElse(null);
   }
 
-  private boolean hasCellValue(Sheet sheet, int rowNum, int columnNum) {
-    if (Objects.isNull(sheet.getRow(rowNum))) {
-      return false;
-    }
-    return !isBlank(sheet.getRow(rowNum).getCell(columnNum));
+  private static void readSheet(InputStream sheetStream, SheetRowHandler handler)
+      throws ParserConfigurationException, SAXException, IOException {
+    SAXParserFactory factory = SAXParserFactory.newInstance();
+    factory.setNamespaceAware(true);
+    factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+    XMLReader reader = factory.newSAXParser().getXMLReader();
+    reader.setContentHandler(handler);
+    reader.parse(new InputSource(sheetStream));
   }
 
-  /*
-  Parses sheet of type SheetType.COLUMN
-  Returns list of beanObjects of each row in the sheet.
-  Note: First row is considered field name in bean object
+  /**
+   * Builds the bean object(s) of a sheet from its rows, as they are read. SheetType.ROW sheets keep
+   * the first two columns of the leading rows, SheetType.COLUMN sheets keep only the header row.
+   *
+   * <p>The bean constructor and setters are bound once per sheet as {@link MethodHandle}s, and the
+   * header is turned into a table of {@link FieldBinding}s, so populating a row is a flat loop.
    */
-  private List<Object> columnTypeParser(Sheet sheet, ParserConfig.SheetConfig sheetConfig)
-      throws ClassNotFoundException, NoSuchMethodException, InstantiationException,
-          IllegalAccessException, InvocationTargetException {
-    List<Object> beanObjects = new ArrayList<>();
-    // map of field name and its column number
-    Map<String, Integer> fieldColumnNumMap = new HashMap<>();
-    int columnNum = 0;
-    int rowNum = 0;
-    while (true) {
-      Cell cell = sheet.getRow(rowNum).getCell(columnNum);
-      if (isBlank(cell)) {
-        break;
+  private class SheetParser {
+
+    private final ParserConfig.SheetConfig sheetConfig;
+
+    private final Cell scratchCell;
+
+    private final MethodHandle constructor;
+
+    // field name and its bound setter, in the order of the sheet config
+    private final Map<String, MethodHandle> setters = new LinkedHashMap<>();
+
+    // SheetType.ROW: field name and its value in the second column
+    private final Map<String, SheetCell> fieldValueMap = new HashMap<>();
+
+    // SheetType.COLUMN: column number, converter and setter of each field in the header
+    private final List<FieldBinding> columnBindings = new ArrayList<>();
+
+    private final List<Object> beanObjects = new ArrayList<>();
+
+    private int nextRowNum = 0;
+
+    private boolean headerComplete;
+
+    SheetParser(String excelSheetName, ParserConfig.SheetConfig sheetConfig, Cell scratchCell)
+        throws ReflectiveOperationException {
+      this.sheetConfig = sheetConfig;
+      this.scratchCell = scratchCell;
+      Class<?> beanClass =
+          Class.forName(
+              ParserConfig.BEAN_PACKAGE_PATH
+                  + "."
+                  + parserConfig.getBeanClassNameFunction().apply(excelSheetName));
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      this.constructor =
+          lookup
+              .findConstructor(beanClass, MethodType.methodType(void.class))
+              .asType(MethodType.methodType(Object.class));
+      Method[] methods = beanClass.getMethods();
+      for (String fieldName : sheetConfig.getFieldMap().keySet()) {
+        Optional<Method> setter =
+            Arrays.stream(methods)
+                .filter(m -> Functions.SETTER.apply(fieldName).equals(m.getName()))
+                .findFirst();
+        if (setter.isPresent()) {
+          setters.put(
+              fieldName,
+              lookup
+                  .unreflect(setter.get())
+                  .asType(MethodType.methodType(void.class, Object.class, Object.class)));
+        }
       }
-      fieldColumnNumMap.put(cell.getStringCellValue(), columnNum);
-      columnNum++;
     }
-    for (Row row : sheet) {
-      // skip first row with headers
-      if (row.getRowNum() == 0 || isRowEmpty(row)) {
-        continue;
+
+    void accept(int rowNum, Map<Integer, SheetCell> cells) {
+      if (ParserConfig.SheetType.ROW.equals(sheetConfig.getSheetType())) {
+        acceptFieldRow(rowNum, cells);
+      } else if (ParserConfig.SheetType.COLUMN.equals(sheetConfig.getSheetType())) {
+        acceptRecordRow(rowNum, cells);
       }
-      // populate bean for other rows
-      beanObjects.add(populateBean(sheet, fieldColumnNumMap, sheetConfig, row.getRowNum(), null));
     }
-    return beanObjects;
-  }
 
-  /*
-  Returns boolean. Checks if Cell is empty
-   */
-  private boolean isBlank(Cell cell) {
-    return cell == null || CellType.BLANK == cell.getCellType();
-  }
+    /*
+    Parses a row of sheet of type SheetType.ROW
+    Note: First column is considered field name in bean object, until the first empty row
+     */
+    private void acceptFieldRow(int rowNum, Map<Integer, SheetCell> cells) {
+      if (headerComplete || rowNum != nextRowNum || !cells.containsKey(0)) {
+        headerComplete = true;
+        return;
+      }
+      nextRowNum++;
+      String fieldName = cells.get(0).copyTo(scratchCell).getStringCellValue();
+      fieldValueMap.put(fieldName, cells.getOrDefault(1, SheetCell.BLANK));
+    }
 
-  /*
-  Initializes and populates the beanObject
-  If columnNum is available -> SheetType.ROW. Parse each row in the columnNum
-  If rowNum is available -> SheetType.COLUMN. Parse each column in the rowNum
-   */
-  private Object populateBean(
-      Sheet sheet,
-      Map<String, Integer> fieldMap,
-      ParserConfig.SheetConfig sheetConfig,
-      Integer rowNum,
-      Integer columnNum)
-      throws InvocationTargetException, IllegalAccessException, ClassNotFoundException,
-          NoSuchMethodException, InstantiationException {
-    Class<?> beanClass =
-        Class.forName(
-            ParserConfig.BEAN_PACKAGE_PATH
-                + "."
-                + this.parserConfig.getBeanClassNameFunction().apply(sheet.getSheetName()));
-    Method[] methods = beanClass.getMethods();
-    Constructor<?> constructor = beanClass.getConstructor();
-    Object beanObject = constructor.newInstance();
-    // SheetType = ROW
-    if (Objects.isNull(rowNum) && !Objects.isNull(columnNum)) {
-      populateSheet(
-          sheet, fieldMap, sheetConfig, columnNum, methods, beanObject, ParserConfig.SheetType.ROW);
+    /*
+    Parses a row of sheet of type SheetType.COLUMN
+    Note: First row is considered field name in bean object, other rows are the bean objects
+     */
+    private void acceptRecordRow(int rowNum, Map<Integer, SheetCell> cells) {
+      if (!headerComplete) {
+        if (rowNum != 0) {
+          throw new IllegalStateException("Header row is missing in the sheet");
+        }
+        headerComplete = true;
+        bindColumns(cells);
+        return;
+      }
+      // skip empty rows
+      if (cells.isEmpty()) {
+        return;
+      }
+      Object beanObject = newBean();
+      for (FieldBinding binding : columnBindings) {
+        binding.apply(beanObject, cells.get(binding.columnNum));
+      }
+      beanObjects.add(beanObject);
     }
-    // SheetType = COLUMN
-    else if (!Objects.isNull(rowNum) && Objects.isNull(columnNum)) {
-      populateSheet(
-          sheet, fieldMap, sheetConfig, rowNum, methods, beanObject, ParserConfig.SheetType.COLUMN);
-    } else {
-      beanObject = null;
+
+    /*
+    Binds the columns of the header row to the converter and setter of their field
+     */
+    private void bindColumns(Map<Integer, SheetCell> header) {
+      Map<String, Integer> fieldColumnNumMap = new HashMap<>();
+      for (int columnNum = 0; header.containsKey(columnNum); columnNum++) {
+        fieldColumnNumMap.put(
+            header.get(columnNum).copyTo(scratchCell).getStringCellValue(), columnNum);
+      }
+      setters.forEach(
+          (fieldName, setter) -> {
+            if (fieldColumnNumMap.containsKey(fieldName)) {
+              columnBindings.add(
+                  new FieldBinding(
+                      fieldColumnNumMap.get(fieldName),
+                      sheetConfig.getFieldMap().get(fieldName),
+                      setter));
+            }
+          });
     }
-    return beanObject;
-  }
 
-  private void populateSheet(
-      Sheet sheet,
-      Map<String, Integer> fieldMap,
-      ParserConfig.SheetConfig sheetConfig,
-      Integer sheetTypeNum,
-      Method[] methods,
-      Object beanObject,
-      ParserConfig.SheetType sheetType)
-      throws InvocationTargetException, IllegalAccessException {
-    for (Map.Entry<String, Function<Cell, ?>> e : sheetConfig.getFieldMap().entrySet()) {
-      String fieldName = e.getKey();
-      if (fieldMap.containsKey(fieldName)) {
-        Cell cell =
-            sheetType == ParserConfig.SheetType.ROW
-                ? sheet.getRow(fieldMap.get(fieldName)).getCell(sheetTypeNum)
-                : sheet.getRow(sheetTypeNum).getCell(fieldMap.get(fieldName));
-        if (!isBlank(cell)) {
-          Optional<Method> methodOptional =
-              Arrays.stream(methods)
-                  .filter(m -> Functions.SETTER.apply(fieldName).equals(m.getName()))
-                  .findFirst();
-          if (methodOptional.isPresent()) {
-            methodOptional.get().invoke(beanObject, e.getValue().apply(cell));
-          }
-        }
+    private Object newBean() {
+      try {
+        return (Object) constructor.invokeExact();
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
       }
     }
-  }
 
-  /*
-  Returns boolean. Checks if Row is empty
-   */
-  private static boolean isRowEmpty(Row row) {
-    if (row == null || row.getLastCellNum() <= 0) {
-      return true;
+    Object getResult() {
+      if (ParserConfig.SheetType.ROW.equals(sheetConfig.getSheetType())) {
+        // return bean constructed from second column
+        Object beanObject = newBean();
+        setters.forEach(
+            (fieldName, setter) ->
+                new FieldBinding(-1, sheetConfig.getFieldMap().get(fieldName), setter)
+                    .apply(beanObject, fieldValueMap.get(fieldName)));
+        return beanObject;
+      }
+      return beanObjects;
     }
-    boolean isEmpty = true;
 
-    for (int cellNum = row.getFirstCellNum(); cellNum < row.getLastCellNum(); cellNum++) {
-      Cell cell = row.getCell(cellNum);
-      if (cell != null && cell.getCellType() != CellType.BLANK) {
-        isEmpty = false;
+    /** Column of the sheet bound to the converter and setter of its field. */
+    private class FieldBinding {
+      private final int columnNum;
+      private final Function<Cell, ?> converter;
+      private final MethodHandle setter;
+
+      FieldBinding(int columnNum, Function<Cell, ?> converter, MethodHandle setter) {
+        this.columnNum = columnNum;
+        this.converter = converter;
+        this.setter = setter;
+      }
+
+      void apply(Object beanObject, SheetCell cell) {
+        if (Objects.isNull(cell) || cell.isBlank()) {
+          return;
+        }
+        Object value = converter.apply(cell.copyTo(scratchCell));
+        try {
+          setter.invokeExact(beanObject, value);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new IllegalStateException(e);
+        }
       }
     }
-    return isEmpty;
   }
 }
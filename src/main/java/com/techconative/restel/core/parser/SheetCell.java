@@ -0,0 +1,52 @@
+package com.techconative.restel.core.parser;
+
+import java.util.Objects;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+/**
+ * Value of a cell read from the sheet xml, with its type. Only the cells of the row being parsed
+ * are held at any time.
+ */
+class SheetCell {
+
+  static final SheetCell BLANK = new SheetCell(CellType.BLANK, null);
+
+  private final CellType type;
+
+  private final String value;
+
+  SheetCell(CellType type, String value) {
+    this.type = type;
+    this.value = value;
+  }
+
+  boolean isBlank() {
+    return CellType.BLANK == type;
+  }
+
+  /**
+   * Copies the value to the given cell, so that the {@link Cell} functions of the {@link
+   * com.techconative.restel.core.parser.config.ParserConfig} can be applied on it.
+   *
+   * @param cell The cell to be populated.
+   * @return The populated cell.
+   */
+  Cell copyTo(Cell cell) {
+    switch (type) {
+      case NUMERIC:
+        cell.setCellValue(Double.parseDouble(value));
+        break;
+      case BOOLEAN:
+        cell.setCellValue("1".equals(value) || "true".equalsIgnoreCase(value));
+        break;
+      case ERROR:
+        cell.setCellErrorValue(FormulaError.forString(value).getCode());
+        break;
+      default:
+        cell.setCellValue(Objects.toString(value, ""));
+    }
+    return cell;
+  }
+}
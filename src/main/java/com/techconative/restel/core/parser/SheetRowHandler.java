@@ -0,0 +1,146 @@
+package com.techconative.restel.core.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler of a worksheet xml. Collects the cells of a row with their type, and hands the row
+ * over to the {@link RowConsumer} once it is read, so that the memory used is bounded by the width
+ * of a row rather than the size of the sheet.
+ */
+class SheetRowHandler extends DefaultHandler {
+
+  /** Consumes the rows of the sheet, in order. */
+  interface RowConsumer {
+    /**
+     * Accepts a row of the sheet.
+     *
+     * @param rowNum The 0 based row number.
+     * @param cells The non empty cells of the row, keyed by their 0 based column number.
+     */
+    void accept(int rowNum, Map<Integer, SheetCell> cells);
+  }
+
+  private final ReadOnlySharedStringsTable sharedStrings;
+
+  private final RowConsumer consumer;
+
+  private final StringBuilder text = new StringBuilder();
+
+  private Map<Integer, SheetCell> cells;
+
+  private int rowNum = -1;
+
+  private int columnNum;
+
+  private String cellType;
+
+  private boolean collectText;
+
+  private boolean inlineString;
+
+  SheetRowHandler(ReadOnlySharedStringsTable sharedStrings, RowConsumer consumer) {
+    this.sharedStrings = sharedStrings;
+    this.consumer = consumer;
+  }
+
+  @Override
+  public void startElement(String uri, String localName, String qName, Attributes attributes) {
+    switch (localName) {
+      case "row":
+        String rowRef = attributes.getValue("r");
+        rowNum = rowRef == null ? rowNum + 1 : Integer.parseInt(rowRef) - 1;
+        columnNum = -1;
+        cells = new HashMap<>();
+        break;
+      case "c":
+        String cellRef = attributes.getValue("r");
+        columnNum = cellRef == null ? columnNum + 1 : new CellReference(cellRef).getCol();
+        cellType = attributes.getValue("t");
+        text.setLength(0);
+        break;
+      case "v":
+        collectText = true;
+        break;
+      case "is":
+        inlineString = true;
+        break;
+      case "t":
+        collectText = inlineString;
+        break;
+      default:
+        break;
+    }
+  }
+
+  @Override
+  public void characters(char[] ch, int start, int length) {
+    if (collectText) {
+      text.append(ch, start, length);
+    }
+  }
+
+  @Override
+  public void endElement(String uri, String localName, String qName) throws SAXException {
+    switch (localName) {
+      case "v":
+      case "t":
+        collectText = false;
+        break;
+      case "is":
+        inlineString = false;
+        break;
+      case "c":
+        SheetCell cell = toCell(cellType, text.toString());
+        if (!cell.isBlank()) {
+          cells.put(columnNum, cell);
+        }
+        break;
+      case "row":
+        consumer.accept(rowNum, cells);
+        cells = null;
+        break;
+      default:
+        break;
+    }
+  }
+
+  private SheetCell toCell(String type, String value) {
+    if (type == null || "n".equals(type)) {
+      return value.isEmpty() ? SheetCell.BLANK : new SheetCell(CellType.NUMERIC, value);
+    }
+    switch (type) {
+      case "s":
+        if (value.isEmpty()) {
+          return SheetCell.BLANK;
+        }
+        return new SheetCell(
+            CellType.STRING, sharedStrings.getItemAt(Integer.parseInt(value)).getString());
+      case "b":
+        return new SheetCell(CellType.BOOLEAN, value);
+      case "e":
+        return isFormulaError(value)
+            ? new SheetCell(CellType.ERROR, value)
+            : new SheetCell(CellType.STRING, value);
+      default:
+        // inlineStr, str (string result of a formula) and d (ISO 8601 date)
+        return new SheetCell(CellType.STRING, value);
+    }
+  }
+
+  private static boolean isFormulaError(String value) {
+    try {
+      FormulaError.forString(value);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+}
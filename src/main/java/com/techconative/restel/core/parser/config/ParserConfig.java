@@ -89,6 +89,7 @@ public class ParserConfig {
     fieldMap.put(Constants.TEST_TAG, Functions.STRING_FUNCTION);
     fieldMap.put(Constants.SCENARIO_ENABLED, Functions.TO_BOOLEAN);
     fieldMap.put(Constants.SCENARIO_PARAMS, Functions.STRING_FUNCTION);
+    fieldMap.put(Constants.SCENARIO_DATA, Functions.STRING_FUNCTION);
     fieldMap.put(Constants.TEST_ASSERTION, Functions.STRING_FUNCTION);
     fieldMap.put(Constants.TEST_FUNCTION, Functions.STRING_FUNCTION);
 
@@ -19,6 +19,8 @@ public class TestScenarios {
 
   private String scenarioParams;
 
+  private String scenarioData;
+
   private Boolean scenarioEnabled;
 
   private String assertion;
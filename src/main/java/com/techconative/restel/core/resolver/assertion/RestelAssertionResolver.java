@@ -3,6 +3,7 @@ package com.techconative.restel.core.resolver.assertion;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.techconative.restel.core.model.TestContext;
 import com.techconative.restel.core.model.assertion.RestelAssertion;
+import com.techconative.restel.core.model.comparator.JsonDiffEngine;
 import com.techconative.restel.core.utils.ContextUtils;
 import com.techconative.restel.exception.RestelException;
 import com.techconative.restel.utils.ObjectMapperUtils;
@@ -11,8 +12,6 @@ import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.testng.Assert;
-import ro.skyah.comparator.CompareMode;
-import ro.skyah.comparator.JSONCompare;
 
 public class RestelAssertionResolver {
 
@@ -135,24 +134,18 @@ public class RestelAssertionResolver {
       JsonNode expectedOutputNode = ObjectMapperUtils.convertToJsonNode(expect);
       JsonNode actualOutputNode = ObjectMapperUtils.convertToJsonNode(actual);
       Reporter.conveyAssertion(
-          name, actualOutputNode.toPrettyString(), expectedOutputNode.toPrettyString());
-      if (equals) {
-        JSONCompare.assertEquals(
-            message,
-            expectedOutputNode,
-            actualOutputNode,
-            null,
-            CompareMode.JSON_OBJECT_NON_EXTENSIBLE,
-            CompareMode.JSON_ARRAY_STRICT_ORDER);
-      } else {
-        JSONCompare.assertNotEquals(
-            message,
-            expectedOutputNode,
-            actualOutputNode,
-            null,
-            CompareMode.JSON_OBJECT_NON_EXTENSIBLE,
-            CompareMode.JSON_ARRAY_STRICT_ORDER);
-      }
+          name,
+          actualOutputNode::toPrettyString,
+          expectedOutputNode::toPrettyString,
+          () -> {
+            if (equals) {
+              JsonDiffEngine.EXACT.assertMatches(message, expectedOutputNode, actualOutputNode);
+            } else {
+              // The complement of EQUAL, with the same matching of the values
+              Assert.assertFalse(
+                  JsonDiffEngine.EXACT.matches(expectedOutputNode, actualOutputNode), message);
+            }
+          });
     } else {
       Reporter.conveyAssertion(name, actual, expect);
       if (equals) {
@@ -0,0 +1,96 @@
+package com.techconative.restel.core.scheduler;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durations of the scenarios in the previous runs, kept in a small json file as an exponentially
+ * weighted moving average per scenario, so that a single slow run does not skew the estimate.
+ *
+ * <p>The history only guides the order of the execution, so failing to read or write the file is
+ * logged and the run carries on without it.
+ */
+@Slf4j
+public class DurationHistory {
+
+  /* Weight of the latest run in the average. */
+  private static final double WEIGHT = 0.3;
+
+  private final Path file;
+
+  private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+  private DurationHistory(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Loads the history from the given file.
+   *
+   * @param file The history file, null to keep the history in memory only.
+   * @return The {@link DurationHistory}, empty when the file does not exist or can not be read.
+   */
+  public static DurationHistory load(Path file) {
+    DurationHistory history = new DurationHistory(file);
+    if (file != null && Files.isRegularFile(file)) {
+      try {
+        Map<String, Long> durations =
+            ObjectMapperUtils.getMapper()
+                .readValue(file.toFile(), new TypeReference<Map<String, Long>>() {});
+        durations.forEach(
+            (name, millis) -> {
+              if (name != null && millis != null) {
+                history.durations.put(name, millis);
+              }
+            });
+      } catch (IOException e) {
+        log.warn("Ignoring the scenario duration history " + file + " as it can not be read", e);
+      }
+    }
+    return history;
+  }
+
+  /**
+   * Gets the average duration of the scenario.
+   *
+   * @param scenarioName The name of the scenario.
+   * @return The duration in milliseconds, empty when the scenario has no history.
+   */
+  public OptionalLong getDuration(String scenarioName) {
+    Long millis = durations.get(scenarioName);
+    return millis == null ? OptionalLong.empty() : OptionalLong.of(millis);
+  }
+
+  /**
+   * Records the duration of a run of the scenario.
+   *
+   * @param scenarioName The name of the scenario.
+   * @param millis The duration of the run in milliseconds.
+   */
+  public void record(String scenarioName, long millis) {
+    durations.merge(
+        scenarioName,
+        millis,
+        (previous, latest) -> Math.round(WEIGHT * latest + (1 - WEIGHT) * previous));
+  }
+
+  /** Writes the history to its file, replacing the file once completely written. */
+  public void save() {
+    if (file == null) {
+      return;
+    }
+    try {
+      HistoryFiles.write(file, new TreeMap<>(durations));
+    } catch (IOException e) {
+      log.warn("Failed to write the scenario duration history " + file, e);
+    }
+  }
+}
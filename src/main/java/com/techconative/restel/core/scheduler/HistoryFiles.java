@@ -0,0 +1,42 @@
+package com.techconative.restel.core.scheduler;
+
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes the json files kept by the scheduler across runs, through a temporary file moved over the
+ * previous one, so that an interrupted run never leaves a partially written file behind. The move
+ * is atomic where the file system supports it, so that a concurrent reader sees either file whole.
+ */
+final class HistoryFiles {
+
+  private HistoryFiles() {}
+
+  /**
+   * Writes the value as json to the given file.
+   *
+   * @param file The file, its directory is created when missing.
+   * @param value The value to be written.
+   * @throws IOException When the file can not be written.
+   */
+  static void write(Path file, Object value) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try {
+      ObjectMapperUtils.getMapper().writeValue(temp.toFile(), value);
+      try {
+        Files.move(
+            temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.techconative.restel.core.scheduler;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outcomes of the scenarios in the previous runs, kept in a small json file with the fingerprint
+ * of each scenario, as computed by {@link ScenarioFingerprints}, and its last status. Used to
+ * execute only the scenarios which changed or did not pass since.
+ *
+ * <p>Failing to read the file is logged and every scenario is considered changed, so that a lost
+ * history only costs a full run.
+ */
+@Slf4j
+public class OutcomeHistory {
+
+  private final Path file;
+
+  private final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+
+  private OutcomeHistory(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Loads the history from the given file.
+   *
+   * @param file The history file, null to keep the history in memory only.
+   * @return The {@link OutcomeHistory}, empty when the file does not exist or can not be read.
+   */
+  public static OutcomeHistory load(Path file) {
+    OutcomeHistory history = new OutcomeHistory(file);
+    if (file != null && Files.isRegularFile(file)) {
+      try {
+        Map<String, Outcome> outcomes =
+            ObjectMapperUtils.getMapper()
+                .readValue(file.toFile(), new TypeReference<Map<String, Outcome>>() {});
+        outcomes.forEach(
+            (name, outcome) -> {
+              if (name != null && outcome != null) {
+                history.outcomes.put(name, outcome);
+              }
+            });
+      } catch (IOException e) {
+        log.warn("Ignoring the scenario outcome history " + file + " as it can not be read", e);
+      }
+    }
+    return history;
+  }
+
+  /**
+   * Gets the last outcome of the scenario.
+   *
+   * @param scenarioName The name of the scenario.
+   * @return The {@link Outcome}, null when the scenario has no history.
+   */
+  public Outcome getOutcome(String scenarioName) {
+    return outcomes.get(scenarioName);
+  }
+
+  /**
+   * Checks if the scenario has to be executed again.
+   *
+   * @param scenarioName The name of the scenario.
+   * @param fingerprint The current fingerprint of the scenario.
+   * @return true when the scenario has no history, its fingerprint changed or its last run did not
+   *     pass.
+   */
+  public boolean isChangedOrFailed(String scenarioName, String fingerprint) {
+    Outcome outcome = outcomes.get(scenarioName);
+    return outcome == null
+        || !Objects.equals(outcome.getFingerprint(), fingerprint)
+        || outcome.getStatus() != ScenarioResult.Status.PASSED;
+  }
+
+  /**
+   * Records the outcome of a run of the scenario.
+   *
+   * @param scenarioName The name of the scenario.
+   * @param fingerprint The fingerprint of the executed scenario.
+   * @param status The status of the run.
+   */
+  public void record(String scenarioName, String fingerprint, ScenarioResult.Status status) {
+    outcomes.put(scenarioName, new Outcome(fingerprint, status));
+  }
+
+  /** Writes the history to its file, replacing the file once completely written. */
+  public void save() {
+    if (file == null) {
+      return;
+    }
+    try {
+      HistoryFiles.write(file, new TreeMap<>(outcomes));
+    } catch (IOException e) {
+      log.warn("Failed to write the scenario outcome history " + file, e);
+    }
+  }
+
+  /** The last outcome of a scenario. */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Outcome {
+    private String fingerprint;
+
+    private ScenarioResult.Status status;
+  }
+}
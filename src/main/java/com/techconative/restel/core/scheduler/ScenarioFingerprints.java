@@ -0,0 +1,207 @@
+package com.techconative.restel.core.scheduler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techconative.restel.core.model.BaseConfiguration;
+import com.techconative.restel.core.model.RestelApiDefinition;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.utils.Constants;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+
+/**
+ * Content hashes of the scenarios, covering everything their execution is resolved from: the
+ * fields of the scenario and the content of its scenario data, every API definition it refers to
+ * along with the content of the files they send, the params of its suite, the base url and default
+ * headers of the workbook and the fingerprints of the scenarios it depends on. A scenario is
+ * considered changed when its fingerprint differs from the one recorded in the {@link
+ * OutcomeHistory}.
+ *
+ * <p>Descriptions are left out, as they do not affect the execution. The fingerprints are memoized,
+ * so that each scenario is hashed once however often it is depended on.
+ */
+@Slf4j
+public class ScenarioFingerprints {
+
+  /* Sorted map keys, so that the same content always serializes to the same bytes. */
+  private static final ObjectMapper MAPPER =
+      ObjectMapperUtils.getMapper()
+          .copy()
+          .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  private final BaseConfiguration baseConfig;
+
+  private final Function<String, RestelApiDefinition> definitions;
+
+  private final Function<String, RestelSuite> suites;
+
+  private final Map<String, String> fingerprints = new HashMap<>();
+
+  private final Map<Path, String> fileHashes = new HashMap<>();
+
+  /**
+   * @param baseConfig The {@link BaseConfiguration} of the workbook, null when there is none.
+   * @param definitions Gets the {@link RestelApiDefinition} by its name.
+   * @param suites Gets the {@link RestelSuite} by its name.
+   */
+  public ScenarioFingerprints(
+      BaseConfiguration baseConfig,
+      Function<String, RestelApiDefinition> definitions,
+      Function<String, RestelSuite> suites) {
+    this.baseConfig = baseConfig;
+    this.definitions = definitions;
+    this.suites = suites;
+  }
+
+  /**
+   * Gets the fingerprint of the scenario.
+   *
+   * @param scenario The {@link RestelTestScenario}.
+   * @return The hex encoded SHA-256 hash of the scenario, empty when it can not be computed, which
+   *     never matches a recorded fingerprint.
+   */
+  public synchronized String getFingerprint(RestelTestScenario scenario) {
+    String fingerprint = fingerprints.get(scenario.getScenarioName());
+    if (fingerprint != null) {
+      return fingerprint;
+    }
+    // Guards against dependency cycles, reported by the ScenarioGraph
+    fingerprints.put(scenario.getScenarioName(), "");
+    fingerprint = hash(scenario);
+    fingerprints.put(scenario.getScenarioName(), fingerprint);
+    return fingerprint;
+  }
+
+  private String hash(RestelTestScenario scenario) {
+    Map<String, Object> content = new LinkedHashMap<>();
+    content.put("scenarioName", scenario.getScenarioName());
+    content.put("testApis", scenario.getTestApis());
+    content.put("testSuiteName", scenario.getTestSuiteName());
+    content.put("executionParams", scenario.getExecutionParams());
+    content.put("assertions", scenario.getAssertions());
+    content.put("functions", scenario.getFunctions());
+    if (scenario.getScenarioData() != null) {
+      Path data = Paths.get(scenario.getScenarioData()).normalize();
+      content.put("scenarioData", data + ":" + fileHashes.computeIfAbsent(data, this::hash));
+    }
+
+    List<Object> apis = new ArrayList<>();
+    if (!CollectionUtils.isEmpty(scenario.getTestApis())) {
+      scenario.getTestApis().forEach(api -> apis.add(describe(definitions.apply(api))));
+    }
+    content.put("apis", apis);
+
+    RestelSuite suite =
+        scenario.getTestSuiteName() == null ? null : suites.apply(scenario.getTestSuiteName());
+    content.put("suiteParams", suite == null ? null : suite.getSuiteParams());
+    content.put("baseUrl", baseConfig == null ? null : baseConfig.getBaseUrl());
+    content.put("defaultHeader", baseConfig == null ? null : baseConfig.getDefaultHeader());
+
+    List<String> dependencies = new ArrayList<>();
+    if (!CollectionUtils.isEmpty(scenario.getDependsOn())) {
+      scenario.getDependsOn().forEach(dependency -> dependencies.add(getFingerprint(dependency)));
+    }
+    content.put("dependsOn", dependencies);
+
+    try {
+      return toHex(MessageDigest.getInstance("SHA-256").digest(MAPPER.writeValueAsBytes(content)));
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      log.warn("Failed to compute the fingerprint of " + scenario.getScenarioName(), e);
+      return "";
+    }
+  }
+
+  /*
+  The fields of the definition, rather than the definition itself, which would also serialize its
+  compiled form and the definitions it is depended on by.
+   */
+  private Map<String, Object> describe(RestelApiDefinition definition) {
+    if (definition == null) {
+      return null;
+    }
+    Map<String, Object> content = new LinkedHashMap<>();
+    content.put("apiUniqueName", definition.getApiUniqueName());
+    content.put("requestUrl", definition.getRequestUrl());
+    content.put("requestMethod", definition.getRequestMethod());
+    content.put("requestHeaders", definition.getRequestHeaders());
+    content.put("requestQueryParams", definition.getRequestQueryParams());
+    content.put("requestBodyParams", definition.getRequestBodyParams());
+    content.put("requestPreCallHook", definition.getRequestPreCallHook());
+    content.put("requestPostCallHook", definition.getRequestPostCallHook());
+    content.put("expectedResponse", definition.getExpectedResponse());
+    content.put("expectedResponseMatcher", definition.getExpectedResponseMatcher());
+    content.put("expectedHeader", definition.getExpectedHeader());
+    content.put("expectedHeaderMatcher", definition.getExpectedHeaderMatcher());
+    content.put("acceptedStatusCodes", definition.getAcceptedStatusCodes());
+    content.put("apiParameters", definition.getApiParameters());
+    content.put("tags", definition.getTags() == null ? null : new TreeSet<>(definition.getTags()));
+    List<Object> dependencies = new ArrayList<>();
+    if (!CollectionUtils.isEmpty(definition.getDependentOn())) {
+      definition.getDependentOn().forEach(dependency -> dependencies.add(describe(dependency)));
+    }
+    content.put("dependentOn", dependencies);
+    Map<String, String> files = new TreeMap<>();
+    getReferencedFiles(definition)
+        .forEach(file -> files.put(file.toString(), fileHashes.computeIfAbsent(file, this::hash)));
+    content.put("files", files);
+    return content;
+  }
+
+  /* The content of the file, rather than its name, so that editing the file changes the hash. */
+  private String hash(Path file) {
+    try {
+      return toHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    } catch (IOException | NoSuchAlgorithmException e) {
+      log.debug("Failed to read the referenced file " + file, e);
+      return "";
+    }
+  }
+
+  /**
+   * Gets the files referred by the definition, as <code>@path</code>, whose content is sent as the
+   * request body or as the parts of a multipart request.
+   *
+   * @param definition The {@link RestelApiDefinition}.
+   * @return The referred files, relative to the working directory when not absolute.
+   */
+  public static Set<Path> getReferencedFiles(RestelApiDefinition definition) {
+    Set<Path> files = new LinkedHashSet<>();
+    Object body = definition.getRequestBodyParams();
+    if (body instanceof Map) {
+      ((Map<?, ?>) body).values().forEach(value -> addReferencedFile(value, files));
+    } else {
+      addReferencedFile(body, files);
+    }
+    return files;
+  }
+
+  private static void addReferencedFile(Object value, Set<Path> files) {
+    if (value instanceof String && ((String) value).startsWith(Constants.AT_RATE)) {
+      try {
+        files.add(Paths.get(((String) value).substring(Constants.AT_RATE.length())).normalize());
+      } catch (InvalidPathException e) {
+        log.debug("Ignoring the invalid file reference " + value, e);
+      }
+    }
+  }
+
+  private static String toHex(byte[] digest) {
+    StringBuilder sb = new StringBuilder(digest.length * 2);
+    for (byte b : digest) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+}
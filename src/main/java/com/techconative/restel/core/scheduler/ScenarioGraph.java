@@ -0,0 +1,268 @@
+package com.techconative.restel.core.scheduler;
+
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.exception.RestelException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import org.apache.commons.collections4.CollectionUtils;
+
+/**
+ * Directed acyclic graph of the scenarios to be executed. A scenario depends on the scenarios in
+ * its {@link RestelTestScenario#getDependsOn()} and on all the scenarios of the suites in {@link
+ * RestelSuite#getDependsOn()} of its suite.
+ *
+ * <p>Suite dependencies are modelled with one barrier node per suite, which completes once all the
+ * scenarios of the suite completed. This keeps the number of edges linear to the number of
+ * scenarios. Suite dependencies only order the execution, whereas a failing scenario dependency
+ * skips the dependent scenario.
+ */
+public class ScenarioGraph {
+
+  private static final String SUITE_BARRIER_PREFIX = "suite:";
+
+  private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+  private ScenarioGraph() {}
+
+  /**
+   * Builds the graph for the enabled root suites, the suites they depend on and their enabled
+   * scenarios.
+   *
+   * @param suites All the available {@link RestelSuite}s.
+   * @param scenarios All the available {@link RestelTestScenario}s.
+   * @return The {@link ScenarioGraph} to be executed.
+   * @throws RestelException When the dependencies have a cycle.
+   */
+  public static ScenarioGraph build(
+      Collection<RestelSuite> suites, Collection<RestelTestScenario> scenarios) {
+    return build(suites, scenarios, null);
+  }
+
+  /**
+   * Builds the graph for the selected scenarios of the enabled root suites and the suites they
+   * depend on, along with the scenarios the selected ones depend on. Unlike the root scenarios,
+   * selected scenarios are included even when other scenarios depend on them.
+   *
+   * @param suites All the available {@link RestelSuite}s.
+   * @param scenarios All the available {@link RestelTestScenario}s.
+   * @param selected Selects the scenarios to be executed, null to execute the root scenarios.
+   * @return The {@link ScenarioGraph} to be executed.
+   * @throws RestelException When the dependencies have a cycle.
+   */
+  public static ScenarioGraph build(
+      Collection<RestelSuite> suites,
+      Collection<RestelTestScenario> scenarios,
+      Predicate<RestelTestScenario> selected) {
+    ScenarioGraph graph = new ScenarioGraph();
+
+    Map<String, RestelSuite> includedSuites = new LinkedHashMap<>();
+    suites.stream()
+        .filter(suite -> CollectionUtils.isEmpty(suite.getParentSuites()) && suite.isSuiteEnable())
+        .forEach(suite -> collectSuites(suite, includedSuites));
+
+    scenarios.stream()
+        .filter(RestelTestScenario::isScenarioEnabled)
+        .filter(scenario -> includedSuites.containsKey(scenario.getTestSuiteName()))
+        .filter(
+            scenario ->
+                selected == null
+                    ? CollectionUtils.isEmpty(scenario.getParentExecutions())
+                    : selected.test(scenario))
+        .forEach(graph::addScenario);
+
+    graph.addSuiteBarriers(includedSuites.values());
+    graph.validate();
+    return graph;
+  }
+
+  private static void collectSuites(RestelSuite suite, Map<String, RestelSuite> includedSuites) {
+    if (includedSuites.putIfAbsent(suite.getSuiteName(), suite) == null
+        && !CollectionUtils.isEmpty(suite.getDependsOn())) {
+      suite.getDependsOn().stream()
+          .filter(RestelSuite::isSuiteEnable)
+          .forEach(dependency -> collectSuites(dependency, includedSuites));
+    }
+  }
+
+  private Node addScenario(RestelTestScenario scenario) {
+    Node node = nodes.get(scenario.getScenarioName());
+    if (node != null) {
+      return node;
+    }
+    node = new Node(scenario.getScenarioName(), scenario);
+    nodes.put(node.getName(), node);
+    if (!CollectionUtils.isEmpty(scenario.getDependsOn())) {
+      for (RestelTestScenario dependency : scenario.getDependsOn()) {
+        if (dependency.isScenarioEnabled()) {
+          link(addScenario(dependency), node);
+        }
+      }
+    }
+    return node;
+  }
+
+  private void addSuiteBarriers(Collection<RestelSuite> suites) {
+    Map<String, List<Node>> suiteScenarios =
+        nodes.values().stream()
+            .collect(Collectors.groupingBy(node -> node.getScenario().getTestSuiteName()));
+
+    for (RestelSuite suite : suites) {
+      if (CollectionUtils.isEmpty(suite.getDependsOn())) {
+        continue;
+      }
+      for (RestelSuite dependency : suite.getDependsOn()) {
+        if (!dependency.isSuiteEnable()) {
+          continue;
+        }
+        Node barrier = getSuiteBarrier(dependency.getSuiteName(), suiteScenarios);
+        suiteScenarios
+            .getOrDefault(suite.getSuiteName(), Collections.emptyList())
+            .forEach(node -> link(barrier, node));
+      }
+    }
+  }
+
+  private Node getSuiteBarrier(String suiteName, Map<String, List<Node>> suiteScenarios) {
+    return nodes.computeIfAbsent(
+        SUITE_BARRIER_PREFIX + suiteName,
+        name -> {
+          Node barrier = new Node(name, null);
+          suiteScenarios
+              .getOrDefault(suiteName, Collections.emptyList())
+              .forEach(node -> link(node, barrier));
+          return barrier;
+        });
+  }
+
+  private static void link(Node dependency, Node dependent) {
+    dependent.dependencies.add(dependency);
+    dependency.dependents.add(dependent);
+  }
+
+  /** Checks that the graph is acyclic, with Kahn's algorithm. */
+  private void validate() {
+    Map<Node, Integer> inDegree = new HashMap<>();
+    Deque<Node> ready = new ArrayDeque<>();
+    for (Node node : nodes.values()) {
+      inDegree.put(node, node.dependencies.size());
+      if (node.dependencies.isEmpty()) {
+        ready.add(node);
+      }
+    }
+    int visited = 0;
+    while (!ready.isEmpty()) {
+      Node node = ready.poll();
+      visited++;
+      for (Node dependent : node.dependents) {
+        if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    if (visited != nodes.size()) {
+      throw new RestelException(
+          "SCHEDULE_CYCLE_ERROR",
+          inDegree.entrySet().stream()
+              .filter(e -> e.getValue() > 0)
+              .map(e -> e.getKey().getName())
+              .collect(Collectors.joining(", ")));
+    }
+  }
+
+  /**
+   * Computes the critical path of each node, the longest chain of costs from the node through its
+   * dependents, including its own cost. The nodes with the longest critical paths are the ones
+   * delaying the end of the execution the most.
+   *
+   * @param cost The cost of a scenario. The suite barriers cost nothing.
+   * @return The critical path of each node.
+   */
+  public Map<Node, Long> getCriticalPaths(ToLongFunction<RestelTestScenario> cost) {
+    // Kahn's order puts the dependencies first, so the dependents are visited first in reverse
+    List<Node> order = new ArrayList<>(nodes.size());
+    Map<Node, Integer> inDegree = new HashMap<>();
+    nodes.values().forEach(node -> inDegree.put(node, node.dependencies.size()));
+    nodes.values().stream().filter(node -> node.dependencies.isEmpty()).forEach(order::add);
+    for (int i = 0; i < order.size(); i++) {
+      for (Node dependent : order.get(i).dependents) {
+        if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+          order.add(dependent);
+        }
+      }
+    }
+    Map<Node, Long> criticalPaths = new HashMap<>();
+    for (int i = order.size() - 1; i >= 0; i--) {
+      Node node = order.get(i);
+      long longestDependent =
+          node.dependents.stream().mapToLong(criticalPaths::get).max().orElse(0);
+      long own = node.isScenario() ? cost.applyAsLong(node.getScenario()) : 0;
+      criticalPaths.put(node, own + longestDependent);
+    }
+    return criticalPaths;
+  }
+
+  /** @return All the nodes of the graph, including the suite barriers. */
+  public Collection<Node> getNodes() {
+    return Collections.unmodifiableCollection(nodes.values());
+  }
+
+  /** @return The scenarios of the graph, in the order they were added. */
+  public List<RestelTestScenario> getScenarios() {
+    return nodes.values().stream()
+        .filter(Node::isScenario)
+        .map(Node::getScenario)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Gets the node with the given name.
+   *
+   * @param name The scenario name.
+   * @return The {@link Node}, null when the scenario is not part of the graph.
+   */
+  public Node getNode(String name) {
+    return nodes.get(name);
+  }
+
+  /** A scenario, or a suite barrier, in the {@link ScenarioGraph}. */
+  public static final class Node {
+    private final String name;
+    private final RestelTestScenario scenario;
+    private final Set<Node> dependencies = new LinkedHashSet<>();
+    private final Set<Node> dependents = new LinkedHashSet<>();
+
+    private Node(String name, RestelTestScenario scenario) {
+      this.name = name;
+      this.scenario = scenario;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /** @return The scenario, null for the suite barriers. */
+    public RestelTestScenario getScenario() {
+      return scenario;
+    }
+
+    public boolean isScenario() {
+      return scenario != null;
+    }
+
+    public Set<Node> getDependencies() {
+      return Collections.unmodifiableSet(dependencies);
+    }
+
+    public Set<Node> getDependents() {
+      return Collections.unmodifiableSet(dependents);
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+}
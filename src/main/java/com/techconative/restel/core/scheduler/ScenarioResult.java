@@ -0,0 +1,30 @@
+package com.techconative.restel.core.scheduler;
+
+import lombok.Builder;
+import lombok.Value;
+
+/** Outcome of a single scenario executed by the {@link ScenarioScheduler}. */
+@Value
+@Builder
+public class ScenarioResult {
+
+  public enum Status {
+    PASSED,
+    FAILED,
+    SKIPPED
+  }
+
+  String scenarioName;
+
+  String suiteName;
+
+  Status status;
+
+  long durationMillis;
+
+  Throwable error;
+
+  public boolean isPassed() {
+    return status == Status.PASSED;
+  }
+}
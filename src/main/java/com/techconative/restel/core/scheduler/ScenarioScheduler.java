@@ -0,0 +1,375 @@
+package com.techconative.restel.core.scheduler;
+
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.scheduler.ScenarioGraph.Node;
+import com.techconative.restel.core.scheduler.ScenarioResult.Status;
+import com.techconative.restel.testng.TestCase;
+import com.techconative.restel.testng.TestCaseExecutor;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.ResultsUtils;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Executes the {@link ScenarioGraph} on a work-stealing pool. A scenario is submitted as soon as
+ * all its dependencies completed, and is skipped when any of its scenario dependencies did not
+ * pass.
+ *
+ * <p>Setting <code>restel.scheduler.virtualThreads</code> runs each scenario on a virtual thread
+ * instead, when the JVM supports them, with at most <code>restel.scheduler.maxConcurrency</code>
+ * scenarios executing at a time. The scenarios being I/O bound, thousands of them can execute
+ * concurrently on a few cores. The work-stealing pool is used when the JVM has no virtual threads.
+ *
+ * <p>Among the scenarios ready to be executed, the ones with the longest critical path, the
+ * longest chain of durations through their dependents, are executed first, so that long chains do
+ * not start last and stretch the run. The durations are the averages of the previous runs, kept in
+ * <code>restel.scheduler.historyFile</code>, with the scenarios not run before estimated by their
+ * number of APIs.
+ */
+@Slf4j
+@Service
+public class ScenarioScheduler {
+
+  /* Estimated duration of an API, for the scenarios without any history. */
+  private static final long ESTIMATED_API_MILLIS = 100;
+
+  @Autowired private BeanFactory beanFactory;
+
+  @Value("${restel.scheduler.parallelism:0}")
+  private int parallelism;
+
+  @Value("${restel.scheduler.virtualThreads:false}")
+  private boolean virtualThreads;
+
+  @Value("${restel.scheduler.maxConcurrency:1000}")
+  private int maxConcurrency = 1000;
+
+  @Value("${restel.scheduler.historyFile:.restel/scenario-durations.json}")
+  private String historyFile;
+
+  private DurationHistory history;
+
+  /**
+   * Executes all the scenarios of the graph.
+   *
+   * @param graph The {@link ScenarioGraph} to be executed.
+   * @return The {@link ScenarioResult} of each scenario, keyed by the scenario name.
+   */
+  public Map<String, ScenarioResult> execute(ScenarioGraph graph) {
+    return execute(graph, result -> {});
+  }
+
+  /**
+   * Executes all the scenarios of the graph, notifying the result of each scenario as soon as it
+   * completed.
+   *
+   * @param graph The {@link ScenarioGraph} to be executed.
+   * @param listener Notified of each {@link ScenarioResult}, on the thread which executed the
+   *     scenario.
+   * @return The {@link ScenarioResult} of each scenario, keyed by the scenario name.
+   */
+  public Map<String, ScenarioResult> execute(
+      ScenarioGraph graph, Consumer<ScenarioResult> listener) {
+    DurationHistory durations = getHistory();
+    Map<Node, Long> priorities = graph.getCriticalPaths(scenario -> estimate(durations, scenario));
+    Map<String, ScenarioResult> results = execute(graph, priorities, listener);
+    results.values().stream()
+        .filter(result -> result.getStatus() != Status.SKIPPED)
+        .forEach(result -> durations.record(result.getScenarioName(), result.getDurationMillis()));
+    durations.save();
+    return results;
+  }
+
+  private Map<String, ScenarioResult> execute(
+      ScenarioGraph graph, Map<Node, Long> priorities, Consumer<ScenarioResult> listener) {
+    if (virtualThreads) {
+      Optional<ExecutorService> executor = VirtualThreads.newExecutor();
+      if (executor.isPresent()) {
+        log.info(
+            "Executing "
+                + graph.getScenarios().size()
+                + " scenarios on virtual threads, at most "
+                + maxConcurrency
+                + " at a time");
+        try {
+          return new Execution(
+                  graph, priorities, listener, executor.get(), new Semaphore(maxConcurrency))
+              .run();
+        } finally {
+          executor.get().shutdown();
+        }
+      }
+      log.warn("Virtual threads are not supported by this JVM, using the work-stealing pool");
+    }
+    ForkJoinPool pool = new ForkJoinPool(getParallelism());
+    log.info(
+        "Executing "
+            + graph.getScenarios().size()
+            + " scenarios with "
+            + pool.getParallelism()
+            + " threads");
+    try {
+      // The pool size already limits the concurrency
+      return new Execution(graph, priorities, listener, pool, null).run();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Estimates the duration of the scenario, from its previous runs or its number of APIs.
+   *
+   * @param durations The {@link DurationHistory} of the previous runs.
+   * @param scenario The {@link RestelTestScenario}.
+   * @return The estimated duration in milliseconds.
+   */
+  public static long estimate(DurationHistory durations, RestelTestScenario scenario) {
+    return durations
+        .getDuration(scenario.getScenarioName())
+        .orElse(ESTIMATED_API_MILLIS * Math.max(1, CollectionUtils.size(scenario.getTestApis())));
+  }
+
+  /*
+  Loaded once, so that the history of the earlier executions is kept in memory for the later ones.
+   */
+  private synchronized DurationHistory getHistory() {
+    if (history == null) {
+      history =
+          DurationHistory.load(StringUtils.isBlank(historyFile) ? null : Paths.get(historyFile));
+    }
+    return history;
+  }
+
+  /**
+   * Sets the history of the scenario durations, used to prioritize the scenarios.
+   *
+   * @param history The {@link DurationHistory}.
+   */
+  public synchronized void setHistory(DurationHistory history) {
+    this.history = history;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public int getParallelism() {
+    return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Executes a single scenario and reports it as an Allure test case.
+   *
+   * @param scenario The {@link RestelTestScenario} to be executed.
+   * @return The {@link ScenarioResult} of the scenario.
+   */
+  protected ScenarioResult executeScenario(RestelTestScenario scenario) {
+    AllureLifecycle lifecycle = Allure.getLifecycle();
+    String uuid = UUID.randomUUID().toString();
+    String fullName = scenario.getTestSuiteName() + "." + scenario.getScenarioName();
+    lifecycle.scheduleTestCase(
+        new TestResult()
+            .setUuid(uuid)
+            .setHistoryId(ResultsUtils.md5(fullName))
+            .setName(scenario.getScenarioName())
+            .setFullName(fullName)
+            .setLabels(
+                new ArrayList<>(
+                    Arrays.asList(
+                        ResultsUtils.createSuiteLabel(scenario.getTestSuiteName()),
+                        ResultsUtils.createThreadLabel(),
+                        ResultsUtils.createHostLabel()))));
+    lifecycle.startTestCase(uuid);
+
+    long start = System.currentTimeMillis();
+    Status status;
+    Throwable error = null;
+    try {
+      TestCaseExecutor executor =
+          beanFactory.getBean(TestCaseExecutor.class, scenario.getScenarioName());
+      new TestCase(scenario.getScenarioName(), executor).executeTest(scenario.getScenarioName());
+      status = Status.PASSED;
+    } catch (Exception | AssertionError e) {
+      log.error("Scenario " + scenario.getScenarioName() + " failed", e);
+      status = Status.FAILED;
+      error = e;
+    }
+    long duration = System.currentTimeMillis() - start;
+
+    Throwable failure = error;
+    lifecycle.updateTestCase(
+        uuid,
+        result -> {
+          if (failure == null) {
+            result.setStatus(io.qameta.allure.model.Status.PASSED);
+          } else {
+            result.setStatus(ResultsUtils.getStatus(failure).orElse(null));
+            result.setStatusDetails(ResultsUtils.getStatusDetails(failure).orElse(null));
+          }
+        });
+    lifecycle.stopTestCase(uuid);
+    lifecycle.writeTestCase(uuid);
+
+    return ScenarioResult.builder()
+        .scenarioName(scenario.getScenarioName())
+        .suiteName(scenario.getTestSuiteName())
+        .status(status)
+        .durationMillis(duration)
+        .error(error)
+        .build();
+  }
+
+  private ScenarioResult skip(RestelTestScenario scenario) {
+    log.warn("Skipping scenario " + scenario.getScenarioName() + " as its dependencies failed");
+    return ScenarioResult.builder()
+        .scenarioName(scenario.getScenarioName())
+        .suiteName(scenario.getTestSuiteName())
+        .status(Status.SKIPPED)
+        .build();
+  }
+
+  /** State of a single execution of the graph. */
+  private class Execution {
+    private final ScenarioGraph graph;
+    private final Consumer<ScenarioResult> listener;
+    private final Executor pool;
+    private final Semaphore concurrency;
+    private final PriorityBlockingQueue<Node> ready;
+    private final Map<Node, AtomicInteger> pendingDependencies = new HashMap<>();
+    private final Map<String, ScenarioResult> results = new ConcurrentHashMap<>();
+    private final Map<Node, Boolean> passed = new ConcurrentHashMap<>();
+    private final CountDownLatch completed;
+
+    Execution(
+        ScenarioGraph graph,
+        Map<Node, Long> priorities,
+        Consumer<ScenarioResult> listener,
+        Executor pool,
+        Semaphore concurrency) {
+      this.graph = graph;
+      this.listener = listener;
+      this.pool = pool;
+      this.concurrency = concurrency;
+      // Ties are broken by the order of the graph, to keep the order stable across runs
+      Map<Node, Integer> order = new HashMap<>();
+      graph.getNodes().forEach(node -> order.put(node, order.size()));
+      this.ready =
+          new PriorityBlockingQueue<>(
+              Math.max(1, order.size()),
+              Comparator.comparing((Node node) -> priorities.get(node))
+                  .reversed()
+                  .thenComparing(order::get));
+      this.completed = new CountDownLatch(graph.getNodes().size());
+      graph
+          .getNodes()
+          .forEach(
+              node ->
+                  pendingDependencies.put(node, new AtomicInteger(node.getDependencies().size())));
+    }
+
+    Map<String, ScenarioResult> run() {
+      submit(
+          graph.getNodes().stream()
+              .filter(node -> node.getDependencies().isEmpty())
+              .collect(Collectors.toList()));
+      try {
+        completed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.error("Interrupted while waiting for the scenarios to complete", e);
+      }
+      Map<String, ScenarioResult> ordered = new LinkedHashMap<>();
+      graph.getScenarios().stream()
+          .map(RestelTestScenario::getScenarioName)
+          .filter(results::containsKey)
+          .forEach(name -> ordered.put(name, results.get(name)));
+      return ordered;
+    }
+
+    /*
+    Each task executes the ready node with the longest critical path at the time it runs, rather
+    than the node it was submitted for.
+     */
+    private void submit(List<Node> nodes) {
+      // All queued before any is picked, for the first pick to see all of them
+      ready.addAll(nodes);
+      nodes.forEach(node -> pool.execute(this::processNext));
+    }
+
+    private void processNext() {
+      if (concurrency == null) {
+        process(ready.poll());
+        return;
+      }
+      concurrency.acquireUninterruptibly();
+      try {
+        process(ready.poll());
+      } finally {
+        concurrency.release();
+      }
+    }
+
+    private void process(Node node) {
+      try {
+        if (node.isScenario()) {
+          boolean dependenciesPassed =
+              node.getDependencies().stream()
+                  .allMatch(dependency -> passed.getOrDefault(dependency, false));
+          ScenarioResult result =
+              dependenciesPassed ? executeScenario(node.getScenario()) : skip(node.getScenario());
+          results.put(node.getName(), result);
+          passed.put(node, result.isPassed());
+          notifyListener(result);
+        } else {
+          // Suite barriers only order the execution, hence always pass.
+          passed.put(node, true);
+        }
+      } finally {
+        List<Node> unblocked = new ArrayList<>();
+        for (Node dependent : node.getDependents()) {
+          if (pendingDependencies.get(dependent).decrementAndGet() == 0) {
+            unblocked.add(dependent);
+          }
+        }
+        submit(unblocked);
+        completed.countDown();
+      }
+    }
+
+    /* A failing listener must not stop the execution of the dependents. */
+    private void notifyListener(ScenarioResult result) {
+      try {
+        listener.accept(result);
+      } catch (RuntimeException e) {
+        log.warn("Failed to notify the result of the scenario " + result.getScenarioName(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.techconative.restel.core.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access to the virtual threads of the JVMs supporting them, Java 21 onwards. Looked up through
+ * reflection as Restel is built for Java 11.
+ */
+@Slf4j
+final class VirtualThreads {
+
+  private static final Method NEW_EXECUTOR = lookup();
+
+  private VirtualThreads() {}
+
+  /**
+   * Creates an executor that runs each task on a new virtual thread.
+   *
+   * @return The {@link ExecutorService}, empty when the JVM does not support virtual threads.
+   */
+  static Optional<ExecutorService> newExecutor() {
+    if (NEW_EXECUTOR == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of((ExecutorService) NEW_EXECUTOR.invoke(null));
+    } catch (ReflectiveOperationException e) {
+      log.warn("Failed to create the virtual thread executor", e);
+      return Optional.empty();
+    }
+  }
+
+  private static Method lookup() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.techconative.restel.core.shard;
+
+import com.techconative.restel.exception.RestelException;
+import lombok.Value;
+
+/**
+ * One of the shards a run is split into, to execute the suites across several processes. The
+ * shards are numbered from 1 to the number of shards.
+ */
+@Value
+public class Shard {
+
+  int index;
+
+  int count;
+
+  /**
+   * Parses the shard given as <code>index/count</code>, like <code>1/3</code>.
+   *
+   * @param value The shard.
+   * @return The {@link Shard}.
+   * @throws RestelException When the value is not a valid shard.
+   */
+  public static Shard parse(String value) {
+    String[] tokens = value == null ? new String[0] : value.trim().split("/");
+    if (tokens.length != 2) {
+      throw new RestelException("INVALID_SHARD", value);
+    }
+    int index;
+    int count;
+    try {
+      index = Integer.parseInt(tokens[0].trim());
+      count = Integer.parseInt(tokens[1].trim());
+    } catch (NumberFormatException e) {
+      throw new RestelException(e, "INVALID_SHARD", value);
+    }
+    if (count < 1 || index < 1 || index > count) {
+      throw new RestelException("INVALID_SHARD", value);
+    }
+    return new Shard(index, count);
+  }
+
+  /** @return The name of the file the results of the shard are written to. */
+  public String getReportFileName() {
+    return "shard-" + index + "-of-" + count + ".json";
+  }
+
+  @Override
+  public String toString() {
+    return index + "/" + count;
+  }
+}
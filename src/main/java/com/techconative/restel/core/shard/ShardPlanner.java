@@ -0,0 +1,171 @@
+package com.techconative.restel.core.shard;
+
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestScenario;
+import java.util.*;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import org.apache.commons.collections4.CollectionUtils;
+
+/**
+ * Splits the root suites of a run into shards. A root suite is executed along with the suites it
+ * depends on, so the root suites sharing any dependency are kept in the same shard, for the
+ * shared suites to be executed once. A scenario depending on a scenario of another suite links
+ * the two suites the same way. The groups of root suites are then assigned to the shards by their
+ * cost, the most costly first, each to the least loaded shard.
+ *
+ * <p>The split only depends on the suites and the costs, so every process computes the same
+ * split and executes its own shard, without any coordination.
+ */
+public class ShardPlanner {
+
+  private ShardPlanner() {}
+
+  /**
+   * Gets the root suites to be executed by the given shard.
+   *
+   * @param suites All the available {@link RestelSuite}s.
+   * @param scenarios All the available {@link RestelTestScenario}s.
+   * @param shard The {@link Shard} to be executed.
+   * @param cost The estimated cost of a scenario.
+   * @return The root suites of the shard.
+   */
+  public static List<RestelSuite> select(
+      Collection<RestelSuite> suites,
+      Collection<RestelTestScenario> scenarios,
+      Shard shard,
+      ToLongFunction<RestelTestScenario> cost) {
+    return plan(suites, scenarios, shard.getCount(), cost).get(shard.getIndex() - 1);
+  }
+
+  /**
+   * Splits the root suites into the given number of shards.
+   *
+   * @param suites All the available {@link RestelSuite}s.
+   * @param scenarios All the available {@link RestelTestScenario}s.
+   * @param count The number of shards.
+   * @param cost The estimated cost of a scenario.
+   * @return The root suites of each shard, some of them empty when there are fewer groups of
+   *     suites than shards.
+   */
+  public static List<List<RestelSuite>> plan(
+      Collection<RestelSuite> suites,
+      Collection<RestelTestScenario> scenarios,
+      int count,
+      ToLongFunction<RestelTestScenario> cost) {
+    List<RestelSuite> roots =
+        suites.stream()
+            .filter(suite -> CollectionUtils.isEmpty(suite.getParentSuites()))
+            .filter(RestelSuite::isSuiteEnable)
+            .sorted(Comparator.comparing(RestelSuite::getSuiteName))
+            .collect(Collectors.toList());
+
+    Map<String, Long> suiteCosts = new HashMap<>();
+    scenarios.stream()
+        .filter(RestelTestScenario::isScenarioEnabled)
+        .forEach(
+            scenario ->
+                suiteCosts.merge(
+                    scenario.getTestSuiteName(), cost.applyAsLong(scenario), Long::sum));
+
+    Map<String, RestelSuite> suitesByName = new HashMap<>();
+    suites.forEach(suite -> suitesByName.putIfAbsent(suite.getSuiteName(), suite));
+    Map<String, Set<String>> links = new HashMap<>();
+    scenarios.stream()
+        .filter(RestelTestScenario::isScenarioEnabled)
+        .filter(scenario -> !CollectionUtils.isEmpty(scenario.getDependsOn()))
+        .forEach(
+            scenario ->
+                scenario.getDependsOn().stream()
+                    .map(RestelTestScenario::getTestSuiteName)
+                    .filter(Objects::nonNull)
+                    .filter(suite -> !suite.equals(scenario.getTestSuiteName()))
+                    .forEach(
+                        suite ->
+                            links
+                                .computeIfAbsent(scenario.getTestSuiteName(), k -> new TreeSet<>())
+                                .add(suite)));
+
+    List<Group> groups = group(roots, suitesByName, links);
+    groups.forEach(
+        group ->
+            group.cost =
+                group.suites.stream().mapToLong(suite -> suiteCosts.getOrDefault(suite, 0L)).sum());
+    groups.sort(Comparator.comparingLong((Group group) -> group.cost).reversed());
+
+    List<List<RestelSuite>> shards = new ArrayList<>(count);
+    long[] loads = new long[count];
+    for (int i = 0; i < count; i++) {
+      shards.add(new ArrayList<>());
+    }
+    for (Group group : groups) {
+      int lightest = 0;
+      for (int i = 1; i < count; i++) {
+        if (loads[i] < loads[lightest]) {
+          lightest = i;
+        }
+      }
+      shards.get(lightest).addAll(group.roots);
+      loads[lightest] += group.cost;
+    }
+    shards.forEach(shard -> shard.sort(Comparator.comparing(RestelSuite::getSuiteName)));
+    return shards;
+  }
+
+  /*
+   * Groups the roots whose dependency closures share any suite, in the order of the roots. Every
+   * suite is owned by the one group it was collected in, so a group is merged only once.
+   */
+  private static List<Group> group(
+      List<RestelSuite> roots,
+      Map<String, RestelSuite> suitesByName,
+      Map<String, Set<String>> links) {
+    Map<String, Group> owners = new HashMap<>();
+    List<Group> groups = new ArrayList<>();
+    for (RestelSuite root : roots) {
+      Group group = new Group();
+      group.roots.add(root);
+      collect(root.getSuiteName(), suitesByName, links, group.suites);
+      for (String suite : new ArrayList<>(group.suites)) {
+        Group owner = owners.get(suite);
+        if (owner != null && owner != group) {
+          group.roots.addAll(0, owner.roots);
+          group.suites.addAll(owner.suites);
+          owner.suites.forEach(merged -> owners.put(merged, group));
+          groups.remove(owner);
+        }
+      }
+      group.suites.forEach(suite -> owners.put(suite, group));
+      groups.add(group);
+    }
+    return groups;
+  }
+
+  /* Collects the suites executed along with the given one, by their names. */
+  private static void collect(
+      String suiteName,
+      Map<String, RestelSuite> suitesByName,
+      Map<String, Set<String>> links,
+      Set<String> closure) {
+    if (!closure.add(suiteName)) {
+      return;
+    }
+    RestelSuite suite = suitesByName.get(suiteName);
+    if (suite != null && !CollectionUtils.isEmpty(suite.getDependsOn())) {
+      suite.getDependsOn().stream()
+          .filter(RestelSuite::isSuiteEnable)
+          .forEach(dependency -> collect(dependency.getSuiteName(), suitesByName, links, closure));
+    }
+    links
+        .getOrDefault(suiteName, Collections.emptySet())
+        .forEach(linked -> collect(linked, suitesByName, links, closure));
+  }
+
+  private static class Group {
+    private final List<RestelSuite> roots = new ArrayList<>();
+
+    private final Set<String> suites = new LinkedHashSet<>();
+
+    private long cost;
+  }
+}
@@ -0,0 +1,237 @@
+package com.techconative.restel.core.shard;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.scheduler.ScenarioResult;
+import com.techconative.restel.exception.RestelException;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import lombok.Data;
+
+/**
+ * Results of the scenarios executed by one or more shards, written by each shard and merged into
+ * a single report once all the shards completed.
+ *
+ * <p>Each report records the root suites assigned to its shard and the hash of the whole plan, so
+ * that the merge detects the shards which planned differently, and thus left some suites out or
+ * executed them twice.
+ */
+@Data
+public class ShardReport {
+
+  /* Matches the reports of the single shards, not the merged report. */
+  private static final String SHARD_REPORT_GLOB = "shard-*-of-*.json";
+
+  /** The file the merged report is written to. */
+  public static final String MERGED_REPORT_FILE_NAME = "merged.json";
+
+  private int count;
+
+  private List<Integer> shards = new ArrayList<>();
+
+  private String planHash;
+
+  private List<String> suites = new ArrayList<>();
+
+  private List<Result> results = new ArrayList<>();
+
+  /**
+   * Creates the report of a shard.
+   *
+   * @param shard The executed {@link Shard}.
+   * @param plan The root suites of each shard, as planned by the {@link ShardPlanner}.
+   * @param scenarioResults The results of the scenarios executed by the shard.
+   * @return The {@link ShardReport}.
+   */
+  public static ShardReport of(
+      Shard shard, List<List<RestelSuite>> plan, Collection<ScenarioResult> scenarioResults) {
+    List<List<String>> names = new ArrayList<>();
+    for (List<RestelSuite> suites : plan) {
+      names.add(suites.stream().map(RestelSuite::getSuiteName).collect(Collectors.toList()));
+    }
+    ShardReport report = new ShardReport();
+    report.count = shard.getCount();
+    report.shards.add(shard.getIndex());
+    report.planHash = hash(names);
+    report.suites.addAll(names.get(shard.getIndex() - 1));
+    scenarioResults.forEach(result -> report.results.add(Result.of(result)));
+    return report;
+  }
+
+  /**
+   * Merges the reports of all the shards in the given directory.
+   *
+   * @param directory The directory the shards wrote their reports to.
+   * @return The merged {@link ShardReport}.
+   * @throws RestelException When a report can not be read, the reports of some shards are
+   *     missing or duplicated, or the shards planned differently.
+   */
+  public static ShardReport merge(Path directory) {
+    List<ShardReport> reports = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SHARD_REPORT_GLOB)) {
+      for (Path file : files) {
+        reports.add(read(file));
+      }
+    } catch (IOException e) {
+      throw new RestelException(e, "SHARD_REPORT_ERROR", directory);
+    }
+    reports.sort(Comparator.comparing(report -> report.shards.get(0)));
+
+    ShardReport merged = new ShardReport();
+    merged.count = reports.isEmpty() ? 0 : reports.get(0).count;
+    merged.planHash = reports.isEmpty() ? null : reports.get(0).planHash;
+    List<List<String>> plan = new ArrayList<>();
+    for (ShardReport report : reports) {
+      if (report.count != merged.count) {
+        throw new RestelException("INCOMPLETE_SHARDS", directory, report.shards, merged.count);
+      }
+      if (!Objects.equals(report.planHash, merged.planHash)) {
+        throw new RestelException(
+            "INCONSISTENT_SHARDS",
+            directory,
+            "the shard " + report.shards + " planned differently");
+      }
+      merged.shards.addAll(report.shards);
+      merged.suites.addAll(report.suites);
+      merged.results.addAll(report.results);
+      plan.add(report.suites);
+    }
+    Set<Integer> expected = new TreeSet<>();
+    for (int i = 1; i <= merged.count; i++) {
+      expected.add(i);
+    }
+    if (merged.count == 0
+        || merged.shards.size() != merged.count
+        || !expected.equals(new TreeSet<>(merged.shards))) {
+      throw new RestelException("INCOMPLETE_SHARDS", directory, merged.shards, merged.count);
+    }
+    // The suites of the shards make up the plan they were all assigned from, so none is missing
+    if (!hash(plan).equals(merged.planHash)) {
+      throw new RestelException(
+          "INCONSISTENT_SHARDS",
+          directory,
+          "the suites " + merged.suites + " differ from the plan");
+    }
+    checkUnique(directory, "suite", merged.suites);
+    checkUnique(
+        directory,
+        "scenario",
+        merged.results.stream().map(Result::getScenarioName).collect(Collectors.toList()));
+    return merged;
+  }
+
+  /* Fails on the first name found twice, as executed by more than one shard. */
+  private static void checkUnique(Path directory, String kind, List<String> names) {
+    Set<String> unique = new HashSet<>();
+    for (String name : names) {
+      if (!unique.add(name)) {
+        throw new RestelException(
+            "INCONSISTENT_SHARDS", directory, "the " + kind + " " + name + " is in several shards");
+      }
+    }
+  }
+
+  /* Hex encoded SHA-256 hash of the root suites of each shard, in the order of the shards. */
+  private static String hash(List<List<String>> plan) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest(ObjectMapperUtils.getMapper().writeValueAsBytes(plan));
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        sb.append(String.format("%02x", b));
+      }
+      return sb.toString();
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new RestelException(e, "SHARD_REPORT_ERROR", plan);
+    }
+  }
+
+  /**
+   * Reads the report from the given file.
+   *
+   * @param file The report file.
+   * @return The {@link ShardReport}.
+   */
+  public static ShardReport read(Path file) {
+    try {
+      ShardReport report =
+          ObjectMapperUtils.getMapper().readValue(file.toFile(), ShardReport.class);
+      if (report.shards.isEmpty()) {
+        throw new RestelException("SHARD_REPORT_ERROR", file);
+      }
+      return report;
+    } catch (IOException e) {
+      throw new RestelException(e, "SHARD_REPORT_ERROR", file);
+    }
+  }
+
+  /**
+   * Writes the report to the given file.
+   *
+   * @param file The report file, its directory is created when missing.
+   */
+  public void write(Path file) {
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      ObjectMapperUtils.getMapper()
+          .writerWithDefaultPrettyPrinter()
+          .writeValue(file.toFile(), this);
+    } catch (IOException e) {
+      throw new RestelException(e, "SHARD_REPORT_ERROR", file);
+    }
+  }
+
+  /** @return true when all the scenarios passed. */
+  @JsonIgnore
+  public boolean isPassed() {
+    return results.stream().allMatch(result -> result.status == ScenarioResult.Status.PASSED);
+  }
+
+  /** @return The number of scenarios by their status. */
+  @JsonIgnore
+  public Map<ScenarioResult.Status, Long> getSummary() {
+    return results.stream()
+        .collect(
+            Collectors.groupingBy(
+                Result::getStatus,
+                () -> new EnumMap<>(ScenarioResult.Status.class),
+                Collectors.counting()));
+  }
+
+  /** Result of a single scenario. */
+  @Data
+  public static class Result {
+    private String scenarioName;
+
+    private String suiteName;
+
+    private ScenarioResult.Status status;
+
+    private long durationMillis;
+
+    private String error;
+
+    /**
+     * @param scenarioResult The {@link ScenarioResult} of the scenario.
+     * @return The {@link Result}, with the error as its message.
+     */
+    public static Result of(ScenarioResult scenarioResult) {
+      Result result = new Result();
+      result.scenarioName = scenarioResult.getScenarioName();
+      result.suiteName = scenarioResult.getSuiteName();
+      result.status = scenarioResult.getStatus();
+      result.durationMillis = scenarioResult.getDurationMillis();
+      result.error =
+          scenarioResult.getError() == null ? null : String.valueOf(scenarioResult.getError());
+      return result;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.techconative.restel.core.snapshot;
+
+import com.techconative.restel.core.model.BaseConfiguration;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestApiDefinition;
+import com.techconative.restel.core.model.RestelTestApiWrapper;
+import com.techconative.restel.core.model.RestelTestScenario;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * The linked and validated test model of a workbook, as stored by the {@link ModelSnapshotStore}.
+ */
+@Value
+public class ModelSnapshot {
+
+  BaseConfiguration baseConfig;
+
+  List<RestelTestApiDefinition> testMethods;
+
+  List<RestelTestApiWrapper> testApiWrappers;
+
+  List<RestelSuite> suites;
+
+  List<RestelTestScenario> execGroups;
+}
@@ -0,0 +1,565 @@
+package com.techconative.restel.core.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.techconative.restel.core.model.BaseConfiguration;
+import com.techconative.restel.core.model.RestelApiDefinition;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestApiDefinition;
+import com.techconative.restel.core.model.RestelTestApiWrapper;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.model.assertion.AssertType;
+import com.techconative.restel.core.model.assertion.RestelAssertion;
+import com.techconative.restel.core.model.functions.FunctionOps;
+import com.techconative.restel.core.model.functions.RestelFunction;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Explicit binary encoding of the {@link ModelSnapshot}. Only the fields of the model are written,
+ * as strings, numbers, booleans and collections of them, so reading a snapshot never instantiates
+ * any other class than the model and the JDK collections. The links between the definitions,
+ * wrappers, suites and scenarios are written as their index in their list, to be linked again
+ * when read.
+ */
+final class ModelSnapshotCodec {
+
+  private static final int MAGIC = 0x52534e50;
+
+  /* Bound on the strings and collections read, so that a corrupted length fails fast. */
+  private static final int MAX_LENGTH = 64 * 1024 * 1024;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte BOOLEAN = 2;
+  private static final byte INT = 3;
+  private static final byte LONG = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte BIG_INTEGER = 6;
+  private static final byte BIG_DECIMAL = 7;
+  private static final byte LIST = 8;
+  private static final byte SET = 9;
+  private static final byte MAP = 10;
+  private static final byte JSON = 11;
+
+  /* Kinds of the referenced definitions. */
+  private static final byte DEFINITION = 1;
+  private static final byte WRAPPER = 2;
+
+  private ModelSnapshotCodec() {}
+
+  /**
+   * Writes the snapshot.
+   *
+   * @param snapshot The {@link ModelSnapshot} to be written.
+   * @param out The output.
+   * @throws IOException When the snapshot could not be written, or holds a value the codec does
+   *     not support.
+   */
+  static void write(ModelSnapshot snapshot, DataOutput out) throws IOException {
+    out.writeInt(MAGIC);
+    writeBaseConfig(snapshot.getBaseConfig(), out);
+
+    List<RestelTestApiDefinition> definitions = snapshot.getTestMethods();
+    List<RestelTestApiWrapper> wrappers = snapshot.getTestApiWrappers();
+    Map<Object, Integer> definitionIndex = indexOf(definitions);
+    Map<Object, Integer> wrapperIndex = indexOf(wrappers);
+    writeSize(definitions, out);
+    if (definitions != null) {
+      for (RestelTestApiDefinition definition : definitions) {
+        writeDefinition(definition, out);
+      }
+      for (RestelTestApiDefinition definition : definitions) {
+        writeList(
+            definition.getDependentOn(),
+            dependent -> writeDefinitionRef(dependent, definitionIndex, wrapperIndex, out),
+            out);
+      }
+    }
+    writeSize(wrappers, out);
+    if (wrappers != null) {
+      for (RestelTestApiWrapper wrapper : wrappers) {
+        writeString(wrapper.getTestApiWrapperName(), out);
+        writeString(wrapper.getTestApiWrapperDescription(), out);
+        writeValue(wrapper.getApiParameters(), out);
+        out.writeInt(ref(wrapper.getTestApiDefinition(), definitionIndex));
+      }
+    }
+
+    List<RestelSuite> suites = snapshot.getSuites();
+    Map<Object, Integer> suiteIndex = indexOf(suites);
+    writeSize(suites, out);
+    if (suites != null) {
+      for (RestelSuite suite : suites) {
+        writeString(suite.getSuiteName(), out);
+        writeString(suite.getSuiteDescription(), out);
+        writeValue(suite.getSuiteParams(), out);
+        out.writeBoolean(suite.isSuiteEnable());
+        writeValue(suite.getParentSuites(), out);
+      }
+      for (RestelSuite suite : suites) {
+        writeList(suite.getDependsOn(), dep -> out.writeInt(ref(dep, suiteIndex)), out);
+      }
+    }
+
+    List<RestelTestScenario> scenarios = snapshot.getExecGroups();
+    Map<Object, Integer> scenarioIndex = indexOf(scenarios);
+    writeSize(scenarios, out);
+    if (scenarios != null) {
+      for (RestelTestScenario scenario : scenarios) {
+        writeScenario(scenario, out);
+      }
+      for (RestelTestScenario scenario : scenarios) {
+        writeList(scenario.getDependsOn(), dep -> out.writeInt(ref(dep, scenarioIndex)), out);
+      }
+    }
+  }
+
+  /**
+   * Reads a snapshot written by {@link #write(ModelSnapshot, DataOutput)}.
+   *
+   * @param in The input.
+   * @return The {@link ModelSnapshot}.
+   * @throws IOException When the snapshot could not be read, or is not a valid snapshot.
+   */
+  static ModelSnapshot read(DataInput in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a model snapshot");
+    }
+    BaseConfiguration baseConfig = readBaseConfig(in);
+
+    List<RestelTestApiDefinition> definitions = null;
+    int size = readSize(in);
+    if (size >= 0) {
+      definitions = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        definitions.add(readDefinition(in));
+      }
+    }
+    // Kind and index of the dependents, resolved once the wrappers they may link to are read
+    List<List<int[]>> dependents = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      int count = readSize(in);
+      List<int[]> refs = count < 0 ? null : new ArrayList<>();
+      for (int j = 0; j < count; j++) {
+        refs.add(new int[] {in.readByte(), in.readInt()});
+      }
+      dependents.add(refs);
+    }
+
+    List<RestelTestApiWrapper> wrappers = null;
+    int wrapperCount = readSize(in);
+    if (wrapperCount >= 0) {
+      wrappers = new ArrayList<>();
+      for (int i = 0; i < wrapperCount; i++) {
+        RestelTestApiWrapper wrapper = new RestelTestApiWrapper();
+        wrapper.setTestApiWrapperName(readString(in));
+        wrapper.setTestApiWrapperDescription(readString(in));
+        wrapper.setApiParameters(readMap(in));
+        wrapper.setTestApiDefinition(deref(definitions, in.readInt()));
+        wrappers.add(wrapper);
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      List<int[]> refs = dependents.get(i);
+      if (refs == null) {
+        continue;
+      }
+      List<RestelApiDefinition> dependentOn = new ArrayList<>();
+      for (int[] ref : refs) {
+        if (ref[0] != DEFINITION && ref[0] != WRAPPER) {
+          throw new IOException("Unknown definition kind " + ref[0]);
+        }
+        dependentOn.add(ref[0] == WRAPPER ? deref(wrappers, ref[1]) : deref(definitions, ref[1]));
+      }
+      definitions.get(i).setDependentOn(dependentOn);
+    }
+
+    List<RestelSuite> suites = null;
+    int suiteCount = readSize(in);
+    if (suiteCount >= 0) {
+      suites = new ArrayList<>();
+      for (int i = 0; i < suiteCount; i++) {
+        RestelSuite suite = new RestelSuite();
+        suite.setSuiteName(readString(in));
+        suite.setSuiteDescription(readString(in));
+        suite.setSuiteParams(readMap(in));
+        suite.setSuiteEnable(in.readBoolean());
+        suite.setParentSuites(readStrings(in));
+        suites.add(suite);
+      }
+      for (RestelSuite suite : suites) {
+        suite.setDependsOn(readRefs(suites, in));
+      }
+    }
+
+    List<RestelTestScenario> scenarios = null;
+    int scenarioCount = readSize(in);
+    if (scenarioCount >= 0) {
+      scenarios = new ArrayList<>();
+      for (int i = 0; i < scenarioCount; i++) {
+        scenarios.add(readScenario(in));
+      }
+      for (RestelTestScenario scenario : scenarios) {
+        scenario.setDependsOn(readRefs(scenarios, in));
+      }
+    }
+    return new ModelSnapshot(baseConfig, definitions, wrappers, suites, scenarios);
+  }
+
+  private static void writeBaseConfig(BaseConfiguration config, DataOutput out)
+      throws IOException {
+    out.writeBoolean(config != null);
+    if (config != null) {
+      writeString(config.getBaseUrl(), out);
+      writeValue(config.getDefaultHeader(), out);
+    }
+  }
+
+  private static BaseConfiguration readBaseConfig(DataInput in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    return BaseConfiguration.builder().baseUrl(readString(in)).defaultHeader(readMap(in)).build();
+  }
+
+  private static void writeDefinition(RestelTestApiDefinition definition, DataOutput out)
+      throws IOException {
+    writeString(definition.getApiUniqueName(), out);
+    writeString(definition.getApiDescription(), out);
+    writeString(definition.getRequestUrl(), out);
+    writeString(definition.getRequestMethod(), out);
+    writeValue(definition.getRequestHeaders(), out);
+    writeValue(definition.getRequestQueryParams(), out);
+    writeValue(definition.getRequestBodyParams(), out);
+    writeValue(definition.getRequestPreCallHook(), out);
+    writeValue(definition.getRequestPostCallHook(), out);
+    writeValue(definition.getExpectedResponse(), out);
+    writeString(definition.getExpectedResponseMatcher(), out);
+    writeValue(definition.getExpectedHeader(), out);
+    writeString(definition.getExpectedHeaderMatcher(), out);
+    writeValue(definition.getAcceptedStatusCodes(), out);
+    writeValue(definition.getTags(), out);
+    writeValue(definition.getParentTests(), out);
+  }
+
+  private static RestelTestApiDefinition readDefinition(DataInput in) throws IOException {
+    RestelTestApiDefinition definition = new RestelTestApiDefinition();
+    definition.setApiUniqueName(readString(in));
+    definition.setApiDescription(readString(in));
+    definition.setRequestUrl(readString(in));
+    definition.setRequestMethod(readString(in));
+    definition.setRequestHeaders(readMap(in));
+    definition.setRequestQueryParams(readMap(in));
+    definition.setRequestBodyParams(readValue(in));
+    definition.setRequestPreCallHook(readJson(in));
+    definition.setRequestPostCallHook(readJson(in));
+    definition.setExpectedResponse(readValue(in));
+    definition.setExpectedResponseMatcher(readString(in));
+    definition.setExpectedHeader(readMap(in));
+    definition.setExpectedHeaderMatcher(readString(in));
+    definition.setAcceptedStatusCodes(readStrings(in));
+    definition.setTags(cast(readValue(in), Set.class));
+    definition.setParentTests(readStrings(in));
+    return definition;
+  }
+
+  private static void writeScenario(RestelTestScenario scenario, DataOutput out)
+      throws IOException {
+    writeString(scenario.getScenarioName(), out);
+    writeString(scenario.getScenarioDescription(), out);
+    writeValue(scenario.getTestApis(), out);
+    writeString(scenario.getTestSuiteName(), out);
+    writeValue(scenario.getExecutionParams(), out);
+    writeString(scenario.getScenarioData(), out);
+    out.writeBoolean(scenario.isScenarioEnabled());
+    writeValue(scenario.getParentExecutions(), out);
+    writeList(
+        scenario.getAssertions(),
+        assertion -> {
+          writeString(assertion.getName(), out);
+          writeString(assertion.getAssertType().name(), out);
+          writeString(assertion.getActual(), out);
+          writeString(assertion.getExpected(), out);
+          writeString(assertion.getMessage(), out);
+        },
+        out);
+    Map<String, RestelFunction> functions = scenario.getFunctions();
+    writeSize(functions == null ? null : functions.entrySet(), out);
+    if (functions != null) {
+      for (Map.Entry<String, RestelFunction> function : functions.entrySet()) {
+        writeString(function.getKey(), out);
+        writeString(function.getValue().getOperation().name(), out);
+        writeString(function.getValue().getData(), out);
+        writeValue(function.getValue().getArgs(), out);
+      }
+    }
+  }
+
+  private static RestelTestScenario readScenario(DataInput in) throws IOException {
+    RestelTestScenario scenario = new RestelTestScenario();
+    scenario.setScenarioName(readString(in));
+    scenario.setScenarioDescription(readString(in));
+    scenario.setTestApis(readStrings(in));
+    scenario.setTestSuiteName(readString(in));
+    scenario.setExecutionParams(readMap(in));
+    scenario.setScenarioData(readString(in));
+    scenario.setScenarioEnabled(in.readBoolean());
+    scenario.setParentExecutions(readStrings(in));
+    int assertionCount = readSize(in);
+    if (assertionCount >= 0) {
+      List<RestelAssertion> assertions = new ArrayList<>();
+      for (int i = 0; i < assertionCount; i++) {
+        RestelAssertion assertion = new RestelAssertion();
+        assertion.setName(readString(in));
+        assertion.setAssertType(AssertType.valueOf(readString(in)));
+        assertion.setActual(readString(in));
+        assertion.setExpected(readString(in));
+        assertion.setMessage(readString(in));
+        assertions.add(assertion);
+      }
+      scenario.setAssertions(assertions);
+    }
+    int functionCount = readSize(in);
+    if (functionCount >= 0) {
+      Map<String, RestelFunction> functions = new LinkedHashMap<>();
+      for (int i = 0; i < functionCount; i++) {
+        String name = readString(in);
+        RestelFunction function = new RestelFunction();
+        function.setOperation(FunctionOps.valueOf(readString(in)));
+        function.setData(readString(in));
+        function.setArgs(readStrings(in));
+        functions.put(name, function);
+      }
+      scenario.setFunctions(functions);
+    }
+    return scenario;
+  }
+
+  private static void writeValue(Object value, DataOutput out) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString((String) value, out);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INT);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof BigInteger) {
+      out.writeByte(BIG_INTEGER);
+      writeString(value.toString(), out);
+    } else if (value instanceof BigDecimal) {
+      out.writeByte(BIG_DECIMAL);
+      writeString(value.toString(), out);
+    } else if (value instanceof Map) {
+      out.writeByte(MAP);
+      Map<?, ?> map = (Map<?, ?>) value;
+      out.writeInt(map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        writeValue(entry.getKey(), out);
+        writeValue(entry.getValue(), out);
+      }
+    } else if (value instanceof List || value instanceof Set) {
+      out.writeByte(value instanceof List ? LIST : SET);
+      Collection<?> collection = (Collection<?>) value;
+      out.writeInt(collection.size());
+      for (Object element : collection) {
+        writeValue(element, out);
+      }
+    } else if (value instanceof JsonNode) {
+      out.writeByte(JSON);
+      writeString(value.toString(), out);
+    } else {
+      throw new IOException("Unsupported value in the model: " + value.getClass().getName());
+    }
+  }
+
+  private static Object readValue(DataInput in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case BOOLEAN:
+        return in.readBoolean();
+      case INT:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case BIG_INTEGER:
+        return new BigInteger(readString(in));
+      case BIG_DECIMAL:
+        return new BigDecimal(readString(in));
+      case MAP:
+        int entries = checkLength(in.readInt());
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+          map.put(readValue(in), readValue(in));
+        }
+        return map;
+      case LIST:
+      case SET:
+        int elements = checkLength(in.readInt());
+        Collection<Object> collection = type == LIST ? new ArrayList<>() : new LinkedHashSet<>();
+        for (int i = 0; i < elements; i++) {
+          collection.add(readValue(in));
+        }
+        return collection;
+      case JSON:
+        return ObjectMapperUtils.getMapper().readTree(readString(in));
+      default:
+        throw new IOException("Unknown value type " + type);
+    }
+  }
+
+  private static Map<String, Object> readMap(DataInput in) throws IOException {
+    return cast(readValue(in), Map.class);
+  }
+
+  private static List<String> readStrings(DataInput in) throws IOException {
+    return cast(readValue(in), List.class);
+  }
+
+  private static JsonNode readJson(DataInput in) throws IOException {
+    return cast(readValue(in), JsonNode.class);
+  }
+
+  private static <T> T cast(Object value, Class<?> type) throws IOException {
+    if (value != null && !type.isInstance(value)) {
+      throw new IOException("Expected " + type.getSimpleName() + " but read " + value.getClass());
+    }
+    @SuppressWarnings("unchecked")
+    T cast = (T) value;
+    return cast;
+  }
+
+  private static void writeString(String value, DataOutput out) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[checkLength(length)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeSize(Collection<?> collection, DataOutput out) throws IOException {
+    out.writeInt(collection == null ? -1 : collection.size());
+  }
+
+  private static int readSize(DataInput in) throws IOException {
+    int size = in.readInt();
+    return size < 0 ? -1 : checkLength(size);
+  }
+
+  private static int checkLength(int length) throws IOException {
+    if (length < 0 || length > MAX_LENGTH) {
+      throw new IOException("Invalid length " + length);
+    }
+    return length;
+  }
+
+  private static <T> void writeList(List<T> values, ElementWriter<T> writer, DataOutput out)
+      throws IOException {
+    writeSize(values, out);
+    if (values != null) {
+      for (T value : values) {
+        writer.write(value);
+      }
+    }
+  }
+
+  private static <T> List<T> readRefs(List<T> values, DataInput in) throws IOException {
+    int count = readSize(in);
+    if (count < 0) {
+      return null;
+    }
+    List<T> refs = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      refs.add(deref(values, in.readInt()));
+    }
+    return refs;
+  }
+
+  private static void writeDefinitionRef(
+      RestelApiDefinition definition,
+      Map<Object, Integer> definitionIndex,
+      Map<Object, Integer> wrapperIndex,
+      DataOutput out)
+      throws IOException {
+    boolean wrapper = definition instanceof RestelTestApiWrapper;
+    out.writeByte(wrapper ? WRAPPER : DEFINITION);
+    out.writeInt(ref(definition, wrapper ? wrapperIndex : definitionIndex));
+  }
+
+  /* Index of each element, by identity, as the links of the model are to the same instances. */
+  private static Map<Object, Integer> indexOf(List<?> values) {
+    Map<Object, Integer> index = new IdentityHashMap<>();
+    if (values != null) {
+      for (int i = 0; i < values.size(); i++) {
+        index.put(values.get(i), i);
+      }
+    }
+    return index;
+  }
+
+  private static int ref(Object value, Map<Object, Integer> index) throws IOException {
+    if (value == null) {
+      return -1;
+    }
+    Integer ref = index.get(value);
+    if (ref == null) {
+      throw new IOException("The model links to an element outside of its lists: " + value);
+    }
+    return ref;
+  }
+
+  private static <T> T deref(List<T> values, int index) throws IOException {
+    if (index < 0) {
+      return null;
+    }
+    if (values == null || index >= values.size()) {
+      throw new IOException("Invalid reference " + index);
+    }
+    return values.get(index);
+  }
+
+  /* Writes an element, throwing the IOException of the output. */
+  private interface ElementWriter<T> {
+    void write(T value) throws IOException;
+  }
+}
@@ -0,0 +1,179 @@
+package com.techconative.restel.core.snapshot;
+
+import com.techconative.restel.utils.Constants;
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * On-disk store of the {@link ModelSnapshot}s. A snapshot is keyed by the SHA-256 of the workbook
+ * bytes and the Restel build, so that an unchanged workbook loads the model without parsing the
+ * excel again, and any change to the workbook or to Restel invalidates it.
+ *
+ * <p>The store is enabled with the system property {@link Constants#SNAPSHOT_ENABLED_PROPERTY},
+ * and keeps the snapshots in {@link Constants#SNAPSHOT_DIR_PROPERTY}, which defaults to
+ * <code>.restel/snapshots</code> in the home directory of the user. The directory is created
+ * readable by its owner only, and the snapshots are written with the {@link ModelSnapshotCodec},
+ * which reads back nothing but the model.
+ */
+@Slf4j
+public class ModelSnapshotStore {
+
+  /** To be incremented when the model or the {@link ModelSnapshotCodec} changes. */
+  private static final int FORMAT_VERSION = 2;
+
+  private static final String EXTENSION = ".snapshot";
+
+  private final Path directory;
+
+  public ModelSnapshotStore(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Creates the store configured through the system properties.
+   *
+   * @return The {@link ModelSnapshotStore}, empty when the snapshots are disabled.
+   */
+  public static Optional<ModelSnapshotStore> fromProperties() {
+    if (!Boolean.getBoolean(Constants.SNAPSHOT_ENABLED_PROPERTY)) {
+      return Optional.empty();
+    }
+    String directory =
+        System.getProperty(
+            Constants.SNAPSHOT_DIR_PROPERTY,
+            Paths.get(System.getProperty("user.home"), ".restel", "snapshots").toString());
+    return Optional.of(new ModelSnapshotStore(Paths.get(directory)));
+  }
+
+  /**
+   * Computes the key of the snapshot of the given workbook.
+   *
+   * @param workbook The path of the workbook.
+   * @return The hex encoded SHA-256 of the workbook and the Restel build.
+   * @throws IOException When the workbook could not be read.
+   */
+  public String key(Path workbook) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update((FORMAT_VERSION + ":" + getBuildStamp() + ":").getBytes());
+    try (InputStream in = new DigestInputStream(Files.newInputStream(workbook), digest)) {
+      byte[] buffer = new byte[8192];
+      while (in.read(buffer) != -1) {
+        // Only the digest is needed.
+      }
+    }
+    StringBuilder key = new StringBuilder();
+    for (byte b : digest.digest()) {
+      key.append(String.format("%02x", b));
+    }
+    return key.toString();
+  }
+
+  /**
+   * Loads the snapshot with the given key.
+   *
+   * @param key The key of the snapshot.
+   * @return The {@link ModelSnapshot}, empty when there is none or it could not be read.
+   */
+  public Optional<ModelSnapshot> load(String key) {
+    Path file = directory.resolve(key + EXTENSION);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (DataInputStream in =
+        new DataInputStream(
+            new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+      return Optional.of(ModelSnapshotCodec.read(in));
+    } catch (IOException | RuntimeException e) {
+      // A stale or corrupted snapshot, the workbook is parsed again and the snapshot replaced.
+      log.warn("Ignoring the unreadable model snapshot " + file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the snapshot with the given key. Failures are logged, as the snapshot is only an
+   * optimization.
+   *
+   * @param key The key of the snapshot.
+   * @param snapshot The {@link ModelSnapshot} to be stored.
+   */
+  public void store(String key, ModelSnapshot snapshot) {
+    Path file = directory.resolve(key + EXTENSION);
+    Path temp = null;
+    try {
+      createDirectory(directory);
+      temp = Files.createTempFile(directory, key, ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(
+              new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+        ModelSnapshotCodec.write(snapshot, out);
+      }
+      // Concurrent runs either see the complete snapshot or none.
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      log.info("Stored the model snapshot " + file);
+    } catch (IOException e) {
+      log.warn("Failed to store the model snapshot " + file, e);
+      deleteQuietly(temp);
+    }
+  }
+
+  /* Creates the directory readable by its owner only, where the file system supports it. */
+  private static void createDirectory(Path directory) throws IOException {
+    if (Files.isDirectory(directory)) {
+      return;
+    }
+    if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(
+          directory,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    } else {
+      Files.createDirectories(directory);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.debug("Failed to delete " + path, e);
+    }
+  }
+
+  /*
+  Version of Restel, along with the modification time of the jar or class directory, so that
+  development builds with the same version do not share snapshots.
+   */
+  private static String getBuildStamp() {
+    String version =
+        StringUtils.defaultString(
+            ModelSnapshotStore.class.getPackage().getImplementationVersion(), "dev");
+    CodeSource codeSource = ModelSnapshotStore.class.getProtectionDomain().getCodeSource();
+    if (codeSource == null) {
+      return version;
+    }
+    try {
+      return version + "@" + new File(codeSource.getLocation().toURI()).lastModified();
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return version;
+    }
+  }
+}
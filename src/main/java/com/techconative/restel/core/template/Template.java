@@ -0,0 +1,132 @@
+package com.techconative.restel.core.template;
+
+import com.techconative.restel.utils.Utils;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A string compiled into a sequence of literal and <code>${...}</code> variable nodes by the
+ * {@link TemplateCompiler}. Rendering is a linear walk over the nodes, without any regex.
+ */
+public final class Template {
+
+  private final String source;
+
+  private final List<Node> nodes;
+
+  private final boolean constant;
+
+  Template(String source, List<Node> nodes) {
+    this.source = source;
+    this.nodes = nodes;
+    this.constant = nodes.stream().noneMatch(node -> node instanceof VariableNode);
+  }
+
+  /** @return The string from which the template was compiled. */
+  public String getSource() {
+    return source;
+  }
+
+  /** @return true when the template does not contain any variable. */
+  public boolean isConstant() {
+    return constant;
+  }
+
+  /** @return true when the whole template is a single variable, like <code>${name}</code>. */
+  public boolean isSingleVariable() {
+    return nodes.size() == 1 && nodes.get(0) instanceof VariableNode;
+  }
+
+  /**
+   * Gets the variable names referred by the template. Variables whose name is itself built from
+   * other variables are represented by the names of the inner variables.
+   *
+   * @return The names of the variables referred by the template.
+   */
+  public Set<String> getVariableNames() {
+    Set<String> names = new LinkedHashSet<>();
+    for (Node node : nodes) {
+      if (node instanceof VariableNode) {
+        Template name = ((VariableNode) node).name;
+        if (name.isConstant()) {
+          names.add(name.getSource());
+        } else {
+          names.addAll(name.getVariableNames());
+        }
+      }
+    }
+    return names;
+  }
+
+  /**
+   * @return true when the name of a variable is itself built from other variables, like <code>
+   *     ${key${index}}</code>, so that the referred variable is only known when rendered.
+   */
+  public boolean hasComputedVariableNames() {
+    return nodes.stream()
+        .anyMatch(node -> node instanceof VariableNode && !((VariableNode) node).name.isConstant());
+  }
+
+  /**
+   * Renders the template. A template made of a single variable renders to the value of the
+   * variable as is, any other template renders to a string. Unresolved variables render as empty
+   * string.
+   *
+   * @param resolver Resolves the value of a variable by its name.
+   * @return The rendered value.
+   */
+  public Object render(Function<String, Object> resolver) {
+    if (nodes.isEmpty()) {
+      return source;
+    }
+    if (nodes.size() == 1) {
+      Object value = nodes.get(0).evaluate(resolver);
+      return value == null ? "" : value;
+    }
+    StringBuilder sb = new StringBuilder(source.length());
+    for (Node node : nodes) {
+      sb.append(Utils.emptyForNull(node.evaluate(resolver)));
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return source;
+  }
+
+  /** A part of the {@link Template}. */
+  interface Node {
+    Object evaluate(Function<String, Object> resolver);
+  }
+
+  /** Text copied as is. */
+  static final class LiteralNode implements Node {
+    private final String text;
+
+    LiteralNode(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public Object evaluate(Function<String, Object> resolver) {
+      return text;
+    }
+  }
+
+  /** A <code>${...}</code> variable, whose name can contain nested variables. */
+  static final class VariableNode implements Node {
+    private final Template name;
+
+    VariableNode(Template name) {
+      this.name = name;
+    }
+
+    @Override
+    public Object evaluate(Function<String, Object> resolver) {
+      String varName =
+          name.isConstant() ? name.getSource() : Utils.emptyForNull(name.render(resolver));
+      return resolver.apply(varName);
+    }
+  }
+}
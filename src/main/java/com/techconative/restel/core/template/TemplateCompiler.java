@@ -0,0 +1,118 @@
+package com.techconative.restel.core.template;
+
+import com.techconative.restel.utils.Constants;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles strings containing <code>${...}</code> variables into {@link Template}s. The source is
+ * tokenized once, in a single pass, and the compiled templates are cached by their source, so that
+ * the strings of the test definitions are compiled only once for the whole run.
+ *
+ * <p>Variables can be nested, like <code>${key${index}}</code>. A <code>${</code> without the
+ * matching <code>}</code> is kept as literal text.
+ */
+public class TemplateCompiler {
+
+  private static final String VARIABLE_START = "${";
+
+  private static final char VARIABLE_END = '}';
+
+  private static final int MAX_CACHE_SIZE =
+      Integer.getInteger(Constants.TEMPLATE_CACHE_SIZE_PROPERTY, 10000);
+
+  private static final Template EMPTY = new Template("", Collections.emptyList());
+
+  private static final Map<String, Template> CACHE = new ConcurrentHashMap<>();
+
+  private TemplateCompiler() {}
+
+  /**
+   * Compiles the given string.
+   *
+   * @param source The string to be compiled.
+   * @return The compiled {@link Template}.
+   */
+  public static Template compile(String source) {
+    if (source.isEmpty()) {
+      return EMPTY;
+    }
+    if (!source.contains(VARIABLE_START)) {
+      return literal(source);
+    }
+    Template template = CACHE.get(source);
+    if (template == null) {
+      template = parse(source);
+      // Bounded, so that strings built at runtime don't grow the cache indefinitely.
+      if (CACHE.size() < MAX_CACHE_SIZE) {
+        CACHE.putIfAbsent(source, template);
+      }
+    }
+    return template;
+  }
+
+  /**
+   * Checks if the given string contains a <code>${</code> variable start.
+   *
+   * @param source The string to be checked.
+   * @return true when the string could contain variables.
+   */
+  public static boolean hasVariables(String source) {
+    return source != null && source.contains(VARIABLE_START);
+  }
+
+  private static Template literal(String source) {
+    return new Template(source, Collections.singletonList(new Template.LiteralNode(source)));
+  }
+
+  private static Template parse(String source) {
+    List<Template.Node> nodes = new ArrayList<>();
+    int length = source.length();
+    int literalStart = 0;
+    int start = source.indexOf(VARIABLE_START);
+    while (start >= 0) {
+      int end = findVariableEnd(source, start + VARIABLE_START.length());
+      if (end < 0) {
+        // Unclosed variable, the rest is literal text
+        break;
+      }
+      if (start > literalStart) {
+        nodes.add(new Template.LiteralNode(source.substring(literalStart, start)));
+      }
+      nodes.add(
+          new Template.VariableNode(
+              compile(source.substring(start + VARIABLE_START.length(), end))));
+      literalStart = end + 1;
+      start = source.indexOf(VARIABLE_START, literalStart);
+    }
+    if (literalStart < length) {
+      nodes.add(new Template.LiteralNode(source.substring(literalStart)));
+    }
+    return new Template(source, nodes);
+  }
+
+  /**
+   * Finds the <code>}</code> closing the variable, skipping the nested variables.
+   *
+   * @param source The template source.
+   * @param from The index right after the <code>${</code> of the variable.
+   * @return The index of the closing <code>}</code>, -1 when the variable is not closed.
+   */
+  private static int findVariableEnd(String source, int from) {
+    int depth = 1;
+    int length = source.length();
+    for (int i = from; i < length; i++) {
+      char c = source.charAt(i);
+      if (c == '$' && i + 1 < length && source.charAt(i + 1) == '{') {
+        depth++;
+        i++;
+      } else if (c == VARIABLE_END && --depth == 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
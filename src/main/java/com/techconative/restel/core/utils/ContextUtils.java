@@ -1,7 +1,7 @@
 package com.techconative.restel.core.utils;
 
 import com.techconative.restel.core.model.AbstractContext;
-import com.techconative.restel.utils.Constants;
+import com.techconative.restel.core.template.TemplateCompiler;
 import com.techconative.restel.utils.Utils;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -31,11 +31,8 @@ public class ContextUtils {
   // or nisp(https://github.com/ysmood/nisp) or something similar
 
   /**
-   * Replaces the context variables for the given object. <br>
-   * <b>NOTE:</b> If you are passing a stringified version of a JSON, this won't work because of the
-   * mechanism used to parse is not intelligent enough to differentiate between the "}" character in
-   * json and "}" character in the expr. In such cases, please pass convert the json as Map and pass
-   * it
+   * Replaces the context variables for the given object. The string representation of the object
+   * is compiled once by the {@link TemplateCompiler} and rendered against the context.
    *
    * @param additionalContext Additional context to be considered along with the existing context
    *     map.
@@ -52,11 +49,12 @@ public class ContextUtils {
     } else if (object instanceof Collection) {
       return replaceContextVariables(additionalContext, (Collection) object);
     }
+    String source = Utils.stringOrNull(object);
+    if (source == null) {
+      return null;
+    }
     Object value =
-        Utils.findAndApplyOnObject(
-            Utils.stringOrNull(object),
-            Constants.VARIABLE_PATTERN,
-            s -> resolveContextExpr(additionalContext, s));
+        TemplateCompiler.compile(source).render(name -> resolveVariable(additionalContext, name));
     if (value instanceof String) {
       String v = (String) value;
       // TODO: Won't we have other datatypes (say a valid json) coming as string here?
@@ -106,70 +104,22 @@ public class ContextUtils {
   }
 
   /**
-   * Resolve context variable recursively.
+   * Resolves the value of a variable from the context. When the value is itself an expression or
+   * a data-structure containing expressions, they are resolved recursively.
    *
    * @param additionalContext Additional context to be included in resolution.
-   * @param expr The expression containing the variables.
+   * @param variableName The name of the variable.
    * @return The value in the context for the given variable.
    */
-  private static Object resolveContextExpr(AbstractContext additionalContext, String expr) {
-    String varName = Utils.removeBraces(expr);
-
-    // For nested variables, there can be additional characters before and
-    // after it
-
-    // TODO: This will fail when there are "}" other than the expressions
-    // we use, for ex, a json string.
-    if (containsContextVariable(varName)) {
-      // The string contains nested variable. Resolve it recursively
-      return resolveContextExpr(
-          additionalContext,
-          Utils.stringOrNull(
-              Utils.findAndApplyOnString(
-                  varName,
-                  Constants.VARIABLE_PATTERN,
-                  s -> resolveContextExpr(additionalContext, s))));
-    }
-    Object variable = resolveVariableValue(additionalContext, varName);
-    //    Object variable = additionalContext.resolveValue(varName);
-    if (!(variable instanceof String)) {
-      // If not a string, then we have to look out for variables within the returned data-structure.
-      return replaceContextVariables(additionalContext, variable);
-    } else {
-      return resolveVariableResultWithExp(additionalContext, Utils.stringOrNull(variable));
-    }
-  }
-
-  private static boolean containsContextVariable(String varName) {
-    return varName.matches(".*" + Constants.VARIABLE_PATTERN + ".*");
-  }
-
-  /**
-   * if variable value is expression then resolve the expression and get it's appropriate value.
-   *
-   * @param additionalContext Additional context to be included in resolution
-   * @param variable The name of the variable
-   * @return the value return for the variable if it's an expression else return the variable .
-   */
-  private static Object resolveVariableResultWithExp(
-      AbstractContext additionalContext, String variable) {
-    if (variable == null) {
-      return null;
+  private static Object resolveVariable(AbstractContext additionalContext, String variableName) {
+    Object variable = additionalContext.resolveValue(variableName);
+    if (variable instanceof String) {
+      String value = (String) variable;
+      return TemplateCompiler.hasVariables(value)
+          ? TemplateCompiler.compile(value).render(name -> resolveVariable(additionalContext, name))
+          : value;
     }
-    return containsContextVariable(variable)
-        ? resolveContextExpr(additionalContext, variable)
-        : variable;
-  }
-
-  /**
-   * Resolve the value of a variable from the context map.
-   *
-   * @param additionalContext Additional context to be included in resolution.
-   * @param variableName The name of the variable.
-   * @return Value referred from the variable.
-   */
-  private static Object resolveVariableValue(
-      AbstractContext additionalContext, String variableName) {
-    return additionalContext.resolveValue(variableName);
+    // If not a string, then we have to look out for variables within the returned data-structure.
+    return variable == null ? null : replaceContextVariables(additionalContext, variable);
   }
 }
@@ -0,0 +1,201 @@
+package com.techconative.restel.core.watch;
+
+import com.techconative.restel.core.RestelRunner;
+import com.techconative.restel.core.managers.RestelTestManager;
+import com.techconative.restel.core.model.GlobalContext;
+import com.techconative.restel.core.model.RestelApiDefinition;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.scheduler.ScenarioFingerprints;
+import com.techconative.restel.exception.RestelException;
+import com.techconative.restel.utils.Reporter;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watches the workbook, the files its definitions send as <code>@path</code> and the scenario data
+ * files, executing again only the scenarios affected by a change. The affected scenarios are the
+ * ones whose {@link ScenarioFingerprints} changed, which covers their definitions, their suite
+ * params, the files they read and the scenarios they depend on, so that a change to a scenario also
+ * executes its dependents.
+ *
+ * <p>The spring context, and hence the pooled clients and the cached tokens, stay warm across the
+ * runs. The events are gathered for <code>restel.watch.debounceMillis</code> before acting, as
+ * saving a file usually raises several of them.
+ */
+@Slf4j
+@Component
+public class WorkbookWatcher {
+
+  @Autowired private RestelRunner runner;
+
+  @Autowired private RestelTestManager testManager;
+
+  @Value("${app.excelFile}")
+  private String excelFile;
+
+  @Value("${restel.watch.debounceMillis:300}")
+  private long debounceMillis = 300;
+
+  /**
+   * Executes all the scenarios, then executes the affected scenarios again on each change, until
+   * the thread is interrupted.
+   *
+   * @throws RestelException When the files can not be watched.
+   */
+  public void watch() {
+    Path workbook = Paths.get(excelFile).toAbsolutePath().normalize();
+    run(null);
+    Map<String, String> fingerprints = getFingerprints();
+
+    try (WatchService watchService = workbook.getFileSystem().newWatchService()) {
+      Set<Path> directories = new HashSet<>();
+      while (!Thread.currentThread().isInterrupted()) {
+        Set<Path> files = getWatchedFiles(workbook);
+        for (Path file : files) {
+          Path directory = file.getParent();
+          if (directory != null && Files.isDirectory(directory) && directories.add(directory)) {
+            directory.register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+          }
+        }
+        log.info("Watching " + files.size() + " files for changes");
+
+        Set<Path> changed = awaitChanges(watchService, files);
+        if (changed.contains(workbook)) {
+          try {
+            testManager.reload();
+          } catch (RestelException e) {
+            // The fingerprints are kept, so that the next valid change is compared to them
+            log.error("Failed to reload the changed file: " + workbook, e);
+            continue;
+          }
+        }
+        Map<String, String> current = getFingerprints();
+        Set<String> affected = getChangedScenarios(fingerprints, current);
+        fingerprints = current;
+        log.info("Changed " + changed + ", affecting the scenarios " + affected);
+        if (!affected.isEmpty()) {
+          run(scenario -> affected.contains(scenario.getScenarioName()));
+        }
+      }
+    } catch (IOException e) {
+      throw new RestelException(e, "WATCH_ERROR", workbook);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Gets the scenarios whose fingerprint changed, or which did not exist before.
+   *
+   * @param before The fingerprints before the change, keyed by the scenario name.
+   * @param after The fingerprints after the change, keyed by the scenario name.
+   * @return The names of the changed scenarios.
+   */
+  public static Set<String> getChangedScenarios(
+      Map<String, String> before, Map<String, String> after) {
+    Set<String> changed = new TreeSet<>();
+    after.forEach(
+        (name, fingerprint) -> {
+          if (!fingerprint.equals(before.get(name)) || fingerprint.isEmpty()) {
+            changed.add(name);
+          }
+        });
+    return changed;
+  }
+
+  public void setDebounceMillis(long debounceMillis) {
+    this.debounceMillis = debounceMillis;
+  }
+
+  private void run(Predicate<RestelTestScenario> selected) {
+    GlobalContext.getInstance().reset();
+    try {
+      runner.runScheduled(
+          selected,
+          result ->
+              log.info(
+                  result.getStatus()
+                      + " "
+                      + result.getScenarioName()
+                      + " in "
+                      + result.getDurationMillis()
+                      + " ms"));
+    } catch (RuntimeException e) {
+      // A broken workbook must not stop the watch, the next change may fix it
+      log.error("The run failed", e);
+    } finally {
+      Reporter.flushAll();
+    }
+  }
+
+  private Map<String, String> getFingerprints() {
+    ScenarioFingerprints fingerprints =
+        new ScenarioFingerprints(
+            testManager.getBaseConfig(), testManager::getTestMethod, testManager::getTestSuite);
+    Map<String, String> result = new HashMap<>();
+    testManager
+        .getScenarios()
+        .forEach(
+            scenario ->
+                result.put(scenario.getScenarioName(), fingerprints.getFingerprint(scenario)));
+    return result;
+  }
+
+  private Set<Path> getWatchedFiles(Path workbook) {
+    Set<Path> files = new LinkedHashSet<>();
+    files.add(workbook);
+    for (RestelApiDefinition definition : testManager.getTestDefintions()) {
+      ScenarioFingerprints.getReferencedFiles(definition)
+          .forEach(file -> files.add(file.toAbsolutePath().normalize()));
+    }
+    for (RestelTestScenario scenario : testManager.getScenarios()) {
+      if (scenario.getScenarioData() != null) {
+        files.add(Paths.get(scenario.getScenarioData()).toAbsolutePath().normalize());
+      }
+    }
+    return files;
+  }
+
+  /*
+  Waits for a change to any of the watched files, then gathers the further events until none came
+  for the debounce period.
+   */
+  private Set<Path> awaitChanges(WatchService watchService, Set<Path> files)
+      throws InterruptedException {
+    Set<Path> changed = new HashSet<>();
+    while (changed.isEmpty()) {
+      WatchKey key = watchService.take();
+      do {
+        collect(key, files, changed);
+        key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+      } while (key != null);
+    }
+    return changed;
+  }
+
+  private static void collect(WatchKey key, Set<Path> files, Set<Path> changed) {
+    Path directory = (Path) key.watchable();
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        // The events were lost, any of the files may have changed
+        changed.addAll(files);
+      } else {
+        Path file = directory.resolve((Path) event.context()).toAbsolutePath().normalize();
+        if (files.contains(file)) {
+          changed.add(file);
+        }
+      }
+    }
+    key.reset();
+  }
+}
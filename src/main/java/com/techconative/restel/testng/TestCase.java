@@ -3,6 +3,7 @@ package com.techconative.restel.testng;
 import static com.techconative.restel.utils.Utils.toCsv;
 import static org.testng.Assert.assertTrue;
 
+import com.techconative.restel.utils.Reporter;
 import io.qameta.allure.Allure;
 import org.testng.annotations.Parameters;
 import org.testng.annotations.Test;
@@ -29,18 +30,23 @@ public class TestCase {
   @Parameters({"name"})
   @Test
   public void executeTest(String name) {
-    Allure.description(testExecutor.getExecutionGroup().getScenarioDescription());
-    Allure.step(
-        "Start Executing the "
-            .concat(scenarioName)
-            .concat(" - ")
-            .concat(toCsv(testExecutor.getExecutionGroup().getTestApis())));
-    assertTrue(
-        testExecutor.executeTest(), scenarioName + " failed to pass the assertions for " + name);
-    Allure.step(
-        "Done Executing the "
-            .concat(scenarioName)
-            .concat(" - ")
-            .concat(toCsv(testExecutor.getExecutionGroup().getTestApis())));
+    try {
+      Allure.description(testExecutor.getExecutionGroup().getScenarioDescription());
+      Reporter.conveyStep(
+          "Start Executing the "
+              .concat(scenarioName)
+              .concat(" - ")
+              .concat(toCsv(testExecutor.getExecutionGroup().getTestApis())));
+      assertTrue(
+          testExecutor.executeTest(), scenarioName + " failed to pass the assertions for " + name);
+      Reporter.conveyStep(
+          "Done Executing the "
+              .concat(scenarioName)
+              .concat(" - ")
+              .concat(toCsv(testExecutor.getExecutionGroup().getTestApis())));
+    } finally {
+      // The steps of the scenario should be recorded before its test case is written.
+      Reporter.flush();
+    }
   }
 }
@@ -2,6 +2,8 @@ package com.techconative.restel.testng;
 
 import static java.util.stream.Collectors.toList;
 
+import com.techconative.restel.core.data.DataDrivenRunner;
+import com.techconative.restel.core.managers.ApiCallListener;
 import com.techconative.restel.core.managers.RequestManager;
 import com.techconative.restel.core.managers.RestelDefinitionManager;
 import com.techconative.restel.core.managers.RestelTestManager;
@@ -30,20 +32,30 @@ import org.springframework.util.CollectionUtils;
  */
 @Slf4j
 public class TestCaseExecutor {
+
+  /* Separates the scenario name and the row number in the name of the context of a row. */
+  private static final String ROW_SEPARATOR = "#";
+
   @Autowired private RequestManager requestManager;
 
   @Autowired private RestelTestManager testManager;
 
   @Autowired private MatcherFactory matcherFactory;
 
+  @Autowired private DataDrivenRunner dataDrivenRunner;
+
   private List<RestelApiDefinition> testDefinition;
 
+  private RestelSuite testSuite;
+
   private RestelTestScenario testExecutionDefinition;
 
   private String executionName;
 
   private TestContext testContext;
 
+  private ApiCallListener callListener;
+
   public TestCaseExecutor(String executionName) {
     this.executionName = executionName;
     testContext = new TestContext(executionName);
@@ -76,18 +88,26 @@ public class TestCaseExecutor {
             .map((ts) -> testManager.getTestMethod(ts))
             .collect(toList());
 
-    RestelSuite testSuite = testManager.getTestSuite(suiteName);
+    testSuite = testManager.getTestSuite(suiteName);
 
     if (testSuite == null) {
       throw new InvalidConfigException("INVALID_SUITE_NAME", suiteName);
     }
 
     append(testContext, testSuite.getSuiteParams());
-    if (MapUtils.isNotEmpty(testExecutionDefinition.getExecutionParams())
-        && MapUtils.isNotEmpty(testSuite.getSuiteParams())) {
+    validateParams(testExecutionDefinition.getExecutionParams());
+    append(testContext, testExecutionDefinition.getExecutionParams());
+  }
+
+  /**
+   * Validates that the given scenario params do not have the same name as the params of the suite.
+   *
+   * @param params The scenario params.
+   */
+  private void validateParams(Map<String, Object> params) {
+    if (MapUtils.isNotEmpty(params) && MapUtils.isNotEmpty(testSuite.getSuiteParams())) {
       // validate if same param name exists in both test suite and test suite execution
-      testExecutionDefinition
-          .getExecutionParams()
+      params
           .keySet()
           .forEach(
               key -> {
@@ -100,13 +120,21 @@ public class TestCaseExecutor {
                 }
               });
     }
-    append(testContext, testExecutionDefinition.getExecutionParams());
   }
 
   public RestelTestScenario getExecutionGroup() {
     return testExecutionDefinition;
   }
 
+  /**
+   * Sets the listener to be notified of the API calls made by the scenario.
+   *
+   * @param callListener The {@link ApiCallListener}, null for none.
+   */
+  public void setCallListener(ApiCallListener callListener) {
+    this.callListener = callListener;
+  }
+
   /**
    * Appends the second map to the first one if the second one is not null.
    *
@@ -131,8 +159,39 @@ public class TestCaseExecutor {
     //    if (!CollectionUtils.isEmpty(testExecutionDefinition.getAssertions())) {
     //      executeAssertions();
     //    }
+    if (StringUtils.isNotEmpty(testExecutionDefinition.getScenarioData())) {
+      return dataDrivenRunner.run(this).isPassed();
+    }
+    return executeTest(testContext);
+  }
+
+  /**
+   * Make the API calls of the scenario with a row of its scenario data. The row is executed in a
+   * context of its own, with the row values overriding the scenario params, so that the rows can be
+   * executed concurrently.
+   *
+   * @param rowNum The 1 based number of the row.
+   * @param row The params of the row, keyed by their name.
+   * @return true when the test passes. False otherwise
+   */
+  public boolean executeRow(long rowNum, Map<String, Object> row) {
+    validateParams(row);
+    String rowName = executionName + ROW_SEPARATOR + rowNum;
+    TestContext rowContext = new TestContext(rowName);
+    try {
+      append(rowContext, testContext.getContextValues());
+      append(rowContext, row);
+      return executeTest(rowContext);
+    } finally {
+      // The rows are not referred by other scenarios, keeping them would only hold their responses
+      GlobalContext.getInstance().removeValue(rowName);
+    }
+  }
+
+  private boolean executeTest(TestContext context) {
     RestelDefinitionManager manager =
-        new RestelDefinitionManager(testDefinition, requestManager, matcherFactory, testContext);
+        new RestelDefinitionManager(testDefinition, requestManager, matcherFactory, context);
+    manager.setCallListener(callListener);
     return manager.executeTestScenario(
         testExecutionDefinition.getScenarioName(), testExecutionDefinition.getTestSuiteName());
   }
@@ -10,6 +10,52 @@ public class Constants {
   public static final String EXCEL_PATH_SYSTEM_PROPERTY_NAME = "app.excelFile";
   public static final String EXCEL_PATH_ENVIRONMENT_VARIABLE_NAME = "RESTEL_APP_FILE";
 
+  // http client properties
+  public static final String HTTP_CONNECT_TIMEOUT_PROPERTY = "restel.http.connectTimeoutMillis";
+  public static final String HTTP_VERSION_PROPERTY = "restel.http.version";
+  public static final String HTTP_REDIRECT_PROPERTY = "restel.http.redirect";
+  public static final String HTTP_EXECUTOR_THREADS_PROPERTY = "restel.http.executorThreads";
+  public static final String HTTP_POOL_SIZE_PROPERTY = "restel.http.pool.size";
+  public static final String HTTP_POOL_KEEP_ALIVE_PROPERTY = "restel.http.pool.keepAliveSeconds";
+  public static final String JDK_HTTP_POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+  public static final String JDK_HTTP_KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+  public static final String HTTP_LIMIT_MODE_PROPERTY = "restel.http.limit.mode";
+  public static final String HTTP_LIMIT_INITIAL_PROPERTY = "restel.http.limit.initial";
+  public static final String HTTP_LIMIT_MIN_PROPERTY = "restel.http.limit.min";
+  public static final String HTTP_LIMIT_MAX_PROPERTY = "restel.http.limit.max";
+  public static final String HTTP_LIMIT_MAX_QUEUE_PROPERTY = "restel.http.limit.maxQueue";
+  public static final String HTTP_LIMIT_QUEUE_TIMEOUT_PROPERTY =
+      "restel.http.limit.queueTimeoutMillis";
+
+  // oauth properties
+  public static final String OAUTH_REFRESH_SKEW_PROPERTY = "restel.oauth.refreshSkewSeconds";
+  public static final String OAUTH_DEFAULT_TTL_PROPERTY = "restel.oauth.defaultTtlSeconds";
+
+  // snapshot properties
+  public static final String SNAPSHOT_ENABLED_PROPERTY = "restel.snapshot.enabled";
+  public static final String SNAPSHOT_DIR_PROPERTY = "restel.snapshot.dir";
+
+  // schema matcher properties
+  public static final String SCHEMA_VERSION_PROPERTY = "restel.schema.version";
+  public static final String SCHEMA_CACHE_SIZE_PROPERTY = "restel.schema.cacheSize";
+
+  // template properties
+  public static final String TEMPLATE_CACHE_SIZE_PROPERTY = "restel.template.cacheSize";
+
+  // json diff properties
+  public static final String DIFF_MAX_REPORTED_PROPERTY = "restel.diff.maxReported";
+
+  // report properties
+  public static final String REPORT_LEVEL_PROPERTY = "restel.report.level";
+  public static final String REPORT_PREVIEW_CHARS_PROPERTY = "restel.report.previewChars";
+  public static final String REPORT_BODY_DIR_PROPERTY = "restel.report.bodyDir";
+  public static final String REPORT_ASYNC_PROPERTY = "restel.report.async";
+  public static final String REPORT_QUEUE_SIZE_PROPERTY = "restel.report.queueSize";
+  public static final String REPORT_OVERFLOW_PROPERTY = "restel.report.overflow";
+
+  // scenario properties
+  public static final String SCENARIO_CONCURRENT_APIS_PROPERTY = "restel.scenario.concurrentApis";
+
   // Special character
   public static final String OPEN_PARENTHESES = "(";
   public static final String CLOSE_PARENTHESES = ")";
@@ -30,6 +76,7 @@ public class Constants {
   public static final String BEARER = "Bearer";
   public static final String BASIC = "Basic";
   public static final String ACCESS_TOKEN = "access_token";
+  public static final String EXPIRES_IN = "expires_in";
   public static final String WRITE = "write";
   // Parser constants
   // Base Config
@@ -55,6 +102,7 @@ public class Constants {
   public static final String TEST_APIS = "test_apis";
   public static final String SCENARIO_ENABLED = "scenario_enabled";
   public static final String SCENARIO_PARAMS = "scenario_params";
+  public static final String SCENARIO_DATA = "scenario_data";
   public static final String TEST_SCENARIOS = "test_scenarios";
   public static final String TEST_TAG = "test_tag";
   public static final String TEST_ASSERTION = "assertion";
@@ -84,6 +132,8 @@ public class Constants {
   public static final String EXPECTED_HEADER_MATCHER = "expected_header_matcher";
   public static final String ACCEPTED_STATUS_CODES = "accepted_status_codes";
   public static final String TAGS = "tags";
+  public static final String RUN_ONCE_TAG = "run_once";
+  public static final String CACHEABLE_TAG = "cacheable";
   public static final String TEST_API_DEFINITIONS = "test_api_definitions";
 
   // Open API parser
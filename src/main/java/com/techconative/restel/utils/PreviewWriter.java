@@ -0,0 +1,98 @@
+package com.techconative.restel.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writer that keeps the first characters written as a preview, and spills the whole content to a
+ * temporary file once it outgrows the preview. Large contents are streamed to the file rather than
+ * held in memory, to be attached to the report as a whole and then discarded.
+ */
+public class PreviewWriter extends Writer {
+
+  private final int limit;
+
+  private final Path directory;
+
+  private final StringBuilder preview = new StringBuilder();
+
+  private Path file;
+
+  private Writer spill;
+
+  /**
+   * @param limit Number of characters kept in the preview.
+   * @param directory Directory of the temporary file the content is spilled to.
+   */
+  public PreviewWriter(int limit, Path directory) {
+    this.limit = limit;
+    this.directory = directory;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    if (spill == null) {
+      if (preview.length() + len <= limit) {
+        preview.append(cbuf, off, len);
+        return;
+      }
+      Files.createDirectories(directory);
+      file = Files.createTempFile(directory, "restel-body-", ".txt");
+      spill = Files.newBufferedWriter(file);
+      spill.append(preview);
+      preview.append(cbuf, off, limit - preview.length());
+    }
+    spill.write(cbuf, off, len);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (spill != null) {
+      spill.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (spill != null) {
+      spill.close();
+    }
+  }
+
+  /**
+   * Gets the file having the whole content, once it outgrew the preview.
+   *
+   * @return The temporary file, null when the content fits the preview.
+   */
+  public Path getSpill() {
+    return file;
+  }
+
+  /**
+   * Gets the content written, or its preview pointing to where the whole content is.
+   *
+   * @param whole Where the whole content is, once it outgrew the preview.
+   * @return The rendered content.
+   */
+  public String render(String whole) {
+    if (file == null) {
+      return preview.toString();
+    }
+    return preview + System.lineSeparator() + "... truncated, the full content is in " + whole;
+  }
+
+  /** Deletes the temporary file, once its content is attached. */
+  public void discard() {
+    if (file == null) {
+      return;
+    }
+    try {
+      close();
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      file.toFile().deleteOnExit();
+    }
+  }
+}
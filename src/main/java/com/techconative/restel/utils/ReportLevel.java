@@ -0,0 +1,11 @@
+package com.techconative.restel.utils;
+
+/** How much of the requests, responses and comparisons is rendered to the report. */
+public enum ReportLevel {
+  /** Only the steps are reported, without the requests, responses and compared values. */
+  MINIMAL,
+  /** The requests, responses and compared values are reported only for the failures. */
+  ON_FAILURE,
+  /** Everything is reported. */
+  FULL
+}
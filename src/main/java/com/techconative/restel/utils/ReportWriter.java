@@ -0,0 +1,217 @@
+package com.techconative.restel.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the report events on a background thread, so that the Allure file I/O is off the thread
+ * executing the APIs. The events are queued in a bounded queue and written in the order they are
+ * submitted, so the events of a scenario, submitted from its thread, are recorded in order.
+ *
+ * <p>When the queue is full, the submitting thread waits for room with {@link Overflow#BLOCK}, or
+ * the event is dropped with {@link Overflow#DROP}. A writer that is not asynchronous writes the
+ * events on the submitting thread.
+ */
+@Slf4j
+class ReportWriter {
+
+  /** What happens to an event submitted when the queue is full. */
+  enum Overflow {
+    /** The submitting thread waits for room in the queue. */
+    BLOCK,
+    /** The event is dropped. */
+    DROP
+  }
+
+  private final boolean async;
+
+  private final Overflow overflow;
+
+  private final BlockingQueue<Event> queue;
+
+  private final LongAdder dropped = new LongAdder();
+
+  /* Sequence of the last event submitted by the thread, to flush the events of the thread. */
+  private final ThreadLocal<AtomicLong> lastSubmitted = ThreadLocal.withInitial(AtomicLong::new);
+
+  private final Object submitLock = new Object();
+
+  private final Object writtenLock = new Object();
+
+  private long submitted;
+
+  private long written;
+
+  private boolean closed;
+
+  private Thread thread;
+
+  ReportWriter(boolean async, int queueSize, Overflow overflow) {
+    this.async = async;
+    this.overflow = overflow;
+    this.queue = async ? new ArrayBlockingQueue<>(queueSize) : null;
+    if (async) {
+      thread = new Thread(this::drain, "restel-report-writer");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Submits the event to be written.
+   *
+   * @param event The event, writing to the report.
+   */
+  void submit(Runnable event) {
+    submit(event, tracker());
+  }
+
+  /**
+   * Submits the event to be written, on behalf of the thread owning the given tracker, so that
+   * flushing that thread waits for the event as well.
+   *
+   * @param event The event, writing to the report.
+   * @param tracker The {@link #tracker()} of the thread the event is submitted for.
+   */
+  void submit(Runnable event, AtomicLong tracker) {
+    if (!async) {
+      write(event);
+      return;
+    }
+    long sequence = 0;
+    synchronized (submitLock) {
+      if (!closed) {
+        sequence = enqueue(event);
+      }
+    }
+    if (sequence == 0) {
+      // Closed, written after the events already queued for the thread to keep them in order
+      await(tracker.get());
+      write(event);
+    } else if (sequence > 0) {
+      tracker.accumulateAndGet(sequence, Math::max);
+    }
+  }
+
+  /* Queues the event, returning its sequence, or -1 when dropped. Called under the submit lock. */
+  private long enqueue(Runnable event) {
+    // The sequence is assigned along with the enqueue, so that the events are queued in sequence.
+    Event queued = new Event(submitted + 1, event);
+    if (overflow == Overflow.BLOCK) {
+      try {
+        queue.put(queued);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        dropped.increment();
+        return -1;
+      }
+    } else if (!queue.offer(queued)) {
+      dropped.increment();
+      return -1;
+    }
+    submitted = queued.sequence;
+    return submitted;
+  }
+
+  /** @return Tracks the sequence of the last event submitted by the current thread. */
+  AtomicLong tracker() {
+    return lastSubmitted.get();
+  }
+
+  /** Waits until the events submitted by the current thread are written. */
+  void flush() {
+    await(lastSubmitted.get().get());
+  }
+
+  /** Waits until all the events submitted are written. */
+  void flushAll() {
+    await(submitted());
+  }
+
+  /**
+   * Writes the pending events and stops the writer. The events submitted once closing are written
+   * on the submitting thread.
+   */
+  void close() {
+    if (!async) {
+      return;
+    }
+    synchronized (submitLock) {
+      if (closed) {
+        return;
+      }
+      // No event is queued from now on, so the queue is drained by the flush
+      closed = true;
+    }
+    flushAll();
+    thread.interrupt();
+    if (dropped.sum() > 0) {
+      log.warn("Dropped " + dropped.sum() + " report events as the report queue was full");
+    }
+  }
+
+  /** @return Number of events dropped as the queue was full. */
+  long getDropped() {
+    return dropped.sum();
+  }
+
+  private long submitted() {
+    synchronized (submitLock) {
+      return submitted;
+    }
+  }
+
+  private void await(long sequence) {
+    if (!async) {
+      return;
+    }
+    synchronized (writtenLock) {
+      while (written < sequence && thread.isAlive()) {
+        try {
+          writtenLock.wait(100);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void drain() {
+    while (true) {
+      Event event;
+      try {
+        event = queue.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      write(event.action);
+      synchronized (writtenLock) {
+        written = event.sequence;
+        writtenLock.notifyAll();
+      }
+    }
+  }
+
+  private static void write(Runnable event) {
+    try {
+      event.run();
+    } catch (RuntimeException e) {
+      log.warn("Error in writing to Allure reports", e);
+    }
+  }
+
+  private static class Event {
+    private final long sequence;
+
+    private final Runnable action;
+
+    Event(long sequence, Runnable action) {
+      this.sequence = sequence;
+      this.action = action;
+    }
+  }
+}
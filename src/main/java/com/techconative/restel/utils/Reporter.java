@@ -3,45 +3,190 @@ package com.techconative.restel.utils;
 import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Reports the requests, responses and evaluations to Allure, as much as the {@link ReportLevel}
+ * allows. The reported values are rendered through suppliers, only when the level and the outcome
+ * need them.
+ *
+ * <p>The level is configured through the system property {@link
+ * Constants#REPORT_LEVEL_PROPERTY}, {@link ReportLevel#FULL} by default. The attachments longer
+ * than {@link Constants#REPORT_PREVIEW_CHARS_PROPERTY} characters are truncated to a preview, with
+ * the full content in a second attachment of the report. The full content is rendered to a
+ * temporary file in {@link Constants#REPORT_BODY_DIR_PROPERTY}, the temp directory by default,
+ * deleted once attached. An invalid level or overflow policy is logged and the default used.
+ *
+ * <p>The steps and attachments are written to Allure by a background {@link ReportWriter}, off the
+ * thread executing the APIs, unless {@link Constants#REPORT_ASYNC_PROPERTY} is false. The writer
+ * queues up to {@link Constants#REPORT_QUEUE_SIZE_PROPERTY} events, and when full blocks the
+ * submitting thread or drops the event, as per {@link Constants#REPORT_OVERFLOW_PROPERTY}. The
+ * events are recorded under the step or test case current on the submitting thread, in the order
+ * they are submitted. The events reported from other threads, like the callbacks of asynchronous
+ * API calls, are recorded in the {@link Context} captured from the thread that made the call.
+ */
 @Slf4j
 public class Reporter {
+
+  private static volatile ReportLevel level =
+      parseEnum(Constants.REPORT_LEVEL_PROPERTY, ReportLevel.FULL);
+
+  private static final int PREVIEW_CHARS =
+      Integer.getInteger(Constants.REPORT_PREVIEW_CHARS_PROPERTY, 64 * 1024);
+
+  private static final Path BODY_DIR =
+      Paths.get(
+          System.getProperty(
+              Constants.REPORT_BODY_DIR_PROPERTY, System.getProperty("java.io.tmpdir")));
+
+  private static final ReportWriter WRITER =
+      new ReportWriter(
+          Boolean.parseBoolean(System.getProperty(Constants.REPORT_ASYNC_PROPERTY, "true")),
+          Integer.getInteger(Constants.REPORT_QUEUE_SIZE_PROPERTY, 10_000),
+          parseEnum(Constants.REPORT_OVERFLOW_PROPERTY, ReportWriter.Overflow.BLOCK));
+
+  private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
   private Reporter() {}
 
+  public static ReportLevel getLevel() {
+    return level;
+  }
+
+  public static void setLevel(ReportLevel reportLevel) {
+    level = reportLevel;
+  }
+
+  /**
+   * Waits until the events reported by the current thread are written, to be called before its
+   * test case is completed.
+   */
+  public static void flush() {
+    WRITER.flush();
+  }
+
+  /**
+   * Waits until the events reported by all the threads are written, keeping the writer running for
+   * the later runs.
+   */
+  public static void flushAll() {
+    WRITER.flushAll();
+  }
+
+  /** Writes the pending events of all the threads, to be called at the end of the suite. */
+  public static void close() {
+    WRITER.close();
+  }
+
+  /**
+   * Captures where the current thread reports, so that another thread can report to the same step
+   * or test case.
+   *
+   * @return The {@link Context} of the current thread.
+   */
+  public static Context currentContext() {
+    Context context = CONTEXT.get();
+    if (context != null) {
+      return context;
+    }
+    AllureLifecycle lifecycle = Allure.getLifecycle();
+    Optional<String> parent = lifecycle.getCurrentTestCaseOrStep();
+    return new Context(
+        parent.orElse(null), parent.equals(lifecycle.getCurrentTestCase()), WRITER.tracker());
+  }
+
   public static void attachRequest(RESTRequest restRequest) {
-    Allure.addAttachment(
-        "Request-Endpoint: ".concat(restRequest.getEndpoint()), restRequest.toString());
+    if (level == ReportLevel.FULL) {
+      attach("Request-Endpoint: ".concat(restRequest.getEndpoint()), toReport(restRequest));
+    }
   }
 
   public static void attachResponse(String endpoint, RESTResponse response) {
-    Allure.addAttachment("Response-Endpoint: ".concat(endpoint), response.toString());
+    if (level == ReportLevel.FULL) {
+      attach("Response-Endpoint: ".concat(endpoint), toReport(response));
+    }
+  }
+
+  /**
+   * Attaches the request and the response of a failed API, when they have not been attached
+   * already.
+   *
+   * @param restRequest The request of the API.
+   * @param response The response of the API, null when the call failed.
+   */
+  public static void attachFailure(RESTRequest restRequest, RESTResponse response) {
+    if (level != ReportLevel.ON_FAILURE) {
+      return;
+    }
+    attach("Request-Endpoint: ".concat(restRequest.getEndpoint()), toReport(restRequest));
+    if (response != null) {
+      attach("Response-Endpoint: ".concat(restRequest.getEndpoint()), toReport(response));
+    }
+  }
+
+  /**
+   * Reports a step, in order with the other events of the current thread.
+   *
+   * @param name The name of the step.
+   */
+  public static void conveyStep(String name) {
+    step(name);
   }
 
   public static void conveyCall(
       HttpRequest httpReq, HttpResponse<String> response, Object requestBody) {
-    try {
-      Allure.step(
-          "Request call for API: "
-              + httpReq.uri()
-              + " for method: "
-              + httpReq.method()
-              + " has status code: "
-              + response.statusCode());
-      Allure.step("Request Body: " + ObjectMapperUtils.getMapper().writeValueAsString(requestBody));
-    } catch (Exception ex) {
-      log.warn("Error in writing to Allure reports");
+    step(
+        "Request call for API: "
+            + httpReq.uri()
+            + " for method: "
+            + httpReq.method()
+            + " has status code: "
+            + response.statusCode());
+    if (level == ReportLevel.FULL) {
+      step(() -> "Request Body: " + abbreviate(toJson(requestBody)), Status.PASSED);
     }
   }
 
+  /**
+   * Reports the evaluation of a matcher, with the compared values rendered only when the level
+   * and the outcome need them.
+   *
+   * @param matcher The name of the matcher.
+   * @param actual Renders the actual value.
+   * @param expected Renders the expected value.
+   * @param comparison The comparison, failing with an {@link AssertionError} on mismatch.
+   */
+  public static void conveyComparison(
+      String matcher, Supplier<String> actual, Supplier<String> expected, Runnable comparison) {
+    convey("Evaluating with " + matcher + "::", actual, expected, comparison);
+  }
+
   public static void conveyAssertion(String name, Object actual) {
-    Allure.step("Evaluating with Assertion::" + name + "  with  Actual :- " + actual);
+    step("Evaluating with Assertion::" + name + "  with  Actual :- " + actual);
   }
 
   public static void conveyAssertion(String name, Object actual, Object expect) {
-    Allure.step(
+    step(
         "Evaluating with Assertion::"
             + name
             + "  with  Actual :- "
@@ -50,7 +195,216 @@ public class Reporter {
             + expect);
   }
 
+  /**
+   * Reports the evaluation of an assertion, with the compared values rendered only when the level
+   * and the outcome need them.
+   *
+   * @param name The name of the assertion.
+   * @param actual Renders the actual value.
+   * @param expect Renders the expected value.
+   * @param assertion The assertion, failing with an {@link AssertionError}.
+   */
+  public static void conveyAssertion(
+      String name, Supplier<String> actual, Supplier<String> expect, Runnable assertion) {
+    convey("Evaluating with Assertion::" + name + " with", actual, expect, assertion);
+  }
+
   public static void conveyAssertionDone(String name) {
-    Allure.step(" Done evaluating with Assertion::" + name);
+    step(" Done evaluating with Assertion::" + name);
+  }
+
+  private static void convey(
+      String step, Supplier<String> actual, Supplier<String> expected, Runnable evaluation) {
+    if (level == ReportLevel.FULL) {
+      step(() -> details(step, actual, expected), Status.PASSED);
+      evaluation.run();
+      return;
+    }
+    try {
+      evaluation.run();
+    } catch (AssertionError | RuntimeException e) {
+      if (level == ReportLevel.ON_FAILURE) {
+        step(() -> details(step, actual, expected), Status.FAILED);
+      } else {
+        step(() -> step, Status.FAILED);
+      }
+      throw e;
+    }
+    step(step);
+  }
+
+  private static String details(String step, Supplier<String> actual, Supplier<String> expected) {
+    return step
+        + " Actual :- "
+        + abbreviate(actual.get())
+        + " Expected :- "
+        + abbreviate(expected.get());
+  }
+
+  private static String abbreviate(String value) {
+    return StringUtils.abbreviate(value, PREVIEW_CHARS);
+  }
+
+  private static void step(String name) {
+    step(() -> name, Status.PASSED);
+  }
+
+  /*
+  Records a step under the step or test case current on this thread, with the name rendered by the
+  writer.
+   */
+  private static void step(Supplier<String> name, Status status) {
+    Context context = currentContext();
+    if (context.parent == null) {
+      return;
+    }
+    AllureLifecycle lifecycle = Allure.getLifecycle();
+    long start = System.currentTimeMillis();
+    WRITER.submit(
+        () -> {
+          String uuid = UUID.randomUUID().toString();
+          lifecycle.startStep(
+              context.parent,
+              uuid,
+              new StepResult().setName(name.get()).setStatus(status).setStart(start));
+          lifecycle.stopStep(uuid);
+        },
+        context.tracker);
+  }
+
+  /*
+  Records an attachment under the step or test case current on this thread. The content is
+  rendered by the writer as json, streamed through a preview so that large bodies are attached as
+  a whole in a second attachment, next to the other results, rather than held in memory.
+   */
+  private static void attach(String name, Object content) {
+    Context context = currentContext();
+    if (context.parent == null) {
+      return;
+    }
+    AllureLifecycle lifecycle = Allure.getLifecycle();
+    WRITER.submit(
+        () -> {
+          String wholeName = name + " (full)";
+          PreviewWriter writer = new PreviewWriter(PREVIEW_CHARS, BODY_DIR);
+          try {
+            String preview = render(name, content, writer, "the attachment " + wholeName);
+            addAttachment(
+                lifecycle,
+                context,
+                name,
+                new ByteArrayInputStream(preview.getBytes(StandardCharsets.UTF_8)));
+            if (writer.getSpill() != null) {
+              addAttachment(lifecycle, context, wholeName, Files.newInputStream(writer.getSpill()));
+            }
+          } catch (IOException e) {
+            log.warn("Failed to attach the whole content of " + name, e);
+          } finally {
+            writer.discard();
+          }
+        },
+        context.tracker);
+  }
+
+  private static void addAttachment(
+      AllureLifecycle lifecycle, Context context, String name, InputStream content)
+      throws IOException {
+    String source = UUID.randomUUID().toString() + "-attachment.txt";
+    Attachment attachment = new Attachment().setName(name).setType("text/plain").setSource(source);
+    try (content) {
+      lifecycle.writeAttachment(source, content);
+    }
+    if (context.onTestCase) {
+      lifecycle.updateTestCase(context.parent, test -> test.getAttachments().add(attachment));
+    } else {
+      lifecycle.updateStep(context.parent, step -> step.getAttachments().add(attachment));
+    }
+  }
+
+  private static String render(String name, Object content, PreviewWriter writer, String whole) {
+    try (writer) {
+      ObjectMapperUtils.getMapper().writerWithDefaultPrettyPrinter().writeValue(writer, content);
+    } catch (IOException e) {
+      log.warn("Failed to render the attachment " + name, e);
+      return writer.render(whole) + System.lineSeparator() + "... truncated";
+    }
+    return writer.render(whole);
+  }
+
+  /* Parses the enum of the property, falling back to the default rather than failing the class. */
+  private static <E extends Enum<E>> E parseEnum(String property, E defaultValue) {
+    String value = System.getProperty(property);
+    if (StringUtils.isBlank(value)) {
+      return defaultValue;
+    }
+    try {
+      return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid value {} of {}, using {}", value, property, defaultValue);
+      return defaultValue;
+    }
+  }
+
+  private static String toJson(Object content) {
+    try {
+      return ObjectMapperUtils.getMapper().writeValueAsString(content);
+    } catch (IOException e) {
+      return String.valueOf(content);
+    }
+  }
+
+  private static Map<String, Object> toReport(RESTRequest restRequest) {
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("method", restRequest.getMethod());
+    report.put("endpoint", restRequest.getEndpoint());
+    report.put("headers", restRequest.getHeaders());
+    report.put("requestParams", restRequest.getRequestParams());
+    report.put("requestBody", restRequest.getRequestBody());
+    return report;
+  }
+
+  private static Map<String, Object> toReport(RESTResponse response) {
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("status", response.getStatus());
+    report.put("headers", response.getHeaders());
+    report.put("body", response.getResponse() == null ? null : response.getResponse().getBody());
+    return report;
+  }
+
+  /**
+   * Where the events are reported: the step or test case they are recorded under, and the thread
+   * whose {@link #flush()} waits for them.
+   */
+  public static final class Context {
+    private final String parent;
+
+    private final boolean onTestCase;
+
+    private final AtomicLong tracker;
+
+    private Context(String parent, boolean onTestCase, AtomicLong tracker) {
+      this.parent = parent;
+      this.onTestCase = onTestCase;
+      this.tracker = tracker;
+    }
+
+    /**
+     * Runs the given action, with the events it reports recorded in this context.
+     *
+     * @param action The action reporting the events.
+     */
+    public void run(Runnable action) {
+      Context previous = CONTEXT.get();
+      CONTEXT.set(this);
+      try {
+        action.run();
+      } finally {
+        if (previous == null) {
+          CONTEXT.remove();
+        } else {
+          CONTEXT.set(previous);
+        }
+      }
+    }
   }
 }
@@ -78,6 +78,7 @@ public class RestelUtils {
     if (testDefinition.getAcceptedStatusCodes() != null) {
       testMethod.setAcceptedStatusCodes(testDefinition.getAcceptedStatusCodes());
     }
+    testMethod.setTags(testDefinition.getTags());
     return testMethod;
   }
 
@@ -138,6 +139,7 @@ public class RestelUtils {
     restelExecutionGroup.setScenarioEnabled(enable);
     restelExecutionGroup.setTestSuiteName(scenarios.getTestSuite());
     restelExecutionGroup.setExecutionParams(params);
+    restelExecutionGroup.setScenarioData(StringUtils.trimToNull(scenarios.getScenarioData()));
     if (StringUtils.isNotBlank(scenarios.getFunction())) {
       restelExecutionGroup.setFunctions(
           convertFunctions(scenarios.getScenarioUniqueName(), scenarios.getFunction()));
@@ -0,0 +1,208 @@
+package restel.core.daemon;
+
+import com.techconative.restel.core.RestelRunner;
+import com.techconative.restel.core.daemon.RestelDaemon;
+import com.techconative.restel.core.managers.RestelTestManager;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.scheduler.ScenarioResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RestelDaemonTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @InjectMocks private RestelDaemon daemon;
+
+  @Mock private RestelRunner runner;
+
+  @Mock private RestelTestManager testManager;
+
+  private Path file;
+
+  private InetSocketAddress address;
+
+  @Before
+  public void start() throws IOException {
+    file = folder.newFile("tests.xlsx").toPath();
+    Files.writeString(file, "workbook");
+    daemon.setExcelFile(file.toString());
+    daemon.setTokenFile(folder.getRoot().toPath().resolve("daemon/token").toString());
+    daemon.setPort(0);
+    address = daemon.start();
+  }
+
+  @After
+  public void stop() {
+    daemon.stop();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRunStreamsResults() throws Exception {
+    Mockito.doReturn(new RestelSuite()).when(testManager).getTestSuite("users");
+    Mockito.doAnswer(
+            invocation -> {
+              Consumer<ScenarioResult> listener = invocation.getArgument(1);
+              listener.accept(
+                  ScenarioResult.builder()
+                      .scenarioName("get_user")
+                      .suiteName("users")
+                      .status(ScenarioResult.Status.PASSED)
+                      .durationMillis(5)
+                      .build());
+              return true;
+            })
+        .when(runner)
+        .runScheduled(Mockito.any(), Mockito.any());
+
+    HttpResponse<String> response = post("/run?suite=users");
+
+    Assert.assertEquals(200, response.statusCode());
+    String[] lines = response.body().split("\n");
+    Assert.assertEquals(2, lines.length);
+    Assert.assertTrue(lines[0].contains("\"scenarioName\":\"get_user\""));
+    Assert.assertTrue(lines[1].contains("\"passed\":true"));
+
+    ArgumentCaptor<Predicate<RestelTestScenario>> selected =
+        ArgumentCaptor.forClass(Predicate.class);
+    Mockito.verify(runner).runScheduled(selected.capture(), Mockito.any());
+    RestelTestScenario scenario = new RestelTestScenario();
+    scenario.setTestSuiteName("users");
+    Assert.assertTrue(selected.getValue().test(scenario));
+    scenario.setTestSuiteName("orders");
+    Assert.assertFalse(selected.getValue().test(scenario));
+    Mockito.verify(testManager, Mockito.never()).reload();
+  }
+
+  @Test
+  public void testUnknownSuiteRejected() throws Exception {
+    HttpResponse<String> response = post("/run?suite=unknown");
+
+    Assert.assertEquals(400, response.statusCode());
+    Mockito.verify(runner, Mockito.never()).runScheduled(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testChangedFileReloaded() throws Exception {
+    Files.writeString(file, "changed workbook");
+
+    Assert.assertEquals(200, post("/run").statusCode());
+    Assert.assertEquals(200, post("/run").statusCode());
+
+    Mockito.verify(testManager, Mockito.times(1)).reload();
+    Mockito.verify(runner, Mockito.times(2)).runScheduled(Mockito.isNull(), Mockito.any());
+  }
+
+  @Test
+  public void testTokenRequired() throws Exception {
+    Assert.assertEquals(401, post("/run", "invalid").statusCode());
+    Assert.assertEquals(401, send(HttpRequest.newBuilder(uri("/shutdown"))).statusCode());
+
+    Mockito.verify(runner, Mockito.never()).runScheduled(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testTokenFileOwnerOnly() throws Exception {
+    Path token = folder.getRoot().toPath().resolve("daemon/token");
+    Assert.assertTrue(Files.isRegularFile(token));
+    Assume.assumeTrue(token.getFileSystem().supportedFileAttributeViews().contains("posix"));
+    Assert.assertEquals(
+        "rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(token)));
+
+    daemon.stop();
+    Assert.assertFalse(Files.exists(token));
+  }
+
+  @Test
+  public void testBrowserRequestRejected() throws Exception {
+    HttpResponse<String> response =
+        send(
+            HttpRequest.newBuilder(uri("/run"))
+                .header(RestelDaemon.TOKEN_HEADER, token())
+                .header("Origin", "http://example.com"));
+
+    Assert.assertEquals(403, response.statusCode());
+    Mockito.verify(runner, Mockito.never()).runScheduled(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testReboundHostRejected() throws Exception {
+    try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+      OutputStream out = socket.getOutputStream();
+      out.write(
+          ("POST /run HTTP/1.1\r\n"
+                  + "Host: attacker.example.com:"
+                  + address.getPort()
+                  + "\r\n"
+                  + RestelDaemon.TOKEN_HEADER
+                  + ": "
+                  + token()
+                  + "\r\nContent-Length: 0\r\nConnection: close\r\n\r\n")
+              .getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+      InputStream in = socket.getInputStream();
+      String response = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+      Assert.assertTrue(response, response.startsWith("HTTP/1.1 403"));
+    }
+    Mockito.verify(runner, Mockito.never()).runScheduled(Mockito.any(), Mockito.any());
+  }
+
+  private HttpResponse<String> post(String path) throws Exception {
+    return post(path, token());
+  }
+
+  private HttpResponse<String> post(String path, String token) throws Exception {
+    return send(HttpRequest.newBuilder(uri(path)).header(RestelDaemon.TOKEN_HEADER, token));
+  }
+
+  private String token() throws IOException {
+    return Files.readString(folder.getRoot().toPath().resolve("daemon/token"));
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+    return HttpClient.newHttpClient()
+        .send(
+            request.POST(HttpRequest.BodyPublishers.noBody()).build(),
+            HttpResponse.BodyHandlers.ofString());
+  }
+
+  private URI uri(String path) {
+    // The daemon listens on the loopback interface, which localhost may not resolve to
+    String host = address.getAddress().getHostAddress();
+    return URI.create(
+        "http://"
+            + (host.contains(":") ? "[" + host + "]" : host)
+            + ":"
+            + address.getPort()
+            + path);
+  }
+}
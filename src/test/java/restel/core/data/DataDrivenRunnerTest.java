@@ -0,0 +1,130 @@
+package restel.core.data;
+
+import com.techconative.restel.core.data.DataDrivenRunner;
+import com.techconative.restel.core.data.DataRunReport;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataDrivenRunnerTest {
+
+  @Test
+  public void testRowsAggregated() {
+    DataDrivenRunner runner = new DataDrivenRunner();
+    runner.setMaxConcurrency(4);
+    runner.setMaxReportedFailures(2);
+    Set<Object> executed = ConcurrentHashMap.newKeySet();
+
+    DataRunReport report =
+        runner.run(
+            "users",
+            new CountingRows(10, new AtomicInteger()),
+            (rowNum, params) -> {
+              executed.add(params.get("id"));
+              if ((Integer) params.get("id") % 3 == 0) {
+                throw new IllegalStateException("row " + rowNum);
+              }
+              return (Integer) params.get("id") != 10;
+            });
+
+    Assert.assertEquals(10, executed.size());
+    Assert.assertEquals(6, report.getPassed());
+    Assert.assertEquals(4, report.getFailed());
+    Assert.assertFalse(report.isPassed());
+    // Only the first failing rows are kept
+    Assert.assertEquals(Set.of(3L, 6L), report.getFailures().keySet());
+    Assert.assertTrue(report.getFailures().get(3L).contains("row 3"));
+  }
+
+  @Test
+  public void testRowsReadAsExecuted() {
+    DataDrivenRunner runner = new DataDrivenRunner();
+    runner.setMaxConcurrency(3);
+    AtomicInteger read = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+
+    DataRunReport report =
+        runner.run(
+            "users",
+            new CountingRows(50, read),
+            (rowNum, params) -> {
+              // The rows read but not completed never exceed the concurrency
+              maxInFlight.accumulateAndGet(read.get() - completed.get(), Math::max);
+              Thread.sleep(2);
+              completed.incrementAndGet();
+              return true;
+            });
+
+    Assert.assertTrue(report.isPassed());
+    Assert.assertEquals(50, report.getPassed());
+    Assert.assertEquals(50, read.get());
+    Assert.assertTrue("In flight " + maxInFlight.get(), maxInFlight.get() <= 3);
+  }
+
+  @Test
+  public void testUnreadableRowAwaitsRowsInFlight() {
+    DataDrivenRunner runner = new DataDrivenRunner();
+    runner.setMaxConcurrency(4);
+    AtomicInteger completed = new AtomicInteger();
+    Iterator<Map<String, Object>> rows =
+        new CountingRows(10, new AtomicInteger()) {
+          @Override
+          public Map<String, Object> next() {
+            Map<String, Object> next = super.next();
+            if ((Integer) next.get("id") == 4) {
+              throw new IllegalStateException("Unreadable row");
+            }
+            return next;
+          }
+        };
+
+    DataRunReport report =
+        runner.run(
+            "users",
+            rows,
+            (rowNum, params) -> {
+              Thread.sleep(20);
+              completed.incrementAndGet();
+              return true;
+            });
+
+    // The rows read before the unreadable one completed before the report
+    Assert.assertEquals(3, completed.get());
+    Assert.assertEquals(3, report.getPassed());
+    Assert.assertEquals(1, report.getFailed());
+    Assert.assertTrue(report.getFailures().get(4L).contains("Unreadable row"));
+    Assert.assertFalse(report.isComplete());
+    Assert.assertFalse(report.isPassed());
+  }
+
+  /* Rows generated on demand, counting the rows read. */
+  private static class CountingRows implements Iterator<Map<String, Object>> {
+    private final int count;
+
+    private final AtomicInteger read;
+
+    CountingRows(int count, AtomicInteger read) {
+      this.count = count;
+      this.read = read;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return read.get() < count;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return Map.of("id", read.incrementAndGet());
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package restel.core.data;
+
+import com.techconative.restel.core.data.DataRows;
+import com.techconative.restel.exception.RestelException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DataRowsTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testCsvRows() throws IOException {
+    Path file =
+        write(
+            "users.csv",
+            "id, name ,note\n"
+                + "1,Adam,plain\n"
+                + "\n"
+                + "2,\"Sam, Jr\",\"says \"\"hi\"\"\"\n"
+                + "3,,\"two\nlines\"\n");
+
+    List<Map<String, Object>> rows = readAll(file);
+
+    Assert.assertEquals(3, rows.size());
+    Assert.assertEquals(Map.of("id", "1", "name", "Adam", "note", "plain"), rows.get(0));
+    Assert.assertEquals(Map.of("id", "2", "name", "Sam, Jr", "note", "says \"hi\""), rows.get(1));
+    // The empty value is left to the scenario params
+    Assert.assertEquals(Map.of("id", "3", "note", "two\nlines"), rows.get(2));
+  }
+
+  @Test
+  public void testJsonlRows() throws IOException {
+    Path file = write("users.jsonl", "{\"id\": 1, \"tags\": [\"a\"]}\n\n{\"id\": 2}\n");
+
+    List<Map<String, Object>> rows = readAll(file);
+
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals(1, rows.get(0).get("id"));
+    Assert.assertEquals(List.of("a"), rows.get(0).get("tags"));
+    Assert.assertEquals(Map.of("id", 2), rows.get(1));
+  }
+
+  @Test(expected = RestelException.class)
+  public void testRowsReadLazily() throws IOException {
+    Path file = write("users.jsonl", "{\"id\": 1}\nnot json\n");
+
+    try (DataRows rows = DataRows.open(file)) {
+      // The invalid row is only read once asked for
+      Assert.assertEquals(Map.of("id", 1), rows.next());
+      rows.hasNext();
+    }
+  }
+
+  @Test(expected = RestelException.class)
+  public void testTooManyCsvValues() throws IOException {
+    Path file = write("users.csv", "id\n1,2\n");
+
+    try (DataRows rows = DataRows.open(file)) {
+      rows.next();
+    }
+  }
+
+  @Test(expected = RestelException.class)
+  public void testUnsupportedFile() throws IOException {
+    DataRows.open(write("users.xml", "<users/>"));
+  }
+
+  private Path write(String name, String content) throws IOException {
+    Path file = folder.getRoot().toPath().resolve(name);
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static List<Map<String, Object>> readAll(Path file) {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    try (DataRows dataRows = DataRows.open(file)) {
+      dataRows.forEachRemaining(rows::add);
+    }
+    return rows;
+  }
+}
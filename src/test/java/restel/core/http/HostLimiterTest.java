@@ -0,0 +1,117 @@
+package restel.core.http;
+
+import com.techconative.restel.core.http.HostLimiter;
+import com.techconative.restel.core.http.LimiterSettings;
+import com.techconative.restel.exception.RestelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HostLimiterTest {
+
+  private static final String HOST = "http://localhost:8080";
+
+  @Test
+  public void testStaticLimit() throws Exception {
+    HostLimiter limiter = new HostLimiter(HOST, settings(HostLimiter.Mode.STATIC, 2));
+    HostLimiter.Permit first = limiter.acquire();
+    limiter.acquire();
+
+    CompletableFuture<HostLimiter.Permit> third = limiter.acquireAsync();
+    Assert.assertFalse(third.isDone());
+    Assert.assertEquals(2, limiter.getInFlight());
+    Assert.assertEquals(1, limiter.getQueueDepth());
+
+    first.release(false);
+
+    Assert.assertTrue(third.isDone());
+    Assert.assertEquals(2, limiter.getInFlight());
+    Assert.assertEquals(0, limiter.getQueueDepth());
+    Assert.assertEquals(2, limiter.getLimit());
+  }
+
+  @Test
+  public void testRejectedWhenQueueFull() throws Exception {
+    HostLimiter limiter =
+        new HostLimiter(HOST, settings(HostLimiter.Mode.STATIC, 1).toBuilder().maxQueue(0).build());
+    limiter.acquire();
+
+    try {
+      limiter.acquire();
+      Assert.fail("The request beyond the queue should be rejected");
+    } catch (RestelException e) {
+      Assert.assertEquals(1, limiter.getRejections());
+    }
+  }
+
+  @Test
+  public void testRejectedWhenWaitedTooLong() throws Exception {
+    HostLimiter limiter =
+        new HostLimiter(
+            HOST, settings(HostLimiter.Mode.STATIC, 1).toBuilder().queueTimeoutMillis(20).build());
+    HostLimiter.Permit permit = limiter.acquire();
+
+    try {
+      limiter.acquireAsync().join();
+      Assert.fail("The request waiting beyond the timeout should be rejected");
+    } catch (CompletionException e) {
+      Assert.assertTrue(e.getCause() instanceof RestelException);
+    }
+    Assert.assertEquals(1, limiter.getRejections());
+    Assert.assertEquals(0, limiter.getQueueDepth());
+
+    // The permit is not handed to the rejected request
+    permit.release(false);
+    Assert.assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  public void testAimd() throws Exception {
+    HostLimiter limiter = new HostLimiter(HOST, settings(HostLimiter.Mode.AIMD, 10));
+    List<HostLimiter.Permit> permits = acquire(limiter, 10);
+
+    permits.get(0).release(false);
+    Assert.assertEquals(11, limiter.getLimit());
+
+    permits.get(1).release(true);
+    Assert.assertEquals(9, limiter.getLimit());
+  }
+
+  @Test
+  public void testGradient() throws Exception {
+    HostLimiter limiter = new HostLimiter(HOST, settings(HostLimiter.Mode.GRADIENT, 10));
+
+    // Steady latencies, the limit grows
+    for (int i = 0; i < 5; i++) {
+      acquire(limiter, limiter.getLimit()).forEach(permit -> permit.release(false));
+    }
+    int grown = limiter.getLimit();
+    Assert.assertTrue("Limit " + grown, grown > 10);
+
+    // The latency blows up, the limit shrinks
+    List<HostLimiter.Permit> slow = acquire(limiter, grown);
+    Thread.sleep(50);
+    slow.forEach(permit -> permit.release(false));
+    Assert.assertTrue("Limit " + limiter.getLimit(), limiter.getLimit() < grown);
+  }
+
+  private static List<HostLimiter.Permit> acquire(HostLimiter limiter, int count)
+      throws InterruptedException {
+    List<HostLimiter.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      permits.add(limiter.acquire());
+    }
+    return permits;
+  }
+
+  private static LimiterSettings settings(HostLimiter.Mode mode, int limit) {
+    return LimiterSettings.defaults().toBuilder()
+        .mode(mode)
+        .initialLimit(limit)
+        .maxLimit(mode == HostLimiter.Mode.STATIC ? limit : 100)
+        .build();
+  }
+}
@@ -0,0 +1,53 @@
+package restel.core.http;
+
+import com.techconative.restel.core.http.HttpClientSettings;
+import com.techconative.restel.core.http.RESTClient;
+import com.techconative.restel.core.http.RESTClientRegistry;
+import java.net.http.HttpClient;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RESTClientRegistryTest {
+
+  private final RESTClientRegistry registry = RESTClientRegistry.getInstance();
+
+  @Test
+  public void testSameClientForSameBaseUrl() {
+    RESTClient client = registry.getClient("http://localhost:8080");
+    Assert.assertSame(client, registry.getClient("http://localhost:8080"));
+    Assert.assertSame(client, registry.getClient("http://localhost:8080/"));
+    Assert.assertNotSame(client, registry.getClient("http://localhost:8081"));
+  }
+
+  @Test
+  public void testSharedHttpClientPerSettings() {
+    HttpClientSettings settings =
+        HttpClientSettings.builder()
+            .connectTimeoutMillis(1000)
+            .version(HttpClient.Version.HTTP_1_1)
+            .redirect(HttpClient.Redirect.NORMAL)
+            .build();
+    HttpClient httpClient = registry.getHttpClient(settings);
+    Assert.assertSame(httpClient, registry.getHttpClient(settings));
+    Assert.assertNotSame(httpClient, registry.getHttpClient(registry.getDefaultSettings()));
+    Assert.assertEquals(HttpClient.Version.HTTP_1_1, httpClient.version());
+    Assert.assertTrue(httpClient.executor().isPresent());
+    Assert.assertSame(
+        httpClient.executor().get(),
+        registry.getHttpClient(registry.getDefaultSettings()).executor().get());
+  }
+
+  @Test
+  public void testPoolStats() {
+    HttpClientSettings settings =
+        HttpClientSettings.builder()
+            .version(HttpClient.Version.HTTP_2)
+            .redirect(HttpClient.Redirect.ALWAYS)
+            .build();
+    registry.getClient("http://localhost:9090", settings);
+    registry.getClient("http://localhost:9091", settings);
+    Assert.assertEquals(2, registry.getStats(settings).getBaseUrlCount());
+    Assert.assertEquals(0, registry.getStats(settings).getRequests());
+    Assert.assertTrue(registry.getPoolStats().containsKey(settings));
+  }
+}
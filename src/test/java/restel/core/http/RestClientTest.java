@@ -1,12 +1,19 @@
 package restel.core.http;
 
+import com.techconative.restel.core.http.ClientPoolStats;
 import com.techconative.restel.core.http.RESTClient;
 import com.techconative.restel.core.http.RESTResponse;
+import com.techconative.restel.exception.RestelException;
+import java.net.http.HttpClient;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.internal.util.reflection.FieldSetter;
 
 public class RestClientTest {
 
@@ -42,4 +49,28 @@ public class RestClientTest {
             Map.of("additionalMetadata", "22", "file", "@src/test/resources/img/dog.jpeg"));
     Assert.assertEquals(200, response.getStatus());
   }
+
+  @Test
+  public void makeCallAsyncRejectedSend() throws Exception {
+    RESTClient client = new RESTClient("http://localhost:8080");
+    HttpClient httpClient = Mockito.mock(HttpClient.class);
+    Mockito.when(httpClient.sendAsync(Mockito.any(), Mockito.any()))
+        .thenThrow(new IllegalStateException("Shut down"));
+    ClientPoolStats stats = new ClientPoolStats();
+    FieldSetter.setField(client, RESTClient.class.getDeclaredField("client"), httpClient);
+    FieldSetter.setField(client, RESTClient.class.getDeclaredField("stats"), stats);
+
+    CompletableFuture<RESTResponse> response =
+        client.makeCallAsync("GET", "/users", null, null, null);
+
+    try {
+      response.get();
+      Assert.fail("Expected the call to fail");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof RestelException);
+    }
+    // The request is not left in flight
+    Assert.assertEquals(0, stats.getInFlight());
+    Assert.assertEquals(1, stats.getFailures());
+  }
 }
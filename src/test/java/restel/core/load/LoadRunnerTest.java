@@ -0,0 +1,126 @@
+package restel.core.load;
+
+import com.sun.net.httpserver.HttpServer;
+import com.techconative.restel.core.load.LoadProfile;
+import com.techconative.restel.core.load.LoadReport;
+import com.techconative.restel.core.load.LoadRunner;
+import com.techconative.restel.core.managers.ApiCallListener;
+import com.techconative.restel.exception.RestelException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LoadRunnerTest {
+
+  private HttpServer server;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Before
+  public void setup() throws Exception {
+    // Local stub of the API under load
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          int status = exchange.getRequestURI().getPath().startsWith("/fail") ? 500 : 200;
+          byte[] body = "{\"status\": \"ok\"}".getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders(status, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void testRun() {
+    LoadReport report =
+        new LoadRunner()
+            .run(
+                LoadProfile.builder()
+                    .scenarioName("pets")
+                    .ratePerSecond(200)
+                    .iterations(50)
+                    .build(),
+                listener -> call("/pets", listener));
+
+    Assert.assertEquals(50, report.getPassed());
+    Assert.assertEquals(0, report.getFailed());
+    Assert.assertEquals(50, report.getIterationLatencies().getTotalCount());
+    Assert.assertEquals(50, report.getApiLatencies().get("get_pets").getTotalCount());
+    Assert.assertTrue(report.getThroughput() > 0);
+    Assert.assertTrue(report.toString().contains("p99.9="));
+  }
+
+  @Test
+  public void testRunFailures() {
+    LoadReport report =
+        new LoadRunner()
+            .run(
+                LoadProfile.builder()
+                    .scenarioName("fail")
+                    .ratePerSecond(100)
+                    .iterations(10)
+                    .build(),
+                listener -> call("/fail", listener));
+
+    Assert.assertEquals(0, report.getPassed());
+    Assert.assertEquals(10, report.getFailed());
+  }
+
+  @Test
+  public void testMissedIterationsRecorded() {
+    LoadReport report =
+        new LoadRunner()
+            .run(
+                LoadProfile.builder()
+                    .scenarioName("slow")
+                    .ratePerSecond(100)
+                    .iterations(10)
+                    .maxInFlight(1)
+                    .build(),
+                listener -> {
+                  Thread.sleep(50);
+                  return true;
+                });
+
+    Assert.assertTrue(report.getMissed() > 0);
+    Assert.assertEquals(10, report.getPassed() + report.getMissed());
+    // The missed iterations are part of the latencies, waiting for the slow one to complete
+    Assert.assertEquals(10, report.getIterationLatencies().getTotalCount());
+    Assert.assertTrue(
+        report.getIterationLatencies().getValueAtPercentile(50)
+            >= TimeUnit.MILLISECONDS.toMicros(20));
+  }
+
+  @Test(expected = RestelException.class)
+  public void testRunUnbounded() {
+    new LoadRunner()
+        .run(LoadProfile.builder().scenarioName("pets").ratePerSecond(10).build(), l -> true);
+  }
+
+  private boolean call(String path, ApiCallListener listener) throws Exception {
+    long start = System.nanoTime();
+    HttpResponse<String> response =
+        client.send(
+            HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getAddress().getPort() + path))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    listener.onCall("get_pets", System.nanoTime() - start);
+    return response.statusCode() == 200;
+  }
+}
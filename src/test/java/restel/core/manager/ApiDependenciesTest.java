@@ -0,0 +1,72 @@
+package restel.core.manager;
+
+import com.techconative.restel.core.managers.ApiDependencies;
+import com.techconative.restel.core.model.RestelTestApiDefinition;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApiDependenciesTest {
+
+  @Test
+  public void testIndependentApis() {
+    ApiDependencies dependencies =
+        ApiDependencies.of(
+            List.of(api("get_user", "/users/1"), api("get_order", "/orders/${order_id}")));
+
+    Assert.assertEquals(Set.of(), dependencies.getDependencies(0));
+    Assert.assertEquals(Set.of(), dependencies.getDependencies(1));
+  }
+
+  @Test
+  public void testReferencedApis() {
+    RestelTestApiDefinition update = api("update_user", "/users/${get_user.response.id}");
+    RestelTestApiDefinition audit = api("get_audit", "/audit");
+    audit.setExpectedResponse("{\"user\": \"${scenario.update_user.request.name}\"}");
+    RestelTestApiDefinition list = api("list_users", "/users");
+    list.setRequestQueryParams(Map.of("page", "${page}", "size", "${get_user[0].size}"));
+
+    ApiDependencies dependencies =
+        ApiDependencies.of(List.of(api("get_user", "/users/1"), update, audit, list));
+
+    Assert.assertEquals(Set.of(0), dependencies.getDependencies(1));
+    Assert.assertEquals(Set.of(1), dependencies.getDependencies(2));
+    Assert.assertEquals(Set.of(0), dependencies.getDependencies(3));
+  }
+
+  @Test
+  public void testLaterApisIgnored() {
+    ApiDependencies dependencies =
+        ApiDependencies.of(
+            List.of(
+                api("get_user", "/users/${get_order.response.user}"),
+                api("get_order", "/orders")));
+
+    Assert.assertEquals(Set.of(), dependencies.getDependencies(0));
+  }
+
+  @Test
+  public void testConservativeDependencies() {
+    ApiDependencies dependencies =
+        ApiDependencies.of(
+            List.of(
+                api("get_user", "/users/1"),
+                api("get_user", "/users/2"),
+                api("get_order", "/orders/${api${index}.response.id}")));
+
+    // The same API shares its context, and computed names could refer to any API
+    Assert.assertEquals(Set.of(0), dependencies.getDependencies(1));
+    Assert.assertEquals(Set.of(0, 1), dependencies.getDependencies(2));
+    Assert.assertTrue(dependencies.isReady(1, new boolean[] {true, false, false}));
+    Assert.assertFalse(dependencies.isReady(2, new boolean[] {true, false, false}));
+  }
+
+  private static RestelTestApiDefinition api(String name, String url) {
+    RestelTestApiDefinition definition = new RestelTestApiDefinition();
+    definition.setApiUniqueName(name);
+    definition.setRequestUrl(url);
+    return definition;
+  }
+}
@@ -1,6 +1,7 @@
 package restel.core.manager;
 
 import com.techconative.restel.core.managers.ExcelParseManager;
+import com.techconative.restel.exception.RestelException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import org.junit.Assert;
@@ -104,4 +105,26 @@ public class ExcelParseManagerTest {
     invoke("src/test/resources/Sample_Suite_definition_invalid.xlsx");
     excelParseManager.getExecGroups();
   }
+
+  @Test
+  public void testFailedReloadKeepsModel()
+      throws NoSuchMethodException, NoSuchFieldException, IllegalAccessException,
+          InvocationTargetException {
+    invoke("src/test/resources/Sample_Suite_definition.xlsx");
+    Object testMethods = excelParseManager.getTestMethods();
+    Object execGroups = excelParseManager.getExecGroups();
+
+    FieldSetter.setField(
+        excelParseManager,
+        excelParseManager.getClass().getDeclaredField("filepath"),
+        "src/test/resources/Sample_Suite_definition_empty_exec.xlsx");
+    try {
+      excelParseManager.reload();
+      Assert.fail("Expected the reload to fail");
+    } catch (RestelException e) {
+      // expected
+    }
+    Assert.assertSame(testMethods, excelParseManager.getTestMethods());
+    Assert.assertSame(execGroups, excelParseManager.getExecGroups());
+  }
 }
@@ -4,8 +4,12 @@ import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.core.managers.RequestManager;
 import com.techconative.restel.core.middleware.request.RequestMiddleware;
+import com.techconative.restel.core.middleware.response.ResponseMiddleware;
+import com.techconative.restel.exception.RestelException;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,4 +43,36 @@ public class RequestManagerTest {
 
     Assert.assertNotNull(makeCall.getResponse());
   }
+
+  @Test
+  public void testMakeCallAsync() {
+    RESTRequest request =
+        RESTRequest.builder().method("GET").endpoint("/v2/store/inventory").build();
+
+    ResponseMiddleware statusChecker =
+        response -> {
+          Assert.assertEquals(200, response.getStatus());
+          return response;
+        };
+
+    RESTResponse response =
+        manager.makeCallAsync(request, null, Arrays.asList(statusChecker)).join();
+
+    Assert.assertNotNull(response.getResponse());
+  }
+
+  @Test
+  public void testMakeCallAsyncInvalidUrl() {
+    RESTRequest request = RESTRequest.builder().method("GET").endpoint("/ invalid url").build();
+
+    CompletableFuture<RESTResponse> response = manager.makeCallAsync(request, null, null);
+
+    Assert.assertTrue(response.isCompletedExceptionally());
+    try {
+      response.join();
+      Assert.fail();
+    } catch (CompletionException e) {
+      Assert.assertTrue(e.getCause() instanceof RestelException);
+    }
+  }
 }
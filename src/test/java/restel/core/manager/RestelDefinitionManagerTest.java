@@ -5,8 +5,10 @@ import static org.testng.AssertJUnit.assertEquals;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.core.http.ResponseBody;
+import com.techconative.restel.core.managers.DependencyCache;
 import com.techconative.restel.core.managers.RequestManager;
 import com.techconative.restel.core.managers.RestelDefinitionManager;
 import com.techconative.restel.core.model.GlobalContext;
@@ -17,10 +19,14 @@ import com.techconative.restel.core.model.comparator.NoOPMatcher;
 import com.techconative.restel.testng.MatcherFactory;
 import com.techconative.restel.utils.Constants;
 import com.techconative.restel.utils.ObjectMapperUtils;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import org.junit.Assert;
@@ -240,6 +246,143 @@ public class RestelDefinitionManagerTest {
     Assert.assertTrue(manager.executeTestScenario("Sample", "suite"));
   }
 
+  @Test(timeout = 10000)
+  public void testExecuteTestConcurrently() throws NoSuchFieldException {
+    RestelTestApiDefinition first = createTestDef();
+    first.setApiUniqueName("first_api");
+    RestelTestApiDefinition second = createTestDef();
+    second.setApiUniqueName("second_api");
+    RestelTestApiDefinition third = createTestDef();
+    third.setApiUniqueName("third_api");
+    third.setRequestUrl("/test/${first_api.response}");
+    FieldSetter.setField(
+        manager,
+        manager.getClass().getDeclaredField("testDefinitions"),
+        List.of(first, second, third));
+
+    List<RESTRequest> requests = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<RESTResponse>> calls = Collections.synchronizedList(new ArrayList<>());
+    Mockito.doReturn(new NoOPMatcher()).when(matcherFactory).getMatcher(Mockito.anyString());
+    Mockito.when(
+            requestManager.makeCallAsync(Mockito.any(), Mockito.anyList(), Mockito.anyList()))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<RESTResponse> call = new CompletableFuture<>();
+              requests.add(invocation.getArgument(0));
+              calls.add(call);
+              return call;
+            });
+
+    // The independent APIs are in flight together, the dependent one after the first responds.
+    Thread server =
+        new Thread(
+            () -> {
+              awaitCalls(calls, 2);
+              calls.get(0).complete(createResponse("first"));
+              awaitCalls(calls, 3);
+              calls.get(1).complete(createResponse("second"));
+              calls.get(2).complete(createResponse("third"));
+            });
+    server.setDaemon(true);
+    server.start();
+
+    manager.setConcurrentApis(true);
+    Assert.assertTrue(manager.executeTestScenario(defaultScenarioName, "suite"));
+    Assert.assertEquals("/test/first", requests.get(2).getEndpoint());
+  }
+
+  @Test(timeout = 10000)
+  public void testConcurrentCallsCompletedInOrder() throws NoSuchFieldException {
+    RestelTestApiDefinition first = createTestDef();
+    first.setApiUniqueName("first_api");
+    RestelTestApiDefinition second = createTestDef();
+    second.setApiUniqueName("second_api");
+    FieldSetter.setField(
+        manager, manager.getClass().getDeclaredField("testDefinitions"), List.of(first, second));
+
+    List<CompletableFuture<RESTResponse>> calls = Collections.synchronizedList(new ArrayList<>());
+    Mockito.doReturn(new NoOPMatcher()).when(matcherFactory).getMatcher(Mockito.anyString());
+    Mockito.when(
+            requestManager.makeCallAsync(Mockito.any(), Mockito.anyList(), Mockito.anyList()))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<RESTResponse> call = new CompletableFuture<>();
+              calls.add(call);
+              return call;
+            });
+
+    // The second API responds first, but is completed after the first one
+    Thread server =
+        new Thread(
+            () -> {
+              awaitCalls(calls, 2);
+              calls.get(1).complete(createResponse("second"));
+              calls.get(0).complete(createResponse("first"));
+            });
+    server.setDaemon(true);
+    server.start();
+
+    List<String> completed = Collections.synchronizedList(new ArrayList<>());
+    manager.setCallListener((apiName, latencyNanos) -> completed.add(apiName));
+    manager.setConcurrentApis(true);
+    Assert.assertTrue(manager.executeTestScenario(defaultScenarioName, "suite"));
+    Assert.assertEquals(List.of("first_api", "second_api"), completed);
+  }
+
+  @Test
+  public void testRunOnceDependencySharedAcrossScenarios() {
+    Assert.assertEquals(3, executeWithDependency(Set.of(Constants.RUN_ONCE_TAG)).size());
+  }
+
+  @Test
+  public void testUntaggedDependencyExecutedByEachScenario() {
+    Assert.assertEquals(4, executeWithDependency(null).size());
+  }
+
+  /* Executes two scenarios whose API depends on a login, returning the requests made. */
+  private List<RESTRequest> executeWithDependency(Set<String> loginTags) {
+    RestelTestApiDefinition login = createTestDef();
+    login.setApiUniqueName("login");
+    login.setTags(loginTags);
+    RestelTestApiDefinition api = createTestDef();
+    api.setApiUniqueName("get_user");
+    api.setRequestUrl("/users/${login.response}");
+    api.setDependentOn(List.of(login));
+
+    List<RESTRequest> requests = Collections.synchronizedList(new ArrayList<>());
+    Mockito.doReturn(new NoOPMatcher()).when(matcherFactory).getMatcher(Mockito.anyString());
+    Mockito.when(requestManager.makeCall(Mockito.any(), Mockito.anyList(), Mockito.anyList()))
+        .thenAnswer(
+            invocation -> {
+              requests.add(invocation.getArgument(0));
+              return createResponse("token");
+            });
+
+    DependencyCache.getInstance().clear();
+    for (String scenarioName : List.of("first_scenario", "second_scenario")) {
+      RestelDefinitionManager scenario =
+          new RestelDefinitionManager(
+              List.of(api), requestManager, matcherFactory, new TestContext(scenarioName));
+      Assert.assertTrue(scenario.executeTestScenario(scenarioName, "suite"));
+      // The context of the login is available to the scenario, whether executed or reused
+      Assert.assertEquals("/users/token", requests.get(requests.size() - 1).getEndpoint());
+    }
+    return requests;
+  }
+
+  private static void awaitCalls(List<?> calls, int count) {
+    while (calls.size() < count) {
+      Thread.onSpinWait();
+    }
+  }
+
+  private static RESTResponse createResponse(String body) {
+    RESTResponse restResponse = new RESTResponse();
+    restResponse.setResponse(ResponseBody.builder().body(body).build());
+    restResponse.setStatus(200);
+    return restResponse;
+  }
+
   private RestelTestApiDefinition createTestDef() {
     RestelTestApiDefinition definitions = new RestelTestApiDefinition();
     definitions.setApiUniqueName(defaultApiName);
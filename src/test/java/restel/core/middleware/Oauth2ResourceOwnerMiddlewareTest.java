@@ -1,6 +1,7 @@
 package restel.core.middleware;
 
 import com.techconative.restel.core.http.RESTClient;
+import com.techconative.restel.core.http.RESTClientRegistry;
 import com.techconative.restel.core.http.RESTRequest;
 import com.techconative.restel.core.http.RESTResponse;
 import com.techconative.restel.core.http.ResponseBody;
@@ -25,7 +26,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest(Oauth2ResourceOwnerMiddleware.class)
+@PrepareForTest({Oauth2ResourceOwnerMiddleware.class, RESTClientRegistry.class})
 public class Oauth2ResourceOwnerMiddlewareTest {
   @InjectMocks Oauth2ResourceOwnerMiddleware middleware;
 
@@ -51,7 +52,10 @@ public class Oauth2ResourceOwnerMiddlewareTest {
             .build());
 
     RESTClient client = Mockito.mock(RESTClient.class);
-    PowerMockito.whenNew(RESTClient.class).withAnyArguments().thenReturn(client);
+    RESTClientRegistry registry = Mockito.mock(RESTClientRegistry.class);
+    PowerMockito.mockStatic(RESTClientRegistry.class);
+    PowerMockito.when(RESTClientRegistry.getInstance()).thenReturn(registry);
+    PowerMockito.doReturn(client).when(registry).getClient(Mockito.any());
     PowerMockito.doReturn(restResponse)
         .when(client)
         .makeCall(
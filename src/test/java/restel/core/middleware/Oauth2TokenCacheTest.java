@@ -0,0 +1,185 @@
+package restel.core.middleware;
+
+import com.techconative.restel.core.middleware.request.Oauth2Token;
+import com.techconative.restel.core.middleware.request.Oauth2TokenCache;
+import com.techconative.restel.core.middleware.request.Oauth2TokenCache.TokenKey;
+import com.techconative.restel.core.middleware.request.TokenCacheStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Oauth2TokenCacheTest {
+
+  private final Oauth2TokenCache cache = Oauth2TokenCache.getInstance();
+
+  @Test
+  public void testTokenReused() {
+    TokenKey key = newKey();
+    AtomicInteger fetches = new AtomicInteger();
+    TokenCacheStats stats = cache.getStats();
+    long hits = stats.getHits();
+    long misses = stats.getMisses();
+
+    for (int i = 0; i < 5; i++) {
+      Assert.assertEquals(
+          "token-1",
+          cache.getAccessToken(
+              key, () -> new Oauth2Token("token-" + fetches.incrementAndGet(), 3600L)));
+    }
+    Assert.assertEquals(1, fetches.get());
+    Assert.assertEquals(misses + 1, stats.getMisses());
+    Assert.assertEquals(hits + 4, stats.getHits());
+  }
+
+  @Test
+  public void testExpiredTokenRefreshed() {
+    TokenKey key = newKey();
+    AtomicInteger fetches = new AtomicInteger();
+    long refreshes = cache.getStats().getRefreshes();
+
+    cache.getAccessToken(key, () -> new Oauth2Token("token-" + fetches.incrementAndGet(), 0L));
+    String token =
+        cache.getAccessToken(key, () -> new Oauth2Token("token-" + fetches.incrementAndGet(), 0L));
+
+    Assert.assertEquals("token-2", token);
+    Assert.assertEquals(refreshes + 1, cache.getStats().getRefreshes());
+  }
+
+  @Test
+  public void testExpiresInParsed() {
+    Assert.assertEquals(
+        Long.valueOf(300),
+        Oauth2Token.of(Map.of("access_token", "t", "expires_in", 300)).getExpiresIn());
+    Assert.assertEquals(
+        Long.valueOf(300),
+        Oauth2Token.of(Map.of("access_token", "t", "expires_in", "300")).getExpiresIn());
+    Assert.assertNull(Oauth2Token.of(Map.of("access_token", "t")).getExpiresIn());
+  }
+
+  @Test
+  public void testFailedFetchNotCached() {
+    TokenKey key = newKey();
+    try {
+      cache.getAccessToken(
+          key,
+          () -> {
+            throw new IllegalStateException("Auth server down");
+          });
+      Assert.fail("The fetch failure should be propagated");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Auth server down", e.getMessage());
+    }
+    Assert.assertEquals("token", cache.getAccessToken(key, () -> new Oauth2Token("token", 60L)));
+  }
+
+  @Test
+  public void testPreviousTokenServedWhenRefreshFails() throws Exception {
+    TokenKey key = newKey();
+    // Refreshed after half of its lifetime, leaving the other half to fail the refresh
+    cache.getAccessToken(key, () -> new Oauth2Token("previous", 4L));
+    Thread.sleep(2100);
+
+    String token =
+        cache.getAccessToken(
+            key,
+            () -> {
+              throw new IllegalStateException("Auth server down");
+            });
+
+    Assert.assertEquals("previous", token);
+    Assert.assertEquals("next", cache.getAccessToken(key, () -> new Oauth2Token("next", 60L)));
+  }
+
+  @Test
+  public void testConcurrentRequestsShareOneFetch() throws Exception {
+    TokenKey key = newKey();
+    AtomicInteger fetches = new AtomicInteger();
+    CountDownLatch fetching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    int callers = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<String>> tokens = new ArrayList<>();
+      tokens.add(
+          executor.submit(
+              () ->
+                  cache.getAccessToken(
+                      key,
+                      () -> {
+                        fetches.incrementAndGet();
+                        fetching.countDown();
+                        await(release);
+                        return new Oauth2Token("shared", 3600L);
+                      })));
+      Assert.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+      for (int i = 1; i < callers; i++) {
+        tokens.add(
+            executor.submit(
+                () ->
+                    cache.getAccessToken(
+                        key,
+                        () -> {
+                          fetches.incrementAndGet();
+                          return new Oauth2Token("duplicate", 3600L);
+                        })));
+      }
+      release.countDown();
+      for (Future<String> token : tokens) {
+        Assert.assertEquals("shared", token.get(5, TimeUnit.SECONDS));
+      }
+      Assert.assertEquals(1, fetches.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testTokenPerPassword() {
+    String clientId = UUID.randomUUID().toString();
+    TokenKey first = passwordKey(clientId, "first-password");
+    TokenKey second = passwordKey(clientId, "second-password");
+
+    Assert.assertEquals(
+        "first", cache.getAccessToken(first, () -> new Oauth2Token("first", 3600L)));
+    Assert.assertEquals(
+        "second", cache.getAccessToken(second, () -> new Oauth2Token("second", 3600L)));
+    Assert.assertEquals(first, passwordKey(clientId, "first-password"));
+  }
+
+  private static TokenKey newKey() {
+    return new TokenKey(
+        "http://auth",
+        UUID.randomUUID().toString(),
+        "read",
+        "client_credentials",
+        null,
+        TokenKey.hashSecrets("secret"));
+  }
+
+  private static TokenKey passwordKey(String clientId, String password) {
+    return new TokenKey(
+        "http://auth",
+        clientId,
+        "read",
+        "password",
+        "user",
+        TokenKey.hashSecrets("secret", password));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package restel.core.model;
+
+import com.techconative.restel.core.model.CompiledApiDefinition;
+import com.techconative.restel.core.model.RestelTestApiDefinition;
+import com.techconative.restel.core.model.RestelTestApiWrapper;
+import com.techconative.restel.core.model.TestContext;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompiledApiDefinitionTest {
+
+  @Test
+  public void testStaticValuesResolvedOnce() {
+    RestelTestApiDefinition definition = createDefinition();
+    definition.setRequestBodyParams("{\"k\": \"v\", \"n\": [\"a\", \"b\"]}");
+    definition.setExpectedResponse("{\"key\": \"value\"}");
+
+    CompiledApiDefinition compiled = CompiledApiDefinition.compile(definition);
+    TestContext context = new TestContext("test");
+
+    Assert.assertFalse(compiled.getRequestUrl().hasVariables());
+    Assert.assertEquals("/users", compiled.getRequestUrl().resolve(context));
+    Assert.assertFalse(compiled.getRequestBody().hasVariables());
+    Assert.assertEquals(
+        Map.of("k", "v", "n", List.of("a", "b")), compiled.getRequestBody().resolve(context));
+    Assert.assertSame(
+        compiled.getRequestBody().resolve(context), compiled.getRequestBody().resolve(context));
+    Assert.assertEquals(Map.of("key", "value"), compiled.getExpectedResponse().resolve(context));
+    Assert.assertEquals(Arrays.asList("200"), compiled.getAcceptedStatusCodes().resolve(context));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testStaticValuesUnmodifiable() {
+    RestelTestApiDefinition definition = createDefinition();
+    definition.setRequestBodyParams("{\"k\": \"v\"}");
+
+    Map<String, Object> body =
+        (Map<String, Object>)
+            CompiledApiDefinition.compile(definition).getRequestBody().getStaticValue();
+    body.put("k", "changed");
+  }
+
+  @Test
+  public void testVariablesResolvedPerContext() {
+    RestelTestApiDefinition definition = createDefinition();
+    definition.setRequestUrl("/users/${id}");
+    definition.setRequestBodyParams("{\"name\": \"${name}\"}");
+
+    CompiledApiDefinition compiled = CompiledApiDefinition.compile(definition);
+    TestContext first = new TestContext("first");
+    first.addValue("id", "1");
+    first.addValue("name", "one");
+    TestContext second = new TestContext("second");
+    second.addValue("id", "2");
+    second.addValue("name", "two");
+
+    Assert.assertTrue(compiled.getRequestUrl().hasVariables());
+    Assert.assertEquals("/users/1", compiled.getRequestUrl().resolve(first));
+    Assert.assertEquals("/users/2", compiled.getRequestUrl().resolve(second));
+    Assert.assertEquals(Map.of("name", "one"), compiled.getRequestBody().resolve(first));
+    Assert.assertEquals(Map.of("name", "two"), compiled.getRequestBody().resolve(second));
+    Assert.assertFalse(compiled.hasSerializedRequestBody());
+  }
+
+  @Test
+  public void testSerializedRequestBody() {
+    RestelTestApiDefinition definition = createDefinition();
+    definition.setRequestBodyParams("{\"k\": \"v\"}");
+
+    CompiledApiDefinition compiled = CompiledApiDefinition.compile(definition);
+
+    Assert.assertTrue(compiled.hasSerializedRequestBody());
+    Assert.assertEquals(
+        Map.of("k", "v"),
+        ObjectMapperUtils.convertToMap(new String(compiled.getSerializedRequestBody())));
+  }
+
+  @Test
+  public void testPlainBodyNotSerialized() {
+    RestelTestApiDefinition definition = createDefinition();
+    definition.setRequestBodyParams("Body");
+
+    CompiledApiDefinition compiled = CompiledApiDefinition.compile(definition);
+
+    Assert.assertEquals("Body", compiled.getRequestBody().resolve(new TestContext("test")));
+    Assert.assertFalse(compiled.hasSerializedRequestBody());
+    Assert.assertNull(compiled.getSerializedRequestBody());
+  }
+
+  @Test
+  public void testDefinitionCompiledOnce() {
+    RestelTestApiDefinition definition = createDefinition();
+
+    Assert.assertSame(definition.getCompiledDefinition(), definition.getCompiledDefinition());
+  }
+
+  @Test
+  public void testDefinitionCompiledAgainWhenChanged() {
+    RestelTestApiWrapper wrapper = new RestelTestApiWrapper();
+    wrapper.setTestApiDefinition(createDefinition());
+    CompiledApiDefinition compiled = wrapper.getCompiledDefinition();
+
+    wrapper.setRequestUrl("/accounts");
+
+    Assert.assertNotSame(compiled, wrapper.getCompiledDefinition());
+    Assert.assertEquals(
+        "/accounts", wrapper.getCompiledDefinition().getRequestUrl().resolve(new TestContext("t")));
+  }
+
+  private RestelTestApiDefinition createDefinition() {
+    RestelTestApiDefinition definition = new RestelTestApiDefinition();
+    definition.setApiUniqueName("get_user");
+    definition.setRequestUrl("/users");
+    definition.setRequestMethod("POST");
+    definition.setAcceptedStatusCodes(Arrays.asList("200"));
+    return definition;
+  }
+}
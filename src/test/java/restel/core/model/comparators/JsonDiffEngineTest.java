@@ -0,0 +1,91 @@
+package restel.core.model.comparators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.techconative.restel.core.model.comparator.JsonDiff;
+import com.techconative.restel.core.model.comparator.JsonDiffEngine;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JsonDiffEngineTest {
+
+  @Test
+  public void testExactMatch() throws Exception {
+    Assert.assertTrue(
+        JsonDiffEngine.EXACT.matches(
+            json("{\"a\": 1, \"b\": [1, 2]}"), json("{\"b\": [1, 2], \"a\": 1}")));
+    Assert.assertFalse(
+        JsonDiffEngine.EXACT.matches(json("{\"b\": [1, 2]}"), json("{\"b\": [2, 1]}")));
+    Assert.assertFalse(JsonDiffEngine.EXACT.matches(json("{\"a\": 5}"), json("{\"a\": 5.0}")));
+  }
+
+  @Test
+  public void testExpectedStringsAsPatterns() throws Exception {
+    Assert.assertTrue(JsonDiffEngine.EXACT.matches(json("{\"id\": \".*\"}"), json("{\"id\": 5}")));
+    Assert.assertTrue(
+        JsonDiffEngine.EXACT.matches(json("{\"id\": \"u-\\\\d+\"}"), json("{\"id\": \"u-42\"}")));
+    Assert.assertFalse(
+        JsonDiffEngine.EXACT.matches(json("{\"id\": \"u-\\\\d+\"}"), json("{\"id\": \"u-x\"}")));
+    // Quoted patterns and invalid ones only match the same text
+    Assert.assertFalse(
+        JsonDiffEngine.EXACT.matches(json("{\"a\": \"\\\\Q1+1\\\\E\"}"), json("{\"a\": \"11\"}")));
+    Assert.assertFalse(
+        JsonDiffEngine.EXACT.matches(json("{\"a\": \"(x\"}"), json("{\"a\": \"(y\"}")));
+    Assert.assertFalse(
+        JsonDiffEngine.EXACT.matches(json("{\"a\": \".*\"}"), json("{\"a\": null}")));
+    // The patterns are not part of the keys of the indexed arrays
+    Assert.assertTrue(
+        JsonDiffEngine.UNORDERED.matches(
+            json("[{\"id\": 2, \"name\": \"b.*\"}, \"x+\"]"),
+            json("[\"xx\", {\"id\": 1, \"name\": \"a\"}, {\"id\": 2, \"name\": \"bob\"}]")));
+  }
+
+  @Test
+  public void testPartialMatch() throws Exception {
+    Assert.assertTrue(
+        JsonDiffEngine.PARTIAL.matches(
+            json("{\"a\": [{\"id\": 2}]}"), json("{\"a\": [{\"id\": 1}, {\"id\": 2}], \"b\": 1}")));
+    Assert.assertFalse(
+        JsonDiffEngine.PARTIAL.matches(json("{\"a\": 1, \"b\": 2}"), json("{\"a\": 1}")));
+  }
+
+  @Test
+  public void testDiffPaths() throws Exception {
+    List<JsonDiff> diffs =
+        JsonDiffEngine.EXACT.diff(
+            json("{\"a/b\": [1, {\"c\": \"x\"}], \"d\": true}"),
+            json("{\"a/b\": [1, {\"c\": \"y\"}], \"e\": true}"),
+            JsonDiffEngine.Mode.REPORT);
+
+    Assert.assertEquals(3, diffs.size());
+    Assert.assertEquals("/a~1b/1/c", diffs.get(0).getPath());
+    Assert.assertEquals("/d", diffs.get(1).getPath());
+    Assert.assertEquals("/e", diffs.get(2).getPath());
+  }
+
+  @Test
+  public void testFastModeStopsAtFirstDiff() throws Exception {
+    List<JsonDiff> diffs =
+        JsonDiffEngine.EXACT.diff(json("[1, 2, 3]"), json("[4, 5, 6]"), JsonDiffEngine.Mode.FAST);
+
+    Assert.assertEquals(1, diffs.size());
+    Assert.assertEquals("/0", diffs.get(0).getPath());
+  }
+
+  @Test
+  public void testAssertMatchesMessage() throws Exception {
+    String message = null;
+    try {
+      JsonDiffEngine.EXACT.assertMatches("Mismatch", json("{\"a\": 1}"), json("{\"a\": 2}"));
+    } catch (AssertionError e) {
+      message = e.getMessage();
+    }
+    Assert.assertNotNull(message);
+    Assert.assertTrue(message.contains("/a: expected 1 but was 2"));
+  }
+
+  private static JsonNode json(String json) throws Exception {
+    return ObjectMapperUtils.getMapper().readTree(json);
+  }
+}
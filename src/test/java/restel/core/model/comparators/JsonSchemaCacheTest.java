@@ -0,0 +1,50 @@
+package restel.core.model.comparators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SpecVersion;
+import com.techconative.restel.core.model.comparator.JsonSchemaCache;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JsonSchemaCacheTest {
+
+  @Test
+  public void testSchemaCompiledOnce() throws Exception {
+    JsonSchemaCache cache = new JsonSchemaCache(SpecVersion.VersionFlag.V201909, 10);
+    JsonSchema schema = cache.getSchema(schema("{\"type\": \"object\", \"required\": [\"id\"]}"));
+
+    Assert.assertSame(
+        schema, cache.getSchema(schema("{\"required\": [\"id\"], \"type\": \"object\"}")));
+    Assert.assertEquals(1, cache.size());
+    Assert.assertTrue(
+        schema.validate(ObjectMapperUtils.getMapper().readTree("{\"id\": 1}")).isEmpty());
+    Assert.assertFalse(schema.validate(ObjectMapperUtils.getMapper().readTree("{}")).isEmpty());
+  }
+
+  @Test
+  public void testCacheBounded() throws Exception {
+    JsonSchemaCache cache = new JsonSchemaCache(SpecVersion.VersionFlag.V7, 2);
+    JsonSchema first = cache.getSchema(schema("{\"type\": \"object\"}"));
+    cache.getSchema(schema("{\"type\": \"array\"}"));
+    cache.getSchema(schema("{\"type\": \"string\"}"));
+
+    Assert.assertEquals(2, cache.size());
+    Assert.assertNotSame(first, cache.getSchema(schema("{\"type\": \"object\"}")));
+  }
+
+  @Test
+  public void testCanonicalHash() throws Exception {
+    Assert.assertEquals(
+        JsonSchemaCache.canonicalHash(schema("{\"a\": {\"x\": 1, \"y\": [1, 2]}, \"b\": true}")),
+        JsonSchemaCache.canonicalHash(schema("{\"b\": true, \"a\": {\"y\": [1, 2], \"x\": 1}}")));
+    Assert.assertNotEquals(
+        JsonSchemaCache.canonicalHash(schema("{\"a\": [1, 2]}")),
+        JsonSchemaCache.canonicalHash(schema("{\"a\": [2, 1]}")));
+  }
+
+  private static JsonNode schema(String json) throws Exception {
+    return ObjectMapperUtils.getMapper().readTree(json);
+  }
+}
@@ -0,0 +1,69 @@
+package restel.core.model.comparators;
+
+import com.techconative.restel.core.http.RESTResponse;
+import com.techconative.restel.core.http.ResponseBody;
+import com.techconative.restel.core.model.comparator.UnorderedMatchComparator;
+import com.techconative.restel.exception.RestelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnorderedMatchComparatorTest {
+
+  @Test
+  public void testCompare() {
+    UnorderedMatchComparator comparator = new UnorderedMatchComparator();
+    List<Object> items = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      items.add(Map.of("id", i, "name", "pet-" + i, "tags", List.of("dog")));
+    }
+
+    Assert.assertTrue(
+        comparator.compare(
+            jsonResponse(items),
+            List.of(
+                Map.of("id", 9_999, "tags", List.of("dog")),
+                Map.of("name", "pet-1"),
+                Map.of("id", 0))));
+  }
+
+  @Test(expected = AssertionError.class)
+  public void testCompareMismatch() {
+    UnorderedMatchComparator comparator = new UnorderedMatchComparator();
+
+    comparator.compare(
+        jsonResponse(List.of(Map.of("id", 1, "tags", List.of("dog")))),
+        List.of(Map.of("id", 1, "tags", List.of("cat"))));
+  }
+
+  @Test(expected = AssertionError.class)
+  public void testCompareDuplicates() {
+    UnorderedMatchComparator comparator = new UnorderedMatchComparator();
+
+    comparator.compare(
+        jsonResponse(List.of(Map.of("id", 1), Map.of("id", 2))),
+        List.of(Map.of("id", 1), Map.of("id", 1)));
+  }
+
+  @Test(expected = RestelException.class)
+  public void testCompareInvalidMedia() {
+    UnorderedMatchComparator comparator = new UnorderedMatchComparator();
+    RESTResponse restResponse = new RESTResponse();
+    restResponse.setHeaders(Map.of(HttpHeaders.CONTENT_TYPE.toLowerCase(), MediaType.TEXT_PLAIN));
+    restResponse.setResponse(ResponseBody.builder().body(List.of(Map.of("id", 1))).build());
+
+    comparator.compare(restResponse, List.of(Map.of("id", 1)));
+  }
+
+  private static RESTResponse jsonResponse(Object body) {
+    RESTResponse restResponse = new RESTResponse();
+    restResponse.setHeaders(
+        Map.of(HttpHeaders.CONTENT_TYPE.toLowerCase(), MediaType.APPLICATION_JSON));
+    restResponse.setResponse(ResponseBody.builder().body(body).build());
+    return restResponse;
+  }
+}
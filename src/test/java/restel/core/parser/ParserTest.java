@@ -3,10 +3,14 @@ package restel.core.parser;
 import com.techconative.restel.core.parser.Parser;
 import com.techconative.restel.core.parser.ParserEnums;
 import com.techconative.restel.core.parser.config.ParserConfig;
+import com.techconative.restel.core.parser.dto.BaseConfig;
+import com.techconative.restel.core.parser.dto.TestApiDefinitions;
 import com.techconative.restel.core.parser.dto.TestScenarios;
+import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
@@ -29,4 +33,27 @@ public class ParserTest {
     Assert.assertEquals(
         "Login to petstore with user", testScenarios.get(0).getScenarioDescription());
   }
+
+  @Test
+  public void parserFileTest() throws Exception {
+    Parser par = new Parser(ParserConfig.load());
+    Map<String, Object> fromFile =
+        par.parse(new File("src/test/resources/Sample_Suite_definition.xlsx"));
+    Map<String, Object> fromStream =
+        par.parse(
+            Files.newInputStream(Paths.get("src/test/resources/Sample_Suite_definition.xlsx")));
+
+    BaseConfig baseConfig =
+        (BaseConfig) fromFile.get(ParserEnums.BASE_CONFIG.toString().toLowerCase());
+    Assert.assertNotNull(baseConfig.getBaseUrl());
+    Assert.assertEquals(
+        fromStream.get(ParserEnums.BASE_CONFIG.toString().toLowerCase()), baseConfig);
+
+    List<TestApiDefinitions> definitions =
+        (List<TestApiDefinitions>)
+            fromFile.get(ParserEnums.TEST_API_DEFINITIONS.toString().toLowerCase());
+    Assert.assertFalse(definitions.isEmpty());
+    Assert.assertEquals(
+        fromStream.get(ParserEnums.TEST_API_DEFINITIONS.toString().toLowerCase()), definitions);
+  }
 }
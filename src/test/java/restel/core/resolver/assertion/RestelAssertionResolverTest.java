@@ -90,6 +90,18 @@ public class RestelAssertionResolverTest {
     Assert.assertEquals("Sample", assertion.getName());
   }
 
+  @Test
+  public void testEqualAndNotEqualForJsonAreComplements() {
+    TestContext context = new TestContext("Sample");
+    context.addValue("Name", Map.of("id", 5));
+
+    // The expected strings are patterns for both, so .* matches the number
+    assertPasses(context, AssertType.EQUAL, "{\"id\":\".*\"}", true);
+    assertPasses(context, AssertType.NOT_EQUAL, "{\"id\":\".*\"}", false);
+    assertPasses(context, AssertType.EQUAL, "{\"id\":\"\\\\d{2}\"}", false);
+    assertPasses(context, AssertType.NOT_EQUAL, "{\"id\":\"\\\\d{2}\"}", true);
+  }
+
   @Test(expected = AssertionError.class)
   public void testResolveAssertEqualForJsonFailure() {
     Map<String, Object> data = new HashMap<>();
@@ -225,6 +237,18 @@ public class RestelAssertionResolverTest {
     RestelAssertionResolver.resolve(context, assertion);
   }
 
+  private void assertPasses(TestContext context, AssertType type, String expected, boolean pass) {
+    boolean passed;
+    try {
+      RestelAssertionResolver.resolve(
+          context, createAssertion("Sample", type, expected, "${Name}", null));
+      passed = true;
+    } catch (AssertionError e) {
+      passed = false;
+    }
+    Assert.assertEquals(type + " " + expected, pass, passed);
+  }
+
   private RestelAssertion createAssertion(
       String name, AssertType type, String expected, String actual, String message) {
     RestelAssertion assertion = new RestelAssertion();
@@ -0,0 +1,49 @@
+package restel.core.scheduler;
+
+import com.techconative.restel.core.scheduler.DurationHistory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DurationHistoryTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testSavedAndLoaded() throws IOException {
+    Path file = folder.getRoot().toPath().resolve("history/durations.json");
+    DurationHistory history = DurationHistory.load(file);
+    history.record("scenario", 1000);
+    history.save();
+
+    DurationHistory loaded = DurationHistory.load(file);
+    Assert.assertEquals(OptionalLong.of(1000), loaded.getDuration("scenario"));
+    Assert.assertEquals(OptionalLong.empty(), loaded.getDuration("unknown"));
+    try (var files = Files.list(file.getParent())) {
+      // No temporary file left behind
+      Assert.assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  public void testMovingAverage() {
+    DurationHistory history = DurationHistory.load(null);
+    history.record("scenario", 1000);
+    history.record("scenario", 2000);
+
+    Assert.assertEquals(OptionalLong.of(1300), history.getDuration("scenario"));
+  }
+
+  @Test
+  public void testUnreadableHistoryIgnored() throws IOException {
+    Path file = folder.newFile("durations.json").toPath();
+    Files.writeString(file, "not json");
+
+    Assert.assertEquals(OptionalLong.empty(), DurationHistory.load(file).getDuration("scenario"));
+  }
+}
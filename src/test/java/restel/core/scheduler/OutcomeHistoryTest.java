@@ -0,0 +1,52 @@
+package restel.core.scheduler;
+
+import com.techconative.restel.core.scheduler.OutcomeHistory;
+import com.techconative.restel.core.scheduler.ScenarioResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OutcomeHistoryTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testSavedAndLoaded() {
+    Path file = folder.getRoot().toPath().resolve("history/outcomes.json");
+    OutcomeHistory history = OutcomeHistory.load(file);
+    history.record("passed", "hash", ScenarioResult.Status.PASSED);
+    history.record("failed", "hash", ScenarioResult.Status.FAILED);
+    history.save();
+
+    OutcomeHistory loaded = OutcomeHistory.load(file);
+    Assert.assertEquals("hash", loaded.getOutcome("passed").getFingerprint());
+    Assert.assertEquals(ScenarioResult.Status.FAILED, loaded.getOutcome("failed").getStatus());
+    Assert.assertNull(loaded.getOutcome("unknown"));
+  }
+
+  @Test
+  public void testChangedOrFailed() {
+    OutcomeHistory history = OutcomeHistory.load(null);
+    history.record("passed", "hash", ScenarioResult.Status.PASSED);
+    history.record("failed", "hash", ScenarioResult.Status.FAILED);
+    history.record("skipped", "hash", ScenarioResult.Status.SKIPPED);
+
+    Assert.assertFalse(history.isChangedOrFailed("passed", "hash"));
+    Assert.assertTrue(history.isChangedOrFailed("passed", "changed"));
+    Assert.assertTrue(history.isChangedOrFailed("failed", "hash"));
+    Assert.assertTrue(history.isChangedOrFailed("skipped", "hash"));
+    Assert.assertTrue(history.isChangedOrFailed("unknown", "hash"));
+  }
+
+  @Test
+  public void testUnreadableHistoryIgnored() throws IOException {
+    Path file = folder.newFile("outcomes.json").toPath();
+    Files.writeString(file, "not json");
+
+    Assert.assertTrue(OutcomeHistory.load(file).isChangedOrFailed("scenario", "hash"));
+  }
+}
@@ -0,0 +1,157 @@
+package restel.core.scheduler;
+
+import com.techconative.restel.core.model.BaseConfiguration;
+import com.techconative.restel.core.model.RestelApiDefinition;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestApiDefinition;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.scheduler.ScenarioFingerprints;
+import com.techconative.restel.core.scheduler.ScenarioGraph;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScenarioFingerprintsTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testUnchangedDefinitionsSameFingerprint() {
+    RestelSuite suite = createSuite("suite", Map.of("key", "value"));
+    RestelTestScenario scenario = createScenario("scenario", null);
+
+    Assert.assertEquals(
+        fingerprint(scenario, createApi("/users"), suite),
+        fingerprint(scenario, createApi("/users"), suite));
+  }
+
+  @Test
+  public void testResolvedDefinitionsChangeFingerprint() {
+    RestelSuite suite = createSuite("suite", Map.of("key", "value"));
+    RestelTestScenario scenario = createScenario("scenario", null);
+    String fingerprint = fingerprint(scenario, createApi("/users"), suite);
+
+    Assert.assertNotEquals(fingerprint, fingerprint(scenario, createApi("/orders"), suite));
+    Assert.assertNotEquals(
+        fingerprint,
+        fingerprint(scenario, createApi("/users"), createSuite("suite", Map.of("key", "new"))));
+
+    scenario.setExecutionParams(Map.of("param", "value"));
+    Assert.assertNotEquals(fingerprint, fingerprint(scenario, createApi("/users"), suite));
+  }
+
+  @Test
+  public void testBaseUrlChangesFingerprint() {
+    RestelSuite suite = createSuite("suite", null);
+    RestelTestScenario scenario = createScenario("scenario", null);
+
+    Assert.assertNotEquals(
+        fingerprint(scenario, createApi("/users"), suite, "http://localhost:8080"),
+        fingerprint(scenario, createApi("/users"), suite, "http://staging:8080"));
+  }
+
+  @Test
+  public void testDescriptionDoesNotChangeFingerprint() {
+    RestelSuite suite = createSuite("suite", null);
+    RestelTestScenario scenario = createScenario("scenario", null);
+    String fingerprint = fingerprint(scenario, createApi("/users"), suite);
+
+    scenario.setScenarioDescription("Described");
+    Assert.assertEquals(fingerprint, fingerprint(scenario, createApi("/users"), suite));
+  }
+
+  @Test
+  public void testChangedDependencyChangesDependents() {
+    RestelSuite suite = createSuite("suite", null);
+    RestelTestScenario dependency = createScenario("dependency", null);
+    RestelTestScenario scenario = createScenario("scenario", List.of(dependency));
+    String fingerprint = fingerprint(scenario, createApi("/users"), suite);
+
+    dependency.setExecutionParams(Map.of("param", "value"));
+    Assert.assertNotEquals(fingerprint, fingerprint(scenario, createApi("/users"), suite));
+  }
+
+  @Test
+  public void testReferencedFileChangesFingerprint() throws IOException {
+    Path file = folder.newFile("body.json").toPath();
+    Files.writeString(file, "{\"name\": \"first\"}");
+    RestelSuite suite = createSuite("suite", null);
+    RestelTestScenario scenario = createScenario("scenario", null);
+    RestelApiDefinition api = createApi("/users");
+    api.setRequestBodyParams("@" + file);
+    String fingerprint = fingerprint(scenario, api, suite);
+
+    Assert.assertEquals(Set.of(file.normalize()), ScenarioFingerprints.getReferencedFiles(api));
+    Files.writeString(file, "{\"name\": \"second\"}");
+    Assert.assertNotEquals(fingerprint, fingerprint(scenario, api, suite));
+  }
+
+  @Test
+  public void testSelectedScenariosWithTheirDependencies() {
+    RestelSuite suite = createSuite("suite", null);
+    RestelTestScenario first = createScenario("first", null);
+    RestelTestScenario second = createScenario("second", List.of(first));
+    RestelTestScenario third = createScenario("third", List.of(second));
+    RestelTestScenario other = createScenario("other", null);
+
+    ScenarioGraph graph =
+        ScenarioGraph.build(
+            List.of(suite),
+            List.of(first, second, third, other),
+            scenario -> scenario.getScenarioName().equals("second"));
+
+    Assert.assertEquals(
+        Set.of("first", "second"),
+        graph.getScenarios().stream()
+            .map(RestelTestScenario::getScenarioName)
+            .collect(Collectors.toSet()));
+  }
+
+  private static String fingerprint(
+      RestelTestScenario scenario, RestelApiDefinition api, RestelSuite suite) {
+    return fingerprint(scenario, api, suite, "http://localhost:8080");
+  }
+
+  private static String fingerprint(
+      RestelTestScenario scenario, RestelApiDefinition api, RestelSuite suite, String baseUrl) {
+    BaseConfiguration baseConfig = BaseConfiguration.builder().baseUrl(baseUrl).build();
+    return new ScenarioFingerprints(baseConfig, name -> api, name -> suite)
+        .getFingerprint(scenario);
+  }
+
+  private static RestelApiDefinition createApi(String url) {
+    RestelTestApiDefinition api = new RestelTestApiDefinition();
+    api.setApiUniqueName("api");
+    api.setRequestMethod("GET");
+    api.setRequestUrl(url);
+    return api;
+  }
+
+  private static RestelSuite createSuite(String name, Map<String, Object> params) {
+    RestelSuite suite = new RestelSuite();
+    suite.setSuiteName(name);
+    suite.setSuiteEnable(true);
+    suite.setSuiteParams(params);
+    return suite;
+  }
+
+  private static RestelTestScenario createScenario(
+      String name, List<RestelTestScenario> dependsOn) {
+    RestelTestScenario scenario = new RestelTestScenario();
+    scenario.setScenarioName(name);
+    scenario.setTestSuiteName("suite");
+    scenario.setScenarioEnabled(true);
+    scenario.setTestApis(List.of("api"));
+    scenario.setDependsOn(dependsOn);
+    if (dependsOn != null) {
+      dependsOn.forEach(dependency -> dependency.addParentExecution(name));
+    }
+    return scenario;
+  }
+}
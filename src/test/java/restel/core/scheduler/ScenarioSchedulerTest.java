@@ -0,0 +1,194 @@
+package restel.core.scheduler;
+
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.scheduler.DurationHistory;
+import com.techconative.restel.core.scheduler.ScenarioGraph;
+import com.techconative.restel.core.scheduler.ScenarioResult;
+import com.techconative.restel.core.scheduler.ScenarioScheduler;
+import com.techconative.restel.exception.RestelException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScenarioSchedulerTest {
+
+  @Test
+  public void testDependenciesExecuteFirst() {
+    RestelSuite childSuite = createSuite("child", null);
+    RestelSuite suite = createSuite("parent", List.of(childSuite));
+    RestelTestScenario first = createScenario("first", "child", null);
+    RestelTestScenario second = createScenario("second", "child", List.of(first));
+    RestelTestScenario third = createScenario("third", "parent", null);
+
+    ScenarioGraph graph =
+        ScenarioGraph.build(List.of(suite, childSuite), List.of(third, second, first));
+    RecordingScheduler scheduler = new RecordingScheduler(Set.of());
+    Map<String, ScenarioResult> results = scheduler.execute(graph);
+
+    Assert.assertEquals(3, results.size());
+    Assert.assertTrue(results.values().stream().allMatch(ScenarioResult::isPassed));
+    Assert.assertTrue(scheduler.order.indexOf("first") < scheduler.order.indexOf("second"));
+    Assert.assertTrue(scheduler.order.indexOf("second") < scheduler.order.indexOf("third"));
+  }
+
+  @Test
+  public void testFailureSkipsDependents() {
+    RestelSuite childSuite = createSuite("child", null);
+    RestelSuite suite = createSuite("parent", List.of(childSuite));
+    RestelTestScenario first = createScenario("first", "child", null);
+    RestelTestScenario second = createScenario("second", "child", List.of(first));
+    RestelTestScenario third = createScenario("third", "parent", null);
+
+    ScenarioGraph graph =
+        ScenarioGraph.build(List.of(suite, childSuite), List.of(first, second, third));
+    Map<String, ScenarioResult> results =
+        new RecordingScheduler(Set.of("first")).execute(graph);
+
+    Assert.assertEquals(ScenarioResult.Status.FAILED, results.get("first").getStatus());
+    Assert.assertEquals(ScenarioResult.Status.SKIPPED, results.get("second").getStatus());
+    // Suite dependencies only order the execution
+    Assert.assertEquals(ScenarioResult.Status.PASSED, results.get("third").getStatus());
+  }
+
+  @Test
+  public void testLongestCriticalPathFirst() {
+    RestelSuite suite = createSuite("parent", null);
+    RestelTestScenario first = createScenario("first", "parent", null);
+    RestelTestScenario second = createScenario("second", "parent", null);
+    RestelTestScenario chainStart = createScenario("chainStart", "parent", null);
+    RestelTestScenario chainMiddle = createScenario("chainMiddle", "parent", List.of(chainStart));
+    RestelTestScenario chainEnd = createScenario("chainEnd", "parent", List.of(chainMiddle));
+
+    RecordingScheduler scheduler = new RecordingScheduler(Set.of());
+    scheduler.setParallelism(1);
+    scheduler.execute(
+        ScenarioGraph.build(
+            List.of(suite), List.of(first, second, chainStart, chainMiddle, chainEnd)));
+
+    // Without any history, the chain is the longest, until only its last scenario is left
+    Assert.assertEquals(
+        List.of("chainStart", "chainMiddle", "first", "second", "chainEnd"), scheduler.order);
+  }
+
+  @Test
+  public void testHistoricalDurationsPrioritized() {
+    RestelSuite suite = createSuite("parent", null);
+    RestelTestScenario first = createScenario("first", "parent", null);
+    RestelTestScenario second = createScenario("second", "parent", null);
+    RestelTestScenario chainStart = createScenario("chainStart", "parent", null);
+    RestelTestScenario chainEnd = createScenario("chainEnd", "parent", List.of(chainStart));
+
+    DurationHistory history = DurationHistory.load(null);
+    history.record("second", 10_000);
+    RecordingScheduler scheduler = new RecordingScheduler(Set.of());
+    scheduler.setParallelism(1);
+    scheduler.setHistory(history);
+    scheduler.execute(
+        ScenarioGraph.build(List.of(suite), List.of(first, second, chainStart, chainEnd)));
+
+    Assert.assertEquals(List.of("second", "chainStart", "first", "chainEnd"), scheduler.order);
+  }
+
+  @Test
+  public void testVirtualThreads() {
+    RestelSuite suite = createSuite("parent", null);
+    List<RestelTestScenario> scenarios = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      scenarios.add(createScenario("scenario" + i, "parent", null));
+    }
+
+    RecordingScheduler scheduler = new RecordingScheduler(Set.of());
+    scheduler.setVirtualThreads(true);
+    scheduler.setMaxConcurrency(2);
+    Map<String, ScenarioResult> results =
+        scheduler.execute(ScenarioGraph.build(List.of(suite), scenarios));
+
+    Assert.assertEquals(20, results.size());
+    Assert.assertTrue(results.values().stream().allMatch(ScenarioResult::isPassed));
+    if (Runtime.version().feature() >= 21) {
+      Assert.assertTrue(scheduler.maxConcurrent.get() <= 2);
+    }
+  }
+
+  @Test
+  public void testDisabledScenariosExcluded() {
+    RestelSuite suite = createSuite("parent", null);
+    RestelTestScenario first = createScenario("first", "parent", null);
+    first.setScenarioEnabled(false);
+    RestelTestScenario second = createScenario("second", "parent", null);
+
+    ScenarioGraph graph = ScenarioGraph.build(List.of(suite), List.of(first, second));
+
+    Assert.assertNull(graph.getNode("first"));
+    Assert.assertNotNull(graph.getNode("second"));
+  }
+
+  @Test(expected = RestelException.class)
+  public void testCyclicSuiteAndScenarioDependency() {
+    RestelSuite childSuite = createSuite("child", null);
+    RestelSuite suite = createSuite("parent", List.of(childSuite));
+    RestelTestScenario parentScenario = createScenario("parentScenario", "parent", null);
+    RestelTestScenario childScenario =
+        createScenario("childScenario", "child", List.of(parentScenario));
+
+    ScenarioGraph.build(List.of(suite, childSuite), List.of(parentScenario, childScenario));
+  }
+
+  private static RestelSuite createSuite(String name, List<RestelSuite> dependsOn) {
+    RestelSuite suite = new RestelSuite();
+    suite.setSuiteName(name);
+    suite.setSuiteEnable(true);
+    suite.setDependsOn(dependsOn);
+    if (dependsOn != null) {
+      dependsOn.forEach(dependency -> dependency.addParentSuite(name));
+    }
+    return suite;
+  }
+
+  private static RestelTestScenario createScenario(
+      String name, String suiteName, List<RestelTestScenario> dependsOn) {
+    RestelTestScenario scenario = new RestelTestScenario();
+    scenario.setScenarioName(name);
+    scenario.setTestSuiteName(suiteName);
+    scenario.setScenarioEnabled(true);
+    scenario.setTestApis(List.of("api"));
+    scenario.setDependsOn(dependsOn);
+    if (dependsOn != null) {
+      dependsOn.forEach(dependency -> dependency.addParentExecution(name));
+    }
+    return scenario;
+  }
+
+  private static class RecordingScheduler extends ScenarioScheduler {
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final Set<String> failing;
+
+    RecordingScheduler(Set<String> failing) {
+      this.failing = failing;
+    }
+
+    @Override
+    protected ScenarioResult executeScenario(RestelTestScenario scenario) {
+      order.add(scenario.getScenarioName());
+      maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(5);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      concurrent.decrementAndGet();
+      return ScenarioResult.builder()
+          .scenarioName(scenario.getScenarioName())
+          .suiteName(scenario.getTestSuiteName())
+          .status(
+              failing.contains(scenario.getScenarioName())
+                  ? ScenarioResult.Status.FAILED
+                  : ScenarioResult.Status.PASSED)
+          .build();
+    }
+  }
+}
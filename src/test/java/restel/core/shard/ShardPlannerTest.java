@@ -0,0 +1,157 @@
+package restel.core.shard;
+
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.shard.Shard;
+import com.techconative.restel.core.shard.ShardPlanner;
+import com.techconative.restel.exception.RestelException;
+import java.util.*;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShardPlannerTest {
+
+  /* The cost of a scenario is its number of APIs. */
+  private static final ToLongFunction<RestelTestScenario> COST =
+      scenario -> scenario.getTestApis().size();
+
+  @Test
+  public void testBalancedByCost() {
+    List<RestelSuite> suites =
+        List.of(
+            createSuite("heavy", null),
+            createSuite("light1", null),
+            createSuite("light2", null),
+            createSuite("medium", null));
+    List<RestelTestScenario> scenarios =
+        List.of(
+            createScenario("heavy", 6),
+            createScenario("medium", 3),
+            createScenario("light1", 2),
+            createScenario("light2", 2));
+
+    List<List<RestelSuite>> shards = ShardPlanner.plan(suites, scenarios, 2, COST);
+
+    Assert.assertEquals(
+        List.of(List.of("heavy"), List.of("light1", "light2", "medium")), names(shards));
+  }
+
+  @Test
+  public void testSharedDependenciesInSameShard() {
+    RestelSuite common = createSuite("common", null);
+    List<RestelSuite> suites =
+        List.of(
+            common,
+            createSuite("first", List.of(common)),
+            createSuite("second", List.of(common)),
+            createSuite("third", null));
+    List<RestelTestScenario> scenarios =
+        List.of(
+            createScenario("common", 1),
+            createScenario("first", 1),
+            createScenario("second", 1),
+            createScenario("third", 1));
+
+    List<List<RestelSuite>> shards = ShardPlanner.plan(suites, scenarios, 3, COST);
+
+    // Grouped as they share the common suite, which is not a root of its own
+    Assert.assertEquals(
+        List.of(List.of("first", "second"), List.of("third"), List.of()), names(shards));
+  }
+
+  @Test
+  public void testTransitiveSharedDependencies() {
+    RestelSuite leaf = createSuite("leaf", null);
+    RestelSuite middle = createSuite("middle", List.of(leaf));
+    List<RestelSuite> suites =
+        List.of(
+            leaf,
+            middle,
+            createSuite("first", List.of(middle)),
+            createSuite("second", List.of(middle)));
+    List<RestelTestScenario> scenarios =
+        List.of(createScenario("leaf", 1), createScenario("first", 1), createScenario("second", 1));
+
+    List<List<RestelSuite>> shards = ShardPlanner.plan(suites, scenarios, 2, COST);
+
+    // Sharing more than one suite, the roots are still grouped once
+    Assert.assertEquals(List.of(List.of("first", "second"), List.of()), names(shards));
+  }
+
+  @Test
+  public void testScenarioDependenciesAcrossSuites() {
+    List<RestelSuite> suites =
+        List.of(
+            createSuite("first", null), createSuite("second", null), createSuite("third", null));
+    RestelTestScenario dependency = createScenario("second", 1);
+    RestelTestScenario dependent = createScenario("first", 1);
+    dependent.setDependsOn(List.of(dependency));
+    List<RestelTestScenario> scenarios = List.of(dependent, dependency, createScenario("third", 1));
+
+    List<List<RestelSuite>> shards = ShardPlanner.plan(suites, scenarios, 3, COST);
+
+    Assert.assertEquals(
+        List.of(List.of("first", "second"), List.of("third"), List.of()), names(shards));
+  }
+
+  @Test
+  public void testDeterministic() {
+    List<RestelSuite> suites = new ArrayList<>();
+    List<RestelTestScenario> scenarios = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      suites.add(createSuite("suite" + i, null));
+      scenarios.add(createScenario("suite" + i, i % 5 + 1));
+    }
+    List<List<String>> expected = names(ShardPlanner.plan(suites, scenarios, 3, COST));
+
+    Collections.shuffle(suites, new Random(7));
+    Collections.shuffle(scenarios, new Random(7));
+    Assert.assertEquals(expected, names(ShardPlanner.plan(suites, scenarios, 3, COST)));
+    // Every suite is in exactly one shard
+    Assert.assertEquals(20, expected.stream().mapToInt(List::size).sum());
+    Assert.assertEquals(
+        names(List.of(ShardPlanner.select(suites, scenarios, new Shard(2, 3), COST))).get(0),
+        expected.get(1));
+  }
+
+  @Test
+  public void testParseShard() {
+    Assert.assertEquals(new Shard(2, 3), Shard.parse("2/3"));
+    for (String invalid : Arrays.asList("0/3", "4/3", "1", "a/b", "", null)) {
+      try {
+        Shard.parse(invalid);
+        Assert.fail("Expected the shard " + invalid + " to be invalid");
+      } catch (RestelException e) {
+        // expected
+      }
+    }
+  }
+
+  private static List<List<String>> names(List<List<RestelSuite>> shards) {
+    return shards.stream()
+        .map(shard -> shard.stream().map(RestelSuite::getSuiteName).collect(Collectors.toList()))
+        .collect(Collectors.toList());
+  }
+
+  private static RestelSuite createSuite(String name, List<RestelSuite> dependsOn) {
+    RestelSuite suite = new RestelSuite();
+    suite.setSuiteName(name);
+    suite.setSuiteEnable(true);
+    suite.setDependsOn(dependsOn);
+    if (dependsOn != null) {
+      dependsOn.forEach(dependency -> dependency.addParentSuite(name));
+    }
+    return suite;
+  }
+
+  private static RestelTestScenario createScenario(String suiteName, int apis) {
+    RestelTestScenario scenario = new RestelTestScenario();
+    scenario.setScenarioName(suiteName + "_scenario");
+    scenario.setTestSuiteName(suiteName);
+    scenario.setScenarioEnabled(true);
+    scenario.setTestApis(Collections.nCopies(apis, "api"));
+    return scenario;
+  }
+}
@@ -0,0 +1,106 @@
+package restel.core.shard;
+
+import com.techconative.restel.core.RestelApplication;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.scheduler.ScenarioResult;
+import com.techconative.restel.core.shard.Shard;
+import com.techconative.restel.core.shard.ShardReport;
+import com.techconative.restel.exception.RestelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ShardReportTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testMergeShards() {
+    Path directory = folder.getRoot().toPath();
+    write(directory, new Shard(1, 2), result("first", ScenarioResult.Status.PASSED));
+    write(directory, new Shard(2, 2), result("second", ScenarioResult.Status.PASSED));
+
+    ShardReport merged = ShardReport.merge(directory);
+
+    Assert.assertEquals(List.of(1, 2), merged.getShards());
+    Assert.assertEquals(List.of("first", "second"), merged.getSuites());
+    Assert.assertEquals(2, merged.getResults().size());
+    Assert.assertTrue(merged.isPassed());
+    Assert.assertTrue(RestelApplication.mergeShards(directory));
+    Assert.assertTrue(Files.exists(directory.resolve(ShardReport.MERGED_REPORT_FILE_NAME)));
+  }
+
+  @Test
+  public void testFailedShardFailsMerge() {
+    Path directory = folder.getRoot().toPath();
+    write(directory, new Shard(1, 2), result("first", ScenarioResult.Status.PASSED));
+    write(directory, new Shard(2, 2), result("second", ScenarioResult.Status.SKIPPED));
+
+    Assert.assertFalse(RestelApplication.mergeShards(directory));
+    // The merged report is not taken for a shard when merged again
+    Assert.assertFalse(RestelApplication.mergeShards(directory));
+  }
+
+  @Test(expected = RestelException.class)
+  public void testMissingShard() {
+    Path directory = folder.getRoot().toPath();
+    write(directory, new Shard(1, 3), result("first", ScenarioResult.Status.PASSED));
+    write(directory, new Shard(3, 3), result("third", ScenarioResult.Status.PASSED));
+
+    ShardReport.merge(directory);
+  }
+
+  @Test(expected = RestelException.class)
+  public void testShardsPlannedDifferently() {
+    Path directory = folder.getRoot().toPath();
+    write(directory, new Shard(1, 2), result("first", ScenarioResult.Status.PASSED));
+    // The second shard assigned the first suite to itself as well
+    Shard second = new Shard(2, 2);
+    ShardReport.of(
+            second,
+            List.of(List.of(), List.of(suite("first"), suite("second"))),
+            List.of(result("second", ScenarioResult.Status.PASSED)))
+        .write(directory.resolve(second.getReportFileName()));
+
+    ShardReport.merge(directory);
+  }
+
+  @Test(expected = RestelException.class)
+  public void testScenarioInSeveralShards() {
+    Path directory = folder.getRoot().toPath();
+    write(directory, new Shard(1, 2), result("first", ScenarioResult.Status.PASSED));
+    write(directory, new Shard(2, 2), result("first", ScenarioResult.Status.PASSED));
+
+    ShardReport.merge(directory);
+  }
+
+  /* Writes the report of the shard, planned with a suite per shard, named after its result. */
+  private static void write(Path directory, Shard shard, ScenarioResult result) {
+    List<List<RestelSuite>> plan = new ArrayList<>();
+    for (int i = 1; i <= shard.getCount(); i++) {
+      plan.add(List.of(suite(i == 1 ? "first" : i == 2 ? "second" : "third")));
+    }
+    ShardReport.of(shard, plan, List.of(result))
+        .write(directory.resolve(shard.getReportFileName()));
+  }
+
+  private static RestelSuite suite(String name) {
+    RestelSuite suite = new RestelSuite();
+    suite.setSuiteName(name);
+    return suite;
+  }
+
+  private static ScenarioResult result(String name, ScenarioResult.Status status) {
+    return ScenarioResult.builder()
+        .scenarioName(name)
+        .suiteName("suite")
+        .status(status)
+        .durationMillis(10)
+        .build();
+  }
+}
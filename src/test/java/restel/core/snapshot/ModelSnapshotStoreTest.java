@@ -0,0 +1,140 @@
+package restel.core.snapshot;
+
+import com.techconative.restel.core.model.BaseConfiguration;
+import com.techconative.restel.core.model.RestelApiDefinition;
+import com.techconative.restel.core.model.RestelSuite;
+import com.techconative.restel.core.model.RestelTestApiDefinition;
+import com.techconative.restel.core.model.RestelTestApiWrapper;
+import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.model.assertion.AssertType;
+import com.techconative.restel.core.model.assertion.RestelAssertion;
+import com.techconative.restel.core.snapshot.ModelSnapshot;
+import com.techconative.restel.core.snapshot.ModelSnapshotStore;
+import com.techconative.restel.utils.ObjectMapperUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModelSnapshotStoreTest {
+
+  private Path directory;
+
+  private ModelSnapshotStore store;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("restel-snapshot-test");
+    store = new ModelSnapshotStore(directory);
+  }
+
+  @Test
+  public void testStoreAndLoad() throws Exception {
+    RestelTestApiDefinition definition = new RestelTestApiDefinition();
+    definition.setApiUniqueName("get_user");
+    definition.setRequestUrl("/users");
+    definition.setRequestHeaders(Map.of("k", "v"));
+    definition.setRequestPreCallHook(
+        ObjectMapperUtils.getMapper().createObjectNode().put("write", "out.txt"));
+    RestelTestApiWrapper wrapper = new RestelTestApiWrapper();
+    wrapper.setTestApiWrapperName("get_user_wrapper");
+    wrapper.setTestApiDefinition(definition);
+    RestelSuite suite = new RestelSuite();
+    suite.setSuiteName("suite");
+    RestelTestScenario scenario = new RestelTestScenario();
+    scenario.setScenarioName("scenario");
+    scenario.setTestApis(List.of("get_user"));
+    ModelSnapshot snapshot =
+        new ModelSnapshot(
+            BaseConfiguration.builder().baseUrl("http://localhost").build(),
+            List.of(definition),
+            List.of(wrapper),
+            List.of(suite),
+            List.of(scenario));
+
+    store.store("key", snapshot);
+    Optional<ModelSnapshot> loaded = store.load("key");
+
+    Assert.assertTrue(loaded.isPresent());
+    Assert.assertEquals(snapshot, loaded.get());
+    // The definitions shared by the wrappers stay shared
+    Assert.assertSame(
+        loaded.get().getTestMethods().get(0),
+        loaded.get().getTestApiWrappers().get(0).getTestApiDefinition());
+  }
+
+  @Test
+  public void testLinksAndValuesRestored() throws Exception {
+    RestelTestApiDefinition login = new RestelTestApiDefinition();
+    login.setApiUniqueName("login");
+    login.setRequestBodyParams(Map.of("retries", 3, "ratio", 0.5, "enabled", true));
+    login.setTags(Set.of("run_once"));
+    RestelTestApiWrapper wrapper = new RestelTestApiWrapper();
+    wrapper.setTestApiWrapperName("login_wrapper");
+    wrapper.setTestApiDefinition(login);
+    RestelTestApiDefinition getUser = new RestelTestApiDefinition();
+    getUser.setApiUniqueName("get_user");
+    getUser.setDependentOn(List.of(login, wrapper));
+    RestelSuite setup = new RestelSuite();
+    setup.setSuiteName("setup");
+    RestelSuite suite = new RestelSuite();
+    suite.setSuiteName("suite");
+    suite.setDependsOn(List.of(setup));
+    RestelAssertion assertion = new RestelAssertion();
+    assertion.setName("status");
+    assertion.setAssertType(AssertType.EQUAL);
+    assertion.setActual("${status}");
+    assertion.setExpected("200");
+    RestelTestScenario scenario = new RestelTestScenario();
+    scenario.setScenarioName("scenario");
+    scenario.setAssertions(List.of(assertion));
+
+    store.store(
+        "links",
+        new ModelSnapshot(
+            null,
+            List.of(login, getUser),
+            List.of(wrapper),
+            List.of(setup, suite),
+            List.of(scenario)));
+    ModelSnapshot loaded = store.load("links").get();
+
+    RestelTestApiDefinition loadedLogin = loaded.getTestMethods().get(0);
+    List<RestelApiDefinition> dependents = loaded.getTestMethods().get(1).getDependentOn();
+    Assert.assertSame(loadedLogin, dependents.get(0));
+    Assert.assertSame(loaded.getTestApiWrappers().get(0), dependents.get(1));
+    Assert.assertEquals(login.getRequestBodyParams(), loadedLogin.getRequestBodyParams());
+    Assert.assertEquals(Set.of("run_once"), loadedLogin.getTags());
+    Assert.assertSame(loaded.getSuites().get(0), loaded.getSuites().get(1).getDependsOn().get(0));
+    RestelAssertion loadedAssertion = loaded.getExecGroups().get(0).getAssertions().get(0);
+    Assert.assertEquals(AssertType.EQUAL, loadedAssertion.getAssertType());
+    Assert.assertEquals("${status}", loadedAssertion.getActual());
+    Assert.assertNull(loaded.getBaseConfig());
+  }
+
+  @Test
+  public void testMissingAndCorruptedSnapshot() throws Exception {
+    Assert.assertFalse(store.load("missing").isPresent());
+
+    Files.write(directory.resolve("corrupted.snapshot"), new byte[] {1, 2, 3});
+    Assert.assertFalse(store.load("corrupted").isPresent());
+  }
+
+  @Test
+  public void testKeyFollowsWorkbookContent() throws Exception {
+    Path workbook = directory.resolve("workbook.xlsx");
+    Files.write(workbook, new byte[] {1, 2, 3});
+    String key = store.key(workbook);
+
+    Assert.assertEquals(64, key.length());
+    Assert.assertEquals(key, store.key(workbook));
+
+    Files.write(workbook, new byte[] {1, 2, 4});
+    Assert.assertNotEquals(key, store.key(workbook));
+  }
+}
@@ -0,0 +1,69 @@
+package restel.core.template;
+
+import com.techconative.restel.core.template.Template;
+import com.techconative.restel.core.template.TemplateCompiler;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TemplateCompilerTest {
+
+  private final Map<String, Object> values =
+      Map.of("id", "42", "name", "restel", "key1", "nested", "idx", "1", "list", List.of(1, 2));
+
+  @Test
+  public void testConstant() {
+    Template template = TemplateCompiler.compile("/v2/store/inventory");
+    Assert.assertTrue(template.isConstant());
+    Assert.assertEquals("/v2/store/inventory", template.render(values::get));
+  }
+
+  @Test
+  public void testMultipleVariables() {
+    Template template = TemplateCompiler.compile("/users/${id}/names/${name}?q=1");
+    Assert.assertFalse(template.isConstant());
+    Assert.assertFalse(template.isSingleVariable());
+    Assert.assertEquals("/users/42/names/restel?q=1", template.render(values::get));
+    Assert.assertEquals(Set.of("id", "name"), template.getVariableNames());
+  }
+
+  @Test
+  public void testSingleVariableKeepsType() {
+    Template template = TemplateCompiler.compile("${list}");
+    Assert.assertTrue(template.isSingleVariable());
+    Assert.assertEquals(List.of(1, 2), template.render(values::get));
+  }
+
+  @Test
+  public void testNestedVariable() {
+    Template template = TemplateCompiler.compile("${key${idx}}");
+    Assert.assertEquals("nested", template.render(values::get));
+    Assert.assertEquals(Set.of("idx"), template.getVariableNames());
+  }
+
+  @Test
+  public void testUnresolvedVariable() {
+    Assert.assertEquals("", TemplateCompiler.compile("${missing}").render(values::get));
+    Assert.assertEquals("a--b", TemplateCompiler.compile("a-${missing}-b").render(values::get));
+  }
+
+  @Test
+  public void testUnclosedVariable() {
+    Template template = TemplateCompiler.compile("${id}-${name");
+    Assert.assertEquals("42-${name", template.render(values::get));
+  }
+
+  @Test
+  public void testBracesInLiteral() {
+    Template template = TemplateCompiler.compile("{\"id\":\"${id}\"}");
+    Assert.assertEquals("{\"id\":\"42\"}", template.render(values::get));
+  }
+
+  @Test
+  public void testCompiledOnce() {
+    Assert.assertSame(
+        TemplateCompiler.compile("${id}/${name}"), TemplateCompiler.compile("${id}/${name}"));
+  }
+}
@@ -0,0 +1,27 @@
+package restel.core.watch;
+
+import com.techconative.restel.core.watch.WorkbookWatcher;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorkbookWatcherTest {
+
+  @Test
+  public void testChangedScenarios() {
+    Map<String, String> before = Map.of("same", "a", "changed", "b", "removed", "c");
+    Map<String, String> after = Map.of("same", "a", "changed", "x", "added", "d");
+
+    Assert.assertEquals(
+        Set.of("changed", "added"), WorkbookWatcher.getChangedScenarios(before, after));
+  }
+
+  @Test
+  public void testUnknownFingerprintAlwaysChanged() {
+    Map<String, String> fingerprints = Map.of("unhashed", "");
+
+    Assert.assertEquals(
+        Set.of("unhashed"), WorkbookWatcher.getChangedScenarios(fingerprints, fingerprints));
+  }
+}
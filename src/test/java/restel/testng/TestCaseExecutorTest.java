@@ -7,10 +7,13 @@ import com.techconative.restel.core.model.BaseConfiguration;
 import com.techconative.restel.core.model.RestelSuite;
 import com.techconative.restel.core.model.RestelTestApiDefinition;
 import com.techconative.restel.core.model.RestelTestScenario;
+import com.techconative.restel.core.model.TestContext;
 import com.techconative.restel.core.utils.ContextUtils;
+import com.techconative.restel.exception.RestelException;
 import com.techconative.restel.testng.MatcherFactory;
 import com.techconative.restel.testng.TestCaseExecutor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +72,38 @@ public class TestCaseExecutorTest {
     Assert.assertFalse(executor.executeTest());
   }
 
+  @Test
+  public void testExecuteRow() throws Exception {
+    invokeInit("Sample", "Suite", "Request");
+    RestelDefinitionManager definitionManager = PowerMockito.mock(RestelDefinitionManager.class);
+    List<TestContext> contexts = new ArrayList<>();
+    PowerMockito.whenNew(RestelDefinitionManager.class)
+        .withAnyArguments()
+        .thenAnswer(
+            invocation -> {
+              contexts.add(invocation.getArgument(3));
+              return definitionManager;
+            });
+    PowerMockito.doReturn(Boolean.TRUE)
+        .when(definitionManager)
+        .executeTestScenario(Mockito.any(), Mockito.any());
+
+    Assert.assertTrue(executor.executeRow(7, Map.of("id", 42)));
+    Assert.assertTrue(executor.executeRow(8, Map.of("id", 43)));
+
+    // Each row in its own context, along with the suite params
+    Assert.assertEquals(contexts.size(), 2);
+    Assert.assertEquals(contexts.get(0).resolveValue("id"), 42);
+    Assert.assertEquals(contexts.get(1).resolveValue("id"), 43);
+    Assert.assertEquals(contexts.get(1).resolveValue("key"), "value");
+  }
+
+  @Test(expected = RestelException.class)
+  public void testExecuteRowWithSuiteParamName() throws Exception {
+    invokeInit("Sample", "Suite", "Request");
+    executor.executeRow(1, Map.of("key", "row"));
+  }
+
   private void invokeInit(String definitionName, String suiteName, String urlName)
       throws Exception {
     Mockito.when(executionGroup.getTestApis()).thenReturn(List.of(definitionName));
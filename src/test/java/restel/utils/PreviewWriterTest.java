@@ -0,0 +1,47 @@
+package restel.utils;
+
+import com.techconative.restel.utils.PreviewWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PreviewWriterTest {
+
+  private Path directory;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("restel-preview-test");
+  }
+
+  @Test
+  public void testContentWithinPreview() throws Exception {
+    PreviewWriter writer = new PreviewWriter(10, directory);
+    try (writer) {
+      writer.write("short");
+    }
+
+    Assert.assertNull(writer.getSpill());
+    Assert.assertEquals("short", writer.render("the attachment"));
+  }
+
+  @Test
+  public void testContentSpilled() throws Exception {
+    PreviewWriter writer = new PreviewWriter(4, directory);
+    try (writer) {
+      writer.write("abc");
+      writer.write("defgh");
+    }
+
+    Path spill = writer.getSpill();
+    Assert.assertNotNull(spill);
+    Assert.assertEquals("abcdefgh", Files.readString(spill));
+    Assert.assertTrue(writer.render("the attachment").startsWith("abcd" + System.lineSeparator()));
+    Assert.assertTrue(writer.render("the attachment").endsWith("in the attachment"));
+
+    writer.discard();
+    Assert.assertFalse(Files.exists(spill));
+  }
+}
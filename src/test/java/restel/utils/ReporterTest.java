@@ -0,0 +1,95 @@
+package restel.utils;
+
+import com.techconative.restel.utils.ReportLevel;
+import com.techconative.restel.utils.Reporter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.TestResult;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReporterTest {
+
+  private final ReportLevel level = Reporter.getLevel();
+
+  private final String testCase = UUID.randomUUID().toString();
+
+  @Before
+  public void setup() {
+    // The steps are recorded under the current test case
+    Allure.getLifecycle().scheduleTestCase(new TestResult().setUuid(testCase));
+    Allure.getLifecycle().startTestCase(testCase);
+  }
+
+  @After
+  public void tearDown() {
+    Allure.getLifecycle().stopTestCase(testCase);
+    Reporter.setLevel(level);
+  }
+
+  @Test
+  public void testNoRenderingOnSuccess() {
+    Reporter.setLevel(ReportLevel.ON_FAILURE);
+    AtomicInteger renders = new AtomicInteger();
+    Supplier<String> render = () -> "value" + renders.incrementAndGet();
+
+    Reporter.conveyComparison("ExactMatcher", render, render, () -> {});
+    Reporter.flush();
+
+    Assert.assertEquals(0, renders.get());
+  }
+
+  @Test
+  public void testRenderingOnFailure() {
+    Reporter.setLevel(ReportLevel.ON_FAILURE);
+    AtomicInteger renders = new AtomicInteger();
+    Supplier<String> render = () -> "value" + renders.incrementAndGet();
+
+    try {
+      Reporter.conveyComparison(
+          "ExactMatcher", render, render, () -> Assert.fail("Mismatch of Expected vs Actual"));
+      Assert.fail("The failure should be rethrown");
+    } catch (AssertionError e) {
+      Assert.assertEquals("Mismatch of Expected vs Actual", e.getMessage());
+    }
+    Reporter.flush();
+    Assert.assertEquals(2, renders.get());
+  }
+
+  @Test
+  public void testMinimalNeverRenders() {
+    Reporter.setLevel(ReportLevel.MINIMAL);
+    AtomicInteger renders = new AtomicInteger();
+    Supplier<String> render = () -> "value" + renders.incrementAndGet();
+
+    try {
+      Reporter.conveyComparison("ExactMatcher", render, render, () -> Assert.fail("Mismatch"));
+    } catch (AssertionError e) {
+      // expected
+    }
+    Reporter.flush();
+    Assert.assertEquals(0, renders.get());
+  }
+
+  @Test
+  public void testReportingFromAnotherThread() throws InterruptedException {
+    Reporter.setLevel(ReportLevel.FULL);
+    AtomicInteger renders = new AtomicInteger();
+    Supplier<String> render = () -> "value" + renders.incrementAndGet();
+
+    Reporter.Context context = Reporter.currentContext();
+    Runnable comparison = () -> Reporter.conveyComparison("ExactMatcher", render, render, () -> {});
+    // Without the inherited thread locals, the thread has no Allure test case of its own
+    Thread thread = new Thread(null, () -> context.run(comparison), "reporter-test", 0, false);
+    thread.start();
+    thread.join();
+    // Flushing this thread waits for the events reported in its context
+    Reporter.flush();
+
+    Assert.assertEquals(2, renders.get());
+  }
+}